@@ -0,0 +1,169 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Benchmark Targets
+Author: Jonah Swain
+*/
+
+import benchmarks.BenchmarkTarget;
+
+/**
+ * <h2>BenchmarkTargets</h2>
+ * Adapters from the data structures to the BenchmarkTarget interface (in the default package, so the data structures can be referenced)<br>
+ * Hash table targets: hashLinear, hashQuadratic, hashChaining, hashRobinHood, hashCuckoo (HashTable, prime indexing), hashLinearPow2, hashQuadraticPow2, hashChainingPow2, hashRobinHoodPow2, hashCuckooPow2 (HashTable, power of two indexing), flatLinear, flatQuadratic (FlatHashTable), intLinear, intQuadratic, intChaining (IntKeyHashTable)<br>
+ * Tree targets: bst, bstRedBlack, bstTreap, bstSplay, bstSemiSplay (BinarySearchTree unbalanced/red-black/treap/splay/semi-splay), avl (AVLTree), flatAvl (FlatAVLTree), bPlus (BPlusTree), concurrentAvl (ConcurrentAVLTree)<br>
+ * Concurrent targets: concurrentAvl (ConcurrentAVLTree), concurrentHash (ConcurrentHashTable, striped with the default concurrency level)<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class BenchmarkTargets{
+
+    /**
+     * Creates an empty target by name<br>
+     * Hash tables are sized so that holding size + 1 entries stays below the load factor (which is also the growth threshold), so benchmarks run at the requested load without resizing<br>
+     * Power of two tables round that size up to a power of two, so they run at between half of and the requested load<br>
+     * 
+     * @param name  The name of the target
+     * @param size  The number of entries the target will hold
+     * @param loadFactor  The load factor the target is sized for (hash tables only)
+     * @return The empty target
+     */
+    public static BenchmarkTarget create(String name, int size, float loadFactor) throws java.lang.RuntimeException {
+        int capacity = (int)(size/loadFactor) + 2;
+        if (name.equals("hashLinear")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.linearProbing, loadFactor, 0));
+        } else if (name.equals("hashQuadratic")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.quadraticProbing, loadFactor, 0));
+        } else if (name.equals("hashChaining")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.chaining, loadFactor, 0));
+        } else if (name.equals("hashRobinHood")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.robinHoodHashing, loadFactor, 0));
+        } else if (name.equals("hashCuckoo")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.cuckooHashing, loadFactor, 0));
+        } else if (name.equals("hashLinearPow2")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.linearProbing, HashTable.powerOfTwoIndexing, loadFactor, 0));
+        } else if (name.equals("hashQuadraticPow2")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.quadraticProbing, HashTable.powerOfTwoIndexing, loadFactor, 0));
+        } else if (name.equals("hashChainingPow2")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.chaining, HashTable.powerOfTwoIndexing, loadFactor, 0));
+        } else if (name.equals("hashRobinHoodPow2")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.robinHoodHashing, HashTable.powerOfTwoIndexing, loadFactor, 0));
+        } else if (name.equals("hashCuckooPow2")){
+            return hashTable(new HashTable<Integer, Integer>(capacity, HashTable.cuckooHashing, HashTable.powerOfTwoIndexing, loadFactor, 0));
+        } else if (name.equals("flatLinear")){
+            return flatHashTable(new FlatHashTable<Integer, Integer>(capacity, HashTable.linearProbing, loadFactor, 0));
+        } else if (name.equals("flatQuadratic")){
+            return flatHashTable(new FlatHashTable<Integer, Integer>(capacity, HashTable.quadraticProbing, loadFactor, 0));
+        } else if (name.equals("intLinear")){
+            return intKeyHashTable(new IntKeyHashTable<Integer>(capacity, HashTable.linearProbing, loadFactor, 0));
+        } else if (name.equals("intQuadratic")){
+            return intKeyHashTable(new IntKeyHashTable<Integer>(capacity, HashTable.quadraticProbing, loadFactor, 0));
+        } else if (name.equals("intChaining")){
+            return intKeyHashTable(new IntKeyHashTable<Integer>(capacity, HashTable.chaining, loadFactor, 0));
+        } else if (name.equals("bst")){
+            return binarySearchTree(new BinarySearchTree<Integer, Integer>(BinarySearchTree.noBalancing));
+        } else if (name.equals("bstRedBlack")){
+            return binarySearchTree(new BinarySearchTree<Integer, Integer>(BinarySearchTree.redBlackBalancing));
+        } else if (name.equals("bstTreap")){
+            return binarySearchTree(new BinarySearchTree<Integer, Integer>(BinarySearchTree.treapBalancing));
+        } else if (name.equals("bstSplay")){
+            return binarySearchTree(new BinarySearchTree<Integer, Integer>(BinarySearchTree.splayBalancing));
+        } else if (name.equals("bstSemiSplay")){
+            return binarySearchTree(new BinarySearchTree<Integer, Integer>(BinarySearchTree.semiSplayBalancing));
+        } else if (name.equals("avl")){
+            AVLTree<Integer, Integer> tree = new AVLTree<Integer, Integer>();
+            return new BenchmarkTarget(){
+                public void insert(Integer key, Integer data){ tree.insert(key, data); }
+                public Integer get(Integer key){ return tree.get(key); }
+                public void delete(Integer key){ tree.delete(key); }
+            };
+        } else if (name.equals("flatAvl")){
+            FlatAVLTree<Integer, Integer> tree = new FlatAVLTree<Integer, Integer>(size + 1);
+            return new BenchmarkTarget(){
+                public void insert(Integer key, Integer data){ tree.insert(key, data); }
+                public Integer get(Integer key){ return tree.get(key); }
+                public void delete(Integer key){ tree.delete(key); }
+            };
+        } else if (name.equals("bPlus")){
+            BPlusTree<Integer, Integer> tree = new BPlusTree<Integer, Integer>();
+            return new BenchmarkTarget(){
+                public void insert(Integer key, Integer data){ tree.insert(key, data); }
+                public Integer get(Integer key){ return tree.get(key); }
+                public void delete(Integer key){ tree.delete(key); }
+            };
+        } else if (name.equals("concurrentAvl")){
+            ConcurrentAVLTree<Integer, Integer> tree = new ConcurrentAVLTree<Integer, Integer>();
+            return new BenchmarkTarget(){
+                public void insert(Integer key, Integer data){ tree.insert(key, data); }
+                public Integer get(Integer key){ return tree.get(key); }
+                public void delete(Integer key){ tree.delete(key); }
+            };
+        } else if (name.equals("concurrentHash")){
+            ConcurrentHashTable<Integer, Integer> table = new ConcurrentHashTable<Integer, Integer>(capacity, ConcurrentHashTable.defaultConcurrencyLevel, loadFactor);
+            return new BenchmarkTarget(){
+                public void insert(Integer key, Integer data){ table.insert(key, data); }
+                public Integer get(Integer key){ return table.get(key); }
+                public void delete(Integer key){ table.delete(key); }
+            };
+        } else {
+            throw new RuntimeException("Unknown benchmark target: " + name);
+        }
+    }
+
+    /**
+     * Wraps a BinarySearchTree as a target<br>
+     * 
+     * @param tree  The tree to wrap
+     * @return The target
+     */
+    private static BenchmarkTarget binarySearchTree(BinarySearchTree<Integer, Integer> tree){
+        return new BenchmarkTarget(){
+            public void insert(Integer key, Integer data){ tree.insert(key, data); }
+            public Integer get(Integer key){ return tree.get(key); }
+            public void delete(Integer key){ tree.delete(key); }
+        };
+    }
+
+    /**
+     * Wraps a HashTable as a target<br>
+     * 
+     * @param table  The table to wrap
+     * @return The target
+     */
+    private static BenchmarkTarget hashTable(HashTable<Integer, Integer> table){
+        return new BenchmarkTarget(){
+            public void insert(Integer key, Integer data){ table.insert(key, data); }
+            public Integer get(Integer key){ return table.get(key); }
+            public void delete(Integer key){ table.delete(key); }
+        };
+    }
+
+    /**
+     * Wraps a FlatHashTable as a target<br>
+     * 
+     * @param table  The table to wrap
+     * @return The target
+     */
+    private static BenchmarkTarget flatHashTable(FlatHashTable<Integer, Integer> table){
+        return new BenchmarkTarget(){
+            public void insert(Integer key, Integer data){ table.insert(key, data); }
+            public Integer get(Integer key){ return table.get(key); }
+            public void delete(Integer key){ table.delete(key); }
+        };
+    }
+
+    /**
+     * Wraps an IntKeyHashTable as a target (keys are unboxed)<br>
+     * 
+     * @param table  The table to wrap
+     * @return The target
+     */
+    private static BenchmarkTarget intKeyHashTable(IntKeyHashTable<Integer> table){
+        return new BenchmarkTarget(){
+            public void insert(Integer key, Integer data){ table.insert(key, data); }
+            public Integer get(Integer key){ return table.get(key); }
+            public void delete(Integer key){ table.delete(key); }
+        };
+    }
+
+}
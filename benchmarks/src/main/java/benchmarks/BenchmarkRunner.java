@@ -0,0 +1,42 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Benchmark Runner
+Author: Jonah Swain
+*/
+
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <h2>BenchmarkRunner</h2>
+ * Entry point of benchmarks.jar: runs JMH with its usual command line options, writing the results as JSON (to jmh-result.json, or the -rff file) unless another format is chosen with -rf<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class BenchmarkRunner{
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()){
+            commandLine.showHelp();
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()){
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        Runner runner = new Runner(options.build());
+        if (commandLine.shouldList()){
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+
+}
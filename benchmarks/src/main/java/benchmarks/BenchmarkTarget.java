@@ -0,0 +1,60 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Benchmark Target
+Author: Jonah Swain
+*/
+
+package benchmarks;
+
+/**
+ * <h2>BenchmarkTarget</h2>
+ * A data structure being benchmarked, seen through the operations every benchmark measures<br>
+ * The data structures are in the default package, which named packages cannot import, so they are wrapped by adapters in the default package BenchmarkTargets class and looked up by name<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public interface BenchmarkTarget{
+
+    /**
+     * Inserts an entry<br>
+     * 
+     * @param key  The key of the entry
+     * @param data  The data of the entry
+     */
+    void insert(Integer key, Integer data);
+
+    /**
+     * Gets the data of an entry<br>
+     * 
+     * @param key  The key of the entry
+     * @return The data of the entry (null if there is no entry with the key)
+     */
+    Integer get(Integer key);
+
+    /**
+     * Deletes an entry<br>
+     * 
+     * @param key  The key of the entry
+     */
+    void delete(Integer key);
+
+    /**
+     * Creates an empty target by name (using the default package BenchmarkTargets class)<br>
+     * 
+     * @param name  The name of the target (see BenchmarkTargets)
+     * @param size  The number of entries the target will hold
+     * @param loadFactor  The load factor the target is sized for (hash tables only)
+     * @return The empty target
+     */
+    static BenchmarkTarget create(String name, int size, float loadFactor) throws java.lang.RuntimeException {
+        try {
+            return (BenchmarkTarget) Class.forName("BenchmarkTargets").getMethod("create", String.class, int.class, float.class).invoke(null, name, size, loadFactor);
+        } catch (java.lang.reflect.InvocationTargetException e){ // Rethrow the adapter's own exception
+            throw new RuntimeException(e.getCause());
+        } catch (ReflectiveOperationException e){
+            throw new RuntimeException("BenchmarkTargets class is not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Concurrent Benchmark
+Author: Jonah Swain
+*/
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * <h2>ConcurrentBenchmark</h2>
+ * Multi-threaded benchmarks of the thread safe targets (ConcurrentAVLTree and ConcurrentHashTable), all threads sharing one target<br>
+ * read: readers only (get a stored key), to measure how reads scale with the number of threads<br>
+ * readWrite: readers alongside a writer that inserts a key that is not stored then deletes it again, to measure how much a writer slows readers down (and how fast the writer gets through)<br>
+ * Thread counts are set per group with -tg (default 4 readers, and 3 readers with 1 writer), e.g. read scaling: -tg 1 then -tg 8, or -tg 7,1 for more readers per writer<br>
+ * Each thread starts at its own offset in the access sequences, so threads do not access the same keys in lockstep<br>
+ * Several writers may insert and delete the same key at the same time: the target is still left with only the stored entries once each has finished<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentBenchmark{
+
+    /** Number of keys in each access sequence (a power of two) */
+    private static final int accessLength = 1 << 20;
+
+    /** Seed for the access sequences */
+    private static final long accessSeed = 0x5EED;
+
+    /** Thread safe target (see BenchmarkTargets) */
+    @Param({"concurrentAvl", "concurrentHash"})
+    public String target;
+
+    /** Number of entries stored */
+    @Param({"1000", "100000", "10000000"})
+    public int size;
+
+    /** Key distribution (see KeyDistribution) */
+    @Param({"uniform", "zipfian"})
+    public String distribution;
+
+    /** Target with every entry stored, shared by every thread */
+    private BenchmarkTarget sharedTarget;
+
+    /** Stored keys, in access order */
+    private Integer[] hitKeys;
+
+    /** Keys that are never stored, in access order */
+    private Integer[] missKeys;
+
+    /** Creates the keys, and the target with every entry stored */
+    @Setup
+    public void setup(){
+        KeyDistribution keys = new KeyDistribution(this.distribution, this.size, accessSeed);
+        this.hitKeys = keys.accessKeys(accessLength, true);
+        this.missKeys = keys.accessKeys(accessLength, false);
+        this.sharedTarget = BenchmarkTarget.create(this.target, this.size, 0.75f);
+        for (Integer key : keys.storedKeys()){
+            this.sharedTarget.insert(key, key);
+        }
+    }
+
+    /**
+     * <h2>Cursor</h2>
+     * A thread's position in the access sequences<br>
+     */
+    @State(Scope.Thread)
+    public static class Cursor{
+
+        /** Position in the access sequences */
+        private int accessIndex;
+
+        /**
+         * Starts the thread at its own offset (spread evenly over the sequences)<br>
+         *
+         * @param params  The parameters of the thread
+         */
+        @Setup
+        public void setup(ThreadParams params){
+            this.accessIndex = (int)(((long)params.getThreadIndex()*accessLength)/params.getThreadCount());
+        }
+
+        /**
+         * Gets the position of the next access (wrapping around the access sequences)<br>
+         *
+         * @return The position
+         */
+        int nextAccess(){
+            int index = this.accessIndex;
+            this.accessIndex = (index + 1) & (accessLength - 1);
+            return index;
+        }
+
+    }
+
+    @Benchmark
+    @Group("read")
+    @GroupThreads(4)
+    public Integer readGet(Cursor cursor){
+        return this.sharedTarget.get(this.hitKeys[cursor.nextAccess()]);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Integer readWriteGet(Cursor cursor){
+        return this.sharedTarget.get(this.hitKeys[cursor.nextAccess()]);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void readWriteInsertDelete(Cursor cursor){
+        Integer key = this.missKeys[cursor.nextAccess()];
+        this.sharedTarget.insert(key, key);
+        this.sharedTarget.delete(key);
+    }
+
+}
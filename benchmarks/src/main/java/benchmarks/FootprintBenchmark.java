@@ -0,0 +1,139 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Footprint Benchmark
+Author: Jonah Swain
+*/
+
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <h2>FootprintBenchmark</h2>
+ * Measures the memory each target retains per entry: the used heap after a full GC with the filled target reachable, less the used heap after a full GC before it was created, divided by size<br>
+ * The keys (which are also the data) are created before the first measurement, so only the target's own memory is counted (nodes, arrays and any boxing the target does itself)<br>
+ * Results are the bytesPerEntry and retainedBytes secondary results (the time is that of filling the target, including the GCs, and is not meaningful)<br>
+ * The target is measured repeatedly in one measurement iteration, as JMH sums event counters over iterations (so do not set -i above 1)<br>
+ * Hash tables are sized for the load factor as in HashTableBenchmark (power of two tables round up, so may retain up to twice the slots)<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FootprintBenchmark{
+
+    /** Number of full GCs run before each heap measurement (so objects awaiting finalization/reference processing are collected too) */
+    private static final int gcRuns = 4;
+
+    /** Target (see BenchmarkTargets) */
+    @Param({"hashLinear", "hashQuadratic", "hashChaining", "hashRobinHood", "hashCuckoo", "hashLinearPow2", "hashQuadraticPow2", "hashChainingPow2", "hashRobinHoodPow2", "hashCuckooPow2", "flatLinear", "flatQuadratic", "intLinear", "intQuadratic", "intChaining", "bst", "bstRedBlack", "bstTreap", "avl", "flatAvl", "bPlus", "concurrentAvl", "concurrentHash"})
+    public String target;
+
+    /** Number of entries stored */
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /** Load factor hash tables are sized for (ignored by the trees) */
+    @Param({"0.75"})
+    public float loadFactor;
+
+    /** Keys to store (in a random order, so the trees that do not balance stay shallow) */
+    private Integer[] storedKeys;
+
+    /** Creates the keys */
+    @Setup
+    public void setup(){
+        this.storedKeys = new KeyDistribution("uniform", this.size, 0x5EED).storedKeys();
+    }
+
+    /**
+     * <h2>Footprint</h2>
+     * The footprint measured by an iteration, reported as secondary results<br>
+     * The median of the iteration's measurements is reported, as a measurement is occasionally thrown off by memory allocated by JMH itself between the GCs<br>
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint{
+
+        /** Heap retained by the target, per entry (median of the iteration) */
+        public double bytesPerEntry;
+
+        /** Heap retained by the target (median of the iteration) */
+        public long retainedBytes;
+
+        /** Heap retained by the target, for each measurement of the iteration */
+        private final ArrayList<Long> measurements = new ArrayList<Long>();
+
+        /** Clears the previous iteration's footprint */
+        @Setup(Level.Iteration)
+        public void reset(){
+            this.bytesPerEntry = 0;
+            this.retainedBytes = 0;
+            this.measurements.clear();
+        }
+
+        /**
+         * Records a measurement, updating the reported median<br>
+         *
+         * @param bytes  The heap retained by the target
+         * @param size  The number of entries in the target
+         */
+        void record(long bytes, int size){
+            this.measurements.add(bytes);
+            Collections.sort(this.measurements);
+            this.retainedBytes = this.measurements.get(this.measurements.size()/2);
+            this.bytesPerEntry = (double)this.retainedBytes/size;
+        }
+
+    }
+
+    /**
+     * Gets the used heap after full GCs<br>
+     *
+     * @return The used heap (bytes)
+     */
+    private static long usedHeap(){
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < gcRuns; i++){
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public BenchmarkTarget footprint(Footprint footprint){
+        long before = usedHeap();
+        BenchmarkTarget filled = BenchmarkTarget.create(this.target, this.size, this.loadFactor);
+        for (Integer key : this.storedKeys){
+            filled.insert(key, key);
+        }
+        long after = usedHeap();
+        Reference.reachabilityFence(filled); // Keep the target reachable until after the second measurement
+        footprint.record(after - before, this.size);
+        return filled;
+    }
+
+}
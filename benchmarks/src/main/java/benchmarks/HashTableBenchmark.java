@@ -0,0 +1,34 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Hash Table Benchmark
+Author: Jonah Swain
+*/
+
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * <h2>HashTableBenchmark</h2>
+ * Benchmarks every hash table collision resolution mode (HashTable, FlatHashTable and IntKeyHashTable) at several load factors<br>
+ * HashTable is benchmarked with both prime and power of two indexing (the *Pow2 targets), to compare modulo with masking of mixed hashes<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class HashTableBenchmark extends TargetBenchmark{
+
+    /** Hash table and collision resolution mode (see BenchmarkTargets) */
+    @Param({"hashLinear", "hashQuadratic", "hashChaining", "hashRobinHood", "hashCuckoo", "hashLinearPow2", "hashQuadraticPow2", "hashChainingPow2", "hashRobinHoodPow2", "hashCuckooPow2", "flatLinear", "flatQuadratic", "intLinear", "intQuadratic", "intChaining"})
+    public String target;
+
+    /** Load factor the table is held at */
+    @Param({"0.5", "0.75", "0.9"})
+    public float loadFactor;
+
+    @Override
+    protected BenchmarkTarget createTarget(){
+        return BenchmarkTarget.create(this.target, this.size, this.loadFactor);
+    }
+
+}
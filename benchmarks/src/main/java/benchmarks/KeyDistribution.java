@@ -0,0 +1,166 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Key Distribution
+Author: Jonah Swain
+*/
+
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+/**
+ * <h2>KeyDistribution</h2>
+ * The keys a benchmark stores and the order it accesses them in<br>
+ * Entry i (0 to size - 1) is stored in the target, and entry size + i is a key that is never stored (used for misses and insert/delete churn)<br>
+ * sequential: keys are consecutive integers, accessed in order<br>
+ * uniform: keys are scrambled integers, accessed uniformly at random<br>
+ * zipfian: keys are scrambled integers, accessed with a Zipfian skew (YCSB scrambled Zipfian, constant 0.99), so a few keys receive most accesses<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class KeyDistribution{
+
+    /** Zipfian constant (as used by YCSB) */
+    private static final double zipfianConstant = 0.99;
+
+    /** Name of the distribution */
+    private final String name;
+
+    /** Number of entries stored */
+    private final int size;
+
+    /** Random source (seeded, so every run accesses the same keys) */
+    private final SplittableRandom random;
+
+    /** Position in the sequential access order */
+    private int sequentialIndex;
+
+    /** Zipfian parameters (zipfian only) */
+    private double zetaN;
+    private double alpha;
+    private double eta;
+
+    /**
+     * Creates a key distribution<br>
+     * 
+     * @param name  The name of the distribution (sequential, uniform or zipfian)
+     * @param size  The number of entries stored
+     * @param seed  The seed for the random access order
+     */
+    public KeyDistribution(String name, int size, long seed) throws java.lang.RuntimeException {
+        if (!(name.equals("sequential") || name.equals("uniform") || name.equals("zipfian"))){
+            throw new RuntimeException("Unknown key distribution: " + name);
+        }
+        this.name = name;
+        this.size = size;
+        this.random = new SplittableRandom(seed);
+        this.sequentialIndex = 0;
+        if (name.equals("zipfian")){ // Precompute the normalisation constants (Gray et al., "Quickly generating billion-record synthetic databases")
+            double zeta2 = 1 + Math.pow(0.5, zipfianConstant);
+            this.zetaN = 0;
+            for (int i = 1; i <= size; i++){
+                this.zetaN += 1/Math.pow(i, zipfianConstant);
+            }
+            this.alpha = 1/(1 - zipfianConstant);
+            this.eta = (1 - Math.pow(2.0/size, 1 - zipfianConstant))/(1 - zeta2/this.zetaN);
+        }
+    }
+
+    /**
+     * Gets the key of an entry<br>
+     * 
+     * @param index  The index of the entry (0 to 2*size - 1, the first size entries are stored)
+     * @return The key
+     */
+    public int key(int index){
+        if (this.name.equals("sequential")){
+            return index;
+        } else {
+            return scramble(index); // A bijection, so distinct indices give distinct keys
+        }
+    }
+
+    /**
+     * Gets the index of the next entry to access<br>
+     * 
+     * @return The index (0 to size - 1)
+     */
+    public int nextIndex(){
+        if (this.name.equals("sequential")){
+            int index = this.sequentialIndex;
+            this.sequentialIndex = (index + 1) % this.size;
+            return index;
+        } else if (this.name.equals("uniform")){
+            return this.random.nextInt(this.size);
+        } else {
+            double u = this.random.nextDouble();
+            double uz = u*this.zetaN;
+            long rank;
+            if (uz < 1){
+                rank = 0;
+            } else if (uz < 1 + Math.pow(0.5, zipfianConstant)){
+                rank = 1;
+            } else {
+                rank = Math.min(this.size - 1, (long)(this.size*Math.pow(this.eta*u - this.eta + 1, this.alpha)));
+            }
+            return Math.floorMod(scramble((int) rank), this.size); // Spread the popular entries over the key space
+        }
+    }
+
+    /**
+     * Creates the keys of every stored entry, in a random order to insert them in (sorted insertion would degenerate an unbalanced tree)<br>
+     * 
+     * @return The stored keys, shuffled
+     */
+    public Integer[] storedKeys(){
+        Integer[] keys = new Integer[this.size];
+        for (int i = 0; i < this.size; i++){
+            keys[i] = this.key(i);
+        }
+        SplittableRandom shuffle = new SplittableRandom(this.size);
+        for (int i = this.size - 1; i > 0; i--){ // Fisher-Yates shuffle
+            int j = shuffle.nextInt(i + 1);
+            Integer swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        return keys;
+    }
+
+    /**
+     * Creates a sequence of keys to access (boxed in advance, so benchmarks do not measure boxing)<br>
+     * 
+     * @param length  The number of keys
+     * @param stored  Whether to access stored keys (hits) or keys that are never stored (misses)
+     * @return The keys, in access order
+     */
+    public Integer[] accessKeys(int length, boolean stored){
+        Integer[] keys = new Integer[length];
+        for (int i = 0; i < length; i++){
+            int index = this.nextIndex();
+            if (stored){
+                keys[i] = this.key(index);
+            } else {
+                keys[i] = this.key(this.size + index);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Scrambles an integer (MurmurHash3 finalizer, which is invertible)<br>
+     * 
+     * @param value  The value to scramble
+     * @return The scrambled value
+     */
+    private static int scramble(int value){
+        value ^= value >>> 16;
+        value *= 0x85ebca6b;
+        value ^= value >>> 13;
+        value *= 0xc2b2ae35;
+        value ^= value >>> 16;
+        return value;
+    }
+
+}
@@ -0,0 +1,139 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Target Benchmark
+Author: Jonah Swain
+*/
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * <h2>TargetBenchmark</h2>
+ * The insert/get/delete benchmarks shared by every data structure (subclasses choose the targets)<br>
+ * Each benchmark is measured as throughput and as sampled latency (percentiles are included in the results)<br>
+ * getHit/getMiss: get a stored key/a key that is never stored<br>
+ * insertDelete: insert a key that is not stored then delete it again (so the size stays constant)<br>
+ * fill: insert every entry into an empty target (single shot, so growth and rebalancing are included)<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public abstract class TargetBenchmark{
+
+    /** Number of keys in each access sequence (a power of two) */
+    private static final int accessLength = 1 << 20;
+
+    /** Seed for the access sequences */
+    private static final long accessSeed = 0x5EED;
+
+    /** Number of entries stored */
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    /** Key distribution (see KeyDistribution) */
+    @Param({"sequential", "uniform", "zipfian"})
+    public String distribution;
+
+    /** Target with every entry stored (not created for fill) */
+    private BenchmarkTarget target;
+
+    /** Stored keys, in insertion order */
+    private Integer[] storedKeys;
+
+    /** Stored keys, in access order */
+    private Integer[] hitKeys;
+
+    /** Keys that are never stored, in access order */
+    private Integer[] missKeys;
+
+    /** Position in the access sequences */
+    private int accessIndex;
+
+    /**
+     * Creates an empty target<br>
+     * 
+     * @return The empty target, sized for size entries
+     */
+    protected abstract BenchmarkTarget createTarget();
+
+    /**
+     * Creates the keys, and the target with every entry stored<br>
+     * 
+     * @param params  The parameters of the benchmark being run
+     */
+    @Setup
+    public void setup(BenchmarkParams params){
+        KeyDistribution keys = new KeyDistribution(this.distribution, this.size, accessSeed);
+        this.storedKeys = keys.storedKeys();
+        this.hitKeys = keys.accessKeys(accessLength, true);
+        this.missKeys = keys.accessKeys(accessLength, false);
+        this.accessIndex = 0;
+        if (!params.getBenchmark().endsWith(".fill")){ // fill creates its own targets
+            this.target = this.createTarget();
+            for (Integer key : this.storedKeys){
+                this.target.insert(key, key);
+            }
+        }
+    }
+
+    /**
+     * Gets the position of the next access (wrapping around the access sequences)<br>
+     * 
+     * @return The position
+     */
+    private int nextAccess(){
+        int index = this.accessIndex;
+        this.accessIndex = (index + 1) & (accessLength - 1);
+        return index;
+    }
+
+    @Benchmark
+    public Integer getHit(){
+        return this.target.get(this.hitKeys[this.nextAccess()]);
+    }
+
+    @Benchmark
+    public Integer getMiss(){
+        return this.target.get(this.missKeys[this.nextAccess()]);
+    }
+
+    @Benchmark
+    public void insertDelete(){
+        Integer key = this.missKeys[this.nextAccess()];
+        this.target.insert(key, key);
+        this.target.delete(key);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public BenchmarkTarget fill(){
+        BenchmarkTarget empty = this.createTarget();
+        for (Integer key : this.storedKeys){
+            empty.insert(key, key);
+        }
+        return empty;
+    }
+
+}
@@ -0,0 +1,29 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Tree Benchmark
+Author: Jonah Swain
+*/
+
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * <h2>TreeBenchmark</h2>
+ * Benchmarks every tree (BinarySearchTree with each balancing scheme, AVLTree, FlatAVLTree, BPlusTree and ConcurrentAVLTree)<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class TreeBenchmark extends TargetBenchmark{
+
+    /** Tree (see BenchmarkTargets) */
+    @Param({"bst", "bstRedBlack", "bstTreap", "bstSplay", "bstSemiSplay", "avl", "flatAvl", "bPlus", "concurrentAvl"})
+    public String target;
+
+    @Override
+    protected BenchmarkTarget createTarget(){
+        return BenchmarkTarget.create(this.target, this.size, 0);
+    }
+
+}
@@ -6,6 +6,21 @@ Author: Jonah Swain
 
 import java.lang.RuntimeException;
 import java.lang.reflect.Array;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <h2>AVLTree</h2>
@@ -13,11 +28,12 @@ import java.lang.reflect.Array;
  * generic dataType is the (object) type of the data to be stored<br>
  * generic keyType is the (object) type of the key used for the node (must implement the Comparable interface)<br><br>
  * Uses tree traversal for some functions to avoid the overhead associated with recursion<br>
+ * Statistics (comparisons, path lengths, rotations, height) can optionally be recorded, see setStatisticsEnabled<br>
  * 
  * @author Jonah Swain (https://github.com/jonahswain/)
  * @since 10/03/2018
  */
-public class AVLTree<dataType, keyType extends Comparable<keyType>>{
+public class AVLTree<dataType, keyType extends Comparable<keyType>> implements Iterable<dataType>{
 
     /** Head node of the tree */
     private AVLTreeNode<dataType, keyType> headNode;
@@ -25,10 +41,32 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
     /** Size of the tree (number of elements) */
     private int treeSize;
 
-    /** Creates a new AVLTree object */
+    /** Sub-trees with at most this many entries are built sequentially by bulkLoadParallel */
+    public static final int parallelBuildThreshold = 8192;
+
+    /** Whether sub-tree sizes are maintained (for select/rank) */
+    private boolean orderStatistics;
+
+    /** Statistics counters (null unless statistics are enabled) */
+    private TreeStatistics.Counters counters;
+
+    /** Number of rotations performed by rotateLeft/rotateRight (for the statistics) */
+    private long rotationCount;
+
+    /** Creates a new AVLTree object (without order statistics) */
     public AVLTree(){
+        this(false);
+    }
+
+    /**
+     * Creates a new AVLTree object<br>
+     * 
+     * @param trackSubtreeSizes  Whether to maintain sub-tree sizes, enabling select/rank in logarithmic time (at the cost of updating every node on the path on insert/delete)
+     */
+    public AVLTree(boolean trackSubtreeSizes){
         this.headNode = null;
         this.treeSize = 0;
+        this.orderStatistics = trackSubtreeSizes;
     }
 
     /**
@@ -38,22 +76,25 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
      * @param data  The data to insert
      */
     public void insert(keyType key, dataType data) throws java.lang.RuntimeException {
+        int pathLength = 0; // Number of nodes visited (for the statistics)
+        long rotations = this.rotationCount;
         if (this.headNode == null){ // If head node is null, insert the new node as the head node
             this.headNode = new AVLTreeNode<dataType, keyType>(key, data);
         } else { // If the head node is not null, find where to insert the new node
             AVLTreeNode<dataType, keyType> currentNode = this.headNode;
             while(true){
+                pathLength++;
                 if (currentNode.key().compareTo(key) > 0){ // Insert to the left
                     if (currentNode.getLeftChild() == null){ // Insert a child on the current node
                         currentNode.setLeftChild(new AVLTreeNode<dataType, keyType>(key, data, currentNode));
-                        break; // Exit loop
+                        break; // Exit loop (current node is the parent of the new node)
                     } else { // Branch to the next node
                         currentNode = currentNode.getLeftChild();
                     }
                 } else if (currentNode.key().compareTo(key) < 0){ // Insert to the right
                     if (currentNode.getRightChild() == null){ // Insert a child on the current node
                         currentNode.setRightChild(new AVLTreeNode<dataType, keyType>(key, data, currentNode));
-                        break; // Exit loop
+                        break; // Exit loop (current node is the parent of the new node)
                     } else { // Branch to the next node
                         currentNode = currentNode.getRightChild();
                     }
@@ -61,10 +102,14 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
                     throw new RuntimeException("Duplicate key error"); // Throw an error
                 }
             }
+            this.updateSizes(currentNode); // Count the new node in the sub-tree sizes on its path
+            this.retrace(currentNode); // Rebalance the path from the new node's parent back to the head node
         }
 
         this.treeSize++; // Increment tree size
-        this.autoBalance(); // Balance the tree
+        if (this.counters != null){
+            this.counters.recordInsert(pathLength, this.rotationCount - rotations);
+        }
     }
 
     /**
@@ -75,16 +120,27 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
      */
     public dataType get(keyType key){
         AVLTreeNode<dataType, keyType> currentNode = this.headNode;
+        int pathLength = 0; // Number of nodes visited and keys compared (for the statistics)
+        int comparisons = 0;
         while (currentNode != null){
+            pathLength++;
             if (currentNode.key().compareTo(key) > 0){ // Search to the left
+                comparisons++;
                 currentNode = currentNode.getLeftChild();
             } else if (currentNode.key().compareTo(key) < 0){ // Search to the right
+                comparisons += 2;
                 currentNode = currentNode.getRightChild();
             } else { // Key is equal (return data)
+                if (this.counters != null){
+                    this.counters.recordGet(comparisons + 2, pathLength, true);
+                }
                 return currentNode.data();
             }
         }
 
+        if (this.counters != null){
+            this.counters.recordGet(comparisons, pathLength, false);
+        }
         return null; // Key not found, return null
     }
 
@@ -96,71 +152,93 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
     public void delete(keyType key){
         // Search for node with specified key
         AVLTreeNode<dataType, keyType> currentNode = this.headNode;
+        int pathLength = 0; // Number of nodes visited (for the statistics)
+        long rotations = this.rotationCount;
+        boolean removed = false;
         while (currentNode != null){
+            pathLength++;
             if (currentNode.key().compareTo(key) > 0){ // Search to the left
                 currentNode = currentNode.getLeftChild();
             } else if (currentNode.key().compareTo(key) < 0){ // Search to the right
                 currentNode = currentNode.getRightChild();
             } else { // Key is equal (delete node)
-                this.delete(currentNode);
+                this.delete(currentNode); // Delete the node (rebalances the tree)
                 this.treeSize--; // Decrement tree size
-                this.autoBalance(); // Balance tree
+                removed = true;
+                break;
             }
         }
+        if (this.counters != null){
+            this.counters.recordDelete(pathLength, this.rotationCount - rotations, removed);
+        }
     }
 
     /**
      * Removes a node from the tree<br>
+     * Only the path from the removed node's position back to the head node is rebalanced<br>
      * 
      * @param node  The node to remove
      */
     public void delete(AVLTreeNode<dataType, keyType> node) throws java.lang.RuntimeException {
-        if (node.getLeftChild() == null && node.getRightChild() == null){ // Check if node is a leaf node
-            if (node.getParent().getLeftChild() == node){ // Node is parents' left child
-                node.getParent().setLeftChild(null); // Delete node
-            } else if (node.getParent().getRightChild() == node){ // Node is parents' right child
-                node.getParent().setRightChild(null); // Delete node
-            } else { // Node is not a child of parent (unknown error?)
-                throw new RuntimeException("Node is not a child of parent");
-            }
-        } else if (node.getLeftChild() != null){ // Node has a left child to get its replacement from
+        AVLTreeNode<dataType, keyType> retraceNode; // Lowest node whose sub-tree height may have changed
+        if (node.getLeftChild() == null || node.getRightChild() == null){ // Node has at most one child, splice it out
+            AVLTreeNode<dataType, keyType> childNode = node.getLeftChild();
+            if (childNode == null){ // Node has no left child, use its right child (or null)
+                childNode = node.getRightChild();
+            }
+            retraceNode = node.getParent();
+            this.replaceNode(node, childNode); // Replace the node with its only child (or null)
+        } else { // Node has two children, replace it with the right-most node of its left sub-tree (key closest to key of node to be deleted)
             AVLTreeNode<dataType, keyType> replacementNode = node.getLeftChild();
-            while (replacementNode.getRightChild() != null){ // Get the right-most child of the left child (key closest to key of node to be deleted)
+            while (replacementNode.getRightChild() != null){
                 replacementNode = replacementNode.getRightChild();
             }
-            if (replacementNode.getLeftChild() != null){ // Check if replacement node has a child
-                replacementNode.getLeftChild().setParent(replacementNode.getParent()); // Set the parent of the child to the parent of the replacement node
-                replacementNode.getParent().setRightChild(replacementNode.getLeftChild()); // Re-attach the replacement node's child to its parent
-            }
-            // Replace node to be deleted
-            if (node.getParent().getLeftChild() == node){ // Node is parents' left child
-                replacementNode.setParent(node.getParent()); // Set the replacement node's parent to the parent of the node to be deleted
-                node.getParent().setLeftChild(replacementNode); // Replace node
-            } else if (node.getParent().getRightChild() == node){ // Node is parents' right child
-                replacementNode.setParent(node.getParent()); // Set the replacement node's parent to the parent of the node to be deleted
-                node.getParent().setRightChild(replacementNode); // Replace node
-            } else { // Node is not a child of parent (unknown error?)
-                throw new RuntimeException("Node is not a child of parent");
-            }
-        } else if (node.getRightChild() != null){ // Node has a right child to get its replacement from
-            AVLTreeNode<dataType, keyType> replacementNode = node.getRightChild();
-            while (replacementNode.getLeftChild() != null){ // Get the left-most child of the right child (key closest to key of node to be deleted)
-                replacementNode = replacementNode.getLeftChild();
-            }
-            if (replacementNode.getRightChild() != null){ // Check if replacement node has a child
-                replacementNode.getRightChild().setParent(replacementNode.getParent()); // Set the parent of the child to the parent of the replacement node
-                replacementNode.getParent().setLeftChild(replacementNode.getRightChild()); // Re-attach the replacement node's child to its parent
-            }
-            // Replace node to be deleted
-            if (node.getParent().getLeftChild() == node){ // Node is parents' left child
-                replacementNode.setParent(node.getParent()); // Set the replacement node's parent to the parent of the node to be deleted
-                node.getParent().setLeftChild(replacementNode); // Replace node
-            } else if (node.getParent().getRightChild() == node){ // Node is parents' right child
-                replacementNode.setParent(node.getParent()); // Set the replacement node's parent to the parent of the node to be deleted
-                node.getParent().setRightChild(replacementNode); // Replace node
-            } else { // Node is not a child of parent (unknown error?)
-                throw new RuntimeException("Node is not a child of parent");
+            if (replacementNode.getParent() == node){ // Replacement node is the node's left child (it keeps its own left sub-tree)
+                retraceNode = replacementNode;
+            } else { // Detach the replacement node, re-attaching its left child to its parent
+                retraceNode = replacementNode.getParent();
+                retraceNode.setRightChild(replacementNode.getLeftChild());
+                if (replacementNode.getLeftChild() != null){
+                    replacementNode.getLeftChild().setParent(retraceNode);
+                }
+                replacementNode.setLeftChild(node.getLeftChild()); // Take over the node's left sub-tree
+                node.getLeftChild().setParent(replacementNode);
             }
+            replacementNode.setRightChild(node.getRightChild()); // Take over the node's right sub-tree
+            node.getRightChild().setParent(replacementNode);
+            replacementNode.setHeight(node.getHeight()); // Take over the node's (pre-removal) height so retracing stops at the right place
+            replacementNode.setSize(node.getSize());
+            this.replaceNode(node, replacementNode);
+        }
+
+        // Detach the removed node from the tree
+        node.setLeftChild(null);
+        node.setRightChild(null);
+        node.setParent(null);
+
+        this.updateSizes(retraceNode); // Recount the sub-tree sizes on the path (before rotations, which rely on the children's sizes)
+        this.retrace(retraceNode); // Rebalance the path back to the head node
+    }
+
+    /**
+     * Replaces a node with another node (or null) in the node's parent (or as the head node)<br>
+     * 
+     * @param node  The node to replace
+     * @param replacementNode  The node to put in its place (may be null)
+     */
+    private void replaceNode(AVLTreeNode<dataType, keyType> node, AVLTreeNode<dataType, keyType> replacementNode) throws java.lang.RuntimeException {
+        AVLTreeNode<dataType, keyType> parentNode = node.getParent();
+        if (parentNode == null){ // Node is the head node
+            this.headNode = replacementNode;
+        } else if (parentNode.getLeftChild() == node){ // Node is parents' left child
+            parentNode.setLeftChild(replacementNode);
+        } else if (parentNode.getRightChild() == node){ // Node is parents' right child
+            parentNode.setRightChild(replacementNode);
+        } else { // Node is not a child of parent (unknown error?)
+            throw new RuntimeException("Node is not a child of parent");
+        }
+        if (replacementNode != null){ // Fix the replacement node's parent
+            replacementNode.setParent(parentNode);
         }
     }
 
@@ -171,6 +249,7 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
      */
     public void rotateLeft(AVLTreeNode<dataType, keyType> node){
         if (node.getRightChild() != null){ // Ensure node has a child to rotate into its place
+            this.rotationCount++;
             AVLTreeNode<dataType, keyType> nodeReplacement = node.getRightChild(); // Replacement node
             AVLTreeNode<dataType, keyType> treeParent = node.getParent(); // Parent of the sub-tree to be rotated
             node.setRightChild(node.getRightChild().getLeftChild()); // Move the replacement node's right child into the place of the nodes left child
@@ -180,6 +259,10 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
             nodeReplacement.setLeftChild(node); // Set the node's replacement's right child to node
             node.setParent(nodeReplacement); // Set the node's parent to the replacement node (fix parent)
             nodeReplacement.setParent(treeParent); // Set the node replacement's parent to the original node's parent
+            this.updateHeight(node); // Node is now the replacement node's child, so update its height first
+            this.updateHeight(nodeReplacement);
+            this.updateSize(node);
+            this.updateSize(nodeReplacement);
 
             if (this.headNode == node){ // Special case for rotating the head node
                 // Set the new tree head node
@@ -207,6 +290,7 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
      */
     public void rotateRight(AVLTreeNode<dataType, keyType> node){
         if (node.getLeftChild() != null){ // Ensure node has a child to rotate into its place
+            this.rotationCount++;
             AVLTreeNode<dataType, keyType> nodeReplacement = node.getLeftChild(); // Replacement node
             AVLTreeNode<dataType, keyType> treeParent = node.getParent(); // Parent of the sub-tree to be rotated
             node.setLeftChild(node.getLeftChild().getRightChild()); // Move the replacement node's right child into the place of the nodes left child
@@ -216,6 +300,10 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
             nodeReplacement.setRightChild(node); // Set the node's replacement's right child to node
             node.setParent(nodeReplacement); // Set the node's parent to the replacement node (fix parent)
             nodeReplacement.setParent(treeParent); // Set the node replacement's parent to the original node's parent
+            this.updateHeight(node); // Node is now the replacement node's child, so update its height first
+            this.updateHeight(nodeReplacement);
+            this.updateSize(node);
+            this.updateSize(nodeReplacement);
 
             if (this.headNode == node){ // Special case for rotating the head node
                 // Set the new tree head node
@@ -236,8 +324,85 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
         }
     }
 
+    /**
+     * Rebalances the path from a node back to the head node (used after an insert/delete)<br>
+     * Uses the cached node heights, and stops as soon as a sub-tree's height is unchanged (the rest of the path is unaffected)<br>
+     * 
+     * @param node  The lowest node on the path whose sub-tree has changed
+     */
+    private void retrace(AVLTreeNode<dataType, keyType> node){
+        while (node != null){
+            int oldHeight = node.getHeight(); // Height of the sub-tree at this position before the change
+            node = this.rebalance(node); // Rebalance the sub-tree (node is now the sub-tree's head)
+            if (node.getHeight() == oldHeight){ // Sub-tree height is unchanged, so no ancestor is affected
+                return;
+            }
+            node = node.getParent(); // Move up the path
+        }
+    }
+
+    /**
+     * Updates the height of a node and, if it is unbalanced, performs a single or double rotation about it<br>
+     * The heights of the node's children must be correct<br>
+     * 
+     * @param node  The head node of the sub-tree to rebalance
+     * @return The new head node of the sub-tree
+     */
+    private AVLTreeNode<dataType, keyType> rebalance(AVLTreeNode<dataType, keyType> node){
+        this.updateHeight(node);
+        int balance = this.balanceFactor(node);
+        if (balance > 1){ // Tree is unbalanced to the left
+            if (this.balanceFactor(node.getLeftChild()) < 0){ // Left child is heavy to the right (left-right case), rotate it left first
+                this.rotateLeft(node.getLeftChild());
+            }
+            this.rotateRight(node); // Rotate right
+            return node.getParent();
+        } else if (balance < -1){ // Tree is unbalanced to the right
+            if (this.balanceFactor(node.getRightChild()) > 0){ // Right child is heavy to the left (right-left case), rotate it right first
+                this.rotateRight(node.getRightChild());
+            }
+            this.rotateLeft(node); // Rotate left
+            return node.getParent();
+        }
+        return node;
+    }
+
+    /**
+     * Gets the balance factor of a node (height of the left sub-tree minus the height of the right sub-tree)<br>
+     * 
+     * @param node  The node to get the balance factor of
+     * @return The balance factor of the node
+     */
+    private int balanceFactor(AVLTreeNode<dataType, keyType> node){
+        return this.height(node.getLeftChild()) - this.height(node.getRightChild());
+    }
+
+    /**
+     * Gets the cached height of a sub-tree (0 for an empty sub-tree)<br>
+     * 
+     * @param node  The head node of the sub-tree (may be null)
+     * @return The height of the sub-tree
+     */
+    private int height(AVLTreeNode<dataType, keyType> node){
+        if (node != null){
+            return node.getHeight();
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Recalculates the cached height of a node from the cached heights of its children<br>
+     * 
+     * @param node  The node to update
+     */
+    private void updateHeight(AVLTreeNode<dataType, keyType> node){
+        node.setHeight(Math.max(this.height(node.getLeftChild()), this.height(node.getRightChild())) + 1);
+    }
+
     /**
      * Automatically balances the AVL tree if it is unbalanced<br>
+     * Not required after insert/delete (these rebalance the affected path themselves), visits every node<br>
      */
     public void autoBalance(){
         if (this.headNode != null){ // Ensure tree is not empty
@@ -251,39 +416,767 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
      * @param node  The head node of the sub tree to balance
      */
     public void autoBalance(AVLTreeNode<dataType, keyType> node){
-        int leftChildDepth = 0; // Depth of the left sub-tree
-        if (node.getLeftChild() != null){ // If applicable, calculate the depth of the left sub tree
-            leftChildDepth = this.depth(node.getLeftChild());
+        if (node.getLeftChild() != null){ // If the node has a left child, balance it first (recursively)
+            this.autoBalance(node.getLeftChild());
         }
-        int rightChildDepth = 0; // Depth of the right sub-tree
-        if (node.getRightChild() != null){ // If applicable, calculate the depth of the left sub tree
-            rightChildDepth = this.depth(node.getRightChild());
+        if (node.getRightChild() != null){ // If the node has a right child, balance it first (recursively)
+            this.autoBalance(node.getRightChild());
         }
+        this.rebalance(node); // Both sub-trees are balanced with correct heights, rebalance this node
+    }
 
-        if (leftChildDepth > (rightChildDepth + 1)){ // Tree is unbalanced to the left
-            this.rotateRight(node); // Rotate right
-        } else if (rightChildDepth > (leftChildDepth + 1)){ // Tree is unbalanced to the right
-            this.rotateLeft(node); // Rotate left
+    /**
+     * Replaces the contents of the tree with entries from sorted arrays of keys and data<br>
+     * Builds a perfectly balanced tree in linear time (inserting sorted entries one at a time makes the tree rotate repeatedly)<br>
+     * 
+     * @param keys  The keys of the entries (must be in strictly increasing order)
+     * @param data  The data of the entries (data[i] is stored with keys[i])
+     */
+    public void bulkLoad(keyType[] keys, dataType[] data) throws java.lang.RuntimeException {
+        if (keys.length != data.length){
+            throw new RuntimeException("Number of keys does not match number of data elements");
         }
+        this.bulkLoad(Arrays.asList(keys), Arrays.asList(data));
+    }
 
-        if (node.getLeftChild() != null){ // If the node has a left child, balance it (recursively)
-            this.autoBalance(node.getLeftChild());
+    /**
+     * Replaces the contents of the tree with the entries from an iterator of key/data pairs sorted by key<br>
+     * Builds a perfectly balanced tree in linear time<br>
+     * 
+     * @param entries  The entries to load (keys must be in strictly increasing order)
+     */
+    public void bulkLoad(Iterator<? extends Map.Entry<keyType, dataType>> entries) throws java.lang.RuntimeException {
+        ArrayList<keyType> keys = new ArrayList<keyType>();
+        ArrayList<dataType> data = new ArrayList<dataType>();
+        while (entries.hasNext()){
+            Map.Entry<keyType, dataType> entry = entries.next();
+            keys.add(entry.getKey());
+            data.add(entry.getValue());
         }
-        if (node.getRightChild() != null){ // If the node has a right child, balance it (recursively)
-            this.autoBalance(node.getRightChild());
+        this.bulkLoad(keys, data);
+    }
+
+    /**
+     * Replaces the contents of the tree with the entries from a stream of key/data pairs sorted by key<br>
+     * Builds a perfectly balanced tree in linear time<br>
+     * 
+     * @param entries  The entries to load (keys must be in strictly increasing order, the stream is consumed in encounter order)
+     */
+    public void bulkLoad(Stream<? extends Map.Entry<keyType, dataType>> entries) throws java.lang.RuntimeException {
+        this.bulkLoad(entries.iterator());
+    }
+
+    /**
+     * Replaces the contents of the tree with entries from sorted lists of keys and data<br>
+     * The keys are checked before the tree is changed, so the tree is left unchanged if they are not sorted<br>
+     * 
+     * @param keys  The keys of the entries (must be in strictly increasing order)
+     * @param data  The data of the entries
+     */
+    private void bulkLoad(List<keyType> keys, List<dataType> data) throws java.lang.RuntimeException {
+        for (int i = 1; i < keys.size(); i++){
+            int comparison = keys.get(i - 1).compareTo(keys.get(i));
+            if (comparison == 0){
+                throw new RuntimeException("Duplicate key error");
+            } else if (comparison > 0){
+                throw new RuntimeException("Keys are not in sorted order");
+            }
+        }
+        this.headNode = this.buildSubtree(keys, data, 0, keys.size(), null);
+        this.treeSize = keys.size();
+    }
+
+    /**
+     * Builds a perfectly balanced sub-tree from part of sorted lists of keys and data (the middle entry becomes the head)<br>
+     * Sets the parent links, heights, and sub-tree sizes (if order statistics are enabled) of every node<br>
+     * 
+     * @param keys  The sorted keys
+     * @param data  The data for each key
+     * @param fromIndex  The index of the first entry in the sub-tree
+     * @param toIndex  The index after the last entry in the sub-tree
+     * @param parentNode  The parent of the sub-tree's head node (null for the head of the tree)
+     * @return The head node of the sub-tree (null if the part is empty)
+     */
+    private AVLTreeNode<dataType, keyType> buildSubtree(List<keyType> keys, List<dataType> data, int fromIndex, int toIndex, AVLTreeNode<dataType, keyType> parentNode){
+        if (fromIndex >= toIndex){
+            return null;
+        }
+        int middleIndex = (fromIndex + toIndex) >>> 1;
+        AVLTreeNode<dataType, keyType> node = new AVLTreeNode<dataType, keyType>(keys.get(middleIndex), data.get(middleIndex), parentNode);
+        node.setLeftChild(this.buildSubtree(keys, data, fromIndex, middleIndex, node));
+        node.setRightChild(this.buildSubtree(keys, data, middleIndex + 1, toIndex, node));
+        this.updateHeight(node);
+        this.updateSize(node);
+        return node;
+    }
+
+    /**
+     * Replaces the contents of the tree with entries from sorted arrays of keys and data, building sub-trees in parallel<br>
+     * The key check and the build are split across the common fork/join pool (sub-trees smaller than parallelBuildThreshold are built sequentially)<br>
+     * 
+     * @param keys  The keys of the entries (must be in strictly increasing order)
+     * @param data  The data of the entries (data[i] is stored with keys[i])
+     */
+    public void bulkLoadParallel(keyType[] keys, dataType[] data) throws java.lang.RuntimeException {
+        if (keys.length != data.length){
+            throw new RuntimeException("Number of keys does not match number of data elements");
+        }
+        OptionalInt unsortedIndex = IntStream.range(1, keys.length).parallel().filter(i -> keys[i - 1].compareTo(keys[i]) >= 0).findFirst(); // First key that is not larger than the key before it
+        if (unsortedIndex.isPresent()){
+            if (keys[unsortedIndex.getAsInt() - 1].compareTo(keys[unsortedIndex.getAsInt()]) == 0){
+                throw new RuntimeException("Duplicate key error");
+            } else {
+                throw new RuntimeException("Keys are not in sorted order");
+            }
+        }
+        this.headNode = ForkJoinPool.commonPool().invoke(new AVLTreeBuildTask(Arrays.asList(keys), Arrays.asList(data), 0, keys.length));
+        this.treeSize = keys.length;
+    }
+
+    /**
+     * Merges another AVL tree into this tree (the union of the two trees), leaving the other tree empty<br>
+     * Splits and joins sub-trees instead of re-inserting entries, taking O(m log(n/m + 1)) time for trees of sizes m and n (m &lt;= n)<br>
+     * Where a key is in both trees, the entry from the other tree replaces the entry in this tree<br>
+     * 
+     * @param other  The tree to merge into this tree (its nodes are moved into this tree)
+     */
+    public void merge(AVLTree<dataType, keyType> other){
+        if ((other == this) || (other.headNode == null)){ // Nothing to merge
+            return;
+        }
+        if (this.orderStatistics && !other.orderStatistics){ // Other tree's nodes don't have sub-tree sizes yet
+            this.recountSizes(other.headNode);
+        }
+        this.treeSize += other.treeSize; // Reduced for each key found in both trees
+        this.headNode = this.unionSubtrees(this.headNode, other.headNode);
+        other.headNode = null;
+        other.treeSize = 0;
+    }
+
+    /**
+     * Merges two detached sub-trees (the union of their entries)<br>
+     * Splits the second sub-tree around the first sub-tree's head, merges the halves on each side recursively and joins the results<br>
+     * 
+     * @param node  The head node of the first sub-tree (may be null)
+     * @param otherNode  The head node of the second sub-tree, whose entries replace entries with equal keys (may be null)
+     * @return The head node of the merged sub-tree
+     */
+    private AVLTreeNode<dataType, keyType> unionSubtrees(AVLTreeNode<dataType, keyType> node, AVLTreeNode<dataType, keyType> otherNode){
+        if (node == null){
+            return otherNode;
+        } else if (otherNode == null){
+            return node;
+        }
+        AVLTreeNode<dataType, keyType> leftNode = this.detach(node.getLeftChild());
+        AVLTreeNode<dataType, keyType> rightNode = this.detach(node.getRightChild());
+        AVLTreeSplit split = this.splitSubtree(otherNode, node.key());
+        if (split.equalNode != null){ // Key is in both trees, use the other tree's entry
+            node = split.equalNode;
+            this.treeSize--;
+        }
+        return this.joinSubtrees(this.unionSubtrees(leftNode, split.lessTree), node, this.unionSubtrees(rightNode, split.greaterTree));
+    }
+
+    /**
+     * Splits a detached sub-tree into the sub-trees of keys less than and greater than a key (each still balanced)<br>
+     * 
+     * @param node  The head node of the sub-tree (may be null)
+     * @param key  The key to split around
+     * @return The split (the node with an equal key is returned separately, with no links)
+     */
+    private AVLTreeSplit splitSubtree(AVLTreeNode<dataType, keyType> node, keyType key){
+        if (node == null){
+            return new AVLTreeSplit(null, null, null);
+        }
+        AVLTreeNode<dataType, keyType> leftNode = this.detach(node.getLeftChild());
+        AVLTreeNode<dataType, keyType> rightNode = this.detach(node.getRightChild());
+        if (node.key().compareTo(key) > 0){ // Key is in the left sub-tree, the node and its right sub-tree are greater
+            AVLTreeSplit split = this.splitSubtree(leftNode, key);
+            split.greaterTree = this.joinSubtrees(split.greaterTree, node, rightNode);
+            return split;
+        } else if (node.key().compareTo(key) < 0){ // Key is in the right sub-tree, the node and its left sub-tree are less
+            AVLTreeSplit split = this.splitSubtree(rightNode, key);
+            split.lessTree = this.joinSubtrees(leftNode, node, split.lessTree);
+            return split;
+        } else { // Key is equal, split around the node
+            node.setLeftChild(null);
+            node.setRightChild(null);
+            return new AVLTreeSplit(leftNode, node, rightNode);
+        }
+    }
+
+    /**
+     * Joins two detached sub-trees with a node between them into one balanced sub-tree<br>
+     * All keys in the left sub-tree must be less than the node's key, and all keys in the right sub-tree greater<br>
+     * Descends the taller sub-tree's inner spine to a sub-tree of similar height to the shorter one, and rebalances on the way back up<br>
+     * 
+     * @param leftNode  The head node of the left sub-tree (may be null)
+     * @param node  The node to join the sub-trees with
+     * @param rightNode  The head node of the right sub-tree (may be null)
+     * @return The head node of the joined sub-tree (detached)
+     */
+    private AVLTreeNode<dataType, keyType> joinSubtrees(AVLTreeNode<dataType, keyType> leftNode, AVLTreeNode<dataType, keyType> node, AVLTreeNode<dataType, keyType> rightNode){
+        if (this.height(leftNode) > this.height(rightNode) + 1){ // Left sub-tree is taller, join into its right spine
+            AVLTreeNode<dataType, keyType> joinedNode = this.joinSubtrees(this.detach(leftNode.getRightChild()), node, rightNode);
+            leftNode.setRightChild(joinedNode);
+            joinedNode.setParent(leftNode);
+            return this.rebalanceSubtree(leftNode);
+        } else if (this.height(rightNode) > this.height(leftNode) + 1){ // Right sub-tree is taller, join into its left spine
+            AVLTreeNode<dataType, keyType> joinedNode = this.joinSubtrees(leftNode, node, this.detach(rightNode.getLeftChild()));
+            rightNode.setLeftChild(joinedNode);
+            joinedNode.setParent(rightNode);
+            return this.rebalanceSubtree(rightNode);
+        }
+        // Heights differ by at most one, the node can be the head
+        node.setParent(null);
+        node.setLeftChild(leftNode);
+        node.setRightChild(rightNode);
+        if (leftNode != null){
+            leftNode.setParent(node);
+        }
+        if (rightNode != null){
+            rightNode.setParent(node);
+        }
+        this.updateHeight(node);
+        this.updateSize(node);
+        return node;
+    }
+
+    /**
+     * Updates the height (and size) of the head of a detached sub-tree and, if it is unbalanced, performs a single or double rotation about it<br>
+     * Like rebalance, but for sub-trees that are not linked into the tree<br>
+     * 
+     * @param node  The head node of the sub-tree (its children must be balanced with correct heights)
+     * @return The new head node of the sub-tree (detached)
+     */
+    private AVLTreeNode<dataType, keyType> rebalanceSubtree(AVLTreeNode<dataType, keyType> node){
+        this.updateHeight(node);
+        this.updateSize(node);
+        int balance = this.balanceFactor(node);
+        if (balance > 1){ // Sub-tree is unbalanced to the left
+            if (this.balanceFactor(node.getLeftChild()) < 0){ // Left child is heavy to the right (left-right case), rotate it left first
+                node.setLeftChild(this.rotateSubtreeLeft(node.getLeftChild()));
+                node.getLeftChild().setParent(node);
+            }
+            return this.rotateSubtreeRight(node);
+        } else if (balance < -1){ // Sub-tree is unbalanced to the right
+            if (this.balanceFactor(node.getRightChild()) > 0){ // Right child is heavy to the left (right-left case), rotate it right first
+                node.setRightChild(this.rotateSubtreeRight(node.getRightChild()));
+                node.getRightChild().setParent(node);
+            }
+            return this.rotateSubtreeLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates a detached sub-tree left about its head node<br>
+     * 
+     * @param node  The head node of the sub-tree (must have a right child)
+     * @return The new head node of the sub-tree (detached)
+     */
+    private AVLTreeNode<dataType, keyType> rotateSubtreeLeft(AVLTreeNode<dataType, keyType> node){
+        AVLTreeNode<dataType, keyType> nodeReplacement = node.getRightChild();
+        node.setRightChild(nodeReplacement.getLeftChild());
+        if (node.getRightChild() != null){
+            node.getRightChild().setParent(node);
+        }
+        nodeReplacement.setLeftChild(node);
+        node.setParent(nodeReplacement);
+        nodeReplacement.setParent(null);
+        this.updateHeight(node);
+        this.updateHeight(nodeReplacement);
+        this.updateSize(node);
+        this.updateSize(nodeReplacement);
+        return nodeReplacement;
+    }
+
+    /**
+     * Rotates a detached sub-tree right about its head node<br>
+     * 
+     * @param node  The head node of the sub-tree (must have a left child)
+     * @return The new head node of the sub-tree (detached)
+     */
+    private AVLTreeNode<dataType, keyType> rotateSubtreeRight(AVLTreeNode<dataType, keyType> node){
+        AVLTreeNode<dataType, keyType> nodeReplacement = node.getLeftChild();
+        node.setLeftChild(nodeReplacement.getRightChild());
+        if (node.getLeftChild() != null){
+            node.getLeftChild().setParent(node);
+        }
+        nodeReplacement.setRightChild(node);
+        node.setParent(nodeReplacement);
+        nodeReplacement.setParent(null);
+        this.updateHeight(node);
+        this.updateHeight(nodeReplacement);
+        this.updateSize(node);
+        this.updateSize(nodeReplacement);
+        return nodeReplacement;
+    }
+
+    /**
+     * Detaches a sub-tree from its parent (clears the head node's parent link, the parent's child link is left to the caller)<br>
+     * 
+     * @param node  The head node of the sub-tree (may be null)
+     * @return The head node of the sub-tree
+     */
+    private AVLTreeNode<dataType, keyType> detach(AVLTreeNode<dataType, keyType> node){
+        if (node != null){
+            node.setParent(null);
+        }
+        return node;
+    }
+
+    /**
+     * Recalculates the sub-tree sizes of every node in a sub-tree (post-order)<br>
+     * 
+     * @param node  The head node of the sub-tree (may be null)
+     */
+    private void recountSizes(AVLTreeNode<dataType, keyType> node){
+        if (node != null){
+            this.recountSizes(node.getLeftChild());
+            this.recountSizes(node.getRightChild());
+            this.updateSize(node);
+        }
+    }
+
+    /**
+     * Writes the entries of the tree to a binary snapshot file (see TreeSnapshot), in key order<br>
+     * 
+     * @param file  The file to write (replaced once the snapshot is complete, and left unchanged if writing fails)
+     * @param keySerializer  The encoder for keys
+     * @param dataSerializer  The encoder for data
+     */
+    public void snapshot(Path file, FixedWidthSerializer<keyType> keySerializer, FixedWidthSerializer<dataType> dataSerializer) throws java.io.IOException {
+        TreeSnapshot<dataType, keyType> snapshot = TreeSnapshot.create(file, this.treeSize, keySerializer, dataSerializer);
+        try {
+            if (this.headNode != null){
+                for (AVLTreeNode<dataType, keyType> node = this.firstNode(this.headNode); node != null; node = this.successor(node)){
+                    snapshot.write(node.key(), node.data());
+                }
+            }
+        } catch (Throwable e){ // Leave any existing snapshot file intact, and report the original failure
+            snapshot.abort(e);
+            throw e;
+        }
+        snapshot.close(); // Replaces the file with the complete snapshot
+    }
+
+    /**
+     * Replaces the contents of the tree with the entries of a binary snapshot file (see TreeSnapshot)<br>
+     * The entries are streamed from the file straight into a perfectly balanced tree in linear time (no inserts, and no intermediate lists)<br>
+     * The tree is left unchanged if the file is invalid, corrupt or out of order<br>
+     * 
+     * @param file  The file to read
+     * @param keySerializer  The encoder for keys (must match the one the snapshot was written with)
+     * @param dataSerializer  The encoder for data (must match the one the snapshot was written with)
+     */
+    public void restore(Path file, FixedWidthSerializer<keyType> keySerializer, FixedWidthSerializer<dataType> dataSerializer) throws java.io.IOException, java.lang.RuntimeException {
+        TreeSnapshot<dataType, keyType> snapshot = TreeSnapshot.open(file, keySerializer, dataSerializer);
+        try {
+            AVLTreeNode<dataType, keyType> newHead = this.buildSubtree(snapshot, snapshot.size()); // Checksum is checked when the last entry is read
+            this.headNode = newHead;
+            this.treeSize = snapshot.size();
+        } finally {
+            snapshot.close();
+        }
+    }
+
+    /**
+     * Builds a perfectly balanced sub-tree from the next entries of a snapshot (the left sub-tree is built first, so entries are read in key order)<br>
+     * 
+     * @param snapshot  The snapshot to read from
+     * @param count  The number of entries in the sub-tree
+     * @return The head node of the sub-tree (null if count is 0, parent link not set)
+     */
+    private AVLTreeNode<dataType, keyType> buildSubtree(TreeSnapshot<dataType, keyType> snapshot, int count) throws java.io.IOException {
+        if (count == 0){
+            return null;
+        }
+        int leftCount = count / 2;
+        AVLTreeNode<dataType, keyType> leftNode = this.buildSubtree(snapshot, leftCount);
+        snapshot.next();
+        AVLTreeNode<dataType, keyType> node = new AVLTreeNode<dataType, keyType>(snapshot.key(), snapshot.data());
+        AVLTreeNode<dataType, keyType> rightNode = this.buildSubtree(snapshot, count - leftCount - 1);
+        node.setLeftChild(leftNode);
+        node.setRightChild(rightNode);
+        if (leftNode != null){
+            leftNode.setParent(node);
+        }
+        if (rightNode != null){
+            rightNode.setParent(node);
+        }
+        this.updateHeight(node);
+        this.updateSize(node);
+        return node;
+    }
+
+    /**
+     * Gets the number of entries in the tree<br>
+     * 
+     * @return The number of entries in the tree
+     */
+    public int size(){
+        return this.treeSize;
+    }
+
+    /**
+     * Gets the data of the entry at a given position in key order (the k-th smallest key)<br>
+     * Requires order statistics to be enabled (uses the sub-tree sizes, visits one path)<br>
+     * 
+     * @param index  The position of the entry in key order (0 for the smallest key)
+     * @return The data of the entry at the position (null if the position is outside the tree)
+     */
+    public dataType select(int index) throws java.lang.RuntimeException {
+        if (!this.orderStatistics){
+            throw new RuntimeException("Order statistics are not enabled for this tree");
+        }
+        AVLTreeNode<dataType, keyType> currentNode = this.headNode;
+        while (currentNode != null){
+            int leftSize = this.size(currentNode.getLeftChild()); // Number of keys smaller than the current node's key in its sub-tree
+            if (index < leftSize){ // Entry is in the left sub-tree
+                currentNode = currentNode.getLeftChild();
+            } else if (index > leftSize){ // Entry is in the right sub-tree, skip the left sub-tree and the current node
+                index -= leftSize + 1;
+                currentNode = currentNode.getRightChild();
+            } else { // Entry is the current node
+                return currentNode.data();
+            }
+        }
+        return null; // Position is outside the tree
+    }
+
+    /**
+     * Gets the number of entries in the tree with a key less than the specified key<br>
+     * Requires order statistics to be enabled (uses the sub-tree sizes, visits one path)<br>
+     * 
+     * @param key  The key to rank (does not need to be in the tree)
+     * @return The number of keys less than key (the key's position in key order if it is in the tree)
+     */
+    public int rank(keyType key) throws java.lang.RuntimeException {
+        if (!this.orderStatistics){
+            throw new RuntimeException("Order statistics are not enabled for this tree");
+        }
+        int rank = 0;
+        AVLTreeNode<dataType, keyType> currentNode = this.headNode;
+        while (currentNode != null){
+            if (currentNode.key().compareTo(key) > 0){ // Search to the left
+                currentNode = currentNode.getLeftChild();
+            } else if (currentNode.key().compareTo(key) < 0){ // Count the left sub-tree and the current node, search to the right
+                rank += this.size(currentNode.getLeftChild()) + 1;
+                currentNode = currentNode.getRightChild();
+            } else { // Key is equal, count its left sub-tree
+                return rank + this.size(currentNode.getLeftChild());
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the size of a sub-tree (0 for an empty sub-tree)<br>
+     * 
+     * @param node  The head node of the sub-tree (may be null)
+     * @return The number of nodes in the sub-tree
+     */
+    private int size(AVLTreeNode<dataType, keyType> node){
+        if (node != null){
+            return node.getSize();
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Recalculates the cached sub-tree size of a node from the sizes of its children (if order statistics are enabled)<br>
+     * 
+     * @param node  The node to update
+     */
+    private void updateSize(AVLTreeNode<dataType, keyType> node){
+        if (this.orderStatistics){
+            node.setSize(this.size(node.getLeftChild()) + this.size(node.getRightChild()) + 1);
+        }
+    }
+
+    /**
+     * Recalculates the cached sub-tree sizes on the path from a node back to the head node (if order statistics are enabled)<br>
+     * 
+     * @param node  The lowest node on the path whose sub-tree has changed (may be null)
+     */
+    private void updateSizes(AVLTreeNode<dataType, keyType> node){
+        if (this.orderStatistics){
+            while (node != null){
+                this.updateSize(node);
+                node = node.getParent();
+            }
+        }
+    }
+
+    /**
+     * Gets the data of the entry with the smallest key in the tree<br>
+     * 
+     * @return The data with the smallest key (null if the tree is empty)
+     */
+    public dataType first(){
+        if (this.headNode != null){
+            return this.firstNode(this.headNode).data();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the data of the entry with the largest key in the tree<br>
+     * 
+     * @return The data with the largest key (null if the tree is empty)
+     */
+    public dataType last(){
+        if (this.headNode != null){
+            return this.lastNode(this.headNode).data();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the data of the entry with the largest key less than or equal to the specified key<br>
+     * 
+     * @param key  The key to search for
+     * @return The data with the largest key less than or equal to key (null if there is no such key)
+     */
+    public dataType floor(keyType key){
+        return this.dataOf(this.floorNode(key, true));
+    }
+
+    /**
+     * Gets the data of the entry with the smallest key greater than or equal to the specified key<br>
+     * 
+     * @param key  The key to search for
+     * @return The data with the smallest key greater than or equal to key (null if there is no such key)
+     */
+    public dataType ceiling(keyType key){
+        return this.dataOf(this.ceilingNode(key, true));
+    }
+
+    /**
+     * Gets the data of the entry with the largest key strictly less than the specified key<br>
+     * 
+     * @param key  The key to search for
+     * @return The data with the largest key less than key (null if there is no such key)
+     */
+    public dataType lower(keyType key){
+        return this.dataOf(this.floorNode(key, false));
+    }
+
+    /**
+     * Gets the data of the entry with the smallest key strictly greater than the specified key<br>
+     * 
+     * @param key  The key to search for
+     * @return The data with the smallest key greater than key (null if there is no such key)
+     */
+    public dataType higher(keyType key){
+        return this.dataOf(this.ceilingNode(key, false));
+    }
+
+    /**
+     * Returns the data of every entry with a key between two keys (inclusive) as a sorted array (sorted by key)<br>
+     * Only visits the nodes on the path to the first key and the nodes in the range<br>
+     * 
+     * @param fromKey  The smallest key in the range
+     * @param toKey  The largest key in the range
+     * @return The data in the range as a sorted array (null if there are no entries in the range)
+     */
+    public dataType[] range(keyType fromKey, keyType toKey){
+        ArrayList<dataType> rangeData = new ArrayList<dataType>();
+        AVLTreeNode<dataType, keyType> currentNode = this.ceilingNode(fromKey, true); // First node in the range
+        while ((currentNode != null) && (currentNode.key().compareTo(toKey) <= 0)){ // Step through the nodes in key order until the end of the range
+            rangeData.add(currentNode.data());
+            currentNode = this.successor(currentNode);
         }
+        if (rangeData.isEmpty()){
+            return null;
+        }
+        Class<?> componentType = null; // Most specific class shared by all of the range data
+        for (dataType data : rangeData){
+            componentType = commonClass(componentType, data);
+        }
+        if (componentType == null){ // All of the data is null
+            componentType = Object.class;
+        }
+        @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+        dataType[] array = (dataType[]) Array.newInstance(componentType, rangeData.size()); // Create a new array to store the range data
+        return rangeData.toArray(array);
+    }
+
+    /**
+     * Gets the data of a node<br>
+     * 
+     * @param node  The node (may be null)
+     * @return The data of the node (null if the node is null)
+     */
+    private dataType dataOf(AVLTreeNode<dataType, keyType> node){
+        if (node != null){
+            return node.data();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the node with the smallest key in the sub-tree with head 'node'<br>
+     * 
+     * @param node  The head node of the sub-tree
+     * @return The left-most node of the sub-tree
+     */
+    private AVLTreeNode<dataType, keyType> firstNode(AVLTreeNode<dataType, keyType> node){
+        while (node.getLeftChild() != null){
+            node = node.getLeftChild();
+        }
+        return node;
+    }
+
+    /**
+     * Gets the node with the largest key in the sub-tree with head 'node'<br>
+     * 
+     * @param node  The head node of the sub-tree
+     * @return The right-most node of the sub-tree
+     */
+    private AVLTreeNode<dataType, keyType> lastNode(AVLTreeNode<dataType, keyType> node){
+        while (node.getRightChild() != null){
+            node = node.getRightChild();
+        }
+        return node;
+    }
+
+    /**
+     * Gets the node with the next largest key after a node (in-order successor), using the parent links<br>
+     * 
+     * @param node  The node
+     * @return The node's successor (null if the node has the largest key)
+     */
+    private AVLTreeNode<dataType, keyType> successor(AVLTreeNode<dataType, keyType> node){
+        if (node.getRightChild() != null){ // Successor is the left-most node of the right sub-tree
+            return this.firstNode(node.getRightChild());
+        }
+        while ((node.getParent() != null) && (node.getParent().getRightChild() == node)){ // Move up until the node is a left child
+            node = node.getParent();
+        }
+        return node.getParent();
+    }
+
+    /**
+     * Finds the node with the largest key less than (or equal to) a key<br>
+     * 
+     * @param key  The key to search for
+     * @param inclusive  Whether a node with an equal key can be returned
+     * @return The node found (null if there is no such node)
+     */
+    private AVLTreeNode<dataType, keyType> floorNode(keyType key, boolean inclusive){
+        AVLTreeNode<dataType, keyType> currentNode = this.headNode;
+        AVLTreeNode<dataType, keyType> floorNode = null; // Best candidate so far
+        while (currentNode != null){
+            int comparison = currentNode.key().compareTo(key);
+            if ((comparison < 0) || (inclusive && comparison == 0)){ // Node is a candidate, look for a larger key to the right
+                floorNode = currentNode;
+                if (comparison == 0){
+                    break;
+                }
+                currentNode = currentNode.getRightChild();
+            } else { // Node's key is too large, search to the left
+                currentNode = currentNode.getLeftChild();
+            }
+        }
+        return floorNode;
+    }
+
+    /**
+     * Finds the node with the smallest key greater than (or equal to) a key<br>
+     * 
+     * @param key  The key to search for
+     * @param inclusive  Whether a node with an equal key can be returned
+     * @return The node found (null if there is no such node)
+     */
+    private AVLTreeNode<dataType, keyType> ceilingNode(keyType key, boolean inclusive){
+        AVLTreeNode<dataType, keyType> currentNode = this.headNode;
+        AVLTreeNode<dataType, keyType> ceilingNode = null; // Best candidate so far
+        while (currentNode != null){
+            int comparison = currentNode.key().compareTo(key);
+            if ((comparison > 0) || (inclusive && comparison == 0)){ // Node is a candidate, look for a smaller key to the left
+                ceilingNode = currentNode;
+                if (comparison == 0){
+                    break;
+                }
+                currentNode = currentNode.getLeftChild();
+            } else { // Node's key is too small, search to the right
+                currentNode = currentNode.getRightChild();
+            }
+        }
+        return ceilingNode;
+    }
+
+    /**
+     * Returns an iterator over the data in the tree in key order<br>
+     * The iterator is lazy: each step moves to the in-order successor using the parent links (amortised constant time, no stack or array)<br>
+     * The tree must not be modified while iterating, other than through the iterator's remove method<br>
+     * 
+     * @return An iterator over the data in the tree (sorted by key)
+     */
+    public Iterator<dataType> iterator(){
+        return new AVLTreeIterator();
+    }
+
+    /**
+     * Returns a spliterator over the data in the tree in key order<br>
+     * Splits at sub-tree heads (so a balanced tree splits into roughly equal halves), allowing the tree to be processed by a parallel stream<br>
+     * 
+     * @return A spliterator over the data in the tree (sorted by key)
+     */
+    public Spliterator<dataType> spliterator(){
+        if (this.headNode != null){
+            return new AVLTreeSpliterator(this.firstNode(this.headNode), null, this.headNode, this.treeSize, true);
+        } else {
+            return new AVLTreeSpliterator(null, null, null, 0, true);
+        }
+    }
+
+    /**
+     * Returns a sequential stream over the data in the tree in key order<br>
+     * 
+     * @return A stream of the data in the tree (sorted by key)
+     */
+    public Stream<dataType> stream(){
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the data in the tree in key order<br>
+     * 
+     * @return A parallel stream of the data in the tree (sorted by key)
+     */
+    public Stream<dataType> parallelStream(){
+        return StreamSupport.stream(this.spliterator(), true);
     }
 
     /**
      * Returns the contents of the tree as a sorted array (sorted by key)<br>
+     * The array's component type is the most specific class shared by all of the data (so data of mixed subclasses can be stored)<br>
      * 
      * @return The contents of the tree as a sorted array (sorted by key)
      */
     public dataType[] toArray() {
         if (headNode != null){ // Ensure the tree is not empty
+            Class<?> componentType = null; // Most specific class shared by all of the data
+            for (AVLTreeNode<dataType, keyType> node = this.firstNode(this.headNode); node != null; node = this.successor(node)){
+                componentType = commonClass(componentType, node.data());
+            }
+            if (componentType == null){ // All of the data is null
+                componentType = Object.class;
+            }
             @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
-            dataType[] array = (dataType[]) Array.newInstance(this.headNode.data().getClass(), this.treeSize); // Create a new array to store the tree data
-            this.populateArray(this.headNode, array, 0); // Populate the array
+            dataType[] array = (dataType[]) Array.newInstance(componentType, this.treeSize); // Create a new array to store the tree data
+            int arrayIndex = 0;
+            for (AVLTreeNode<dataType, keyType> node = this.firstNode(this.headNode); node != null; node = this.successor(node)){ // Populate the array in key order
+                array[arrayIndex] = node.data();
+                arrayIndex++;
+            }
             return array;
         } else {
             return null;
@@ -299,19 +1192,37 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
      * @return The new index in the array (after inserts)
      */
     public int populateArray(AVLTreeNode<dataType, keyType> node, dataType[] array, int arrayIndex){
-        // Populate the array with the left-most node first
-        if (node.getLeftChild() != null){ // If there is a left child node, recurse to it to populate the array
-            arrayIndex = populateArray(node.getLeftChild(), array, arrayIndex);
-        }
-        array[arrayIndex] = node.data(); // Place the data from the current node into the array
-        arrayIndex++; // Increment the array index
-        if (node.getRightChild() != null){ // If there is a right child node, recurse to it to populate the array
-            arrayIndex = populateArray(node.getRightChild(), array, arrayIndex);
+        AVLTreeNode<dataType, keyType> lastNode = this.lastNode(node); // Last node of the sub-tree in key order
+        for (AVLTreeNode<dataType, keyType> currentNode = this.firstNode(node); currentNode != lastNode; currentNode = this.successor(currentNode)){
+            array[arrayIndex] = currentNode.data(); // Place the data from the current node into the array
+            arrayIndex++; // Increment the array index
         }
+        array[arrayIndex] = lastNode.data();
+        arrayIndex++;
 
         return arrayIndex; // Return the new array index
     }
 
+    /**
+     * Gets the most specific class that is both a class (or one of its superclasses) and the class of an object<br>
+     * 
+     * @param componentType  The class found so far (null if no data has been seen yet)
+     * @param data  The data to include (ignored if null)
+     * @return The most specific class shared by the class found so far and the data (null if no non-null data has been seen yet)
+     */
+    private static Class<?> commonClass(Class<?> componentType, Object data){
+        if (data == null){ // Null data fits any class
+            return componentType;
+        }
+        if (componentType == null){
+            return data.getClass();
+        }
+        while (!componentType.isInstance(data)){ // Move up the class hierarchy until the data fits
+            componentType = componentType.getSuperclass();
+        }
+        return componentType;
+    }
+
     /**
      * Returns the contents of the tree as a string, with each data element on a new line (the data elements must have toString methods)<br>
      * 
@@ -332,15 +1243,39 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
      * @return The contents of the tree as a string
      */
     public String toString(AVLTreeNode<dataType, keyType> node){
-        String string = ""; // Create an empty string to append to
-        if (node.getLeftChild() != null){ // If the node has a left child, recurse to it and append its respective string
-            string += this.toString(node.getLeftChild());
+        StringBuilder string = new StringBuilder(); // Create an empty string builder to append to
+        AVLTreeNode<dataType, keyType> lastNode = this.lastNode(node); // Last node of the sub-tree in key order
+        for (AVLTreeNode<dataType, keyType> currentNode = this.firstNode(node); currentNode != lastNode; currentNode = this.successor(currentNode)){
+            string.append(currentNode.data().toString()).append('\n'); // Append each node's data string in key order
         }
-        string += node.data().toString() + "\n"; // Append this node's data string
-        if (node.getRightChild() != null){ // If the node has a right child, recurse to it and append its respective string
-            string += this.toString(node.getRightChild());
+        string.append(lastNode.data().toString()).append('\n');
+        return string.toString(); // Return the string
+    }
+
+    /**
+     * Enables or disables recording statistics (enabling discards any statistics recorded before)<br>
+     * Recording adds a few counter increments to each get/insert/delete, and is off by default<br>
+     * 
+     * @param enabled  Whether to record statistics
+     */
+    public void setStatisticsEnabled(boolean enabled){
+        if (enabled){
+            this.counters = new TreeStatistics.Counters();
+        } else {
+            this.counters = null;
         }
-        return string; // Return the string
+    }
+
+    /**
+     * Gets a snapshot of the tree's statistics<br>
+     * 
+     * @return The statistics recorded since they were enabled, and the current size and height
+     */
+    public TreeStatistics statistics() throws java.lang.RuntimeException {
+        if (this.counters == null){
+            throw new RuntimeException("Statistics are not enabled");
+        }
+        return new TreeStatistics(this.treeSize, this.depth(), this.counters);
     }
 
     /**
@@ -358,24 +1293,243 @@ public class AVLTree<dataType, keyType extends Comparable<keyType>>{
 
     /**
      * Returns the depth of the tree with head 'node'<br>
+     * Uses the cached node height (maintained by insert/delete and the rotations)<br>
      * 
      * @param node  The head of the tree to get the depth of
      * @return The depth of the tree
      */
     public int depth(AVLTreeNode<dataType, keyType> node){
-        int leftChildDepth = 0; // Depth of left sub-tree
-        int rightChildDepth = 0; // Depth of right sub-tree
-        if (node.getLeftChild() != null){ // If the node has a left child, calculate the depth
-            leftChildDepth = this.depth(node.getLeftChild());
+        return node.getHeight();
+    }
+
+    /**
+     * <h2>AVLTreeSplit</h2>
+     * The result of splitting a sub-tree around a key (detached sub-trees of the smaller and larger keys, and the node with an equal key)<br>
+     */
+    private class AVLTreeSplit{
+
+        /** Head node of the sub-tree of keys less than the split key (null if empty) */
+        private AVLTreeNode<dataType, keyType> lessTree;
+
+        /** Node with a key equal to the split key (null if there is no such node) */
+        private AVLTreeNode<dataType, keyType> equalNode;
+
+        /** Head node of the sub-tree of keys greater than the split key (null if empty) */
+        private AVLTreeNode<dataType, keyType> greaterTree;
+
+        /**
+         * Creates a new split<br>
+         * 
+         * @param lessTree  Head node of the sub-tree of smaller keys
+         * @param equalNode  Node with an equal key
+         * @param greaterTree  Head node of the sub-tree of larger keys
+         */
+        private AVLTreeSplit(AVLTreeNode<dataType, keyType> lessTree, AVLTreeNode<dataType, keyType> equalNode, AVLTreeNode<dataType, keyType> greaterTree){
+            this.lessTree = lessTree;
+            this.equalNode = equalNode;
+            this.greaterTree = greaterTree;
         }
-        if (node.getRightChild() != null){ // If the node has a right child, calculate the depth
-            rightChildDepth = this.depth(node.getRightChild());
+
+    }
+
+    /**
+     * <h2>AVLTreeBuildTask</h2>
+     * A fork/join task that builds a perfectly balanced sub-tree from part of sorted lists of keys and data<br>
+     * Builds the left half in a forked task while building the right half itself, until the part is small enough to build sequentially<br>
+     */
+    private class AVLTreeBuildTask extends RecursiveTask<AVLTreeNode<dataType, keyType>>{
+
+        private static final long serialVersionUID = 1L;
+
+        /** The sorted keys */
+        private final List<keyType> keys;
+
+        /** The data for each key */
+        private final List<dataType> data;
+
+        /** Index of the first entry in the sub-tree */
+        private final int fromIndex;
+
+        /** Index after the last entry in the sub-tree */
+        private final int toIndex;
+
+        /**
+         * Creates a new build task<br>
+         * 
+         * @param keys  The sorted keys
+         * @param data  The data for each key
+         * @param fromIndex  The index of the first entry in the sub-tree
+         * @param toIndex  The index after the last entry in the sub-tree
+         */
+        private AVLTreeBuildTask(List<keyType> keys, List<dataType> data, int fromIndex, int toIndex){
+            this.keys = keys;
+            this.data = data;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
         }
-        if (leftChildDepth > rightChildDepth){ // Return the max depth of the children plus one
-            return leftChildDepth + 1;
-        } else {
-            return rightChildDepth + 1;
+
+        @Override
+        protected AVLTreeNode<dataType, keyType> compute(){
+            if (this.toIndex - this.fromIndex <= parallelBuildThreshold){ // Small enough to build sequentially
+                return AVLTree.this.buildSubtree(this.keys, this.data, this.fromIndex, this.toIndex, null);
+            }
+            int middleIndex = (this.fromIndex + this.toIndex) >>> 1;
+            AVLTreeBuildTask leftTask = new AVLTreeBuildTask(this.keys, this.data, this.fromIndex, middleIndex);
+            leftTask.fork(); // Build the left sub-tree in parallel
+            AVLTreeNode<dataType, keyType> rightNode = new AVLTreeBuildTask(this.keys, this.data, middleIndex + 1, this.toIndex).compute();
+            AVLTreeNode<dataType, keyType> leftNode = leftTask.join();
+            AVLTreeNode<dataType, keyType> node = new AVLTreeNode<dataType, keyType>(this.keys.get(middleIndex), this.data.get(middleIndex));
+            node.setLeftChild(leftNode);
+            node.setRightChild(rightNode);
+            leftNode.setParent(node);
+            rightNode.setParent(node);
+            AVLTree.this.updateHeight(node);
+            AVLTree.this.updateSize(node);
+            return node;
         }
+
+    }
+
+    /**
+     * <h2>AVLTreeIterator</h2>
+     * A lazy in-order iterator over the data in the tree (follows the parent links, so needs no stack)<br>
+     */
+    private class AVLTreeIterator implements Iterator<dataType>{
+
+        /** Node to return next (null once the iteration is complete) */
+        private AVLTreeNode<dataType, keyType> nextNode;
+
+        /** Node returned last (null if there is nothing to remove) */
+        private AVLTreeNode<dataType, keyType> lastReturned;
+
+        /** Creates a new iterator starting at the node with the smallest key */
+        private AVLTreeIterator(){
+            if (AVLTree.this.headNode != null){
+                this.nextNode = AVLTree.this.firstNode(AVLTree.this.headNode);
+            }
+        }
+
+        @Override
+        public boolean hasNext(){
+            return this.nextNode != null;
+        }
+
+        @Override
+        public dataType next() throws java.util.NoSuchElementException {
+            if (this.nextNode == null){
+                throw new NoSuchElementException();
+            }
+            this.lastReturned = this.nextNode;
+            this.nextNode = AVLTree.this.successor(this.nextNode); // Step to the in-order successor
+            return this.lastReturned.data();
+        }
+
+        @Override
+        public void remove() throws java.lang.IllegalStateException {
+            if (this.lastReturned == null){
+                throw new IllegalStateException();
+            }
+            AVLTree.this.delete(this.lastReturned); // Deleting relinks the existing nodes, so the next node is still valid
+            AVLTree.this.treeSize--;
+            this.lastReturned = null;
+        }
+
+    }
+
+    /**
+     * <h2>AVLTreeSpliterator</h2>
+     * A splittable in-order traversal over the data in the tree<br>
+     * Covers the nodes from 'currentNode' up to (but not including) 'fenceNode', and splits at 'splitNode' (a sub-tree head inside that range)<br>
+     * Once traversal has started the spliterator can no longer be split<br>
+     */
+    private class AVLTreeSpliterator implements Spliterator<dataType>{
+
+        /** Next node to visit (null if there are no more nodes) */
+        private AVLTreeNode<dataType, keyType> currentNode;
+
+        /** First node after the range (null if the range runs to the end of the tree) */
+        private AVLTreeNode<dataType, keyType> fenceNode;
+
+        /** Sub-tree head to split at (its sub-tree lies in the range, at or after the current node), null if the spliterator can't be split */
+        private AVLTreeNode<dataType, keyType> splitNode;
+
+        /** Estimated number of nodes in the range */
+        private long estimatedSize;
+
+        /** Whether the estimated size is exact */
+        private boolean exactSize;
+
+        /**
+         * Creates a new spliterator over part of the tree<br>
+         * 
+         * @param currentNode  First node in the range
+         * @param fenceNode  First node after the range (null for the end of the tree)
+         * @param splitNode  Sub-tree head to split at (null if the range can't be split)
+         * @param estimatedSize  Estimated number of nodes in the range
+         * @param exactSize  Whether the estimated size is exact
+         */
+        private AVLTreeSpliterator(AVLTreeNode<dataType, keyType> currentNode, AVLTreeNode<dataType, keyType> fenceNode, AVLTreeNode<dataType, keyType> splitNode, long estimatedSize, boolean exactSize){
+            this.currentNode = currentNode;
+            this.fenceNode = fenceNode;
+            this.splitNode = splitNode;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super dataType> action){
+            if ((this.currentNode == null) || (this.currentNode == this.fenceNode)){ // Range is exhausted
+                return false;
+            }
+            this.splitNode = null; // Traversal has started, the range can no longer be split at a sub-tree head
+            AVLTreeNode<dataType, keyType> node = this.currentNode;
+            this.currentNode = AVLTree.this.successor(node);
+            action.accept(node.data());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super dataType> action){
+            this.splitNode = null;
+            while ((this.currentNode != null) && (this.currentNode != this.fenceNode)){
+                AVLTreeNode<dataType, keyType> node = this.currentNode;
+                this.currentNode = AVLTree.this.successor(node);
+                action.accept(node.data());
+            }
+        }
+
+        @Override
+        public Spliterator<dataType> trySplit(){
+            AVLTreeNode<dataType, keyType> splitAt = this.splitNode;
+            if ((splitAt == null) || (splitAt == this.currentNode)){ // Can't split, or there are no nodes before the split point
+                return null;
+            }
+            // The prefix covers the nodes before the split node (its left sub-tree and anything before that), this spliterator keeps the rest
+            this.estimatedSize = this.estimatedSize >>> 1;
+            this.exactSize = false;
+            AVLTreeSpliterator prefix = new AVLTreeSpliterator(this.currentNode, splitAt, splitAt.getLeftChild(), this.estimatedSize, false);
+            this.currentNode = splitAt;
+            this.splitNode = splitAt.getRightChild(); // Next split point is the head of the split node's right sub-tree (null if it has none)
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize(){
+            if ((this.currentNode == null) || (this.currentNode == this.fenceNode)){
+                return 0;
+            }
+            return this.estimatedSize;
+        }
+
+        @Override
+        public int characteristics(){
+            if (this.exactSize){
+                return Spliterator.ORDERED | Spliterator.SIZED;
+            } else {
+                return Spliterator.ORDERED;
+            }
+        }
+
     }
 
 }
@@ -406,6 +1560,12 @@ class AVLTreeNode<dataType, keyType extends Comparable<keyType>> {
     /** Node data */
     private dataType data;
 
+    /** Number of nodes in the sub-tree with this node as its head (maintained if order statistics are enabled) */
+    private int size;
+
+    /** Height of the sub-tree with this node as its head (1 for a leaf node) */
+    private int height;
+
     /**
      * Creates a new AVLTreeNode object with no parent<br>
      * 
@@ -418,6 +1578,8 @@ class AVLTreeNode<dataType, keyType extends Comparable<keyType>> {
         this.parent = null;
         this.key = nodeKey;
         this.data = nodeData;
+        this.size = 1;
+        this.height = 1;
     }
 
     /**
@@ -433,6 +1595,8 @@ class AVLTreeNode<dataType, keyType extends Comparable<keyType>> {
         this.parent = nodeParent;
         this.key = nodeKey;
         this.data = nodeData;
+        this.size = 1;
+        this.height = 1;
     }
 
     /**
@@ -480,6 +1644,15 @@ class AVLTreeNode<dataType, keyType extends Comparable<keyType>> {
         return this.parent;
     }
 
+    /**
+     * Gets the height of the sub-tree with this node as its head
+     * 
+     * @return Node's sub-tree height
+     */
+    public int getHeight(){
+        return this.height;
+    }
+
     /**
      * Sets the left child node of the node
      * 
@@ -507,4 +1680,31 @@ class AVLTreeNode<dataType, keyType extends Comparable<keyType>> {
         this.parent = node;
     }
 
+    /**
+     * Sets the height of the sub-tree with this node as its head
+     * 
+     * @param nodeHeight  The new sub-tree height
+     */
+    public void setHeight(int nodeHeight){
+        this.height = nodeHeight;
+    }
+
+    /**
+     * Gets the number of nodes in the sub-tree with this node as its head (if order statistics are enabled)
+     * 
+     * @return Node's sub-tree size
+     */
+    public int getSize(){
+        return this.size;
+    }
+
+    /**
+     * Sets the number of nodes in the sub-tree with this node as its head
+     * 
+     * @param nodeSize  The new sub-tree size
+     */
+    public void setSize(int nodeSize){
+        this.size = nodeSize;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,674 @@
+/*
+DataStructures (Java implementation of certain data structures)
+BPlusTree
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * <h2>BPlusTree</h2>
+ * A B+ tree data structure (an ordered map with many keys per node)<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used for the node (must implement the Comparable interface)<br><br>
+ * Each node holds a sorted array of up to (order - 1) keys, so a lookup visits about log_order(n) nodes and binary searches inside each one (far fewer cache misses than one node per key)<br>
+ * All data is stored in the leaves, which are linked in key order for fast scans (toArray/range)<br>
+ * Uses tree traversal (with an explicit path) for insert/delete to avoid the overhead associated with recursion<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class BPlusTree<dataType, keyType extends Comparable<keyType>>{
+
+    /** Default order (maximum number of children of an internal node) */
+    public static final int defaultOrder = 64;
+
+    /** Head (root) node of the tree */
+    private BPlusTreeNode<dataType, keyType> headNode;
+
+    /** Size of the tree (number of elements) */
+    private int treeSize;
+
+    /** Depth of the tree (number of levels, 1 for a tree that is a single leaf) */
+    private int treeDepth;
+
+    /** Maximum number of keys in a node (order - 1) */
+    private final int maxKeys;
+
+    /** Minimum number of keys in a node other than the head node */
+    private final int minKeys;
+
+    /** Creates a new BPlusTree object with the default order */
+    public BPlusTree(){
+        this(defaultOrder);
+    }
+
+    /**
+     * Creates a new BPlusTree object<br>
+     * 
+     * @param order  The maximum number of children of an internal node (each node holds up to order - 1 keys, must be at least 3)
+     */
+    public BPlusTree(int order) throws java.lang.RuntimeException {
+        if (order < 3){
+            throw new RuntimeException("B+ tree order must be at least 3");
+        }
+        this.maxKeys = order - 1;
+        this.minKeys = (order - 1) / 2;
+        this.headNode = new BPlusTreeNode<dataType, keyType>(true, this.maxKeys);
+        this.treeSize = 0;
+        this.treeDepth = 1;
+    }
+
+    /**
+     * Inserts a new entry into the B+ tree<br>
+     * Full nodes are split on the way back up the search path<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     */
+    public void insert(keyType key, dataType data) throws java.lang.RuntimeException {
+        @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+        BPlusTreeNode<dataType, keyType>[] path = (BPlusTreeNode<dataType, keyType>[]) new BPlusTreeNode<?, ?>[this.treeDepth]; // Nodes on the search path
+        int[] pathIndex = new int[this.treeDepth]; // Child index taken at each node on the path
+
+        // Find the leaf to insert into
+        BPlusTreeNode<dataType, keyType> currentNode = this.headNode;
+        int level = 0;
+        while (!currentNode.isLeaf()){
+            path[level] = currentNode;
+            pathIndex[level] = this.childIndex(currentNode, key);
+            currentNode = currentNode.children()[pathIndex[level]];
+            level++;
+        }
+        int index = this.searchKeys(currentNode, key);
+        if (index >= 0){ // Keys are equal
+            throw new RuntimeException("Duplicate key error"); // Throw an error
+        }
+        this.insertIntoLeaf(currentNode, -(index + 1), key, data);
+        this.treeSize++; // Increment tree size
+
+        // Split overflowing nodes, moving a separator key up into the parent each time
+        while (currentNode.getKeyCount() > this.maxKeys){
+            BPlusTreeNode<dataType, keyType> siblingNode;
+            keyType separatorKey;
+            if (currentNode.isLeaf()){
+                siblingNode = this.splitLeaf(currentNode);
+                separatorKey = siblingNode.keys()[0]; // Leaves keep every key, the separator is a copy of the sibling's first key
+            } else {
+                separatorKey = currentNode.keys()[currentNode.getKeyCount() / 2]; // Middle key moves up into the parent
+                siblingNode = this.splitInternal(currentNode);
+            }
+            if (level == 0){ // Node is the head node, grow the tree by one level
+                BPlusTreeNode<dataType, keyType> newHead = new BPlusTreeNode<dataType, keyType>(false, this.maxKeys);
+                newHead.keys()[0] = separatorKey;
+                newHead.children()[0] = currentNode;
+                newHead.children()[1] = siblingNode;
+                newHead.setKeyCount(1);
+                this.headNode = newHead;
+                this.treeDepth++;
+                return;
+            }
+            level--;
+            currentNode = path[level];
+            this.insertIntoInternal(currentNode, pathIndex[level], separatorKey, siblingNode);
+        }
+    }
+
+    /**
+     * Gets the data located at the specified key in the tree<br>
+     * 
+     * @param key  The key of the entry to find
+     * @return The data at the specified key (null if key not found)
+     */
+    public dataType get(keyType key){
+        BPlusTreeNode<dataType, keyType> currentNode = this.headNode;
+        while (!currentNode.isLeaf()){
+            currentNode = currentNode.children()[this.childIndex(currentNode, key)];
+        }
+        int index = this.searchKeys(currentNode, key);
+        if (index >= 0){ // Key found
+            return currentNode.data()[index];
+        }
+
+        return null; // Key not found, return null
+    }
+
+    /**
+     * Removes the entry in the tree with the specified key<br>
+     * Nodes left with too few keys borrow a key from a sibling, or are merged with a sibling, on the way back up the search path<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    public void delete(keyType key){
+        @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+        BPlusTreeNode<dataType, keyType>[] path = (BPlusTreeNode<dataType, keyType>[]) new BPlusTreeNode<?, ?>[this.treeDepth]; // Nodes on the search path
+        int[] pathIndex = new int[this.treeDepth]; // Child index taken at each node on the path
+
+        // Find the leaf containing the key
+        BPlusTreeNode<dataType, keyType> currentNode = this.headNode;
+        int level = 0;
+        while (!currentNode.isLeaf()){
+            path[level] = currentNode;
+            pathIndex[level] = this.childIndex(currentNode, key);
+            currentNode = currentNode.children()[pathIndex[level]];
+            level++;
+        }
+        int index = this.searchKeys(currentNode, key);
+        if (index < 0){ // Key not found
+            return;
+        }
+        this.removeFromLeaf(currentNode, index);
+        this.treeSize--; // Decrement tree size
+
+        // Fix underflowing nodes on the way back up
+        while ((level > 0) && (currentNode.getKeyCount() < this.minKeys)){
+            level--;
+            this.fixUnderflow(path[level], pathIndex[level]);
+            currentNode = path[level];
+        }
+        if (!this.headNode.isLeaf() && this.headNode.getKeyCount() == 0){ // Head node has a single child left, shrink the tree by one level
+            this.headNode = this.headNode.children()[0];
+            this.treeDepth--;
+        }
+    }
+
+    /**
+     * Gets the number of entries in the tree<br>
+     * 
+     * @return The number of entries in the tree
+     */
+    public int size(){
+        return this.treeSize;
+    }
+
+    /**
+     * Returns the data of every entry with a key between two keys (inclusive) as a sorted array (sorted by key)<br>
+     * Finds the leaf of the first key, then scans along the linked leaves<br>
+     * 
+     * @param fromKey  The smallest key in the range
+     * @param toKey  The largest key in the range
+     * @return The data in the range as a sorted array (null if there are no entries in the range)
+     */
+    public dataType[] range(keyType fromKey, keyType toKey){
+        ArrayList<dataType> rangeData = new ArrayList<dataType>();
+        BPlusTreeNode<dataType, keyType> currentNode = this.headNode;
+        while (!currentNode.isLeaf()){
+            currentNode = currentNode.children()[this.childIndex(currentNode, fromKey)];
+        }
+        int index = this.searchKeys(currentNode, fromKey);
+        if (index < 0){ // First key not in the tree, start at the next key
+            index = -(index + 1);
+        }
+        while (currentNode != null){
+            for (; index < currentNode.getKeyCount(); index++){
+                if (currentNode.keys()[index].compareTo(toKey) > 0){ // Past the end of the range
+                    return this.toArray(rangeData);
+                }
+                rangeData.add(currentNode.data()[index]);
+            }
+            currentNode = currentNode.getNextLeaf();
+            index = 0;
+        }
+        return this.toArray(rangeData);
+    }
+
+    /**
+     * Returns the contents of the tree as a sorted array (sorted by key)<br>
+     * Scans along the linked leaves<br>
+     * 
+     * @return The contents of the tree as a sorted array (sorted by key)
+     */
+    public dataType[] toArray(){
+        if (this.treeSize == 0){
+            return null;
+        }
+        Class<?> componentType = null; // Most specific class shared by all of the data
+        for (BPlusTreeNode<dataType, keyType> leaf = this.firstLeaf(); leaf != null; leaf = leaf.getNextLeaf()){
+            for (int i = 0; i < leaf.getKeyCount(); i++){
+                componentType = commonClass(componentType, leaf.data()[i]);
+            }
+        }
+        if (componentType == null){ // All of the data is null
+            componentType = Object.class;
+        }
+        @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+        dataType[] array = (dataType[]) Array.newInstance(componentType, this.treeSize); // Create a new array to store the tree data
+        int arrayIndex = 0;
+        for (BPlusTreeNode<dataType, keyType> leaf = this.firstLeaf(); leaf != null; leaf = leaf.getNextLeaf()){
+            System.arraycopy(leaf.data(), 0, array, arrayIndex, leaf.getKeyCount()); // Copy each leaf's data in key order
+            arrayIndex += leaf.getKeyCount();
+        }
+        return array;
+    }
+
+    /**
+     * Returns the contents of the tree as a string, with each data element on a new line (the data elements must have toString methods)<br>
+     * 
+     * @return The contents of the tree as a string, with each data element seperated by a newline
+     */
+    public String toString(){
+        StringBuilder string = new StringBuilder();
+        for (BPlusTreeNode<dataType, keyType> leaf = this.firstLeaf(); leaf != null; leaf = leaf.getNextLeaf()){
+            for (int i = 0; i < leaf.getKeyCount(); i++){
+                string.append(leaf.data()[i].toString()).append('\n');
+            }
+        }
+        return string.toString();
+    }
+
+    /**
+     * Returns the depth of the tree (number of levels of nodes, every leaf is at the same depth)<br>
+     * 
+     * @return The depth of the tree (0 if the tree is empty)
+     */
+    public int depth(){
+        if (this.treeSize == 0){
+            return 0;
+        }
+        return this.treeDepth;
+    }
+
+    /**
+     * Binary searches the keys of a node for a key<br>
+     * 
+     * @param node  The node to search
+     * @param key  The key to search for
+     * @return The index of the key if found, otherwise (-(insertion point) - 1)
+     */
+    private int searchKeys(BPlusTreeNode<dataType, keyType> node, keyType key){
+        keyType[] keys = node.keys();
+        int low = 0;
+        int high = node.getKeyCount() - 1;
+        while (low <= high){
+            int middle = (low + high) >>> 1;
+            int comparison = keys[middle].compareTo(key);
+            if (comparison < 0){
+                low = middle + 1;
+            } else if (comparison > 0){
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Gets the index of the child of an internal node whose sub-tree would contain a key<br>
+     * Keys equal to a separator are in the sub-tree to its right<br>
+     * 
+     * @param node  The internal node
+     * @param key  The key to search for
+     * @return The index of the child to descend into
+     */
+    private int childIndex(BPlusTreeNode<dataType, keyType> node, keyType key){
+        int index = this.searchKeys(node, key);
+        if (index >= 0){ // Key equals a separator, go right
+            return index + 1;
+        }
+        return -(index + 1);
+    }
+
+    /**
+     * Inserts an entry into a leaf at a given position (the leaf may overflow by one key)<br>
+     * 
+     * @param leaf  The leaf
+     * @param index  The position to insert at
+     * @param key  The key to insert
+     * @param data  The data to insert
+     */
+    private void insertIntoLeaf(BPlusTreeNode<dataType, keyType> leaf, int index, keyType key, dataType data){
+        int moved = leaf.getKeyCount() - index; // Number of entries after the insert position
+        System.arraycopy(leaf.keys(), index, leaf.keys(), index + 1, moved);
+        System.arraycopy(leaf.data(), index, leaf.data(), index + 1, moved);
+        leaf.keys()[index] = key;
+        leaf.data()[index] = data;
+        leaf.setKeyCount(leaf.getKeyCount() + 1);
+    }
+
+    /**
+     * Inserts a separator key and the child to its right into an internal node (the node may overflow by one key)<br>
+     * 
+     * @param node  The internal node
+     * @param index  The index of the child that was split (the new key goes after it)
+     * @param key  The separator key
+     * @param rightChild  The new child to the right of the separator
+     */
+    private void insertIntoInternal(BPlusTreeNode<dataType, keyType> node, int index, keyType key, BPlusTreeNode<dataType, keyType> rightChild){
+        int moved = node.getKeyCount() - index; // Number of keys after the insert position
+        System.arraycopy(node.keys(), index, node.keys(), index + 1, moved);
+        System.arraycopy(node.children(), index + 1, node.children(), index + 2, moved);
+        node.keys()[index] = key;
+        node.children()[index + 1] = rightChild;
+        node.setKeyCount(node.getKeyCount() + 1);
+    }
+
+    /**
+     * Splits an overflowing leaf in half, moving the upper half into a new leaf linked after it<br>
+     * 
+     * @param leaf  The leaf to split
+     * @return The new leaf
+     */
+    private BPlusTreeNode<dataType, keyType> splitLeaf(BPlusTreeNode<dataType, keyType> leaf){
+        BPlusTreeNode<dataType, keyType> siblingNode = new BPlusTreeNode<dataType, keyType>(true, this.maxKeys);
+        int keepCount = leaf.getKeyCount() / 2;
+        int moveCount = leaf.getKeyCount() - keepCount;
+        System.arraycopy(leaf.keys(), keepCount, siblingNode.keys(), 0, moveCount);
+        System.arraycopy(leaf.data(), keepCount, siblingNode.data(), 0, moveCount);
+        Arrays.fill(leaf.keys(), keepCount, leaf.getKeyCount(), null); // Clear the moved references
+        Arrays.fill(leaf.data(), keepCount, leaf.getKeyCount(), null);
+        leaf.setKeyCount(keepCount);
+        siblingNode.setKeyCount(moveCount);
+        siblingNode.setNextLeaf(leaf.getNextLeaf()); // Link the new leaf in after the leaf
+        leaf.setNextLeaf(siblingNode);
+        return siblingNode;
+    }
+
+    /**
+     * Splits an overflowing internal node, moving the keys and children after the middle key into a new node<br>
+     * The middle key is removed from both nodes (the caller moves it up into the parent)<br>
+     * 
+     * @param node  The internal node to split
+     * @return The new node
+     */
+    private BPlusTreeNode<dataType, keyType> splitInternal(BPlusTreeNode<dataType, keyType> node){
+        BPlusTreeNode<dataType, keyType> siblingNode = new BPlusTreeNode<dataType, keyType>(false, this.maxKeys);
+        int middleIndex = node.getKeyCount() / 2;
+        int moveCount = node.getKeyCount() - middleIndex - 1;
+        System.arraycopy(node.keys(), middleIndex + 1, siblingNode.keys(), 0, moveCount);
+        System.arraycopy(node.children(), middleIndex + 1, siblingNode.children(), 0, moveCount + 1);
+        Arrays.fill(node.keys(), middleIndex, node.getKeyCount(), null); // Clear the moved references
+        Arrays.fill(node.children(), middleIndex + 1, node.getKeyCount() + 1, null);
+        node.setKeyCount(middleIndex);
+        siblingNode.setKeyCount(moveCount);
+        return siblingNode;
+    }
+
+    /**
+     * Removes the entry at a given position from a leaf<br>
+     * 
+     * @param leaf  The leaf
+     * @param index  The position of the entry
+     */
+    private void removeFromLeaf(BPlusTreeNode<dataType, keyType> leaf, int index){
+        int moved = leaf.getKeyCount() - index - 1; // Number of entries after the removed entry
+        System.arraycopy(leaf.keys(), index + 1, leaf.keys(), index, moved);
+        System.arraycopy(leaf.data(), index + 1, leaf.data(), index, moved);
+        leaf.setKeyCount(leaf.getKeyCount() - 1);
+        leaf.keys()[leaf.getKeyCount()] = null;
+        leaf.data()[leaf.getKeyCount()] = null;
+    }
+
+    /**
+     * Removes a separator key and the child to its right from an internal node<br>
+     * 
+     * @param node  The internal node
+     * @param index  The index of the separator key
+     */
+    private void removeFromInternal(BPlusTreeNode<dataType, keyType> node, int index){
+        int moved = node.getKeyCount() - index - 1; // Number of keys after the removed key
+        System.arraycopy(node.keys(), index + 1, node.keys(), index, moved);
+        System.arraycopy(node.children(), index + 2, node.children(), index + 1, moved);
+        node.setKeyCount(node.getKeyCount() - 1);
+        node.keys()[node.getKeyCount()] = null;
+        node.children()[node.getKeyCount() + 1] = null;
+    }
+
+    /**
+     * Fixes a child of an internal node that has too few keys<br>
+     * Borrows a key from the left or right sibling if it has keys to spare, otherwise merges the child with a sibling (removing a key from the parent)<br>
+     * 
+     * @param parentNode  The parent of the underflowing child
+     * @param index  The index of the underflowing child
+     */
+    private void fixUnderflow(BPlusTreeNode<dataType, keyType> parentNode, int index){
+        BPlusTreeNode<dataType, keyType> node = parentNode.children()[index];
+        BPlusTreeNode<dataType, keyType> leftNode = null;
+        BPlusTreeNode<dataType, keyType> rightNode = null;
+        if (index > 0){
+            leftNode = parentNode.children()[index - 1];
+        }
+        if (index < parentNode.getKeyCount()){
+            rightNode = parentNode.children()[index + 1];
+        }
+
+        if ((leftNode != null) && (leftNode.getKeyCount() > this.minKeys)){ // Borrow the left sibling's last key
+            if (node.isLeaf()){
+                this.insertIntoLeaf(node, 0, leftNode.keys()[leftNode.getKeyCount() - 1], leftNode.data()[leftNode.getKeyCount() - 1]);
+                this.removeFromLeaf(leftNode, leftNode.getKeyCount() - 1);
+                parentNode.keys()[index - 1] = node.keys()[0]; // Separator is the node's new first key
+            } else { // Rotate through the parent: the separator moves down, the sibling's last key moves up
+                System.arraycopy(node.keys(), 0, node.keys(), 1, node.getKeyCount());
+                System.arraycopy(node.children(), 0, node.children(), 1, node.getKeyCount() + 1);
+                node.keys()[0] = parentNode.keys()[index - 1];
+                node.children()[0] = leftNode.children()[leftNode.getKeyCount()];
+                node.setKeyCount(node.getKeyCount() + 1);
+                parentNode.keys()[index - 1] = leftNode.keys()[leftNode.getKeyCount() - 1];
+                leftNode.children()[leftNode.getKeyCount()] = null;
+                leftNode.setKeyCount(leftNode.getKeyCount() - 1);
+                leftNode.keys()[leftNode.getKeyCount()] = null;
+            }
+        } else if ((rightNode != null) && (rightNode.getKeyCount() > this.minKeys)){ // Borrow the right sibling's first key
+            if (node.isLeaf()){
+                this.insertIntoLeaf(node, node.getKeyCount(), rightNode.keys()[0], rightNode.data()[0]);
+                this.removeFromLeaf(rightNode, 0);
+                parentNode.keys()[index] = rightNode.keys()[0]; // Separator is the sibling's new first key
+            } else { // Rotate through the parent: the separator moves down, the sibling's first key moves up
+                node.keys()[node.getKeyCount()] = parentNode.keys()[index];
+                node.children()[node.getKeyCount() + 1] = rightNode.children()[0];
+                node.setKeyCount(node.getKeyCount() + 1);
+                parentNode.keys()[index] = rightNode.keys()[0];
+                System.arraycopy(rightNode.keys(), 1, rightNode.keys(), 0, rightNode.getKeyCount() - 1);
+                System.arraycopy(rightNode.children(), 1, rightNode.children(), 0, rightNode.getKeyCount());
+                rightNode.setKeyCount(rightNode.getKeyCount() - 1);
+                rightNode.keys()[rightNode.getKeyCount()] = null;
+                rightNode.children()[rightNode.getKeyCount() + 1] = null;
+            }
+        } else if (leftNode != null){ // Merge the node into its left sibling
+            this.mergeNodes(parentNode, index - 1);
+        } else { // Merge the right sibling into the node
+            this.mergeNodes(parentNode, index);
+        }
+    }
+
+    /**
+     * Merges a child of an internal node with the child to its right, removing the separator between them from the parent<br>
+     * 
+     * @param parentNode  The parent of the two children
+     * @param index  The index of the left child (and of the separator key)
+     */
+    private void mergeNodes(BPlusTreeNode<dataType, keyType> parentNode, int index){
+        BPlusTreeNode<dataType, keyType> leftNode = parentNode.children()[index];
+        BPlusTreeNode<dataType, keyType> rightNode = parentNode.children()[index + 1];
+        int leftCount = leftNode.getKeyCount();
+        if (leftNode.isLeaf()){ // Append the right leaf's entries and unlink it
+            System.arraycopy(rightNode.keys(), 0, leftNode.keys(), leftCount, rightNode.getKeyCount());
+            System.arraycopy(rightNode.data(), 0, leftNode.data(), leftCount, rightNode.getKeyCount());
+            leftNode.setKeyCount(leftCount + rightNode.getKeyCount());
+            leftNode.setNextLeaf(rightNode.getNextLeaf());
+        } else { // Pull the separator down between the two nodes' keys
+            leftNode.keys()[leftCount] = parentNode.keys()[index];
+            System.arraycopy(rightNode.keys(), 0, leftNode.keys(), leftCount + 1, rightNode.getKeyCount());
+            System.arraycopy(rightNode.children(), 0, leftNode.children(), leftCount + 1, rightNode.getKeyCount() + 1);
+            leftNode.setKeyCount(leftCount + 1 + rightNode.getKeyCount());
+        }
+        this.removeFromInternal(parentNode, index);
+    }
+
+    /**
+     * Gets the leaf with the smallest keys<br>
+     * 
+     * @return The left-most leaf
+     */
+    private BPlusTreeNode<dataType, keyType> firstLeaf(){
+        BPlusTreeNode<dataType, keyType> currentNode = this.headNode;
+        while (!currentNode.isLeaf()){
+            currentNode = currentNode.children()[0];
+        }
+        return currentNode;
+    }
+
+    /**
+     * Converts a list of data to an array (of the most specific class shared by all of the data)<br>
+     * 
+     * @param dataList  The data
+     * @return The data as an array (null if the list is empty)
+     */
+    private dataType[] toArray(ArrayList<dataType> dataList){
+        if (dataList.isEmpty()){
+            return null;
+        }
+        Class<?> componentType = null; // Most specific class shared by all of the data
+        for (dataType data : dataList){
+            componentType = commonClass(componentType, data);
+        }
+        if (componentType == null){ // All of the data is null
+            componentType = Object.class;
+        }
+        @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+        dataType[] array = (dataType[]) Array.newInstance(componentType, dataList.size());
+        return dataList.toArray(array);
+    }
+
+    /**
+     * Gets the most specific class that is both a class (or one of its superclasses) and the class of an object<br>
+     * 
+     * @param componentType  The class found so far (null if no data has been seen yet)
+     * @param data  The data to include (ignored if null)
+     * @return The most specific class shared by the class found so far and the data (null if no non-null data has been seen yet)
+     */
+    private static Class<?> commonClass(Class<?> componentType, Object data){
+        if (data == null){ // Null data fits any class
+            return componentType;
+        }
+        if (componentType == null){
+            return data.getClass();
+        }
+        while (!componentType.isInstance(data)){ // Move up the class hierarchy until the data fits
+            componentType = componentType.getSuperclass();
+        }
+        return componentType;
+    }
+
+}
+
+/**
+ * <h2>BPlusTreeNode</h2>
+ * A node in a B+ tree data structure (a leaf holding keys and data, or an internal node holding separator keys and children)<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used for the node (must implement the Comparable interface)<br><br>
+ * The arrays have room for one key more than the maximum, so a node can overflow before it is split<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+class BPlusTreeNode<dataType, keyType extends Comparable<keyType>>{
+
+    /** Sorted keys (the first keyCount elements are in use) */
+    private keyType[] keys;
+
+    /** Number of keys in the node */
+    private int keyCount;
+
+    /** Child nodes (internal nodes only, keyCount + 1 are in use) */
+    private BPlusTreeNode<dataType, keyType>[] children;
+
+    /** Data for each key (leaves only) */
+    private dataType[] data;
+
+    /** Next leaf in key order (leaves only, null for the last leaf) */
+    private BPlusTreeNode<dataType, keyType> nextLeaf;
+
+    /**
+     * Creates a new BPlusTreeNode object<br>
+     * 
+     * @param leaf  Whether the node is a leaf
+     * @param maxKeys  The maximum number of keys in a node
+     */
+    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    public BPlusTreeNode(boolean leaf, int maxKeys){
+        this.keys = (keyType[]) new Comparable<?>[maxKeys + 1];
+        this.keyCount = 0;
+        if (leaf){
+            this.data = (dataType[]) new Object[maxKeys + 1];
+        } else {
+            this.children = (BPlusTreeNode<dataType, keyType>[]) new BPlusTreeNode<?, ?>[maxKeys + 2];
+        }
+    }
+
+    /**
+     * Checks whether the node is a leaf
+     * 
+     * @return Whether the node is a leaf (holds data rather than children)
+     */
+    public boolean isLeaf(){
+        return this.children == null;
+    }
+
+    /**
+     * Gets the node's key array
+     * 
+     * @return The node's keys (sorted, the first getKeyCount() are in use)
+     */
+    public keyType[] keys(){
+        return this.keys;
+    }
+
+    /**
+     * Gets the node's child array
+     * 
+     * @return The node's children (null for a leaf)
+     */
+    public BPlusTreeNode<dataType, keyType>[] children(){
+        return this.children;
+    }
+
+    /**
+     * Gets the node's data array
+     * 
+     * @return The data for each key (null for an internal node)
+     */
+    public dataType[] data(){
+        return this.data;
+    }
+
+    /**
+     * Gets the number of keys in the node
+     * 
+     * @return Number of keys in use
+     */
+    public int getKeyCount(){
+        return this.keyCount;
+    }
+
+    /**
+     * Sets the number of keys in the node
+     * 
+     * @param count  The new number of keys in use
+     */
+    public void setKeyCount(int count){
+        this.keyCount = count;
+    }
+
+    /**
+     * Gets the next leaf in key order
+     * 
+     * @return The next leaf (null for the last leaf)
+     */
+    public BPlusTreeNode<dataType, keyType> getNextLeaf(){
+        return this.nextLeaf;
+    }
+
+    /**
+     * Sets the next leaf in key order
+     * 
+     * @param node  The next leaf
+     */
+    public void setNextLeaf(BPlusTreeNode<dataType, keyType> node){
+        this.nextLeaf = node;
+    }
+
+}
@@ -6,6 +6,18 @@ Author: Jonah Swain
 
 import java.lang.RuntimeException;
 import java.lang.reflect.Array;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <h2>BinarySearchTree</h2>
@@ -13,11 +25,24 @@ import java.lang.reflect.Array;
  * generic dataType is the (object) type of the data to be stored<br>
  * generic keyType is the (object) type of the key used for the node (must implement the Comparable interface)<br><br>
  * Uses tree traversal for some functions to avoid the overhead associated with recursion<br>
+ * Unbalanced by default (sorted inserts degenerate it into a linked list), optionally balanced as a red-black tree, a treap or a splay tree (see the balancing constructors)<br>
+ * Statistics (comparisons, path lengths, height) can optionally be recorded, see setStatisticsEnabled (this makes the tree maintain node heights, so its height is known in constant time)<br>
  * 
  * @author Jonah Swain (https://github.com/jonahswain/)
  * @since 10/03/2018
  */
-public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
+public class BinarySearchTree<dataType, keyType extends Comparable<keyType>> implements Iterable<dataType>{
+
+    /** No balancing (insert/delete never restructure the tree) */
+    public static final int noBalancing = 0;
+    /** Red-black balancing (at most two rotations per insert and three per delete, so fewer rotations than AVLTree on write heavy workloads, height at most 2*log2(n + 1)) */
+    public static final int redBlackBalancing = 1;
+    /** Treap balancing (each node has a random priority and the tree is heap ordered by priority, so its shape is that of a random insertion order, expected height O(log n)) */
+    public static final int treapBalancing = 2;
+    /** Splay balancing (every get/insert/delete rotates the node it reaches to the head, so frequently used keys stay near the head, amortised O(log n), gets change the tree) */
+    public static final int splayBalancing = 3;
+    /** Splay balancing with semi-splaying on gets (a get only roughly halves the depth of the node it reaches, doing about half the rotations of a full splay, inserts/deletes splay fully) */
+    public static final int semiSplayBalancing = 4;
 
     /** Head node of the tree */
     private BinarySearchTreeNode<dataType, keyType> headNode;
@@ -25,10 +50,62 @@ public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
     /** Size of the tree (number of elements) */
     private int treeSize;
 
-    /** Creates a new BinarySearchTree object */
+    /** Whether sub-tree sizes are maintained (for select/rank) */
+    private boolean orderStatistics;
+
+    /** Statistics counters (null unless statistics are enabled, node heights are only maintained while they are) */
+    private TreeStatistics.Counters counters;
+
+    /** Balancing scheme (none, red-black, treap or splay/semi-splay) */
+    private int balancing;
+
+    /** Random number generator for node priorities (for treap balancing) */
+    private Random treapRandom;
+
+    /** Number of rotations performed (for the statistics) */
+    private long rotationCount;
+
+    /** Creates a new BinarySearchTree object (unbalanced, without order statistics) */
     public BinarySearchTree(){
+        this(noBalancing, false);
+    }
+
+    /**
+     * Creates a new BinarySearchTree object (unbalanced)<br>
+     * 
+     * @param trackSubtreeSizes  Whether to maintain sub-tree sizes, enabling select/rank in logarithmic time (at the cost of updating every node on the path on insert/delete)
+     */
+    public BinarySearchTree(boolean trackSubtreeSizes){
+        this(noBalancing, trackSubtreeSizes);
+    }
+
+    /**
+     * Creates a new BinarySearchTree object with a balancing scheme (without order statistics)<br>
+     * 
+     * @param balancing  The balancing scheme to use (none, red-black, treap or splay/semi-splay)
+     */
+    public BinarySearchTree(int balancing){
+        this(balancing, false);
+    }
+
+    /**
+     * Creates a new BinarySearchTree object with a balancing scheme<br>
+     * 
+     * @param balancing  The balancing scheme to use (none, red-black, treap or splay/semi-splay)
+     * @param trackSubtreeSizes  Whether to maintain sub-tree sizes, enabling select/rank in logarithmic time (at the cost of updating every node on the path on insert/delete)
+     */
+    public BinarySearchTree(int balancing, boolean trackSubtreeSizes) throws java.lang.RuntimeException {
+        if ((balancing == noBalancing) || (balancing == redBlackBalancing) || (balancing == treapBalancing) || (balancing == splayBalancing) || (balancing == semiSplayBalancing)){ // Check that a valid balancing scheme is chosen
+            this.balancing = balancing;
+        } else {
+            throw new RuntimeException("Invalid balancing scheme selected");
+        }
+        if (balancing == treapBalancing){
+            this.treapRandom = new Random();
+        }
         this.headNode = null;
         this.treeSize = 0;
+        this.orderStatistics = trackSubtreeSizes;
     }
 
     /**
@@ -38,21 +115,28 @@ public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
      * @param data  The data to insert
      */
     public void insert(keyType key, dataType data) throws java.lang.RuntimeException {
+        int pathLength = 0; // Number of nodes visited (for the statistics)
+        long rotations = this.rotationCount;
+        BinarySearchTreeNode<dataType, keyType> newNode;
         if (this.headNode == null){ // If head node is null, insert the new node as the head node
-            this.headNode = new BinarySearchTreeNode<dataType, keyType>(key, data);
+            newNode = new BinarySearchTreeNode<dataType, keyType>(key, data);
+            this.headNode = newNode;
         } else { // If the head node is not null, find where to insert the new node
             BinarySearchTreeNode<dataType, keyType> currentNode = this.headNode;
             while(true){
+                pathLength++;
                 if (currentNode.key().compareTo(key) > 0){ // Insert to the left
                     if (currentNode.getLeftChild() == null){ // Insert a child on the current node
-                        currentNode.setLeftChild(new BinarySearchTreeNode<dataType, keyType>(key, data, currentNode));
+                        newNode = new BinarySearchTreeNode<dataType, keyType>(key, data, currentNode);
+                        currentNode.setLeftChild(newNode);
                         break; // Exit loop
                     } else { // Branch to the next node
                         currentNode = currentNode.getLeftChild();
                     }
                 } else if (currentNode.key().compareTo(key) < 0){ // Insert to the right
                     if (currentNode.getRightChild() == null){ // Insert a child on the current node
-                        currentNode.setRightChild(new BinarySearchTreeNode<dataType, keyType>(key, data, currentNode));
+                        newNode = new BinarySearchTreeNode<dataType, keyType>(key, data, currentNode);
+                        currentNode.setRightChild(newNode);
                         break; // Exit loop
                     } else { // Branch to the next node
                         currentNode = currentNode.getRightChild();
@@ -61,29 +145,70 @@ public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
                     throw new RuntimeException("Duplicate key error"); // Throw an error
                 }
             }
+            this.updateSizes(currentNode); // Count the new node in the sub-tree sizes on its path
         }
 
+        if (this.balancing == redBlackBalancing){ // New node is red, fix any red node with a red parent
+            newNode.setRed(true);
+            this.insertFixup(newNode);
+        } else if (this.balancing == treapBalancing){ // Rotate the new node up until its parent has a higher priority
+            newNode.setPriority(this.treapRandom.nextInt());
+            while ((newNode.getParent() != null) && (newNode.getParent().getPriority() < newNode.getPriority())){
+                if (newNode.getParent().getLeftChild() == newNode){
+                    this.rotateRight(newNode.getParent());
+                } else {
+                    this.rotateLeft(newNode.getParent());
+                }
+            }
+        } else if ((this.balancing == splayBalancing) || (this.balancing == semiSplayBalancing)){
+            this.splay(newNode, false);
+        }
+        this.updateHeights(newNode); // Every node whose height changed is on the new node's path, or was rotated off it (with its height updated)
+
         this.treeSize++; // Increment tree size
+        if (this.counters != null){
+            this.counters.recordInsert(pathLength, this.rotationCount - rotations);
+        }
     }
 
     /**
      * Gets the data located at the specified key in the tree<br>
+     * With splay balancing the node reached (the entry, or the last node searched if the key is not found) is splayed, so gets change the tree and must not run concurrently with each other<br>
      * 
      * @param key  The key of the entry to find
      * @return The data at the specified key (null if key not found)
      */
     public dataType get(keyType key){
         BinarySearchTreeNode<dataType, keyType> currentNode = this.headNode;
+        BinarySearchTreeNode<dataType, keyType> lastNode = null; // Last node visited (splayed if the key is not found)
+        int pathLength = 0; // Number of nodes visited and keys compared (for the statistics)
+        int comparisons = 0;
         while (currentNode != null){
+            pathLength++;
+            lastNode = currentNode;
             if (currentNode.key().compareTo(key) > 0){ // Search to the left
+                comparisons++;
                 currentNode = currentNode.getLeftChild();
             } else if (currentNode.key().compareTo(key) < 0){ // Search to the right
+                comparisons += 2;
                 currentNode = currentNode.getRightChild();
             } else { // Key is equal (return data)
+                if (this.counters != null){
+                    this.counters.recordGet(comparisons + 2, pathLength, true);
+                }
+                if ((this.balancing == splayBalancing) || (this.balancing == semiSplayBalancing)){
+                    this.splay(currentNode, this.balancing == semiSplayBalancing);
+                }
                 return currentNode.data();
             }
         }
 
+        if (this.counters != null){
+            this.counters.recordGet(comparisons, pathLength, false);
+        }
+        if ((lastNode != null) && ((this.balancing == splayBalancing) || (this.balancing == semiSplayBalancing))){
+            this.splay(lastNode, this.balancing == semiSplayBalancing);
+        }
         return null; // Key not found, return null
     }
 
@@ -95,7 +220,11 @@ public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
     public void delete(keyType key){
         // Search for node with specified key
         BinarySearchTreeNode<dataType, keyType> currentNode = this.headNode;
+        int pathLength = 0; // Number of nodes visited (for the statistics)
+        long rotations = this.rotationCount;
+        boolean removed = false;
         while (currentNode != null){
+            pathLength++;
             if (currentNode.key().compareTo(key) > 0){ // Search to the left
                 currentNode = currentNode.getLeftChild();
             } else if (currentNode.key().compareTo(key) < 0){ // Search to the right
@@ -103,75 +232,942 @@ public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
             } else { // Key is equal (delete node)
                 this.delete(currentNode);
                 this.treeSize--; // Decrement tree size
+                removed = true;
+                break;
             }
         }
+        if (this.counters != null){
+            this.counters.recordDelete(pathLength, this.rotationCount - rotations, removed);
+        }
     }
 
     /**
      * Removes a node from the tree<br>
+     * With treap balancing the node is first rotated down (below its higher priority child) until it has at most one child<br>
+     * With red-black balancing the colours are fixed afterwards if a black node was removed from its position<br>
      * 
      * @param node  The node to remove
      */
     public void delete(BinarySearchTreeNode<dataType, keyType> node) throws java.lang.RuntimeException {
-        if (node.getLeftChild() == null && node.getRightChild() == null){ // Check if node is a leaf node
-            if (node.getParent().getLeftChild() == node){ // Node is parents' left child
-                node.getParent().setLeftChild(null); // Delete node
-            } else if (node.getParent().getRightChild() == node){ // Node is parents' right child
-                node.getParent().setRightChild(null); // Delete node
-            } else { // Node is not a child of parent (unknown error?)
-                throw new RuntimeException("Node is not a child of parent");
-            }
-        } else if (node.getLeftChild() != null){ // Node has a left child to get its replacement from
+        if (this.balancing == treapBalancing){
+            while ((node.getLeftChild() != null) && (node.getRightChild() != null)){
+                if (node.getLeftChild().getPriority() > node.getRightChild().getPriority()){
+                    this.rotateRight(node);
+                } else {
+                    this.rotateLeft(node);
+                }
+            }
+        }
+
+        BinarySearchTreeNode<dataType, keyType> changedNode; // Lowest node whose sub-tree has lost a node
+        BinarySearchTreeNode<dataType, keyType> movedChild; // Node (or null) that took the place of the node removed from its position (for red-black balancing)
+        boolean removedRed; // Colour of the node removed from its position
+        if (node.getLeftChild() == null || node.getRightChild() == null){ // Node has at most one child, splice it out
+            BinarySearchTreeNode<dataType, keyType> childNode = node.getLeftChild();
+            if (childNode == null){ // Node has no left child, use its right child (or null)
+                childNode = node.getRightChild();
+            }
+            changedNode = node.getParent();
+            movedChild = childNode;
+            removedRed = node.isRed();
+            this.replaceNode(node, childNode); // Replace the node with its only child (or null)
+        } else { // Node has two children, replace it with the right-most node of its left sub-tree (key closest to key of node to be deleted)
             BinarySearchTreeNode<dataType, keyType> replacementNode = node.getLeftChild();
-            while (replacementNode.getRightChild() != null){ // Get the right-most child of the left child (key closest to key of node to be deleted)
+            while (replacementNode.getRightChild() != null){
                 replacementNode = replacementNode.getRightChild();
             }
-            if (replacementNode.getLeftChild() != null){ // Check if replacement node has a child
-                replacementNode.getLeftChild().setParent(replacementNode.getParent()); // Set the parent of the child to the parent of the replacement node
-                replacementNode.getParent().setRightChild(replacementNode.getLeftChild()); // Re-attach the replacement node's child to its parent
+            movedChild = replacementNode.getLeftChild();
+            removedRed = replacementNode.isRed();
+            replacementNode.setRed(node.isRed()); // Replacement node takes over the node's colour, so its old position lost a node of its colour
+            if (replacementNode.getParent() == node){ // Replacement node is the node's left child (it keeps its own left sub-tree)
+                changedNode = replacementNode;
+            } else { // Detach the replacement node, re-attaching its left child to its parent
+                changedNode = replacementNode.getParent();
+                changedNode.setRightChild(replacementNode.getLeftChild());
+                if (replacementNode.getLeftChild() != null){
+                    replacementNode.getLeftChild().setParent(changedNode);
+                }
+                replacementNode.setLeftChild(node.getLeftChild()); // Take over the node's left sub-tree
+                node.getLeftChild().setParent(replacementNode);
+            }
+            replacementNode.setRightChild(node.getRightChild()); // Take over the node's right sub-tree
+            node.getRightChild().setParent(replacementNode);
+            this.replaceNode(node, replacementNode);
+        }
+
+        // Detach the removed node from the tree
+        node.setLeftChild(null);
+        node.setRightChild(null);
+        node.setParent(null);
+
+        this.updateSizes(changedNode); // Recount the sub-tree sizes on the path back to the head node
+
+        if ((this.balancing == redBlackBalancing) && !removedRed){ // A black node was removed from the path through its position
+            this.deleteFixup(movedChild, changedNode);
+        } else if (((this.balancing == splayBalancing) || (this.balancing == semiSplayBalancing)) && (changedNode != null)){ // Splay the removed node's parent
+            this.splay(changedNode, false);
+        }
+        this.updateHeights(changedNode); // The replacement node (if any) and every node rotated above the path is on the path, so their heights are recalculated too
+    }
+
+    /**
+     * Moves a node towards the head node by rotations (for splay balancing)<br>
+     * A full splay rotates the node to the head, in pairs of rotations that also roughly halve the depth of the nodes on its path<br>
+     * A semi-splay does a single rotation in the zig-zig case (node and parent on the same side) and continues from the parent, so the node only gets about half way up<br>
+     * 
+     * @param node  The node to splay
+     * @param semiSplay  Whether to semi-splay
+     */
+    private void splay(BinarySearchTreeNode<dataType, keyType> node, boolean semiSplay){
+        while (node.getParent() != null){
+            BinarySearchTreeNode<dataType, keyType> parentNode = node.getParent();
+            BinarySearchTreeNode<dataType, keyType> grandparentNode = parentNode.getParent();
+            if (grandparentNode == null){ // Zig (parent is the head node)
+                this.rotateUp(node);
+            } else if ((grandparentNode.getLeftChild() == parentNode) == (parentNode.getLeftChild() == node)){ // Zig-zig (node and parent are on the same side)
+                this.rotateUp(parentNode);
+                if (semiSplay){ // Continue from the parent (now in the grandparent's place)
+                    node = parentNode;
+                } else {
+                    this.rotateUp(node);
+                }
+            } else { // Zig-zag (node is an inner grandchild)
+                this.rotateUp(node);
+                this.rotateUp(node);
+            }
+        }
+    }
+
+    /**
+     * Rotates a node into its parent's place<br>
+     * 
+     * @param node  The node to rotate up (must have a parent)
+     */
+    private void rotateUp(BinarySearchTreeNode<dataType, keyType> node){
+        if (node.getParent().getLeftChild() == node){
+            this.rotateRight(node.getParent());
+        } else {
+            this.rotateLeft(node.getParent());
+        }
+    }
+
+    /**
+     * Restores the red-black properties after inserting a red node (recolouring up the tree, then at most two rotations)<br>
+     * 
+     * @param node  The inserted node
+     */
+    private void insertFixup(BinarySearchTreeNode<dataType, keyType> node){
+        while (this.isRed(node.getParent())){ // Red node with a red parent (the parent is not the head node, so the grandparent exists)
+            BinarySearchTreeNode<dataType, keyType> parentNode = node.getParent();
+            BinarySearchTreeNode<dataType, keyType> grandparentNode = parentNode.getParent();
+            if (parentNode == grandparentNode.getLeftChild()){
+                BinarySearchTreeNode<dataType, keyType> uncleNode = grandparentNode.getRightChild();
+                if (this.isRed(uncleNode)){ // Red uncle, push the grandparent's black down and continue from the grandparent
+                    parentNode.setRed(false);
+                    uncleNode.setRed(false);
+                    grandparentNode.setRed(true);
+                    node = grandparentNode;
+                } else {
+                    if (node == parentNode.getRightChild()){ // Inner child, rotate it to the outside first
+                        node = parentNode;
+                        this.rotateLeft(node);
+                        parentNode = node.getParent();
+                    }
+                    parentNode.setRed(false);
+                    grandparentNode.setRed(true);
+                    this.rotateRight(grandparentNode);
+                }
+            } else { // Mirror image (parent is a right child)
+                BinarySearchTreeNode<dataType, keyType> uncleNode = grandparentNode.getLeftChild();
+                if (this.isRed(uncleNode)){
+                    parentNode.setRed(false);
+                    uncleNode.setRed(false);
+                    grandparentNode.setRed(true);
+                    node = grandparentNode;
+                } else {
+                    if (node == parentNode.getLeftChild()){
+                        node = parentNode;
+                        this.rotateRight(node);
+                        parentNode = node.getParent();
+                    }
+                    parentNode.setRed(false);
+                    grandparentNode.setRed(true);
+                    this.rotateLeft(grandparentNode);
+                }
+            }
+        }
+        this.headNode.setRed(false);
+    }
+
+    /**
+     * Restores the red-black properties after a black node was removed (recolouring up the tree, then at most three rotations)<br>
+     * The position is tracked by its parent, as the node that took the removed node's place may be null<br>
+     * 
+     * @param node  The node (or null) with one black too few on its paths
+     * @param parentNode  The node's parent
+     */
+    private void deleteFixup(BinarySearchTreeNode<dataType, keyType> node, BinarySearchTreeNode<dataType, keyType> parentNode){
+        while ((node != this.headNode) && !this.isRed(node)){
+            if (node == parentNode.getLeftChild()){ // The sibling has paths with more black nodes, so is never null
+                BinarySearchTreeNode<dataType, keyType> siblingNode = parentNode.getRightChild();
+                if (this.isRed(siblingNode)){ // Red sibling, rotate it up so the sibling is black
+                    siblingNode.setRed(false);
+                    parentNode.setRed(true);
+                    this.rotateLeft(parentNode);
+                    siblingNode = parentNode.getRightChild();
+                }
+                if (!this.isRed(siblingNode.getLeftChild()) && !this.isRed(siblingNode.getRightChild())){ // Sibling can turn red, move the missing black up to the parent
+                    siblingNode.setRed(true);
+                    node = parentNode;
+                    parentNode = node.getParent();
+                } else {
+                    if (!this.isRed(siblingNode.getRightChild())){ // Only the inner child is red, rotate it to the outside first
+                        siblingNode.getLeftChild().setRed(false);
+                        siblingNode.setRed(true);
+                        this.rotateRight(siblingNode);
+                        siblingNode = parentNode.getRightChild();
+                    }
+                    siblingNode.setRed(parentNode.isRed());
+                    parentNode.setRed(false);
+                    siblingNode.getRightChild().setRed(false);
+                    this.rotateLeft(parentNode);
+                    node = this.headNode; // Done
+                }
+            } else { // Mirror image (node is a right child)
+                BinarySearchTreeNode<dataType, keyType> siblingNode = parentNode.getLeftChild();
+                if (this.isRed(siblingNode)){
+                    siblingNode.setRed(false);
+                    parentNode.setRed(true);
+                    this.rotateRight(parentNode);
+                    siblingNode = parentNode.getLeftChild();
+                }
+                if (!this.isRed(siblingNode.getLeftChild()) && !this.isRed(siblingNode.getRightChild())){
+                    siblingNode.setRed(true);
+                    node = parentNode;
+                    parentNode = node.getParent();
+                } else {
+                    if (!this.isRed(siblingNode.getLeftChild())){
+                        siblingNode.getRightChild().setRed(false);
+                        siblingNode.setRed(true);
+                        this.rotateLeft(siblingNode);
+                        siblingNode = parentNode.getLeftChild();
+                    }
+                    siblingNode.setRed(parentNode.isRed());
+                    parentNode.setRed(false);
+                    siblingNode.getLeftChild().setRed(false);
+                    this.rotateRight(parentNode);
+                    node = this.headNode; // Done
+                }
+            }
+        }
+        if (node != null){
+            node.setRed(false);
+        }
+    }
+
+    /**
+     * Gets whether a node is red (for red-black balancing, null leaves are black)<br>
+     * 
+     * @param node  The node (may be null)
+     * @return Whether the node is red
+     */
+    private boolean isRed(BinarySearchTreeNode<dataType, keyType> node){
+        return (node != null) && node.isRed();
+    }
+
+    /**
+     * Rotates a sub-tree left about a node (its right child takes its place)<br>
+     * Keeps the sub-tree sizes up to date, and the heights of the two nodes (while statistics are enabled, the caller updates the heights of their ancestors)<br>
+     * 
+     * @param node  The node to rotate about (must have a right child)
+     */
+    private void rotateLeft(BinarySearchTreeNode<dataType, keyType> node){
+        BinarySearchTreeNode<dataType, keyType> replacementNode = node.getRightChild();
+        node.setRightChild(replacementNode.getLeftChild()); // Move the replacement node's left sub-tree under the node
+        if (node.getRightChild() != null){
+            node.getRightChild().setParent(node);
+        }
+        this.replaceNode(node, replacementNode); // Put the replacement node in the node's place
+        replacementNode.setLeftChild(node);
+        node.setParent(replacementNode);
+        this.updateSize(node); // Node is now the replacement node's child, so update it first
+        this.updateSize(replacementNode);
+        this.updateHeight(node);
+        this.updateHeight(replacementNode);
+        this.rotationCount++;
+    }
+
+    /**
+     * Rotates a sub-tree right about a node (its left child takes its place)<br>
+     * Keeps the sub-tree sizes up to date, and the heights of the two nodes (while statistics are enabled, the caller updates the heights of their ancestors)<br>
+     * 
+     * @param node  The node to rotate about (must have a left child)
+     */
+    private void rotateRight(BinarySearchTreeNode<dataType, keyType> node){
+        BinarySearchTreeNode<dataType, keyType> replacementNode = node.getLeftChild();
+        node.setLeftChild(replacementNode.getRightChild()); // Move the replacement node's right sub-tree under the node
+        if (node.getLeftChild() != null){
+            node.getLeftChild().setParent(node);
+        }
+        this.replaceNode(node, replacementNode); // Put the replacement node in the node's place
+        replacementNode.setRightChild(node);
+        node.setParent(replacementNode);
+        this.updateSize(node); // Node is now the replacement node's child, so update it first
+        this.updateSize(replacementNode);
+        this.updateHeight(node);
+        this.updateHeight(replacementNode);
+        this.rotationCount++;
+    }
+
+    /**
+     * Replaces a node with another node (or null) in the node's parent (or as the head node)<br>
+     * 
+     * @param node  The node to replace
+     * @param replacementNode  The node to put in its place (may be null)
+     */
+    private void replaceNode(BinarySearchTreeNode<dataType, keyType> node, BinarySearchTreeNode<dataType, keyType> replacementNode) throws java.lang.RuntimeException {
+        BinarySearchTreeNode<dataType, keyType> parentNode = node.getParent();
+        if (parentNode == null){ // Node is the head node
+            this.headNode = replacementNode;
+        } else if (parentNode.getLeftChild() == node){ // Node is parents' left child
+            parentNode.setLeftChild(replacementNode);
+        } else if (parentNode.getRightChild() == node){ // Node is parents' right child
+            parentNode.setRightChild(replacementNode);
+        } else { // Node is not a child of parent (unknown error?)
+            throw new RuntimeException("Node is not a child of parent");
+        }
+        if (replacementNode != null){ // Fix the replacement node's parent
+            replacementNode.setParent(parentNode);
+        }
+    }
+
+    /**
+     * Replaces the contents of the tree with entries from sorted arrays of keys and data<br>
+     * Builds a perfectly balanced tree in linear time (inserting sorted entries one at a time degenerates the tree into a linked list)<br>
+     * 
+     * @param keys  The keys of the entries (must be in strictly increasing order)
+     * @param data  The data of the entries (data[i] is stored with keys[i])
+     */
+    public void bulkLoad(keyType[] keys, dataType[] data) throws java.lang.RuntimeException {
+        if (keys.length != data.length){
+            throw new RuntimeException("Number of keys does not match number of data elements");
+        }
+        this.bulkLoad(Arrays.asList(keys), Arrays.asList(data));
+    }
+
+    /**
+     * Replaces the contents of the tree with the entries from an iterator of key/data pairs sorted by key<br>
+     * Builds a perfectly balanced tree in linear time<br>
+     * 
+     * @param entries  The entries to load (keys must be in strictly increasing order)
+     */
+    public void bulkLoad(Iterator<? extends Map.Entry<keyType, dataType>> entries) throws java.lang.RuntimeException {
+        ArrayList<keyType> keys = new ArrayList<keyType>();
+        ArrayList<dataType> data = new ArrayList<dataType>();
+        while (entries.hasNext()){
+            Map.Entry<keyType, dataType> entry = entries.next();
+            keys.add(entry.getKey());
+            data.add(entry.getValue());
+        }
+        this.bulkLoad(keys, data);
+    }
+
+    /**
+     * Replaces the contents of the tree with the entries from a stream of key/data pairs sorted by key<br>
+     * Builds a perfectly balanced tree in linear time<br>
+     * 
+     * @param entries  The entries to load (keys must be in strictly increasing order, the stream is consumed in encounter order)
+     */
+    public void bulkLoad(Stream<? extends Map.Entry<keyType, dataType>> entries) throws java.lang.RuntimeException {
+        this.bulkLoad(entries.iterator());
+    }
+
+    /**
+     * Replaces the contents of the tree with entries from sorted lists of keys and data<br>
+     * The keys are checked before the tree is changed, so the tree is left unchanged if they are not sorted<br>
+     * 
+     * @param keys  The keys of the entries (must be in strictly increasing order)
+     * @param data  The data of the entries
+     */
+    private void bulkLoad(List<keyType> keys, List<dataType> data) throws java.lang.RuntimeException {
+        for (int i = 1; i < keys.size(); i++){
+            int comparison = keys.get(i - 1).compareTo(keys.get(i));
+            if (comparison == 0){
+                throw new RuntimeException("Duplicate key error");
+            } else if (comparison > 0){
+                throw new RuntimeException("Keys are not in sorted order");
+            }
+        }
+        this.headNode = this.buildSubtree(keys, data, 0, keys.size(), null);
+        this.treeSize = keys.size();
+        this.initialiseBalance();
+    }
+
+    /**
+     * Builds a perfectly balanced sub-tree from part of sorted lists of keys and data (the middle entry becomes the head)<br>
+     * Sets the parent links and sub-tree sizes (if order statistics are enabled) of every node<br>
+     * 
+     * @param keys  The sorted keys
+     * @param data  The data for each key
+     * @param fromIndex  The index of the first entry in the sub-tree
+     * @param toIndex  The index after the last entry in the sub-tree
+     * @param parentNode  The parent of the sub-tree's head node (null for the head of the tree)
+     * @return The head node of the sub-tree (null if the part is empty)
+     */
+    private BinarySearchTreeNode<dataType, keyType> buildSubtree(List<keyType> keys, List<dataType> data, int fromIndex, int toIndex, BinarySearchTreeNode<dataType, keyType> parentNode){
+        if (fromIndex >= toIndex){
+            return null;
+        }
+        int middleIndex = (fromIndex + toIndex) >>> 1;
+        BinarySearchTreeNode<dataType, keyType> node = new BinarySearchTreeNode<dataType, keyType>(keys.get(middleIndex), data.get(middleIndex), parentNode);
+        node.setLeftChild(this.buildSubtree(keys, data, fromIndex, middleIndex, node));
+        node.setRightChild(this.buildSubtree(keys, data, middleIndex + 1, toIndex, node));
+        this.updateSize(node);
+        this.updateHeight(node);
+        return node;
+    }
+
+    /**
+     * Writes the entries of the tree to a binary snapshot file (see TreeSnapshot), in key order<br>
+     * 
+     * @param file  The file to write (replaced once the snapshot is complete, and left unchanged if writing fails)
+     * @param keySerializer  The encoder for keys
+     * @param dataSerializer  The encoder for data
+     */
+    public void snapshot(Path file, FixedWidthSerializer<keyType> keySerializer, FixedWidthSerializer<dataType> dataSerializer) throws java.io.IOException {
+        TreeSnapshot<dataType, keyType> snapshot = TreeSnapshot.create(file, this.treeSize, keySerializer, dataSerializer);
+        try {
+            if (this.headNode != null){
+                for (BinarySearchTreeNode<dataType, keyType> node = this.firstNode(this.headNode); node != null; node = this.successor(node)){
+                    snapshot.write(node.key(), node.data());
+                }
+            }
+        } catch (Throwable e){ // Leave any existing snapshot file intact, and report the original failure
+            snapshot.abort(e);
+            throw e;
+        }
+        snapshot.close(); // Replaces the file with the complete snapshot
+    }
+
+    /**
+     * Replaces the contents of the tree with the entries of a binary snapshot file (see TreeSnapshot)<br>
+     * The entries are streamed from the file straight into a perfectly balanced tree in linear time (no inserts, and no intermediate lists)<br>
+     * The tree is left unchanged if the file is invalid, corrupt or out of order<br>
+     * 
+     * @param file  The file to read
+     * @param keySerializer  The encoder for keys (must match the one the snapshot was written with)
+     * @param dataSerializer  The encoder for data (must match the one the snapshot was written with)
+     */
+    public void restore(Path file, FixedWidthSerializer<keyType> keySerializer, FixedWidthSerializer<dataType> dataSerializer) throws java.io.IOException, java.lang.RuntimeException {
+        TreeSnapshot<dataType, keyType> snapshot = TreeSnapshot.open(file, keySerializer, dataSerializer);
+        try {
+            BinarySearchTreeNode<dataType, keyType> newHead = this.buildSubtree(snapshot, snapshot.size()); // Checksum is checked when the last entry is read
+            this.headNode = newHead;
+            this.treeSize = snapshot.size();
+            this.initialiseBalance();
+        } finally {
+            snapshot.close();
+        }
+    }
+
+    /**
+     * Builds a perfectly balanced sub-tree from the next entries of a snapshot (the left sub-tree is built first, so entries are read in key order)<br>
+     * 
+     * @param snapshot  The snapshot to read from
+     * @param count  The number of entries in the sub-tree
+     * @return The head node of the sub-tree (null if count is 0, parent link not set)
+     */
+    private BinarySearchTreeNode<dataType, keyType> buildSubtree(TreeSnapshot<dataType, keyType> snapshot, int count) throws java.io.IOException {
+        if (count == 0){
+            return null;
+        }
+        int leftCount = count / 2;
+        BinarySearchTreeNode<dataType, keyType> leftNode = this.buildSubtree(snapshot, leftCount);
+        snapshot.next();
+        BinarySearchTreeNode<dataType, keyType> node = new BinarySearchTreeNode<dataType, keyType>(snapshot.key(), snapshot.data());
+        BinarySearchTreeNode<dataType, keyType> rightNode = this.buildSubtree(snapshot, count - leftCount - 1);
+        node.setLeftChild(leftNode);
+        node.setRightChild(rightNode);
+        if (leftNode != null){
+            leftNode.setParent(node);
+        }
+        if (rightNode != null){
+            rightNode.setParent(node);
+        }
+        this.updateSize(node);
+        this.updateHeight(node);
+        return node;
+    }
+
+    /**
+     * Gets the number of entries in the tree<br>
+     * 
+     * @return The number of entries in the tree
+     */
+    public int size(){
+        return this.treeSize;
+    }
+
+    /**
+     * Gets the data of the entry at a given position in key order (the k-th smallest key)<br>
+     * Requires order statistics to be enabled (uses the sub-tree sizes, visits one path)<br>
+     * 
+     * @param index  The position of the entry in key order (0 for the smallest key)
+     * @return The data of the entry at the position (null if the position is outside the tree)
+     */
+    public dataType select(int index) throws java.lang.RuntimeException {
+        if (!this.orderStatistics){
+            throw new RuntimeException("Order statistics are not enabled for this tree");
+        }
+        BinarySearchTreeNode<dataType, keyType> currentNode = this.headNode;
+        while (currentNode != null){
+            int leftSize = this.size(currentNode.getLeftChild()); // Number of keys smaller than the current node's key in its sub-tree
+            if (index < leftSize){ // Entry is in the left sub-tree
+                currentNode = currentNode.getLeftChild();
+            } else if (index > leftSize){ // Entry is in the right sub-tree, skip the left sub-tree and the current node
+                index -= leftSize + 1;
+                currentNode = currentNode.getRightChild();
+            } else { // Entry is the current node
+                return currentNode.data();
+            }
+        }
+        return null; // Position is outside the tree
+    }
+
+    /**
+     * Gets the number of entries in the tree with a key less than the specified key<br>
+     * Requires order statistics to be enabled (uses the sub-tree sizes, visits one path)<br>
+     * 
+     * @param key  The key to rank (does not need to be in the tree)
+     * @return The number of keys less than key (the key's position in key order if it is in the tree)
+     */
+    public int rank(keyType key) throws java.lang.RuntimeException {
+        if (!this.orderStatistics){
+            throw new RuntimeException("Order statistics are not enabled for this tree");
+        }
+        int rank = 0;
+        BinarySearchTreeNode<dataType, keyType> currentNode = this.headNode;
+        while (currentNode != null){
+            if (currentNode.key().compareTo(key) > 0){ // Search to the left
+                currentNode = currentNode.getLeftChild();
+            } else if (currentNode.key().compareTo(key) < 0){ // Count the left sub-tree and the current node, search to the right
+                rank += this.size(currentNode.getLeftChild()) + 1;
+                currentNode = currentNode.getRightChild();
+            } else { // Key is equal, count its left sub-tree
+                return rank + this.size(currentNode.getLeftChild());
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Gets the size of a sub-tree (0 for an empty sub-tree)<br>
+     * 
+     * @param node  The head node of the sub-tree (may be null)
+     * @return The number of nodes in the sub-tree
+     */
+    private int size(BinarySearchTreeNode<dataType, keyType> node){
+        if (node != null){
+            return node.getSize();
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Recalculates the cached sub-tree size of a node from the sizes of its children (if order statistics are enabled)<br>
+     * 
+     * @param node  The node to update
+     */
+    private void updateSize(BinarySearchTreeNode<dataType, keyType> node){
+        if (this.orderStatistics){
+            node.setSize(this.size(node.getLeftChild()) + this.size(node.getRightChild()) + 1);
+        }
+    }
+
+    /**
+     * Recalculates the cached sub-tree sizes on the path from a node back to the head node (if order statistics are enabled)<br>
+     * 
+     * @param node  The lowest node on the path whose sub-tree has changed (may be null)
+     */
+    private void updateSizes(BinarySearchTreeNode<dataType, keyType> node){
+        if (this.orderStatistics){
+            while (node != null){
+                this.updateSize(node);
+                node = node.getParent();
+            }
+        }
+    }
+
+    /**
+     * Gets the cached height of a sub-tree (0 for an empty sub-tree, only maintained while statistics are enabled)<br>
+     * 
+     * @param node  The head node of the sub-tree (may be null)
+     * @return The height of the sub-tree
+     */
+    private int height(BinarySearchTreeNode<dataType, keyType> node){
+        if (node != null){
+            return node.getHeight();
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Recalculates the cached height of a node from the cached heights of its children (if statistics are enabled)<br>
+     * 
+     * @param node  The node to update
+     */
+    private void updateHeight(BinarySearchTreeNode<dataType, keyType> node){
+        if (this.counters != null){
+            node.setHeight(Math.max(this.height(node.getLeftChild()), this.height(node.getRightChild())) + 1);
+        }
+    }
+
+    /**
+     * Recalculates the cached heights on the path from a node back to the head node (if statistics are enabled)<br>
+     * 
+     * @param node  The lowest node on the path whose sub-tree has changed (may be null)
+     */
+    private void updateHeights(BinarySearchTreeNode<dataType, keyType> node){
+        if (this.counters != null){
+            while (node != null){
+                this.updateHeight(node);
+                node = node.getParent();
+            }
+        }
+    }
+
+    /**
+     * Recalculates the cached height of every node (when statistics are enabled)<br>
+     * Iterative (children before parents), so a degenerate tree does not overflow the stack<br>
+     */
+    private void recountHeights(){
+        ArrayList<BinarySearchTreeNode<dataType, keyType>> nodes = this.levelOrder();
+        for (int i = nodes.size() - 1; i >= 0; i--){
+            this.updateHeight(nodes.get(i));
+        }
+    }
+
+    /**
+     * Gets every node of the tree in level order (each level from left to right, so every node is after its parent)<br>
+     * 
+     * @return The nodes in level order
+     */
+    private ArrayList<BinarySearchTreeNode<dataType, keyType>> levelOrder(){
+        ArrayList<BinarySearchTreeNode<dataType, keyType>> nodes = new ArrayList<BinarySearchTreeNode<dataType, keyType>>(this.treeSize);
+        if (this.headNode != null){
+            nodes.add(this.headNode);
+        }
+        for (int i = 0; i < nodes.size(); i++){
+            BinarySearchTreeNode<dataType, keyType> node = nodes.get(i);
+            if (node.getLeftChild() != null){
+                nodes.add(node.getLeftChild());
+            }
+            if (node.getRightChild() != null){
+                nodes.add(node.getRightChild());
             }
-            // Replace node to be deleted
-            if (node.getParent().getLeftChild() == node){ // Node is parents' left child
-                replacementNode.setParent(node.getParent()); // Set the replacement node's parent to the parent of the node to be deleted
-                node.getParent().setLeftChild(replacementNode); // Replace node
-            } else if (node.getParent().getRightChild() == node){ // Node is parents' right child
-                replacementNode.setParent(node.getParent()); // Set the replacement node's parent to the parent of the node to be deleted
-                node.getParent().setRightChild(replacementNode); // Replace node
-            } else { // Node is not a child of parent (unknown error?)
-                throw new RuntimeException("Node is not a child of parent");
+        }
+        return nodes;
+    }
+
+    /**
+     * Sets the colours (red-black balancing) or priorities (treap balancing) of a tree built perfectly balanced (bulk load/restore)<br>
+     * Every level of a built tree is full except the deepest, so colouring just the deepest level red gives every path the same number of black nodes<br>
+     * For treaps, random priorities are handed out in decreasing order in level order, so every node's priority is at most its parent's<br>
+     */
+    private void initialiseBalance(){
+        if ((this.balancing != redBlackBalancing) && (this.balancing != treapBalancing)){ // Any shape is valid
+            return;
+        }
+        ArrayList<BinarySearchTreeNode<dataType, keyType>> nodes = this.levelOrder();
+        if (this.balancing == redBlackBalancing){
+            int fullLevelNodes = 0; // Number of nodes in the full levels above the deepest level
+            while (fullLevelNodes*2 + 1 < nodes.size()){
+                fullLevelNodes = fullLevelNodes*2 + 1;
             }
-        } else if (node.getRightChild() != null){ // Node has a right child to get its replacement from
-            BinarySearchTreeNode<dataType, keyType> replacementNode = node.getRightChild();
-            while (replacementNode.getLeftChild() != null){ // Get the left-most child of the right child (key closest to key of node to be deleted)
-                replacementNode = replacementNode.getLeftChild();
+            for (int i = 0; i < nodes.size(); i++){
+                nodes.get(i).setRed((i >= fullLevelNodes) && (i > 0));
             }
-            if (replacementNode.getRightChild() != null){ // Check if replacement node has a child
-                replacementNode.getRightChild().setParent(replacementNode.getParent()); // Set the parent of the child to the parent of the replacement node
-                replacementNode.getParent().setLeftChild(replacementNode.getRightChild()); // Re-attach the replacement node's child to its parent
+        } else {
+            int[] priorities = new int[nodes.size()];
+            for (int i = 0; i < priorities.length; i++){
+                priorities[i] = this.treapRandom.nextInt();
             }
-            // Replace node to be deleted
-            if (node.getParent().getLeftChild() == node){ // Node is parents' left child
-                replacementNode.setParent(node.getParent()); // Set the replacement node's parent to the parent of the node to be deleted
-                node.getParent().setLeftChild(replacementNode); // Replace node
-            } else if (node.getParent().getRightChild() == node){ // Node is parents' right child
-                replacementNode.setParent(node.getParent()); // Set the replacement node's parent to the parent of the node to be deleted
-                node.getParent().setRightChild(replacementNode); // Replace node
-            } else { // Node is not a child of parent (unknown error?)
-                throw new RuntimeException("Node is not a child of parent");
+            Arrays.sort(priorities);
+            for (int i = 0; i < priorities.length; i++){
+                nodes.get(i).setPriority(priorities[priorities.length - 1 - i]);
             }
         }
     }
 
+    /**
+     * Gets the data of the entry with the smallest key in the tree<br>
+     * 
+     * @return The data with the smallest key (null if the tree is empty)
+     */
+    public dataType first(){
+        if (this.headNode != null){
+            return this.firstNode(this.headNode).data();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the data of the entry with the largest key in the tree<br>
+     * 
+     * @return The data with the largest key (null if the tree is empty)
+     */
+    public dataType last(){
+        if (this.headNode != null){
+            return this.lastNode(this.headNode).data();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the data of the entry with the largest key less than or equal to the specified key<br>
+     * 
+     * @param key  The key to search for
+     * @return The data with the largest key less than or equal to key (null if there is no such key)
+     */
+    public dataType floor(keyType key){
+        return this.dataOf(this.floorNode(key, true));
+    }
+
+    /**
+     * Gets the data of the entry with the smallest key greater than or equal to the specified key<br>
+     * 
+     * @param key  The key to search for
+     * @return The data with the smallest key greater than or equal to key (null if there is no such key)
+     */
+    public dataType ceiling(keyType key){
+        return this.dataOf(this.ceilingNode(key, true));
+    }
+
+    /**
+     * Gets the data of the entry with the largest key strictly less than the specified key<br>
+     * 
+     * @param key  The key to search for
+     * @return The data with the largest key less than key (null if there is no such key)
+     */
+    public dataType lower(keyType key){
+        return this.dataOf(this.floorNode(key, false));
+    }
+
+    /**
+     * Gets the data of the entry with the smallest key strictly greater than the specified key<br>
+     * 
+     * @param key  The key to search for
+     * @return The data with the smallest key greater than key (null if there is no such key)
+     */
+    public dataType higher(keyType key){
+        return this.dataOf(this.ceilingNode(key, false));
+    }
+
+    /**
+     * Returns the data of every entry with a key between two keys (inclusive) as a sorted array (sorted by key)<br>
+     * Only visits the nodes on the path to the first key and the nodes in the range<br>
+     * 
+     * @param fromKey  The smallest key in the range
+     * @param toKey  The largest key in the range
+     * @return The data in the range as a sorted array (null if there are no entries in the range)
+     */
+    public dataType[] range(keyType fromKey, keyType toKey){
+        ArrayList<dataType> rangeData = new ArrayList<dataType>();
+        BinarySearchTreeNode<dataType, keyType> currentNode = this.ceilingNode(fromKey, true); // First node in the range
+        while ((currentNode != null) && (currentNode.key().compareTo(toKey) <= 0)){ // Step through the nodes in key order until the end of the range
+            rangeData.add(currentNode.data());
+            currentNode = this.successor(currentNode);
+        }
+        if (rangeData.isEmpty()){
+            return null;
+        }
+        Class<?> componentType = null; // Most specific class shared by all of the range data
+        for (dataType data : rangeData){
+            componentType = commonClass(componentType, data);
+        }
+        if (componentType == null){ // All of the data is null
+            componentType = Object.class;
+        }
+        @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+        dataType[] array = (dataType[]) Array.newInstance(componentType, rangeData.size()); // Create a new array to store the range data
+        return rangeData.toArray(array);
+    }
+
+    /**
+     * Gets the data of a node<br>
+     * 
+     * @param node  The node (may be null)
+     * @return The data of the node (null if the node is null)
+     */
+    private dataType dataOf(BinarySearchTreeNode<dataType, keyType> node){
+        if (node != null){
+            return node.data();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the node with the smallest key in the sub-tree with head 'node'<br>
+     * 
+     * @param node  The head node of the sub-tree
+     * @return The left-most node of the sub-tree
+     */
+    private BinarySearchTreeNode<dataType, keyType> firstNode(BinarySearchTreeNode<dataType, keyType> node){
+        while (node.getLeftChild() != null){
+            node = node.getLeftChild();
+        }
+        return node;
+    }
+
+    /**
+     * Gets the node with the largest key in the sub-tree with head 'node'<br>
+     * 
+     * @param node  The head node of the sub-tree
+     * @return The right-most node of the sub-tree
+     */
+    private BinarySearchTreeNode<dataType, keyType> lastNode(BinarySearchTreeNode<dataType, keyType> node){
+        while (node.getRightChild() != null){
+            node = node.getRightChild();
+        }
+        return node;
+    }
+
+    /**
+     * Gets the node with the next largest key after a node (in-order successor), using the parent links<br>
+     * 
+     * @param node  The node
+     * @return The node's successor (null if the node has the largest key)
+     */
+    private BinarySearchTreeNode<dataType, keyType> successor(BinarySearchTreeNode<dataType, keyType> node){
+        if (node.getRightChild() != null){ // Successor is the left-most node of the right sub-tree
+            return this.firstNode(node.getRightChild());
+        }
+        while ((node.getParent() != null) && (node.getParent().getRightChild() == node)){ // Move up until the node is a left child
+            node = node.getParent();
+        }
+        return node.getParent();
+    }
+
+    /**
+     * Finds the node with the largest key less than (or equal to) a key<br>
+     * 
+     * @param key  The key to search for
+     * @param inclusive  Whether a node with an equal key can be returned
+     * @return The node found (null if there is no such node)
+     */
+    private BinarySearchTreeNode<dataType, keyType> floorNode(keyType key, boolean inclusive){
+        BinarySearchTreeNode<dataType, keyType> currentNode = this.headNode;
+        BinarySearchTreeNode<dataType, keyType> floorNode = null; // Best candidate so far
+        while (currentNode != null){
+            int comparison = currentNode.key().compareTo(key);
+            if ((comparison < 0) || (inclusive && comparison == 0)){ // Node is a candidate, look for a larger key to the right
+                floorNode = currentNode;
+                if (comparison == 0){
+                    break;
+                }
+                currentNode = currentNode.getRightChild();
+            } else { // Node's key is too large, search to the left
+                currentNode = currentNode.getLeftChild();
+            }
+        }
+        return floorNode;
+    }
+
+    /**
+     * Finds the node with the smallest key greater than (or equal to) a key<br>
+     * 
+     * @param key  The key to search for
+     * @param inclusive  Whether a node with an equal key can be returned
+     * @return The node found (null if there is no such node)
+     */
+    private BinarySearchTreeNode<dataType, keyType> ceilingNode(keyType key, boolean inclusive){
+        BinarySearchTreeNode<dataType, keyType> currentNode = this.headNode;
+        BinarySearchTreeNode<dataType, keyType> ceilingNode = null; // Best candidate so far
+        while (currentNode != null){
+            int comparison = currentNode.key().compareTo(key);
+            if ((comparison > 0) || (inclusive && comparison == 0)){ // Node is a candidate, look for a smaller key to the left
+                ceilingNode = currentNode;
+                if (comparison == 0){
+                    break;
+                }
+                currentNode = currentNode.getLeftChild();
+            } else { // Node's key is too small, search to the right
+                currentNode = currentNode.getRightChild();
+            }
+        }
+        return ceilingNode;
+    }
+
+    /**
+     * Returns an iterator over the data in the tree in key order<br>
+     * The iterator is lazy: each step moves to the in-order successor using the parent links (amortised constant time, no stack or array)<br>
+     * The tree must not be modified while iterating, other than through the iterator's remove method<br>
+     * 
+     * @return An iterator over the data in the tree (sorted by key)
+     */
+    public Iterator<dataType> iterator(){
+        return new BinarySearchTreeIterator();
+    }
+
+    /**
+     * Returns a spliterator over the data in the tree in key order<br>
+     * Splits at sub-tree heads (so a balanced tree splits into roughly equal halves), allowing the tree to be processed by a parallel stream<br>
+     * 
+     * @return A spliterator over the data in the tree (sorted by key)
+     */
+    public Spliterator<dataType> spliterator(){
+        if (this.headNode != null){
+            return new BinarySearchTreeSpliterator(this.firstNode(this.headNode), null, this.headNode, this.treeSize, true);
+        } else {
+            return new BinarySearchTreeSpliterator(null, null, null, 0, true);
+        }
+    }
+
+    /**
+     * Returns a sequential stream over the data in the tree in key order<br>
+     * 
+     * @return A stream of the data in the tree (sorted by key)
+     */
+    public Stream<dataType> stream(){
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the data in the tree in key order<br>
+     * 
+     * @return A parallel stream of the data in the tree (sorted by key)
+     */
+    public Stream<dataType> parallelStream(){
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
     /**
      * Returns the contents of the tree as a sorted array (sorted by key)<br>
+     * The array's component type is the most specific class shared by all of the data (so data of mixed subclasses can be stored)<br>
      * 
      * @return The contents of the tree as a sorted array (sorted by key)
      */
     public dataType[] toArray() {
         if (headNode != null){ // Ensure the tree is not empty
+            Class<?> componentType = null; // Most specific class shared by all of the data
+            for (BinarySearchTreeNode<dataType, keyType> node = this.firstNode(this.headNode); node != null; node = this.successor(node)){
+                componentType = commonClass(componentType, node.data());
+            }
+            if (componentType == null){ // All of the data is null
+                componentType = Object.class;
+            }
             @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
-            dataType[] array = (dataType[]) Array.newInstance(this.headNode.data().getClass(), this.treeSize); // Create a new array to store the tree data
-            this.populateArray(this.headNode, array, 0); // Populate the array
+            dataType[] array = (dataType[]) Array.newInstance(componentType, this.treeSize); // Create a new array to store the tree data
+            int arrayIndex = 0;
+            for (BinarySearchTreeNode<dataType, keyType> node = this.firstNode(this.headNode); node != null; node = this.successor(node)){ // Populate the array in key order
+                array[arrayIndex] = node.data();
+                arrayIndex++;
+            }
             return array;
         } else {
             return null;
@@ -187,19 +1183,37 @@ public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
      * @return The new index in the array (after inserts)
      */
     public int populateArray(BinarySearchTreeNode<dataType, keyType> node, dataType[] array, int arrayIndex){
-        // Populate the array with the left-most node first
-        if (node.getLeftChild() != null){ // If there is a left child node, recurse to it to populate the array
-            arrayIndex = populateArray(node.getLeftChild(), array, arrayIndex);
-        }
-        array[arrayIndex] = node.data(); // Place the data from the current node into the array
-        arrayIndex++; // Increment the array index
-        if (node.getRightChild() != null){ // If there is a right child node, recurse to it to populate the array
-            arrayIndex = populateArray(node.getRightChild(), array, arrayIndex);
+        BinarySearchTreeNode<dataType, keyType> lastNode = this.lastNode(node); // Last node of the sub-tree in key order
+        for (BinarySearchTreeNode<dataType, keyType> currentNode = this.firstNode(node); currentNode != lastNode; currentNode = this.successor(currentNode)){
+            array[arrayIndex] = currentNode.data(); // Place the data from the current node into the array
+            arrayIndex++; // Increment the array index
         }
+        array[arrayIndex] = lastNode.data();
+        arrayIndex++;
 
         return arrayIndex; // Return the new array index
     }
 
+    /**
+     * Gets the most specific class that is both a class (or one of its superclasses) and the class of an object<br>
+     * 
+     * @param componentType  The class found so far (null if no data has been seen yet)
+     * @param data  The data to include (ignored if null)
+     * @return The most specific class shared by the class found so far and the data (null if no non-null data has been seen yet)
+     */
+    private static Class<?> commonClass(Class<?> componentType, Object data){
+        if (data == null){ // Null data fits any class
+            return componentType;
+        }
+        if (componentType == null){
+            return data.getClass();
+        }
+        while (!componentType.isInstance(data)){ // Move up the class hierarchy until the data fits
+            componentType = componentType.getSuperclass();
+        }
+        return componentType;
+    }
+
     /**
      * Returns the contents of the tree as a string, with each data element on a new line (the data elements must have toString methods)<br>
      * 
@@ -220,24 +1234,53 @@ public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
      * @return The contents of the tree as a string
      */
     public String toString(BinarySearchTreeNode<dataType, keyType> node){
-        String string = ""; // Create an empty string to append to
-        if (node.getLeftChild() != null){ // If the node has a left child, recurse to it and append its respective string
-            string += this.toString(node.getLeftChild());
+        StringBuilder string = new StringBuilder(); // Create an empty string builder to append to
+        BinarySearchTreeNode<dataType, keyType> lastNode = this.lastNode(node); // Last node of the sub-tree in key order
+        for (BinarySearchTreeNode<dataType, keyType> currentNode = this.firstNode(node); currentNode != lastNode; currentNode = this.successor(currentNode)){
+            string.append(currentNode.data().toString()).append('\n'); // Append each node's data string in key order
         }
-        string += node.data().toString() + "\n"; // Append this node's data string
-        if (node.getRightChild() != null){ // If the node has a right child, recurse to it and append its respective string
-            string += this.toString(node.getRightChild());
+        string.append(lastNode.data().toString()).append('\n');
+        return string.toString(); // Return the string
+    }
+
+    /**
+     * Enables or disables recording statistics (enabling discards any statistics recorded before)<br>
+     * Recording adds a few counter increments to each get/insert/delete, and updates node heights on the path of each insert/delete<br>
+     * Enabling visits every node once (to calculate the node heights)<br>
+     * 
+     * @param enabled  Whether to record statistics
+     */
+    public void setStatisticsEnabled(boolean enabled){
+        if (enabled){
+            this.counters = new TreeStatistics.Counters();
+            this.recountHeights();
+        } else {
+            this.counters = null;
         }
-        return string; // Return the string
+    }
+
+    /**
+     * Gets a snapshot of the tree's statistics<br>
+     * 
+     * @return The statistics recorded since they were enabled, and the current size and height
+     */
+    public TreeStatistics statistics() throws java.lang.RuntimeException {
+        if (this.counters == null){
+            throw new RuntimeException("Statistics are not enabled");
+        }
+        return new TreeStatistics(this.treeSize, this.height(this.headNode), this.counters);
     }
 
     /**
      * Returns the depth of the tree<br>
+     * Constant time while statistics are enabled (cached node heights), otherwise visits every node<br>
      * 
      * @return The depth of the tree
      */
     public int depth(){
-        if (this.headNode != null){ // Verify the tree is not empty, and calculate/return the depth
+        if (this.counters != null){ // Heights are maintained
+            return this.height(this.headNode);
+        } else if (this.headNode != null){ // Verify the tree is not empty, and calculate/return the depth
             return this.depth(this.headNode);
         } else {
             return 0;
@@ -266,6 +1309,148 @@ public class BinarySearchTree<dataType, keyType extends Comparable<keyType>>{
         }
     }
 
+    /**
+     * <h2>BinarySearchTreeIterator</h2>
+     * A lazy in-order iterator over the data in the tree (follows the parent links, so needs no stack)<br>
+     */
+    private class BinarySearchTreeIterator implements Iterator<dataType>{
+
+        /** Node to return next (null once the iteration is complete) */
+        private BinarySearchTreeNode<dataType, keyType> nextNode;
+
+        /** Node returned last (null if there is nothing to remove) */
+        private BinarySearchTreeNode<dataType, keyType> lastReturned;
+
+        /** Creates a new iterator starting at the node with the smallest key */
+        private BinarySearchTreeIterator(){
+            if (BinarySearchTree.this.headNode != null){
+                this.nextNode = BinarySearchTree.this.firstNode(BinarySearchTree.this.headNode);
+            }
+        }
+
+        @Override
+        public boolean hasNext(){
+            return this.nextNode != null;
+        }
+
+        @Override
+        public dataType next() throws java.util.NoSuchElementException {
+            if (this.nextNode == null){
+                throw new NoSuchElementException();
+            }
+            this.lastReturned = this.nextNode;
+            this.nextNode = BinarySearchTree.this.successor(this.nextNode); // Step to the in-order successor
+            return this.lastReturned.data();
+        }
+
+        @Override
+        public void remove() throws java.lang.IllegalStateException {
+            if (this.lastReturned == null){
+                throw new IllegalStateException();
+            }
+            BinarySearchTree.this.delete(this.lastReturned); // Deleting relinks the existing nodes, so the next node is still valid
+            BinarySearchTree.this.treeSize--;
+            this.lastReturned = null;
+        }
+
+    }
+
+    /**
+     * <h2>BinarySearchTreeSpliterator</h2>
+     * A splittable in-order traversal over the data in the tree<br>
+     * Covers the nodes from 'currentNode' up to (but not including) 'fenceNode', and splits at 'splitNode' (a sub-tree head inside that range)<br>
+     * Once traversal has started the spliterator can no longer be split<br>
+     */
+    private class BinarySearchTreeSpliterator implements Spliterator<dataType>{
+
+        /** Next node to visit (null if there are no more nodes) */
+        private BinarySearchTreeNode<dataType, keyType> currentNode;
+
+        /** First node after the range (null if the range runs to the end of the tree) */
+        private BinarySearchTreeNode<dataType, keyType> fenceNode;
+
+        /** Sub-tree head to split at (its sub-tree lies in the range, at or after the current node), null if the spliterator can't be split */
+        private BinarySearchTreeNode<dataType, keyType> splitNode;
+
+        /** Estimated number of nodes in the range */
+        private long estimatedSize;
+
+        /** Whether the estimated size is exact */
+        private boolean exactSize;
+
+        /**
+         * Creates a new spliterator over part of the tree<br>
+         * 
+         * @param currentNode  First node in the range
+         * @param fenceNode  First node after the range (null for the end of the tree)
+         * @param splitNode  Sub-tree head to split at (null if the range can't be split)
+         * @param estimatedSize  Estimated number of nodes in the range
+         * @param exactSize  Whether the estimated size is exact
+         */
+        private BinarySearchTreeSpliterator(BinarySearchTreeNode<dataType, keyType> currentNode, BinarySearchTreeNode<dataType, keyType> fenceNode, BinarySearchTreeNode<dataType, keyType> splitNode, long estimatedSize, boolean exactSize){
+            this.currentNode = currentNode;
+            this.fenceNode = fenceNode;
+            this.splitNode = splitNode;
+            this.estimatedSize = estimatedSize;
+            this.exactSize = exactSize;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super dataType> action){
+            if ((this.currentNode == null) || (this.currentNode == this.fenceNode)){ // Range is exhausted
+                return false;
+            }
+            this.splitNode = null; // Traversal has started, the range can no longer be split at a sub-tree head
+            BinarySearchTreeNode<dataType, keyType> node = this.currentNode;
+            this.currentNode = BinarySearchTree.this.successor(node);
+            action.accept(node.data());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super dataType> action){
+            this.splitNode = null;
+            while ((this.currentNode != null) && (this.currentNode != this.fenceNode)){
+                BinarySearchTreeNode<dataType, keyType> node = this.currentNode;
+                this.currentNode = BinarySearchTree.this.successor(node);
+                action.accept(node.data());
+            }
+        }
+
+        @Override
+        public Spliterator<dataType> trySplit(){
+            BinarySearchTreeNode<dataType, keyType> splitAt = this.splitNode;
+            if ((splitAt == null) || (splitAt == this.currentNode)){ // Can't split, or there are no nodes before the split point
+                return null;
+            }
+            // The prefix covers the nodes before the split node (its left sub-tree and anything before that), this spliterator keeps the rest
+            this.estimatedSize = this.estimatedSize >>> 1;
+            this.exactSize = false;
+            BinarySearchTreeSpliterator prefix = new BinarySearchTreeSpliterator(this.currentNode, splitAt, splitAt.getLeftChild(), this.estimatedSize, false);
+            this.currentNode = splitAt;
+            this.splitNode = splitAt.getRightChild(); // Next split point is the head of the split node's right sub-tree (null if it has none)
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize(){
+            if ((this.currentNode == null) || (this.currentNode == this.fenceNode)){
+                return 0;
+            }
+            return this.estimatedSize;
+        }
+
+        @Override
+        public int characteristics(){
+            if (this.exactSize){
+                return Spliterator.ORDERED | Spliterator.SIZED;
+            } else {
+                return Spliterator.ORDERED;
+            }
+        }
+
+    }
+
 }
 
 /**
@@ -294,6 +1479,18 @@ class BinarySearchTreeNode<dataType, keyType extends Comparable<keyType>> {
     /** Node data */
     private dataType data;
 
+    /** Number of nodes in the sub-tree with this node as its head (maintained if order statistics are enabled) */
+    private int size;
+
+    /** Height of the sub-tree with this node as its head (maintained while statistics are enabled) */
+    private int height;
+
+    /** Whether the node is red (for red-black balancing) */
+    private boolean red;
+
+    /** Priority of the node, no higher than its parent's (for treap balancing) */
+    private int priority;
+
     /**
      * Creates a new BinarySearchTreeNode object with no parent<br>
      * 
@@ -306,6 +1503,8 @@ class BinarySearchTreeNode<dataType, keyType extends Comparable<keyType>> {
         this.parent = null;
         this.key = nodeKey;
         this.data = nodeData;
+        this.size = 1;
+        this.height = 1;
     }
 
     /**
@@ -321,6 +1520,8 @@ class BinarySearchTreeNode<dataType, keyType extends Comparable<keyType>> {
         this.parent = nodeParent;
         this.key = nodeKey;
         this.data = nodeData;
+        this.size = 1;
+        this.height = 1;
     }
 
     /**
@@ -395,4 +1596,76 @@ class BinarySearchTreeNode<dataType, keyType extends Comparable<keyType>> {
         this.parent = node;
     }
 
+    /**
+     * Gets the number of nodes in the sub-tree with this node as its head (if order statistics are enabled)
+     * 
+     * @return Node's sub-tree size
+     */
+    public int getSize(){
+        return this.size;
+    }
+
+    /**
+     * Sets the number of nodes in the sub-tree with this node as its head
+     * 
+     * @param nodeSize  The new sub-tree size
+     */
+    public void setSize(int nodeSize){
+        this.size = nodeSize;
+    }
+
+    /**
+     * Gets the height of the sub-tree with this node as its head (while statistics are enabled)
+     * 
+     * @return Node's sub-tree height
+     */
+    public int getHeight(){
+        return this.height;
+    }
+
+    /**
+     * Sets the height of the sub-tree with this node as its head
+     * 
+     * @param nodeHeight  The new sub-tree height
+     */
+    public void setHeight(int nodeHeight){
+        this.height = nodeHeight;
+    }
+
+    /**
+     * Gets whether the node is red (for red-black balancing)
+     * 
+     * @return Whether the node is red
+     */
+    public boolean isRed(){
+        return this.red;
+    }
+
+    /**
+     * Sets whether the node is red (for red-black balancing)
+     * 
+     * @param nodeRed  Whether the node is red
+     */
+    public void setRed(boolean nodeRed){
+        this.red = nodeRed;
+    }
+
+    /**
+     * Gets the priority of the node (for treap balancing)
+     * 
+     * @return Node's priority
+     */
+    public int getPriority(){
+        return this.priority;
+    }
+
+    /**
+     * Sets the priority of the node (for treap balancing)
+     * 
+     * @param nodePriority  The new priority
+     */
+    public void setPriority(int nodePriority){
+        this.priority = nodePriority;
+    }
+
 }
\ No newline at end of file
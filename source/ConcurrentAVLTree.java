@@ -0,0 +1,1099 @@
+/*
+DataStructures (Java implementation of certain data structures)
+ConcurrentAVLTree
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>ConcurrentAVLTree</h2>
+ * A thread safe AVL tree data structure with per node locks and optimistic, hand-over-hand validated reads (a relaxed balance AVL tree, after Bronson, Casper, Chafi and Olukotun, "A Practical Concurrent Binary Search Tree")<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used for the node (must implement the Comparable interface)<br><br>
+ * Each node has its own lock (its monitor) and a version, which changes whenever the range of keys its sub-tree may hold shrinks (it is rotated down) or it is unlinked from the tree<br>
+ * get never locks: it reads a child link, then checks that the parent's version has not changed, so a rotation elsewhere in the tree does not affect it and one on its path only makes it retry from the nearest node that is still valid<br>
+ * Writers lock only the nodes they change (a node to link a new leaf, a parent and child to unlink a node, and up to four nodes for a rotation, always from the top down), so writers in different parts of the tree run at the same time<br>
+ * Balance is relaxed: heights are repaired and rotations done after an insert/delete has taken effect, so the tree is a strict AVL tree whenever no writer is running<br>
+ * A deleted entry whose node has two children is left in the tree as a routing node without data (unlinking it would mean moving its successor, locking a whole path), and is unlinked once it has at most one child<br>
+ * Node keys never change, so get only ever calls compareTo on keys that are (or were) in the tree<br>
+ * size, toArray, toString and depth read the tree without locking, so they are only exact while no writer is running (a concurrent rotation may make toArray/toString miss or repeat entries)<br>
+ * Read scaling (and the effect of a concurrent writer on readers) is measured by benchmarks.ConcurrentBenchmark<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class ConcurrentAVLTree<dataType, keyType extends Comparable<keyType>>{
+
+    /** Version bit set once a node has been unlinked from the tree */
+    static final long unlinked = 1L;
+
+    /** Version bit set while a node is being rotated down (the range of keys its sub-tree may hold is shrinking) */
+    static final long shrinking = 2L;
+
+    /** Version increment for each completed shrink (above the unlinked and shrinking bits) */
+    private static final long shrinkCountIncrement = 4L;
+
+    /** Number of times a reader re-reads the version of a shrinking node before waiting on its lock */
+    private static final int spinCount = 100;
+
+    /** Node condition: a routing node with at most one child, which should be unlinked */
+    private static final int unlinkRequired = -1;
+
+    /** Node condition: the node's sub-trees differ in height by more than one */
+    private static final int rebalanceRequired = -2;
+
+    /** Node condition: the node is balanced and its height is correct */
+    private static final int nothingRequired = -3;
+
+    /** Stored in place of null data (null data marks a routing node) */
+    private static final Object nullData = new Object();
+
+    /** Returned by an attempt that must be retried from the node above (the node it started from has shrunk or been unlinked) */
+    private static final Object retryAttempt = new Object();
+
+    /** Holder of the head node (its right child), which is never rotated or unlinked, so every search can start from it */
+    private final ConcurrentAVLTreeNode<keyType> rootHolder;
+
+    /** Number of entries in the tree */
+    private final LongAdder treeSize;
+
+    /** Creates a new ConcurrentAVLTree object */
+    public ConcurrentAVLTree(){
+        this.rootHolder = new ConcurrentAVLTreeNode<keyType>(null, null, null);
+        this.treeSize = new LongAdder();
+    }
+
+    /**
+     * Inserts a new entry into the tree<br>
+     * Locks only the node the new leaf is linked to (or the routing node with the key), then the nodes rebalanced on the way back up<br>
+     *
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     */
+    public void insert(keyType key, dataType data) throws java.lang.RuntimeException {
+        Object nodeData = data;
+        if (data == null){
+            nodeData = nullData;
+        }
+        while (!this.attemptInsert(key, nodeData, this.rootHolder, 1, this.rootHolder.getVersion())){
+            Thread.onSpinWait(); // Only possible if the holder changed, which it never does
+        }
+    }
+
+    /**
+     * Gets the data located at the specified key in the tree<br>
+     * Does not lock (waits only if it reaches a node that is part way through a rotation)<br>
+     *
+     * @param key  The key of the entry to find
+     * @return The data at the specified key (null if key not found)
+     */
+    public dataType get(keyType key){
+        Object data = this.attemptGet(key, this.rootHolder, 1, this.rootHolder.getVersion());
+        while (data == retryAttempt){ // Only possible if the holder changed, which it never does
+            data = this.attemptGet(key, this.rootHolder, 1, this.rootHolder.getVersion());
+        }
+        return this.unwrap(data);
+    }
+
+    /**
+     * Removes the entry in the tree with the specified key<br>
+     * Locks only the node (and its parent, if the node is unlinked), then the nodes rebalanced on the way back up<br>
+     *
+     * @param key  The key of the entry to remove
+     */
+    public void delete(keyType key){
+        while (!this.attemptDelete(key, this.rootHolder, 1, this.rootHolder.getVersion())){
+            Thread.onSpinWait(); // Only possible if the holder changed, which it never does
+        }
+    }
+
+    /**
+     * Gets the number of entries in the tree (a snapshot, entries may be inserted/deleted concurrently)<br>
+     *
+     * @return The number of entries in the tree
+     */
+    public int size(){
+        return this.treeSize.intValue();
+    }
+
+    /**
+     * Searches below a node for a key, re-reading a child link (rather than starting again from the head) whenever the child moves<br>
+     *
+     * @param key  The key to search for
+     * @param node  The node to search below
+     * @param direction  The side of the node the key is on (negative for left, positive for right)
+     * @param nodeVersion  The node's version when its link was followed
+     * @return The data at the key (null if key not found, retryAttempt if the node has since shrunk or been unlinked)
+     */
+    private Object attemptGet(keyType key, ConcurrentAVLTreeNode<keyType> node, int direction, long nodeVersion){
+        while (true){
+            ConcurrentAVLTreeNode<keyType> child = node.child(direction);
+            if (child == null){ // Key not found, unless the node has shrunk since its link was followed
+                if (node.getVersion() != nodeVersion){
+                    return retryAttempt;
+                }
+                return null;
+            }
+            int comparison = key.compareTo(child.key());
+            if (comparison == 0){ // Key found (null data if it is a routing node)
+                return child.getData();
+            }
+            long childVersion = child.getVersion();
+            if ((childVersion & (shrinking | unlinked)) != 0){ // Child is being rotated down or has been unlinked
+                waitUntilNotShrinking(child);
+            } else if (child == node.child(direction)){ // Link unchanged since the child's version was read
+                if (node.getVersion() != nodeVersion){
+                    return retryAttempt;
+                }
+                Object data = this.attemptGet(key, child, comparison, childVersion);
+                if (data != retryAttempt){
+                    return data;
+                }
+            }
+            if (node.getVersion() != nodeVersion){ // Node has shrunk, so its child link must be found again from above
+                return retryAttempt;
+            }
+        }
+    }
+
+    /**
+     * Inserts an entry below a node, re-reading a child link whenever the child moves<br>
+     *
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert (nullData for null)
+     * @param node  The node to insert below
+     * @param direction  The side of the node the key is on (negative for left, positive for right)
+     * @param nodeVersion  The node's version when its link was followed
+     * @return Whether the entry was inserted (false if the node has since shrunk or been unlinked)
+     */
+    private boolean attemptInsert(keyType key, Object data, ConcurrentAVLTreeNode<keyType> node, int direction, long nodeVersion) throws java.lang.RuntimeException {
+        while (true){
+            ConcurrentAVLTreeNode<keyType> child = node.child(direction);
+            if (child == null){ // Link a new leaf to the node
+                ConcurrentAVLTreeNode<keyType> damagedNode = null;
+                boolean inserted = false;
+                synchronized (node){
+                    if (node.getVersion() != nodeVersion){
+                        return false;
+                    }
+                    if (node.child(direction) == null){ // No other writer linked a node there first
+                        node.setChild(direction, new ConcurrentAVLTreeNode<keyType>(key, data, node));
+                        damagedNode = this.fixHeight(node);
+                        inserted = true;
+                    }
+                }
+                if (inserted){
+                    this.treeSize.increment();
+                    this.fixHeightAndRebalance(damagedNode);
+                    return true;
+                }
+            } else {
+                int comparison = key.compareTo(child.key());
+                if (comparison == 0){ // Key already has a node, which can only take the data if it is a routing node
+                    synchronized (child){
+                        if ((child.getVersion() & unlinked) == 0){
+                            if (child.getData() != null){ // Keys are equal
+                                throw new RuntimeException("Duplicate key error"); // Throw an error
+                            }
+                            child.setData(data);
+                            this.treeSize.increment();
+                            return true;
+                        }
+                    }
+                } else {
+                    long childVersion = child.getVersion();
+                    if ((childVersion & (shrinking | unlinked)) != 0){ // Child is being rotated down or has been unlinked
+                        waitUntilNotShrinking(child);
+                    } else if (child == node.child(direction)){ // Link unchanged since the child's version was read
+                        if (node.getVersion() != nodeVersion){
+                            return false;
+                        }
+                        if (this.attemptInsert(key, data, child, comparison, childVersion)){
+                            return true;
+                        }
+                    }
+                }
+            }
+            if (node.getVersion() != nodeVersion){ // Node has shrunk, so its child link must be found again from above
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes the entry with a key below a node, re-reading a child link whenever the child moves<br>
+     *
+     * @param key  The key of the entry to remove
+     * @param node  The node to search below
+     * @param direction  The side of the node the key is on (negative for left, positive for right)
+     * @param nodeVersion  The node's version when its link was followed
+     * @return Whether the delete finished, removing the entry or finding no entry (false if the node has since shrunk or been unlinked)
+     */
+    private boolean attemptDelete(keyType key, ConcurrentAVLTreeNode<keyType> node, int direction, long nodeVersion){
+        while (true){
+            ConcurrentAVLTreeNode<keyType> child = node.child(direction);
+            if (child == null){ // Key not found, unless the node has shrunk since its link was followed
+                return node.getVersion() == nodeVersion;
+            }
+            int comparison = key.compareTo(child.key());
+            if (comparison == 0){ // Key found
+                if (this.attemptRemoveNode(node, child)){
+                    return true;
+                }
+            } else {
+                long childVersion = child.getVersion();
+                if ((childVersion & (shrinking | unlinked)) != 0){ // Child is being rotated down or has been unlinked
+                    waitUntilNotShrinking(child);
+                } else if (child == node.child(direction)){ // Link unchanged since the child's version was read
+                    if (node.getVersion() != nodeVersion){
+                        return false;
+                    }
+                    if (this.attemptDelete(key, child, comparison, childVersion)){
+                        return true;
+                    }
+                }
+            }
+            if (node.getVersion() != nodeVersion){ // Node has shrunk, so its child link must be found again from above
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Removes a node's entry: a node with at most one child is unlinked (locking its parent, then the node), a node with two children is left as a routing node<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node with the key to remove
+     * @return Whether the removal finished (false if the node moved, or gained/lost a child, and must be found again)
+     */
+    private boolean attemptRemoveNode(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node){
+        if (node.getData() == null){ // Already a routing node, key not in the tree
+            return true;
+        }
+        if ((node.getLeftChild() == null) || (node.getRightChild() == null)){ // Unlink the node
+            ConcurrentAVLTreeNode<keyType> damagedNode;
+            synchronized (parent){
+                if (((parent.getVersion() & unlinked) != 0) || (node.getParent() != parent)){
+                    return false;
+                }
+                synchronized (node){
+                    if (node.getData() == null){ // Removed by another writer
+                        return true;
+                    }
+                    if (!this.attemptUnlink(parent, node)){ // Node has gained a second child
+                        return false;
+                    }
+                }
+                damagedNode = this.fixHeight(parent);
+            }
+            this.treeSize.decrement();
+            this.fixHeightAndRebalance(damagedNode);
+            return true;
+        } else { // Leave the node in the tree as a routing node
+            synchronized (node){
+                if ((node.getVersion() & unlinked) != 0){
+                    return false;
+                }
+                if (node.getData() == null){ // Removed by another writer
+                    return true;
+                }
+                if ((node.getLeftChild() == null) || (node.getRightChild() == null)){ // Node has lost a child, so it can be unlinked instead
+                    return false;
+                }
+                node.setData(null);
+            }
+            this.treeSize.decrement();
+            return true;
+        }
+    }
+
+    /**
+     * Unlinks a node with at most one child, replacing it with its child (the parent and node must be locked)<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node to unlink
+     * @return Whether the node was unlinked (false if it is no longer the parent's child, or has two children)
+     */
+    private boolean attemptUnlink(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node){
+        ConcurrentAVLTreeNode<keyType> parentLeft = parent.getLeftChild();
+        if ((parentLeft != node) && (parent.getRightChild() != node)){
+            return false;
+        }
+        ConcurrentAVLTreeNode<keyType> childNode = node.getLeftChild();
+        if (childNode == null){
+            childNode = node.getRightChild();
+        } else if (node.getRightChild() != null){
+            return false;
+        }
+        if (parentLeft == node){
+            parent.setLeftChild(childNode);
+        } else {
+            parent.setRightChild(childNode);
+        }
+        if (childNode != null){
+            childNode.setParent(parent);
+        }
+        node.setVersion(unlinked); // Searches that reached the node retry from its parent
+        node.setData(null);
+        return true;
+    }
+
+    /**
+     * Waits until a node is not part way through being rotated down (spins briefly, then waits on the lock held by the rotating writer)<br>
+     *
+     * @param node  The node
+     */
+    private static void waitUntilNotShrinking(ConcurrentAVLTreeNode<?> node){
+        long version = node.getVersion();
+        if ((version & shrinking) != 0){
+            for (int i = 0; i < spinCount; i++){
+                if (node.getVersion() != version){
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            synchronized (node){ // Acquired once the rotating writer has finished
+                node.getVersion();
+            }
+        }
+    }
+
+    /**
+     * Gets the height of a sub-tree<br>
+     *
+     * @param node  The head of the sub-tree
+     * @return The height (0 for an empty sub-tree)
+     */
+    private static int height(ConcurrentAVLTreeNode<?> node){
+        if (node == null){
+            return 0;
+        }
+        return node.getHeight();
+    }
+
+    /**
+     * Works out what a node needs (from a possibly stale read of its children's heights)<br>
+     *
+     * @param node  The node
+     * @return unlinkRequired, rebalanceRequired, nothingRequired, or the node's correct height if only that is wrong
+     */
+    private int nodeCondition(ConcurrentAVLTreeNode<keyType> node){
+        ConcurrentAVLTreeNode<keyType> left = node.getLeftChild();
+        ConcurrentAVLTreeNode<keyType> right = node.getRightChild();
+        if (((left == null) || (right == null)) && (node.getData() == null)){
+            return unlinkRequired;
+        }
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        int balance = leftHeight - rightHeight;
+        if ((balance < -1) || (balance > 1)){
+            return rebalanceRequired;
+        }
+        int newHeight = 1 + Math.max(leftHeight, rightHeight);
+        if (node.getHeight() != newHeight){
+            return newHeight;
+        }
+        return nothingRequired;
+    }
+
+    /**
+     * Repairs heights and balance from a node up towards the head node, until a node needs nothing (or has been unlinked)<br>
+     *
+     * @param node  The lowest node that may need repair (null for none)
+     */
+    private void fixHeightAndRebalance(ConcurrentAVLTreeNode<keyType> node){
+        ArrayDeque<ConcurrentAVLTreeNode<keyType>> rebalancedNodes = null; // Nodes rotated or unlinked (and their parents), rechecked once the repair below them is done, as a rotation may return a node it moved down before the nodes above it are repaired
+        while (true){
+            int condition = nothingRequired;
+            if ((node != null) && (node.getParent() != null) && ((node.getVersion() & unlinked) == 0)){ // The holder (the only node without a parent) needs no repair
+                condition = this.nodeCondition(node);
+            }
+            if (condition == nothingRequired){
+                if ((rebalancedNodes == null) || rebalancedNodes.isEmpty()){
+                    return;
+                }
+                node = rebalancedNodes.pop();
+            } else if ((condition != unlinkRequired) && (condition != rebalanceRequired)){ // Only the height is wrong
+                synchronized (node){
+                    node = this.fixHeight(node);
+                }
+            } else { // Lock the parent, then the node (the parent's link to the node may change)
+                ConcurrentAVLTreeNode<keyType> parent = node.getParent();
+                if (rebalancedNodes == null){
+                    rebalancedNodes = new ArrayDeque<ConcurrentAVLTreeNode<keyType>>();
+                }
+                rebalancedNodes.push(parent);
+                rebalancedNodes.push(node);
+                synchronized (parent){
+                    if (((parent.getVersion() & unlinked) == 0) && (node.getParent() == parent)){ // Otherwise retry with the node's new parent
+                        synchronized (node){
+                            node = this.rebalance(parent, node);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates a node's height if that is all it needs (the node must be locked)<br>
+     *
+     * @param node  The node
+     * @return The next node to repair (the node if it needs unlinking or rebalancing, its parent if its height changed, null if nothing changed)
+     */
+    private ConcurrentAVLTreeNode<keyType> fixHeight(ConcurrentAVLTreeNode<keyType> node){
+        int condition = this.nodeCondition(node);
+        if ((condition == rebalanceRequired) || (condition == unlinkRequired)){
+            return node;
+        } else if (condition == nothingRequired){
+            return null;
+        }
+        node.setHeight(condition);
+        return node.getParent();
+    }
+
+    /**
+     * Unlinks a routing node with at most one child, or rotates an unbalanced node, or updates its height (the parent and node must be locked)<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node
+     * @return The next node to repair (null if none)
+     */
+    private ConcurrentAVLTreeNode<keyType> rebalance(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node){
+        ConcurrentAVLTreeNode<keyType> left = node.getLeftChild();
+        ConcurrentAVLTreeNode<keyType> right = node.getRightChild();
+        if (((left == null) || (right == null)) && (node.getData() == null)){ // Routing node no longer needed
+            if (this.attemptUnlink(parent, node)){
+                return this.fixHeight(parent);
+            }
+            return node; // Retry
+        }
+        int leftHeight = height(left);
+        int rightHeight = height(right);
+        int balance = leftHeight - rightHeight;
+        if (balance > 1){ // Tree is unbalanced to the left
+            return this.rebalanceToRight(parent, node, left, rightHeight);
+        } else if (balance < -1){ // Tree is unbalanced to the right
+            return this.rebalanceToLeft(parent, node, right, leftHeight);
+        }
+        int newHeight = 1 + Math.max(leftHeight, rightHeight);
+        if (node.getHeight() != newHeight){
+            node.setHeight(newHeight);
+            return this.fixHeight(parent);
+        }
+        return null;
+    }
+
+    /**
+     * Rotates a node that is too heavy on the left to the right, with a single or double rotation (the parent and node must be locked, locks the left child and possibly its right child)<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node
+     * @param left  The node's left child
+     * @param rightHeight  The height of the node's right sub-tree
+     * @return The next node to repair (null if none)
+     */
+    private ConcurrentAVLTreeNode<keyType> rebalanceToRight(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node, ConcurrentAVLTreeNode<keyType> left, int rightHeight){
+        synchronized (left){
+            if (left.getHeight() - rightHeight <= 1){ // No longer unbalanced, retry
+                return node;
+            }
+            ConcurrentAVLTreeNode<keyType> leftRight = left.getRightChild();
+            int leftLeftHeight = height(left.getLeftChild());
+            int leftRightHeight = height(leftRight);
+            if (leftLeftHeight >= leftRightHeight){ // Left-left case
+                return this.rotateRight(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightHeight);
+            }
+            synchronized (leftRight){ // Left-right case
+                leftRightHeight = leftRight.getHeight();
+                if (leftLeftHeight >= leftRightHeight){
+                    return this.rotateRight(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightHeight);
+                }
+                int leftRightLeftHeight = height(leftRight.getLeftChild());
+                int leftBalance = leftLeftHeight - leftRightLeftHeight;
+                if ((leftBalance >= -1) && (leftBalance <= 1)){ // The left child stays balanced after a double rotation
+                    return this.rotateRightOverLeft(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightLeftHeight);
+                }
+            }
+            ConcurrentAVLTreeNode<keyType> damagedNode = this.rebalanceToLeft(node, left, leftRight, leftLeftHeight); // Rotate the left child first, the node is repaired after
+            if (damagedNode == left){ // The left child could not be rotated, as its right child is itself unbalanced
+                return leftRight;
+            }
+            return damagedNode;
+        }
+    }
+
+    /**
+     * Rotates a node that is too heavy on the right to the left, with a single or double rotation (the parent and node must be locked, locks the right child and possibly its left child)<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node
+     * @param right  The node's right child
+     * @param leftHeight  The height of the node's left sub-tree
+     * @return The next node to repair (null if none)
+     */
+    private ConcurrentAVLTreeNode<keyType> rebalanceToLeft(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node, ConcurrentAVLTreeNode<keyType> right, int leftHeight){
+        synchronized (right){
+            if (right.getHeight() - leftHeight <= 1){ // No longer unbalanced, retry
+                return node;
+            }
+            ConcurrentAVLTreeNode<keyType> rightLeft = right.getLeftChild();
+            int rightRightHeight = height(right.getRightChild());
+            int rightLeftHeight = height(rightLeft);
+            if (rightRightHeight >= rightLeftHeight){ // Right-right case
+                return this.rotateLeft(parent, node, right, leftHeight, rightRightHeight, rightLeft, rightLeftHeight);
+            }
+            synchronized (rightLeft){ // Right-left case
+                rightLeftHeight = rightLeft.getHeight();
+                if (rightRightHeight >= rightLeftHeight){
+                    return this.rotateLeft(parent, node, right, leftHeight, rightRightHeight, rightLeft, rightLeftHeight);
+                }
+                int rightLeftRightHeight = height(rightLeft.getRightChild());
+                int rightBalance = rightRightHeight - rightLeftRightHeight;
+                if ((rightBalance >= -1) && (rightBalance <= 1)){ // The right child stays balanced after a double rotation
+                    return this.rotateLeftOverRight(parent, node, right, leftHeight, rightRightHeight, rightLeft, rightLeftRightHeight);
+                }
+            }
+            ConcurrentAVLTreeNode<keyType> damagedNode = this.rebalanceToRight(node, right, rightLeft, rightRightHeight); // Rotate the right child first, the node is repaired after
+            if (damagedNode == right){ // The right child could not be rotated, as its left child is itself unbalanced
+                return rightLeft;
+            }
+            return damagedNode;
+        }
+    }
+
+    /**
+     * Rotates a sub-tree right about a node (the parent, node and left child must be locked)<br>
+     * The node is marked as shrinking for the duration, so searches that passed through it retry<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node to rotate about
+     * @param left  The node's left child (which replaces it)
+     * @param rightHeight  The height of the node's right sub-tree
+     * @param leftLeftHeight  The height of the left child's left sub-tree
+     * @param leftRight  The left child's right child (moved to the node's left)
+     * @param leftRightHeight  The height of the left child's right sub-tree
+     * @return The next node to repair (null if none)
+     */
+    private ConcurrentAVLTreeNode<keyType> rotateRight(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node, ConcurrentAVLTreeNode<keyType> left, int rightHeight, int leftLeftHeight, ConcurrentAVLTreeNode<keyType> leftRight, int leftRightHeight){
+        long nodeVersion = node.getVersion();
+        ConcurrentAVLTreeNode<keyType> parentLeft = parent.getLeftChild();
+        node.setVersion(nodeVersion | shrinking);
+
+        node.setLeftChild(leftRight); // Move the left child's right child into the place of the node's left child
+        if (leftRight != null){
+            leftRight.setParent(node);
+        }
+        left.setRightChild(node);
+        node.setParent(left);
+        if (parentLeft == node){
+            parent.setLeftChild(left);
+        } else {
+            parent.setRightChild(left);
+        }
+        left.setParent(parent);
+
+        int nodeHeight = 1 + Math.max(leftRightHeight, rightHeight);
+        node.setHeight(nodeHeight);
+        left.setHeight(1 + Math.max(leftLeftHeight, nodeHeight));
+        node.setVersion(nodeVersion + shrinkCountIncrement);
+
+        int nodeBalance = leftRightHeight - rightHeight;
+        if ((nodeBalance < -1) || (nodeBalance > 1)){
+            return node;
+        } else if (((leftRight == null) || (rightHeight == 0)) && (node.getData() == null)){
+            return node;
+        }
+        int leftBalance = leftLeftHeight - nodeHeight;
+        if ((leftBalance < -1) || (leftBalance > 1)){
+            return left;
+        } else if ((leftLeftHeight == 0) && (left.getData() == null)){
+            return left;
+        }
+        return this.fixHeight(parent);
+    }
+
+    /**
+     * Rotates a sub-tree left about a node (the parent, node and right child must be locked)<br>
+     * The node is marked as shrinking for the duration, so searches that passed through it retry<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node to rotate about
+     * @param right  The node's right child (which replaces it)
+     * @param leftHeight  The height of the node's left sub-tree
+     * @param rightRightHeight  The height of the right child's right sub-tree
+     * @param rightLeft  The right child's left child (moved to the node's right)
+     * @param rightLeftHeight  The height of the right child's left sub-tree
+     * @return The next node to repair (null if none)
+     */
+    private ConcurrentAVLTreeNode<keyType> rotateLeft(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node, ConcurrentAVLTreeNode<keyType> right, int leftHeight, int rightRightHeight, ConcurrentAVLTreeNode<keyType> rightLeft, int rightLeftHeight){
+        long nodeVersion = node.getVersion();
+        ConcurrentAVLTreeNode<keyType> parentLeft = parent.getLeftChild();
+        node.setVersion(nodeVersion | shrinking);
+
+        node.setRightChild(rightLeft); // Move the right child's left child into the place of the node's right child
+        if (rightLeft != null){
+            rightLeft.setParent(node);
+        }
+        right.setLeftChild(node);
+        node.setParent(right);
+        if (parentLeft == node){
+            parent.setLeftChild(right);
+        } else {
+            parent.setRightChild(right);
+        }
+        right.setParent(parent);
+
+        int nodeHeight = 1 + Math.max(leftHeight, rightLeftHeight);
+        node.setHeight(nodeHeight);
+        right.setHeight(1 + Math.max(nodeHeight, rightRightHeight));
+        node.setVersion(nodeVersion + shrinkCountIncrement);
+
+        int nodeBalance = rightLeftHeight - leftHeight;
+        if ((nodeBalance < -1) || (nodeBalance > 1)){
+            return node;
+        } else if (((rightLeft == null) || (leftHeight == 0)) && (node.getData() == null)){
+            return node;
+        }
+        int rightBalance = rightRightHeight - nodeHeight;
+        if ((rightBalance < -1) || (rightBalance > 1)){
+            return right;
+        } else if ((rightRightHeight == 0) && (right.getData() == null)){
+            return right;
+        }
+        return this.fixHeight(parent);
+    }
+
+    /**
+     * Rotates the left child's right child up to replace a node (a left rotation about the left child then a right rotation about the node, done at once; the parent, node, left child and its right child must be locked)<br>
+     * The node and left child are marked as shrinking for the duration, so searches that passed through them retry<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node
+     * @param left  The node's left child
+     * @param rightHeight  The height of the node's right sub-tree
+     * @param leftLeftHeight  The height of the left child's left sub-tree
+     * @param leftRight  The left child's right child (which replaces the node)
+     * @param leftRightLeftHeight  The height of leftRight's left sub-tree
+     * @return The next node to repair (null if none)
+     */
+    private ConcurrentAVLTreeNode<keyType> rotateRightOverLeft(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node, ConcurrentAVLTreeNode<keyType> left, int rightHeight, int leftLeftHeight, ConcurrentAVLTreeNode<keyType> leftRight, int leftRightLeftHeight){
+        long nodeVersion = node.getVersion();
+        long leftVersion = left.getVersion();
+        ConcurrentAVLTreeNode<keyType> parentLeft = parent.getLeftChild();
+        ConcurrentAVLTreeNode<keyType> leftRightLeft = leftRight.getLeftChild();
+        ConcurrentAVLTreeNode<keyType> leftRightRight = leftRight.getRightChild();
+        int leftRightRightHeight = height(leftRightRight);
+        node.setVersion(nodeVersion | shrinking);
+        left.setVersion(leftVersion | shrinking);
+
+        node.setLeftChild(leftRightRight);
+        if (leftRightRight != null){
+            leftRightRight.setParent(node);
+        }
+        left.setRightChild(leftRightLeft);
+        if (leftRightLeft != null){
+            leftRightLeft.setParent(left);
+        }
+        leftRight.setLeftChild(left);
+        left.setParent(leftRight);
+        leftRight.setRightChild(node);
+        node.setParent(leftRight);
+        if (parentLeft == node){
+            parent.setLeftChild(leftRight);
+        } else {
+            parent.setRightChild(leftRight);
+        }
+        leftRight.setParent(parent);
+
+        int nodeHeight = 1 + Math.max(leftRightRightHeight, rightHeight);
+        node.setHeight(nodeHeight);
+        int newLeftHeight = 1 + Math.max(leftLeftHeight, leftRightLeftHeight);
+        left.setHeight(newLeftHeight);
+        leftRight.setHeight(1 + Math.max(newLeftHeight, nodeHeight));
+        node.setVersion(nodeVersion + shrinkCountIncrement);
+        left.setVersion(leftVersion + shrinkCountIncrement);
+
+        int nodeBalance = leftRightRightHeight - rightHeight;
+        if ((nodeBalance < -1) || (nodeBalance > 1)){
+            return node;
+        } else if (((leftRightRight == null) || (rightHeight == 0)) && (node.getData() == null)){
+            return node;
+        }
+        if (((leftLeftHeight == 0) || (leftRightLeftHeight == 0)) && (left.getData() == null)){
+            return left;
+        }
+        int leftRightBalance = newLeftHeight - nodeHeight;
+        if ((leftRightBalance < -1) || (leftRightBalance > 1)){
+            return leftRight;
+        }
+        return this.fixHeight(parent);
+    }
+
+    /**
+     * Rotates the right child's left child up to replace a node (a right rotation about the right child then a left rotation about the node, done at once; the parent, node, right child and its left child must be locked)<br>
+     * The node and right child are marked as shrinking for the duration, so searches that passed through them retry<br>
+     *
+     * @param parent  The node's parent
+     * @param node  The node
+     * @param right  The node's right child
+     * @param leftHeight  The height of the node's left sub-tree
+     * @param rightRightHeight  The height of the right child's right sub-tree
+     * @param rightLeft  The right child's left child (which replaces the node)
+     * @param rightLeftRightHeight  The height of rightLeft's right sub-tree
+     * @return The next node to repair (null if none)
+     */
+    private ConcurrentAVLTreeNode<keyType> rotateLeftOverRight(ConcurrentAVLTreeNode<keyType> parent, ConcurrentAVLTreeNode<keyType> node, ConcurrentAVLTreeNode<keyType> right, int leftHeight, int rightRightHeight, ConcurrentAVLTreeNode<keyType> rightLeft, int rightLeftRightHeight){
+        long nodeVersion = node.getVersion();
+        long rightVersion = right.getVersion();
+        ConcurrentAVLTreeNode<keyType> parentLeft = parent.getLeftChild();
+        ConcurrentAVLTreeNode<keyType> rightLeftLeft = rightLeft.getLeftChild();
+        ConcurrentAVLTreeNode<keyType> rightLeftRight = rightLeft.getRightChild();
+        int rightLeftLeftHeight = height(rightLeftLeft);
+        node.setVersion(nodeVersion | shrinking);
+        right.setVersion(rightVersion | shrinking);
+
+        node.setRightChild(rightLeftLeft);
+        if (rightLeftLeft != null){
+            rightLeftLeft.setParent(node);
+        }
+        right.setLeftChild(rightLeftRight);
+        if (rightLeftRight != null){
+            rightLeftRight.setParent(right);
+        }
+        rightLeft.setRightChild(right);
+        right.setParent(rightLeft);
+        rightLeft.setLeftChild(node);
+        node.setParent(rightLeft);
+        if (parentLeft == node){
+            parent.setLeftChild(rightLeft);
+        } else {
+            parent.setRightChild(rightLeft);
+        }
+        rightLeft.setParent(parent);
+
+        int nodeHeight = 1 + Math.max(leftHeight, rightLeftLeftHeight);
+        node.setHeight(nodeHeight);
+        int newRightHeight = 1 + Math.max(rightLeftRightHeight, rightRightHeight);
+        right.setHeight(newRightHeight);
+        rightLeft.setHeight(1 + Math.max(nodeHeight, newRightHeight));
+        node.setVersion(nodeVersion + shrinkCountIncrement);
+        right.setVersion(rightVersion + shrinkCountIncrement);
+
+        int nodeBalance = rightLeftLeftHeight - leftHeight;
+        if ((nodeBalance < -1) || (nodeBalance > 1)){
+            return node;
+        } else if (((rightLeftLeft == null) || (leftHeight == 0)) && (node.getData() == null)){
+            return node;
+        }
+        if (((rightRightHeight == 0) || (rightLeftRightHeight == 0)) && (right.getData() == null)){
+            return right;
+        }
+        int rightLeftBalance = nodeHeight - newRightHeight;
+        if ((rightLeftBalance < -1) || (rightLeftBalance > 1)){
+            return rightLeft;
+        }
+        return this.fixHeight(parent);
+    }
+
+    /**
+     * Converts node data to the data stored by the caller<br>
+     *
+     * @param data  The node data (null for none, nullData for null data)
+     * @return The data (null for none)
+     */
+    @SuppressWarnings("unchecked") // Only dataType objects (or nullData) are stored
+    private dataType unwrap(Object data){
+        if ((data == null) || (data == nullData)){
+            return null;
+        }
+        return (dataType) data;
+    }
+
+    /**
+     * Adds the data of every entry in a sub-tree to a list, in key order (routing nodes are skipped)<br>
+     *
+     * @param node  The head of the sub-tree
+     * @param dataList  The list to add to
+     */
+    private void collectData(ConcurrentAVLTreeNode<keyType> node, ArrayList<dataType> dataList){
+        if (node != null){
+            this.collectData(node.getLeftChild(), dataList);
+            Object data = node.getData();
+            if (data != null){
+                dataList.add(this.unwrap(data));
+            }
+            this.collectData(node.getRightChild(), dataList);
+        }
+    }
+
+    /**
+     * Returns the contents of the tree as a sorted array (sorted by key)<br>
+     * The array's component type is the most specific class shared by all of the data<br>
+     *
+     * @return The contents of the tree as a sorted array (null if the tree is empty)
+     */
+    public dataType[] toArray(){
+        ArrayList<dataType> dataList = new ArrayList<dataType>();
+        this.collectData(this.rootHolder.getRightChild(), dataList);
+        if (dataList.isEmpty()){
+            return null;
+        }
+        Class<?> componentType = null; // Most specific class shared by all of the data
+        for (dataType data : dataList){
+            componentType = commonClass(componentType, data);
+        }
+        if (componentType == null){ // All of the data is null
+            componentType = Object.class;
+        }
+        @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+        dataType[] array = (dataType[]) Array.newInstance(componentType, dataList.size());
+        return dataList.toArray(array);
+    }
+
+    /**
+     * Gets the most specific class that is both a class (or one of its superclasses) and the class of an object<br>
+     *
+     * @param componentType  The class found so far (null if no data has been seen yet)
+     * @param data  The data to include (ignored if null)
+     * @return The most specific class shared by the class found so far and the data (null if no non-null data has been seen yet)
+     */
+    private static Class<?> commonClass(Class<?> componentType, Object data){
+        if (data == null){ // Null data fits any class
+            return componentType;
+        }
+        if (componentType == null){
+            return data.getClass();
+        }
+        while (!componentType.isInstance(data)){ // Move up the class hierarchy until the data fits
+            componentType = componentType.getSuperclass();
+        }
+        return componentType;
+    }
+
+    /**
+     * Returns the contents of the tree as a string, with each data element on a new line (the data elements must have toString methods)<br>
+     *
+     * @return The contents of the tree as a string, with each data element seperated by a newline
+     */
+    public String toString(){
+        ArrayList<dataType> dataList = new ArrayList<dataType>();
+        this.collectData(this.rootHolder.getRightChild(), dataList);
+        StringBuilder string = new StringBuilder();
+        for (dataType data : dataList){
+            string.append(data.toString()).append('\n');
+        }
+        return string.toString();
+    }
+
+    /**
+     * Returns the depth of the tree (routing nodes included)<br>
+     * Uses the cached height of the head node<br>
+     *
+     * @return The depth of the tree (0 if the tree is empty)
+     */
+    public int depth(){
+        return height(this.rootHolder.getRightChild());
+    }
+
+}
+
+/**
+ * <h2>ConcurrentAVLTreeNode</h2>
+ * A node in a concurrent AVL tree data structure<br>
+ * generic keyType is the (object) type of the key used for the node (must implement the Comparable interface)<br><br>
+ * The key never changes, every other field is volatile so readers that do not lock see writes in order<br>
+ * The data is held as an Object: null marks a routing node (an entry that has been deleted), and the tree stores a marker object for null data<br>
+ * The node's monitor is its lock<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+class ConcurrentAVLTreeNode<keyType extends Comparable<keyType>>{
+
+    /** Node key */
+    private final keyType key;
+
+    /** Node data (null for a routing node) */
+    private volatile Object data;
+
+    /** Version (see ConcurrentAVLTree.unlinked and ConcurrentAVLTree.shrinking) */
+    private volatile long version;
+
+    /** Height of the sub-tree with this node as its head (leaf = 1), may be briefly stale while the tree is repaired */
+    private volatile int height;
+
+    /** Parent node */
+    private volatile ConcurrentAVLTreeNode<keyType> parent;
+
+    /** Left child node */
+    private volatile ConcurrentAVLTreeNode<keyType> leftChild;
+
+    /** Right child node */
+    private volatile ConcurrentAVLTreeNode<keyType> rightChild;
+
+    /**
+     * Creates a new ConcurrentAVLTreeNode object (a leaf)<br>
+     *
+     * @param nodeKey  The node's key
+     * @param nodeData  The node's data
+     * @param nodeParent  The node's parent
+     */
+    public ConcurrentAVLTreeNode(keyType nodeKey, Object nodeData, ConcurrentAVLTreeNode<keyType> nodeParent){
+        this.key = nodeKey;
+        this.data = nodeData;
+        this.version = 0;
+        this.height = 1;
+        this.parent = nodeParent;
+    }
+
+    /**
+     * Gets the key of the node<br>
+     *
+     * @return The key of the node
+     */
+    public keyType key(){
+        return this.key;
+    }
+
+    /**
+     * Gets the data of the node<br>
+     *
+     * @return The data of the node (null for a routing node)
+     */
+    public Object getData(){
+        return this.data;
+    }
+
+    /**
+     * Sets the data of the node<br>
+     *
+     * @param nodeData  The new data (null to make the node a routing node)
+     */
+    public void setData(Object nodeData){
+        this.data = nodeData;
+    }
+
+    /**
+     * Gets the version of the node<br>
+     *
+     * @return The version
+     */
+    public long getVersion(){
+        return this.version;
+    }
+
+    /**
+     * Sets the version of the node<br>
+     *
+     * @param nodeVersion  The new version
+     */
+    public void setVersion(long nodeVersion){
+        this.version = nodeVersion;
+    }
+
+    /**
+     * Gets the height of the node<br>
+     *
+     * @return The height of the sub-tree with this node as its head
+     */
+    public int getHeight(){
+        return this.height;
+    }
+
+    /**
+     * Sets the height of the node<br>
+     *
+     * @param nodeHeight  The new height
+     */
+    public void setHeight(int nodeHeight){
+        this.height = nodeHeight;
+    }
+
+    /**
+     * Gets the parent of the node<br>
+     *
+     * @return The parent node
+     */
+    public ConcurrentAVLTreeNode<keyType> getParent(){
+        return this.parent;
+    }
+
+    /**
+     * Sets the parent of the node<br>
+     *
+     * @param node  The new parent node
+     */
+    public void setParent(ConcurrentAVLTreeNode<keyType> node){
+        this.parent = node;
+    }
+
+    /**
+     * Gets the left child of the node<br>
+     *
+     * @return The left child node
+     */
+    public ConcurrentAVLTreeNode<keyType> getLeftChild(){
+        return this.leftChild;
+    }
+
+    /**
+     * Sets the left child of the node<br>
+     *
+     * @param node  The new left child node
+     */
+    public void setLeftChild(ConcurrentAVLTreeNode<keyType> node){
+        this.leftChild = node;
+    }
+
+    /**
+     * Gets the right child of the node<br>
+     *
+     * @return The right child node
+     */
+    public ConcurrentAVLTreeNode<keyType> getRightChild(){
+        return this.rightChild;
+    }
+
+    /**
+     * Sets the right child of the node<br>
+     *
+     * @param node  The new right child node
+     */
+    public void setRightChild(ConcurrentAVLTreeNode<keyType> node){
+        this.rightChild = node;
+    }
+
+    /**
+     * Gets the child of the node on a side<br>
+     *
+     * @param direction  The side (negative for left, positive for right)
+     * @return The child node on that side
+     */
+    public ConcurrentAVLTreeNode<keyType> child(int direction){
+        if (direction < 0){
+            return this.leftChild;
+        }
+        return this.rightChild;
+    }
+
+    /**
+     * Sets the child of the node on a side<br>
+     *
+     * @param direction  The side (negative for left, positive for right)
+     * @param node  The new child node
+     */
+    public void setChild(int direction, ConcurrentAVLTreeNode<keyType> node){
+        if (direction < 0){
+            this.leftChild = node;
+        } else {
+            this.rightChild = node;
+        }
+    }
+
+}
@@ -0,0 +1,416 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Concurrent Hash Table
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.lang.Math;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h2>ConcurrentHashTable</h2>
+ * A thread safe hash table data structure using lock striping<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used<br><br>
+ * The table is split into segments, each a chaining hash table with its own lock, so threads writing to different segments do not block each other<br>
+ * get never locks: chain nodes are immutable and are published through volatile reads/writes, so a reader always sees a consistent chain<br>
+ * A segment grows by building a new table and publishing it in one write, so readers are never blocked by a resize (they keep reading the old table until then)<br>
+ * Table and segment sizes are powers of two, and key hashes are mixed (HashTable.mixHash) before use<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class ConcurrentHashTable<dataType, keyType extends Comparable<keyType>>{
+
+    /** Default number of segments (maximum number of threads that can write at the same time) */
+    public static final int defaultConcurrencyLevel = 16;
+
+    /** Default maximum load factor of a segment */
+    public static final float defaultMaxLoadFactor = 0.75f;
+
+    /** Table segments */
+    private final ConcurrentHashTableSegment<dataType, keyType>[] segments;
+
+    /** Number of bits to shift a mixed hash by to get its segment */
+    private final int segmentShift;
+
+    /** Creates a new ConcurrentHashTable object with a specified size and the default concurrency level<br>
+     * 
+     * @param size  The initial size of the table (increased to the next power of two)
+     */
+    public ConcurrentHashTable(int size){
+        this(size, defaultConcurrencyLevel, defaultMaxLoadFactor);
+    }
+
+    /** Creates a new ConcurrentHashTable object with a specified size and concurrency level<br>
+     * 
+     * @param size  The initial size of the table (increased to the next power of two)
+     * @param concurrencyLevel  The number of segments (increased to the next power of two)
+     */
+    public ConcurrentHashTable(int size, int concurrencyLevel){
+        this(size, concurrencyLevel, defaultMaxLoadFactor);
+    }
+
+    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    /** Creates a new ConcurrentHashTable object with a specified size, concurrency level and maximum load factor<br>
+     * 
+     * @param size  The initial size of the table (increased to the next power of two)
+     * @param concurrencyLevel  The number of segments (increased to the next power of two)
+     * @param maxLoad  The load factor above which a segment grows
+     */
+    public ConcurrentHashTable(int size, int concurrencyLevel, float maxLoad){
+        if ((concurrencyLevel < 1) || (concurrencyLevel > (1 << 16))){
+            throw new RuntimeException("Concurrency level must be between 1 and 65536");
+        } else if (maxLoad <= 0){
+            throw new RuntimeException("Maximum load factor must be greater than 0");
+        }
+        int segmentCount = HashTable.nextPowerOfTwo(concurrencyLevel);
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount); // Use the top bits of the hash to pick the segment (the low bits pick the slot within it)
+        int segmentSize = HashTable.nextPowerOfTwo(Math.max(size/segmentCount, 1));
+        this.segments = (ConcurrentHashTableSegment<dataType, keyType>[]) new ConcurrentHashTableSegment<?, ?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++){
+            this.segments[i] = new ConcurrentHashTableSegment<dataType, keyType>(segmentSize, maxLoad);
+        }
+    }
+
+    /** Gets the segment a mixed hash belongs to<br>
+     * 
+     * @param hash  The mixed key hash
+     * @return The segment
+     */
+    private ConcurrentHashTableSegment<dataType, keyType> segmentFor(int hash){
+        if (this.segments.length == 1){ // Shifting by 32 bits is a no-op in Java
+            return this.segments[0];
+        }
+        return this.segments[hash >>> this.segmentShift];
+    }
+
+    /** Inserts a new entry into the hash table<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     */
+    public void insert(keyType key, dataType data){
+        int hash = HashTable.mixHash(key.hashCode());
+        this.segmentFor(hash).insert(key, hash, data);
+    }
+
+    /** Gets the data located at the specified key in the table (does not lock)<br>
+     * 
+     * @param key  The key of the entry to find
+     * @return Data at the specified key (null if key not found)
+     */
+    public dataType get(keyType key){
+        int hash = HashTable.mixHash(key.hashCode());
+        return this.segmentFor(hash).get(key, hash);
+    }
+
+    /** Removes the entry in the table with the specified key<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    public void delete(keyType key){
+        int hash = HashTable.mixHash(key.hashCode());
+        this.segmentFor(hash).delete(key, hash);
+    }
+
+    /** Gets the number of elements in the table (a snapshot, entries may be inserted/deleted concurrently)<br>
+     * 
+     * @return The number of elements in the table
+     */
+    public int size(){
+        int size = 0;
+        for (int i = 0; i < this.segments.length; i++){
+            size += this.segments[i].size();
+        }
+        return size;
+    }
+
+    /** Gets the load factor of the table (a snapshot, entries may be inserted/deleted concurrently)<br>
+     * 
+     * @return Load factor of the table
+     */
+    public float loadFactor(){
+        long capacity = 0;
+        for (int i = 0; i < this.segments.length; i++){
+            capacity += this.segments[i].capacity();
+        }
+        return (float)this.size()/capacity;
+    }
+
+    /** Expands the table, one segment at a time (readers are not blocked)<br>
+     * The new table size is rounded up so each segment's size is a power of two<br>
+     * 
+     * @param newSize  The new table size
+     */
+    public void expandTable(int newSize){
+        int segmentSize = HashTable.nextPowerOfTwo(Math.max(newSize/this.segments.length, 1));
+        for (int i = 0; i < this.segments.length; i++){
+            this.segments[i].expand(segmentSize);
+        }
+    }
+
+    /** Returns the contents of the table as a string, with each data element on a new line (the data elements must have toString methods)<br>
+     * 
+     * @return The contents of the table as a string, with each data element seperated by a newline
+     */
+    public String toString(){
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < this.segments.length; i++){
+            this.segments[i].appendTo(str);
+        }
+        return str.toString();
+    }
+}
+
+/**
+ * <h2>ConcurrentHashTableSegment</h2>
+ * A segment of a concurrent hash table data structure (a chaining hash table with its own lock)<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used<br><br>
+ * Writers lock the segment, readers do not<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+class ConcurrentHashTableSegment<dataType, keyType extends Comparable<keyType>> extends ReentrantLock {
+
+    /** Serialization version (ReentrantLock is serializable) */
+    private static final long serialVersionUID = 1L;
+
+    /** 'Table' (array) of chains, replaced as a whole when the segment grows */
+    private volatile AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>> table;
+
+    /** Number of elements in the segment */
+    private volatile int count;
+
+    /** Load factor above which the segment grows */
+    private final float maxLoadFactor;
+
+    /** Creates a new ConcurrentHashTableSegment object<br>
+     * 
+     * @param size  The size of the segment's table (must be a power of two)
+     * @param maxLoad  The load factor above which the segment grows
+     */
+    public ConcurrentHashTableSegment(int size, float maxLoad){
+        this.table = new AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>>(size);
+        this.count = 0;
+        this.maxLoadFactor = maxLoad;
+    }
+
+    /** Gets the number of elements in the segment<br>
+     * 
+     * @return The number of elements
+     */
+    public int size(){
+        return this.count;
+    }
+
+    /** Gets the size of the segment's table<br>
+     * 
+     * @return The number of chains
+     */
+    public int capacity(){
+        return this.table.length();
+    }
+
+    /** Gets the data located at the specified key in the segment (does not lock)<br>
+     * 
+     * @param key  The key of the entry to find
+     * @param hash  The mixed key hash
+     * @return Data at the specified key (null if key not found)
+     */
+    public dataType get(keyType key, int hash){
+        AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>> currentTable = this.table; // Read the table once (a resize may publish a new one)
+        ConcurrentHashTableNode<dataType, keyType> currentChainNode = currentTable.get(hash & (currentTable.length() - 1));
+        while (currentChainNode != null){ // Traverse the chain until either the required key is found or the chain ends
+            if ((currentChainNode.hash() == hash) && currentChainNode.key().equals(key)){
+                return currentChainNode.data();
+            }
+            currentChainNode = currentChainNode.getChainedNode();
+        }
+        return null; // If key not found, return null
+    }
+
+    /** Inserts a new entry into the segment<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param hash  The mixed key hash
+     * @param data  The data to insert
+     */
+    public void insert(keyType key, int hash, dataType data){
+        this.lock();
+        try {
+            if (this.count + 1 > this.maxLoadFactor*this.table.length()){ // Grow the segment if the insert would exceed the maximum load factor
+                this.resize(this.table.length()*2);
+            }
+            AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>> currentTable = this.table;
+            int tableIndex = hash & (currentTable.length() - 1);
+            ConcurrentHashTableNode<dataType, keyType> headNode = currentTable.get(tableIndex);
+            ConcurrentHashTableNode<dataType, keyType> currentChainNode = headNode;
+            while (currentChainNode != null){ // Check the chain for duplicates
+                if ((currentChainNode.hash() == hash) && currentChainNode.key().equals(key)){
+                    throw new RuntimeException("Duplicate keys are not permitted");
+                }
+                currentChainNode = currentChainNode.getChainedNode();
+            }
+            currentTable.set(tableIndex, new ConcurrentHashTableNode<dataType, keyType>(key, hash, data, headNode)); // Publish the new node at the start of the chain
+            this.count = this.count + 1;
+        } finally {
+            this.unlock();
+        }
+    }
+
+    /** Removes the entry in the segment with the specified key<br>
+     * The nodes before the removed node are copied (chain links are immutable), so concurrent readers still see a complete chain<br>
+     * 
+     * @param key  The key of the entry to remove
+     * @param hash  The mixed key hash
+     */
+    public void delete(keyType key, int hash){
+        this.lock();
+        try {
+            AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>> currentTable = this.table;
+            int tableIndex = hash & (currentTable.length() - 1);
+            ConcurrentHashTableNode<dataType, keyType> headNode = currentTable.get(tableIndex);
+            ConcurrentHashTableNode<dataType, keyType> deleteNode = headNode;
+            while ((deleteNode != null) && !((deleteNode.hash() == hash) && deleteNode.key().equals(key))){ // Find the node to remove
+                deleteNode = deleteNode.getChainedNode();
+            }
+            if (deleteNode == null){ // Key not in the segment
+                return;
+            }
+            ConcurrentHashTableNode<dataType, keyType> newHeadNode = deleteNode.getChainedNode(); // Rest of the chain is shared
+            for (ConcurrentHashTableNode<dataType, keyType> currentChainNode = headNode; currentChainNode != deleteNode; currentChainNode = currentChainNode.getChainedNode()){ // Copy the nodes before the removed node
+                newHeadNode = new ConcurrentHashTableNode<dataType, keyType>(currentChainNode.key(), currentChainNode.hash(), currentChainNode.data(), newHeadNode);
+            }
+            currentTable.set(tableIndex, newHeadNode); // Publish the new chain
+            this.count = this.count - 1;
+        } finally {
+            this.unlock();
+        }
+    }
+
+    /** Expands the segment to a given size (if it is larger than the current size)<br>
+     * 
+     * @param newSize  The new size (must be a power of two)
+     */
+    public void expand(int newSize){
+        this.lock();
+        try {
+            if (newSize > this.table.length()){
+                this.resize(newSize);
+            }
+        } finally {
+            this.unlock();
+        }
+    }
+
+    /** Rebuilds the segment's table at a new size and publishes it (the lock must be held)<br>
+     * Nodes are copied rather than relinked, so readers still traversing the old table see unchanged chains<br>
+     * 
+     * @param newSize  The new size (must be a power of two)
+     */
+    private void resize(int newSize){
+        AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>> oldTable = this.table;
+        AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>> newTable = new AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>>(newSize);
+        for (int i = 0; i < oldTable.length(); i++){
+            ConcurrentHashTableNode<dataType, keyType> currentChainNode = oldTable.get(i);
+            while (currentChainNode != null){
+                int tableIndex = currentChainNode.hash() & (newSize - 1);
+                newTable.set(tableIndex, new ConcurrentHashTableNode<dataType, keyType>(currentChainNode.key(), currentChainNode.hash(), currentChainNode.data(), newTable.get(tableIndex)));
+                currentChainNode = currentChainNode.getChainedNode();
+            }
+        }
+        this.table = newTable; // Publish the new table
+    }
+
+    /** Appends the data of every entry in the segment to a string, each on a new line<br>
+     * 
+     * @param str  The string to append to
+     */
+    public void appendTo(StringBuilder str){
+        AtomicReferenceArray<ConcurrentHashTableNode<dataType, keyType>> currentTable = this.table;
+        for (int i = 0; i < currentTable.length(); i++){
+            ConcurrentHashTableNode<dataType, keyType> currentChainNode = currentTable.get(i);
+            while (currentChainNode != null){
+                str.append(currentChainNode.data().toString()).append("\n");
+                currentChainNode = currentChainNode.getChainedNode();
+            }
+        }
+    }
+
+}
+
+/**
+ * <h2>ConcurrentHashTableNode</h2>
+ * A node in a concurrent hash table data structure<br>
+ * generic dataType is the (object) type of the data to be stored<br><br>
+ * The key, hash and next node never change once the node is created, so readers can traverse chains without locking<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+class ConcurrentHashTableNode<dataType, keyType extends Comparable<keyType>>{
+
+    /** Node key */
+    private final keyType key;
+
+    /** Mixed key hash */
+    private final int hash;
+
+    /** Node data */
+    private final dataType data;
+
+    /** Next node in chain */
+    private final ConcurrentHashTableNode<dataType, keyType> chainedNode;
+
+    /** Creates a new ConcurrentHashTableNode object<br>
+     * 
+     * @param nodeKey  The node's key
+     * @param nodeHash  The node's mixed key hash
+     * @param nodeData  The node's data
+     * @param nextNode  The next node in the chain
+     */
+    public ConcurrentHashTableNode(keyType nodeKey, int nodeHash, dataType nodeData, ConcurrentHashTableNode<dataType, keyType> nextNode){
+        this.key = nodeKey;
+        this.hash = nodeHash;
+        this.data = nodeData;
+        this.chainedNode = nextNode;
+    }
+
+    /** Gets the key of the node<br>
+     * 
+     * @return The key of the node
+     */
+    public keyType key(){
+        return this.key;
+    }
+
+    /** Gets the mixed key hash of the node<br>
+     * 
+     * @return The mixed key hash of the node
+     */
+    public int hash(){
+        return this.hash;
+    }
+
+    /** Gets the data of the node<br>
+     * 
+     * @return The data of the node
+     */
+    public dataType data(){
+        return this.data;
+    }
+
+    /** Gets the next node in the chain
+     * 
+     * @return The next chained node
+     */
+    public ConcurrentHashTableNode<dataType, keyType> getChainedNode(){
+        return this.chainedNode;
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Fixed Width Serializer
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <h2>FixedWidthSerializer</h2>
+ * Encodes values of a type into a fixed number of bytes (used by data structures stored in files, such as MappedHashTable)<br>
+ * generic valueType is the (object) type of the values encoded<br><br>
+ * Every value must encode to exactly width() bytes, and equal values must encode to equal bytes (encoded keys are compared byte by byte)<br>
+ * Reads and writes use absolute positions, so they do not change the buffer's position<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public interface FixedWidthSerializer<valueType>{
+
+    /**
+     * Gets the number of bytes every value is encoded in<br>
+     * 
+     * @return The encoded width in bytes
+     */
+    int width();
+
+    /**
+     * Encodes a value into a buffer<br>
+     * 
+     * @param buffer  The buffer to write to
+     * @param offset  The position in the buffer to write the width() bytes at
+     * @param value  The value to encode
+     */
+    void write(ByteBuffer buffer, int offset, valueType value);
+
+    /**
+     * Decodes a value from a buffer<br>
+     * 
+     * @param buffer  The buffer to read from
+     * @param offset  The position in the buffer of the encoded value
+     * @return The decoded value
+     */
+    valueType read(ByteBuffer buffer, int offset);
+
+    /**
+     * Gets a serializer for Integer values (4 bytes)<br>
+     * 
+     * @return A serializer for Integer values (null is not supported)
+     */
+    static FixedWidthSerializer<Integer> integerSerializer(){
+        return new FixedWidthSerializer<Integer>(){
+            public int width(){
+                return Integer.BYTES;
+            }
+            public void write(ByteBuffer buffer, int offset, Integer value){
+                buffer.putInt(offset, value);
+            }
+            public Integer read(ByteBuffer buffer, int offset){
+                return buffer.getInt(offset);
+            }
+        };
+    }
+
+    /**
+     * Gets a serializer for Long values (8 bytes)<br>
+     * 
+     * @return A serializer for Long values (null is not supported)
+     */
+    static FixedWidthSerializer<Long> longSerializer(){
+        return new FixedWidthSerializer<Long>(){
+            public int width(){
+                return Long.BYTES;
+            }
+            public void write(ByteBuffer buffer, int offset, Long value){
+                buffer.putLong(offset, value);
+            }
+            public Long read(ByteBuffer buffer, int offset){
+                return buffer.getLong(offset);
+            }
+        };
+    }
+
+    /**
+     * Gets a serializer for Double values (8 bytes)<br>
+     * 
+     * @return A serializer for Double values (null is not supported)
+     */
+    static FixedWidthSerializer<Double> doubleSerializer(){
+        return new FixedWidthSerializer<Double>(){
+            public int width(){
+                return Double.BYTES;
+            }
+            public void write(ByteBuffer buffer, int offset, Double value){
+                buffer.putLong(offset, Double.doubleToLongBits(value)); // Canonical NaN, so equal values encode to equal bytes
+            }
+            public Double read(ByteBuffer buffer, int offset){
+                return Double.longBitsToDouble(buffer.getLong(offset));
+            }
+        };
+    }
+
+    /**
+     * Gets a serializer for String values of a limited encoded length (UTF-8, stored as a 2 byte length then the bytes, zero padded)<br>
+     * 
+     * @param maxBytes  The maximum length of a string's UTF-8 encoding (at most 65535)
+     * @return A serializer for String values (width maxBytes + 2, null is not supported)
+     */
+    static FixedWidthSerializer<String> stringSerializer(int maxBytes) throws java.lang.RuntimeException {
+        if ((maxBytes < 0) || (maxBytes > 0xFFFF)){
+            throw new RuntimeException("Maximum string length must be between 0 and 65535 bytes");
+        }
+        return new FixedWidthSerializer<String>(){
+            public int width(){
+                return maxBytes + 2;
+            }
+            public void write(ByteBuffer buffer, int offset, String value) throws java.lang.RuntimeException {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > maxBytes){
+                    throw new RuntimeException("String is longer than " + maxBytes + " bytes");
+                }
+                buffer.putShort(offset, (short) bytes.length);
+                for (int i = 0; i < bytes.length; i++){
+                    buffer.put(offset + 2 + i, bytes[i]);
+                }
+                for (int i = bytes.length; i < maxBytes; i++){ // Zero the padding, so equal strings encode to equal bytes
+                    buffer.put(offset + 2 + i, (byte) 0);
+                }
+            }
+            public String read(ByteBuffer buffer, int offset){
+                byte[] bytes = new byte[buffer.getShort(offset) & 0xFFFF];
+                for (int i = 0; i < bytes.length; i++){
+                    bytes[i] = buffer.get(offset + 2 + i);
+                }
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+
+}
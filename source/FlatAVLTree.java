@@ -0,0 +1,495 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Flat AVL Tree
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.lang.Math;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * <h2>FlatAVLTree</h2>
+ * An AVL tree data structure with its nodes stored in parallel arrays instead of node objects<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used for the node (must implement the Comparable interface)<br><br>
+ * A node is an index into the arrays: its links and height are in int arrays, and its key and data in object arrays<br>
+ * Slots freed by delete are kept on a free list and reused by insert, so once the arrays have grown to the working size, insert/delete cycles allocate nothing (no garbage for the collector)<br>
+ * Index 0 is a sentinel standing in for a null link (its height is 0), so no null checks are needed when reading heights<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class FlatAVLTree<dataType, keyType extends Comparable<keyType>>{
+
+    /** Index of the sentinel slot, used as a null link */
+    private static final int nullIndex = 0;
+
+    /** Default number of node slots allocated by the default constructor */
+    public static final int defaultCapacity = 16;
+
+    /** Left child of each node */
+    private int[] leftChildren;
+
+    /** Right child of each node (also links the free list) */
+    private int[] rightChildren;
+
+    /** Parent of each node */
+    private int[] parents;
+
+    /** Height of the sub-tree with each node as its head (leaf = 1, sentinel = 0) */
+    private int[] heights;
+
+    /** Key of each node (parallel to the link arrays) */
+    private keyType[] keys;
+
+    /** Data of each node (parallel to the link arrays) */
+    private dataType[] values;
+
+    /** Head node of the tree (nullIndex if the tree is empty) */
+    private int headNode;
+
+    /** First slot on the free list (nullIndex if the free list is empty) */
+    private int freeSlot;
+
+    /** Number of slots that have ever been used (slots after this have never been allocated) */
+    private int usedSlots;
+
+    /** Size of the tree (number of elements) */
+    private int treeSize;
+
+    /** Creates a new FlatAVLTree object with the default capacity */
+    public FlatAVLTree(){
+        this(defaultCapacity);
+    }
+
+    /**
+     * Creates a new FlatAVLTree object<br>
+     * 
+     * @param capacity  The number of entries to allocate space for (the arrays grow when this is exceeded)
+     */
+    public FlatAVLTree(int capacity){
+        this.allocate(Math.max(capacity, 1) + 1); // One extra slot for the sentinel
+        this.headNode = nullIndex;
+        this.freeSlot = nullIndex;
+        this.usedSlots = 1; // Sentinel slot is always in use
+        this.treeSize = 0;
+    }
+
+    /**
+     * Inserts a new entry into the AVL tree<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     */
+    public void insert(keyType key, dataType data) throws java.lang.RuntimeException {
+        if (this.headNode == nullIndex){ // If the tree is empty, insert the new node as the head node
+            this.headNode = this.newNode(key, data, nullIndex);
+        } else { // If the tree is not empty, find where to insert the new node
+            int currentNode = this.headNode;
+            while(true){
+                int comparison = this.keys[currentNode].compareTo(key);
+                if (comparison > 0){ // Insert to the left
+                    if (this.leftChildren[currentNode] == nullIndex){ // Insert a child on the current node
+                        int newNode = this.newNode(key, data, currentNode);
+                        this.leftChildren[currentNode] = newNode;
+                        break; // Exit loop (current node is the parent of the new node)
+                    } else { // Branch to the next node
+                        currentNode = this.leftChildren[currentNode];
+                    }
+                } else if (comparison < 0){ // Insert to the right
+                    if (this.rightChildren[currentNode] == nullIndex){ // Insert a child on the current node
+                        int newNode = this.newNode(key, data, currentNode);
+                        this.rightChildren[currentNode] = newNode;
+                        break; // Exit loop (current node is the parent of the new node)
+                    } else { // Branch to the next node
+                        currentNode = this.rightChildren[currentNode];
+                    }
+                } else { // Keys are equal
+                    throw new RuntimeException("Duplicate key error"); // Throw an error
+                }
+            }
+            this.retrace(currentNode); // Rebalance the path from the new node's parent back to the head node
+        }
+
+        this.treeSize++; // Increment tree size
+    }
+
+    /**
+     * Gets the data located at the specified key in the tree<br>
+     * 
+     * @param key  The key of the entry to find
+     * @return The data at the specified key (null if key not found)
+     */
+    public dataType get(keyType key){
+        int currentNode = this.findNode(key);
+        if (currentNode != nullIndex){
+            return this.values[currentNode];
+        }
+
+        return null; // Key not found, return null
+    }
+
+    /**
+     * Removes the entry in the tree with the specified key<br>
+     * A node with two children takes the key and data of the right-most node of its left sub-tree, and that node is removed instead<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    public void delete(keyType key){
+        int node = this.findNode(key);
+        if (node == nullIndex){ // Key not found
+            return;
+        }
+        if ((this.leftChildren[node] != nullIndex) && (this.rightChildren[node] != nullIndex)){ // Node has two children, move its predecessor's entry into it
+            int replacementNode = this.leftChildren[node];
+            while (this.rightChildren[replacementNode] != nullIndex){
+                replacementNode = this.rightChildren[replacementNode];
+            }
+            this.keys[node] = this.keys[replacementNode];
+            this.values[node] = this.values[replacementNode];
+            node = replacementNode; // Remove the predecessor's slot instead (it has at most one child)
+        }
+
+        // Splice the node out, replacing it with its only child (or null)
+        int childNode = this.leftChildren[node];
+        if (childNode == nullIndex){
+            childNode = this.rightChildren[node];
+        }
+        int parentNode = this.parents[node];
+        if (parentNode == nullIndex){ // Node is the head node
+            this.headNode = childNode;
+        } else if (this.leftChildren[parentNode] == node){ // Node is parents' left child
+            this.leftChildren[parentNode] = childNode;
+        } else { // Node is parents' right child
+            this.rightChildren[parentNode] = childNode;
+        }
+        if (childNode != nullIndex){
+            this.parents[childNode] = parentNode;
+        }
+        this.freeNode(node);
+        this.treeSize--; // Decrement tree size
+
+        this.retrace(parentNode); // Rebalance the path back to the head node
+    }
+
+    /**
+     * Gets the number of entries in the tree<br>
+     * 
+     * @return The number of entries in the tree
+     */
+    public int size(){
+        return this.treeSize;
+    }
+
+    /**
+     * Gets the number of entries the tree can hold before its arrays grow<br>
+     * 
+     * @return The number of node slots (excluding the sentinel)
+     */
+    public int capacity(){
+        return this.keys.length - 1;
+    }
+
+    /**
+     * Returns the contents of the tree as a sorted array (sorted by key)<br>
+     * The array's component type is the most specific class shared by all of the data<br>
+     * 
+     * @return The contents of the tree as a sorted array (sorted by key)
+     */
+    public dataType[] toArray(){
+        if (this.headNode == nullIndex){
+            return null;
+        }
+        Class<?> componentType = null; // Most specific class shared by all of the data
+        for (int node = this.firstNode(this.headNode); node != nullIndex; node = this.successor(node)){
+            componentType = commonClass(componentType, this.values[node]);
+        }
+        if (componentType == null){ // All of the data is null
+            componentType = Object.class;
+        }
+        @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+        dataType[] array = (dataType[]) Array.newInstance(componentType, this.treeSize); // Create a new array to store the tree data
+        int arrayIndex = 0;
+        for (int node = this.firstNode(this.headNode); node != nullIndex; node = this.successor(node)){ // Populate the array in key order
+            array[arrayIndex] = this.values[node];
+            arrayIndex++;
+        }
+        return array;
+    }
+
+    /**
+     * Returns the contents of the tree as a string, with each data element on a new line (the data elements must have toString methods)<br>
+     * 
+     * @return The contents of the tree as a string, with each data element seperated by a newline
+     */
+    public String toString(){
+        StringBuilder string = new StringBuilder();
+        if (this.headNode != nullIndex){
+            for (int node = this.firstNode(this.headNode); node != nullIndex; node = this.successor(node)){
+                string.append(this.values[node].toString()).append('\n');
+            }
+        }
+        return string.toString();
+    }
+
+    /**
+     * Returns the depth of the tree<br>
+     * 
+     * @return The depth of the tree (0 if the tree is empty)
+     */
+    public int depth(){
+        return this.heights[this.headNode]; // Sentinel height is 0
+    }
+
+    /**
+     * Finds the node with a key<br>
+     * 
+     * @param key  The key to search for
+     * @return The node's index (nullIndex if key not found)
+     */
+    private int findNode(keyType key){
+        int currentNode = this.headNode;
+        while (currentNode != nullIndex){
+            int comparison = this.keys[currentNode].compareTo(key);
+            if (comparison > 0){ // Search to the left
+                currentNode = this.leftChildren[currentNode];
+            } else if (comparison < 0){ // Search to the right
+                currentNode = this.rightChildren[currentNode];
+            } else { // Key is equal
+                return currentNode;
+            }
+        }
+        return nullIndex;
+    }
+
+    /**
+     * Takes a slot for a new leaf node (from the free list, or the next unused slot, growing the arrays if they are full)<br>
+     * 
+     * @param key  The key of the node
+     * @param data  The data of the node
+     * @param parentNode  The parent of the node
+     * @return The new node's index
+     */
+    private int newNode(keyType key, dataType data, int parentNode){
+        int node;
+        if (this.freeSlot != nullIndex){ // Reuse a freed slot
+            node = this.freeSlot;
+            this.freeSlot = this.rightChildren[node];
+        } else {
+            if (this.usedSlots == this.keys.length){ // No unused slots left, grow the arrays
+                this.allocate(this.keys.length * 2);
+            }
+            node = this.usedSlots;
+            this.usedSlots++;
+        }
+        this.leftChildren[node] = nullIndex;
+        this.rightChildren[node] = nullIndex;
+        this.parents[node] = parentNode;
+        this.heights[node] = 1;
+        this.keys[node] = key;
+        this.values[node] = data;
+        return node;
+    }
+
+    /**
+     * Returns a node's slot to the free list (clearing its key and data so they can be collected)<br>
+     * 
+     * @param node  The node to free
+     */
+    private void freeNode(int node){
+        this.keys[node] = null;
+        this.values[node] = null;
+        this.leftChildren[node] = nullIndex;
+        this.parents[node] = nullIndex;
+        this.heights[node] = 0;
+        this.rightChildren[node] = this.freeSlot; // Link the slot onto the free list
+        this.freeSlot = node;
+    }
+
+    /**
+     * Allocates (or grows) the node arrays<br>
+     * 
+     * @param slots  The new number of slots (including the sentinel)
+     */
+    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    private void allocate(int slots){
+        if (this.keys == null){
+            this.leftChildren = new int[slots];
+            this.rightChildren = new int[slots];
+            this.parents = new int[slots];
+            this.heights = new int[slots];
+            this.keys = (keyType[]) new Comparable<?>[slots];
+            this.values = (dataType[]) new Object[slots];
+        } else {
+            this.leftChildren = Arrays.copyOf(this.leftChildren, slots);
+            this.rightChildren = Arrays.copyOf(this.rightChildren, slots);
+            this.parents = Arrays.copyOf(this.parents, slots);
+            this.heights = Arrays.copyOf(this.heights, slots);
+            this.keys = Arrays.copyOf(this.keys, slots);
+            this.values = Arrays.copyOf(this.values, slots);
+        }
+    }
+
+    /**
+     * Rebalances the path from a node back to the head node (used after an insert/delete)<br>
+     * Stops as soon as a sub-tree's height is unchanged (the rest of the path is unaffected)<br>
+     * 
+     * @param node  The lowest node on the path whose sub-tree has changed
+     */
+    private void retrace(int node){
+        while (node != nullIndex){
+            int oldHeight = this.heights[node]; // Height of the sub-tree at this position before the change
+            node = this.rebalance(node); // Rebalance the sub-tree (node is now the sub-tree's head)
+            if (this.heights[node] == oldHeight){ // Sub-tree height is unchanged, so no ancestor is affected
+                return;
+            }
+            node = this.parents[node]; // Move up the path
+        }
+    }
+
+    /**
+     * Updates the height of a node and, if it is unbalanced, performs a single or double rotation about it<br>
+     * 
+     * @param node  The head node of the sub-tree to rebalance
+     * @return The new head node of the sub-tree
+     */
+    private int rebalance(int node){
+        this.updateHeight(node);
+        int balance = this.heights[this.leftChildren[node]] - this.heights[this.rightChildren[node]];
+        if (balance > 1){ // Tree is unbalanced to the left
+            int leftNode = this.leftChildren[node];
+            if (this.heights[this.leftChildren[leftNode]] < this.heights[this.rightChildren[leftNode]]){ // Left child is heavy to the right (left-right case), rotate it left first
+                this.rotateLeft(leftNode);
+            }
+            return this.rotateRight(node);
+        } else if (balance < -1){ // Tree is unbalanced to the right
+            int rightNode = this.rightChildren[node];
+            if (this.heights[this.leftChildren[rightNode]] > this.heights[this.rightChildren[rightNode]]){ // Right child is heavy to the left (right-left case), rotate it right first
+                this.rotateRight(rightNode);
+            }
+            return this.rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Rotates a sub-tree left about a node<br>
+     * 
+     * @param node  The node to rotate about (must have a right child)
+     * @return The new head node of the sub-tree
+     */
+    private int rotateLeft(int node){
+        int nodeReplacement = this.rightChildren[node];
+        int treeParent = this.parents[node];
+        this.rightChildren[node] = this.leftChildren[nodeReplacement]; // Move the replacement node's left child into the place of the node's right child
+        if (this.rightChildren[node] != nullIndex){
+            this.parents[this.rightChildren[node]] = node;
+        }
+        this.leftChildren[nodeReplacement] = node;
+        this.parents[node] = nodeReplacement;
+        this.replaceChild(treeParent, node, nodeReplacement);
+        this.updateHeight(node); // Node is now the replacement node's child, so update its height first
+        this.updateHeight(nodeReplacement);
+        return nodeReplacement;
+    }
+
+    /**
+     * Rotates a sub-tree right about a node<br>
+     * 
+     * @param node  The node to rotate about (must have a left child)
+     * @return The new head node of the sub-tree
+     */
+    private int rotateRight(int node){
+        int nodeReplacement = this.leftChildren[node];
+        int treeParent = this.parents[node];
+        this.leftChildren[node] = this.rightChildren[nodeReplacement]; // Move the replacement node's right child into the place of the node's left child
+        if (this.leftChildren[node] != nullIndex){
+            this.parents[this.leftChildren[node]] = node;
+        }
+        this.rightChildren[nodeReplacement] = node;
+        this.parents[node] = nodeReplacement;
+        this.replaceChild(treeParent, node, nodeReplacement);
+        this.updateHeight(node); // Node is now the replacement node's child, so update its height first
+        this.updateHeight(nodeReplacement);
+        return nodeReplacement;
+    }
+
+    /**
+     * Replaces a child link of a node (or the head node) after a rotation<br>
+     * 
+     * @param parentNode  The parent whose link to replace (nullIndex for the head node)
+     * @param node  The old child
+     * @param replacementNode  The new child
+     */
+    private void replaceChild(int parentNode, int node, int replacementNode){
+        this.parents[replacementNode] = parentNode;
+        if (parentNode == nullIndex){ // Node was the head node
+            this.headNode = replacementNode;
+        } else if (this.leftChildren[parentNode] == node){ // Node was parents' left child
+            this.leftChildren[parentNode] = replacementNode;
+        } else { // Node was parents' right child
+            this.rightChildren[parentNode] = replacementNode;
+        }
+    }
+
+    /**
+     * Recalculates the height of a node from the heights of its children<br>
+     * 
+     * @param node  The node to update
+     */
+    private void updateHeight(int node){
+        this.heights[node] = Math.max(this.heights[this.leftChildren[node]], this.heights[this.rightChildren[node]]) + 1;
+    }
+
+    /**
+     * Gets the node with the smallest key in the sub-tree with head 'node'<br>
+     * 
+     * @param node  The head node of the sub-tree
+     * @return The left-most node of the sub-tree
+     */
+    private int firstNode(int node){
+        while (this.leftChildren[node] != nullIndex){
+            node = this.leftChildren[node];
+        }
+        return node;
+    }
+
+    /**
+     * Gets the node with the next largest key after a node (in-order successor), using the parent links<br>
+     * 
+     * @param node  The node
+     * @return The node's successor (nullIndex if the node has the largest key)
+     */
+    private int successor(int node){
+        if (this.rightChildren[node] != nullIndex){ // Successor is the left-most node of the right sub-tree
+            return this.firstNode(this.rightChildren[node]);
+        }
+        while ((this.parents[node] != nullIndex) && (this.rightChildren[this.parents[node]] == node)){ // Move up until the node is a left child
+            node = this.parents[node];
+        }
+        return this.parents[node];
+    }
+
+    /**
+     * Gets the most specific class that is both a class (or one of its superclasses) and the class of an object<br>
+     * 
+     * @param componentType  The class found so far (null if no data has been seen yet)
+     * @param data  The data to include (ignored if null)
+     * @return The most specific class shared by the class found so far and the data (null if no non-null data has been seen yet)
+     */
+    private static Class<?> commonClass(Class<?> componentType, Object data){
+        if (data == null){ // Null data fits any class
+            return componentType;
+        }
+        if (componentType == null){
+            return data.getClass();
+        }
+        while (!componentType.isInstance(data)){ // Move up the class hierarchy until the data fits
+            componentType = componentType.getSuperclass();
+        }
+        return componentType;
+    }
+
+}
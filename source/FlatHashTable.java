@@ -0,0 +1,412 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Flat Hash Table
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.lang.Math;
+
+/**
+ * <h2>FlatHashTable</h2>
+ * A hash table data structure using open addressing, with keys, data and cached key hashes stored in parallel arrays<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used<br><br>
+ * Each probe compares the cached hash in a flat int array before touching the key object, so most probes on a long probe sequence never dereference a key<br>
+ * Supports linear and quadratic probing collision resolution, with the same automatic resizing and deleted-slot handling as HashTable<br>
+ * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class FlatHashTable<dataType, keyType extends Comparable<keyType>>{
+
+    /** Cached hash of an empty slot */
+    private static final int emptyHash = 0;
+    /** Cached hash of a deleted slot, so probe sequences passing through it are not broken */
+    private static final int deletedHash = 1;
+
+    /** Cached key hashes (also records whether a slot is empty or deleted) */
+    private int[] hashes;
+
+    /** Entry keys (parallel to hashes) */
+    private keyType[] keys;
+
+    /** Entry data (parallel to hashes) */
+    private dataType[] values;
+
+    /** Number of elements in the table */
+    private int tableSize;
+
+    /** Maximum number of elements storable */
+    private int maxTableSize;
+
+    /** Collision resolution mode (linear/quadratic probing) */
+    private int collisionResolutionMode;
+
+    /** Load factor above which the table automatically grows (0 disables automatic growth) */
+    private float maxLoadFactor;
+
+    /** Load factor below which the table automatically shrinks (0 disables automatic shrinking) */
+    private float minLoadFactor;
+
+    /** Table size the table will not automatically shrink below (the initial table size) */
+    private int minTableSize;
+
+    /** Number of slots marked as deleted */
+    private int deletedCount;
+
+    /** Ratio of deleted slots above which the table is rehashed in place */
+    private float maxDeletedRatio;
+
+    /** Creates a new FlatHashTable object with a specified size and collision resolution scheme<br>
+     * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+     * The default maximum load factor for the collision resolution scheme is used, and automatic shrinking is disabled<br>
+     * 
+     * @param size  The size of the table (must be prime, or next prime will be used)
+     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing)
+     */
+    public FlatHashTable(int size, int collisionResolution){
+        this(size, collisionResolution, HashTable.defaultMaxLoadFactor(collisionResolution), 0);
+    }
+
+    /** Creates a new FlatHashTable object with a specified size, collision resolution scheme and load factor thresholds<br>
+     * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+     * 
+     * @param size  The size of the table (must be prime, or next prime will be used)
+     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing)
+     * @param maxLoad  The load factor above which the table grows (0 to disable automatic growth)
+     * @param minLoad  The load factor below which the table shrinks (0 to disable automatic shrinking)
+     */
+    public FlatHashTable(int size, int collisionResolution, float maxLoad, float minLoad){
+        if ((collisionResolution == HashTable.linearProbing) || (collisionResolution == HashTable.quadraticProbing)){ // Check that a valid collision resolution scheme is chosen
+            this.collisionResolutionMode = collisionResolution;
+        } else {
+            throw new RuntimeException("Invalid collision resolution scheme selected (only linear/quadratic probing are supported)");
+        }
+        this.setLoadFactorThresholds(maxLoad, minLoad); // Set (and validate) the load factor thresholds
+        this.maxDeletedRatio = HashTable.defaultMaxDeletedRatio;
+        this.createTable(HashTable.nextPrime(size)); // Create the table arrays
+        this.minTableSize = this.maxTableSize;
+    }
+
+    /** Sets the load factor thresholds used to automatically resize the table<br>
+     * The minimum load factor must be less than half the maximum load factor (so a shrunk table does not immediately grow again)<br>
+     * Above 0.5, quadratic probing may not reach a free slot, and the table then grows before reaching the maximum load factor<br>
+     * 
+     * @param maxLoad  The load factor above which the table grows (0 to disable automatic growth, at most 1)
+     * @param minLoad  The load factor below which the table shrinks (0 to disable automatic shrinking)
+     */
+    public void setLoadFactorThresholds(float maxLoad, float minLoad){
+        if ((maxLoad < 0) || (minLoad < 0)){
+            throw new RuntimeException("Load factor thresholds must not be negative");
+        } else if (maxLoad > 1){
+            throw new RuntimeException("Maximum load factor must be at most 1 for probing collision resolution");
+        } else if ((maxLoad > 0) && (minLoad*2 >= maxLoad)){
+            throw new RuntimeException("Minimum load factor must be less than half the maximum load factor");
+        }
+        this.maxLoadFactor = maxLoad;
+        this.minLoadFactor = minLoad;
+    }
+
+    /** Gets the load factor above which the table automatically grows<br>
+     * 
+     * @return The maximum load factor (0 if automatic growth is disabled)
+     */
+    public float maxLoadFactor(){
+        return this.maxLoadFactor;
+    }
+
+    /** Gets the load factor below which the table automatically shrinks<br>
+     * 
+     * @return The minimum load factor (0 if automatic shrinking is disabled)
+     */
+    public float minLoadFactor(){
+        return this.minLoadFactor;
+    }
+
+    /** Sets the ratio of deleted slots above which the table is rehashed in place<br>
+     * 
+     * @param ratio  The maximum ratio of deleted slots to table size
+     */
+    public void setMaxDeletedRatio(float ratio){
+        if ((ratio <= 0) || (ratio > 1)){
+            throw new RuntimeException("Deleted slot ratio must be greater than 0 and at most 1");
+        }
+        this.maxDeletedRatio = ratio;
+    }
+
+    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    /** Creates empty table arrays of a given size<br>
+     * 
+     * @param size  The table size (must be prime)
+     */
+    private void createTable(int size){
+        this.maxTableSize = size;
+        this.tableSize = 0;
+        this.deletedCount = 0;
+        this.hashes = new int[size];
+        this.keys = (keyType[]) new Comparable<?>[size];
+        this.values = (dataType[]) new Object[size];
+    }
+
+    /** Computes the hash of a key as it is cached in the table<br>
+     * Hashes that clash with the empty/deleted markers are moved out of the way (keys are always compared before a match is returned)<br>
+     * 
+     * @param key  The key
+     * @return The cached hash of the key
+     */
+    private static int cachedHash(Object key){
+        int hash = key.hashCode();
+        if ((hash == emptyHash) || (hash == deletedHash)){
+            hash += 2;
+        }
+        return hash;
+    }
+
+    /** Gets the size to grow the table to (double its current size)<br>
+     * 
+     * @return The next prime at least twice the current size
+     */
+    private int grownTableSize() throws java.lang.RuntimeException {
+        if (this.maxTableSize >= HashTable.maxTableCapacity){
+            throw new RuntimeException("Hash Table cannot grow any larger");
+        }
+        return HashTable.nextPrime(Math.min(this.maxTableSize*2, HashTable.maxTableCapacity));
+    }
+
+    /** Computes the table index of a cached hash (hash mod max table size)<br>
+     * 
+     * @param hash  The cached hash of a key
+     * @return The table index of the key
+     */
+    private int tableIndex(int hash){
+        return (hash & 0x7fffffff) % this.maxTableSize; // Clear the sign bit so negative hashes give a valid index
+    }
+
+    /** Inserts a new entry into the hash table<br>
+     * Grows the table first if the insert would take the load factor above the maximum load factor<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     */
+    public void insert(keyType key, dataType data){
+        if ((this.maxLoadFactor > 0) && (this.tableSize + 1 > this.maxLoadFactor*this.maxTableSize)){ // Grow the table if the insert would exceed the maximum load factor
+            this.resizeTable(this.grownTableSize());
+        } else if ((this.maxLoadFactor > 0) && (this.tableSize + this.deletedCount + 1 > this.maxLoadFactor*this.maxTableSize)){ // Deleted slots are lengthening the probe sequences, clear them
+            this.resizeTable(this.maxTableSize);
+        }
+        int hash = cachedHash(key);
+        while (!this.insertEntry(hash, key, data)){ // No free slot found on the probe sequence
+            if (this.maxLoadFactor > 0){ // Grow the table and try again
+                this.resizeTable(this.grownTableSize());
+            } else {
+                throw new RuntimeException("Hash Table is full"); // Throw an error if the table is full
+            }
+        }
+    }
+
+    /** Inserts a new entry into the table without checking the load factor<br>
+     * 
+     * @param hash  The cached hash of the key
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     * @return Whether the entry was inserted (false if no free slot was found)
+     */
+    private boolean insertEntry(int hash, keyType key, dataType data){
+        if (this.tableSize >= this.maxTableSize){ // Verify that there is space to insert into the table
+            return false;
+        }
+        int tableIndex = this.tableIndex(hash);
+        int insertIndex = -1; // First free (empty or deleted) slot on the probe sequence
+        for (int offset = 0; offset < this.maxTableSize; offset++){ // Traverse the probe sequence until an empty slot is found (the key may be stored past deleted slots)
+            int probeIndex = this.probeIndex(tableIndex, offset);
+            int probeHash = this.hashes[probeIndex];
+            if (probeHash == emptyHash){ // Empty slot, end of the probe sequence
+                if (insertIndex == -1){
+                    insertIndex = probeIndex;
+                }
+                break;
+            } else if (probeHash == deletedHash){ // Deleted slot, can be reused
+                if (insertIndex == -1){
+                    insertIndex = probeIndex;
+                }
+            } else if ((probeHash == hash) && this.keys[probeIndex].equals(key)){ // Only compare keys if the cached hashes match
+                throw new RuntimeException("Duplicate keys are not permitted");
+            }
+        }
+        if (insertIndex == -1){ // No free slot found
+            return false;
+        }
+        if (this.hashes[insertIndex] == deletedHash){ // Reusing a deleted slot
+            this.deletedCount--;
+        }
+        this.hashes[insertIndex] = hash;
+        this.keys[insertIndex] = key;
+        this.values[insertIndex] = data;
+        this.tableSize++; // Increment the table size (number of elements)
+        return true;
+    }
+
+    /** Gets the data located at the specified key in the table<br>
+     * 
+     * @param key  The key of the entry to find
+     * @return Data at the specified key (null if key not found)
+     */
+    public dataType get(keyType key){
+        int probeIndex = this.findIndex(key);
+        if (probeIndex != -1){
+            return this.values[probeIndex]; // Return the data if key found
+        }
+        return null; // If key not found, return null
+    }
+
+    /** Removes the entry in the table with the specified key<br>
+     * Shrinks the table afterwards if the load factor has dropped below the minimum load factor<br>
+     * The entry's slot is marked as deleted, and the table is rehashed in place once too many slots are marked as deleted<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    public void delete(keyType key){
+        int probeIndex = this.findIndex(key);
+        if (probeIndex != -1){
+            this.hashes[probeIndex] = deletedHash; // Mark the slot as deleted
+            this.keys[probeIndex] = null; // Release the key and data
+            this.values[probeIndex] = null;
+            this.tableSize--; // Decrement table size (number of items stored)
+            this.deletedCount++;
+        }
+        if ((this.minLoadFactor > 0) && (this.loadFactor() < this.minLoadFactor) && (this.maxTableSize > this.minTableSize)){ // Shrink the table (but not below its initial size)
+            this.resizeTable(Math.max(this.maxTableSize/2, this.minTableSize));
+        } else if (this.deletedCount > this.maxDeletedRatio*this.maxTableSize){ // Too many deleted slots, rehash in place to clear them
+            this.resizeTable(this.maxTableSize);
+        }
+    }
+
+    /** Finds the slot holding a key<br>
+     * Deleted slots are skipped over, the search ends at the first empty slot<br>
+     * 
+     * @param key  The key to find
+     * @return The slot holding the key (-1 if key not found)
+     */
+    private int findIndex(keyType key){
+        int hash = cachedHash(key);
+        int tableIndex = this.tableIndex(hash);
+        for (int offset = 0; offset < this.maxTableSize; offset++){ // Traverse the probe sequence until there are no more relevant elements to check
+            int probeIndex = this.probeIndex(tableIndex, offset);
+            int probeHash = this.hashes[probeIndex];
+            if (probeHash == emptyHash){ // Empty slot, end of the probe sequence
+                return -1;
+            } else if ((probeHash == hash) && this.keys[probeIndex].equals(key)){ // Only compare keys if the cached hashes match (a deleted slot never matches)
+                return probeIndex;
+            }
+        }
+        return -1;
+    }
+
+    /** Gets the slot at a given offset along the probe sequence of a table index<br>
+     * 
+     * @param tableIndex  The table index (start of the probe sequence)
+     * @param offset  The offset along the probe sequence
+     * @return The slot at the offset
+     */
+    private int probeIndex(int tableIndex, int offset){
+        if (this.collisionResolutionMode == HashTable.linearProbing){ // Linear probing
+            return (tableIndex + offset) % this.maxTableSize;
+        } else { // Quadratic probing (use offset squared)
+            return (int)((tableIndex + (long)offset*offset) % this.maxTableSize);
+        }
+    }
+
+    /** Gets the number of entries in the table<br>
+     * 
+     * @return The number of entries
+     */
+    public int size(){
+        return this.tableSize;
+    }
+
+    /** Gets the load factor of the table<br>
+     * 
+     * @return Load factor of the table
+     */
+    public float loadFactor(){
+        return (float)this.tableSize/this.maxTableSize;
+    }
+
+    /** Expands the table and re-inserts all the data elements<br>
+     * The new table size must be prime, or the next prime number will be used instead<br>
+     * 
+     * @param newSize  The new table size
+     */
+    public void expandTable(int newSize){
+        if (newSize > this.maxTableSize){
+            this.resizeTable(newSize);
+        } else {
+            throw new RuntimeException("New table size must be larger than current table size");
+        }
+    }
+
+    /** Resizes the table and re-inserts all the data elements using their cached hashes (clearing any deleted slots)<br>
+     * The new table size must be prime, or the next prime number will be used instead (the same size rehashes the table in place)<br>
+     * If an entry cannot be re-inserted (quadratic probing above a load factor of 0.5 may not reach a free slot), the old table is kept and a larger table is tried instead, so no entries are lost<br>
+     * 
+     * @param newSize  The new table size
+     */
+    private void resizeTable(int newSize){
+        newSize = HashTable.nextPrime(newSize); // Ensure the new size is a prime number
+        int[] oldHashes = this.hashes;
+        keyType[] oldKeys = this.keys;
+        dataType[] oldValues = this.values;
+        int oldTableSize = this.maxTableSize;
+        int oldEntryCount = this.tableSize;
+        int oldDeletedCount = this.deletedCount;
+
+        while (!this.rebuildTable(oldHashes, oldKeys, oldValues, newSize)){ // An entry did not fit, restore the old table and try a larger one
+            this.hashes = oldHashes;
+            this.keys = oldKeys;
+            this.values = oldValues;
+            this.maxTableSize = oldTableSize;
+            this.tableSize = oldEntryCount;
+            this.deletedCount = oldDeletedCount;
+            if (newSize >= HashTable.maxTableCapacity){
+                throw new RuntimeException("Hash Table cannot grow any larger");
+            }
+            newSize = HashTable.nextPrime((int)Math.min(2L*Math.max(newSize, oldTableSize), HashTable.maxTableCapacity));
+        }
+    }
+
+    /** Replaces the table arrays with new table arrays and inserts the entries of the old arrays into them using their cached hashes (the old arrays are not changed)<br>
+     * 
+     * @param oldHashes  The old cached hashes
+     * @param oldKeys  The old keys
+     * @param oldValues  The old data
+     * @param newSize  The size of the new table (must be prime)
+     * @return Whether every entry was inserted (false if an entry found no free slot, leaving the new table incomplete)
+     */
+    private boolean rebuildTable(int[] oldHashes, keyType[] oldKeys, dataType[] oldValues, int newSize){
+        this.createTable(newSize);
+        for (int i = 0; i < oldHashes.length; i++){ // Iterate through every slot in the old table
+            if ((oldHashes[i] != emptyHash) && (oldHashes[i] != deletedHash)){ // If the slot holds an entry, add it to the new table
+                if (!this.insertEntry(oldHashes[i], oldKeys[i], oldValues[i])){ // Only possible for quadratic probing above a load factor of 0.5
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Returns the contents of the table as a string, with each data element on a new line (the data elements must have toString methods)<br>
+     * 
+     * @return The contents of the table as a string, with each data element seperated by a newline
+     */
+    public String toString(){
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < this.maxTableSize; i++){ // Iterate through every slot in the table
+            if ((this.hashes[i] != emptyHash) && (this.hashes[i] != deletedHash)){ // If the slot holds an entry, add it to the string
+                str.append(this.values[i].toString()).append("\n");
+            }
+        }
+        return str.toString();
+    }
+}
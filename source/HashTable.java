@@ -7,6 +7,8 @@ Author: Jonah Swain
 import java.lang.RuntimeException;
 import java.lang.reflect.Array;
 import java.lang.Math;
+import java.util.ArrayList;
+import java.util.Random;
 
 /**
  * <h2>HashTable</h2>
@@ -15,6 +17,9 @@ import java.lang.Math;
  * generic keyType is the (object) type of the key used<br><br>
  * Uses the builtin hashCode function of the keyType object (all Java Objects have a hashCode function, it is recommended to override it with a good implementation on custom key objects)<br>
  * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+ * Alternatively, power of two indexing rounds the table size up to a power of two, mixes the key hashes (to defend against poor hashCode implementations) and computes table indices with a bit mask instead of a modulo<br>
+ * The table grows automatically when its load factor would exceed the maximum load factor (and optionally shrinks below the minimum load factor)<br>
+ * Statistics (probe lengths, collisions, resizes, table shape) can optionally be recorded, see setStatisticsEnabled<br>
  * 
  * @author Jonah Swain (https://github.com/jonahswain/)
  * @since 30/03/2018
@@ -27,6 +32,41 @@ public class HashTable<dataType, keyType extends Comparable<keyType>>{
     public static final int quadraticProbing = 2;
     /** Chaining collision resolution */
     public static final int chaining = 3;
+    /** Robin Hood hashing collision resolution (linear probing, entries further from their table index take the slots of entries closer to theirs) */
+    public static final int robinHoodHashing = 4;
+    /** Cuckoo hashing collision resolution (each key can only be in one of two buckets, or a small stash, so a get checks a fixed number of slots, unless so many keys have equal hash codes that the stash had to grow) */
+    public static final int cuckooHashing = 5;
+
+    /** Number of slots in a cuckoo hashing bucket (consecutive slots starting at the bucket's table index) */
+    public static final int cuckooBucketSize = 4;
+    /** Number of entries in the cuckoo hashing stash (entries that could not be placed in either bucket), unless keys sharing buckets under every hash function made it grow */
+    public static final int cuckooStashSize = 4;
+    /** Maximum number of entries displaced by a cuckoo hashing insert before the displaced entry is stashed */
+    private static final int cuckooMaxDisplacements = 128;
+    /** Number of failed cuckoo hashing rehashes (with new hash functions) before the table is grown instead */
+    private static final int cuckooMaxRehashes = 4;
+    /** Number of times a cuckoo hashing rehash may grow the table before it grows the stash instead (keys with equal hash codes share both buckets whatever the hash function, so only the stash can hold them) */
+    private static final int cuckooMaxGrowths = 2;
+
+    /** Prime table size, table index is the key hash mod the table size */
+    public static final int primeIndexing = 1;
+    /** Power of two table size, table index is the mixed key hash masked to the table size */
+    public static final int powerOfTwoIndexing = 2;
+
+    /** Default maximum load factor for linear probing collision resolution */
+    public static final float linearProbingMaxLoadFactor = 0.75f;
+    /** Default maximum load factor for quadratic probing collision resolution (a prime table less than half full always has a free slot on the probe sequence) */
+    public static final float quadraticProbingMaxLoadFactor = 0.5f;
+    /** Default maximum load factor for chaining collision resolution */
+    public static final float chainingMaxLoadFactor = 2.0f;
+    /** Default maximum load factor for Robin Hood hashing collision resolution (probe lengths stay short at high load factors) */
+    public static final float robinHoodHashingMaxLoadFactor = 0.9f;
+    /** Default maximum load factor for cuckoo hashing collision resolution */
+    public static final float cuckooHashingMaxLoadFactor = 0.85f;
+    /** Default ratio of deleted slots (linear/quadratic probing) above which the table is rehashed in place */
+    public static final float defaultMaxDeletedRatio = 0.25f;
+    /** Largest table size the table can grow to (array sizes are limited to about 2^31) */
+    static final int maxTableCapacity = 1 << 30;
 
     /** 'Table' (array) to store the nodes in */
     private HashTableNode<dataType, keyType>[] table;
@@ -37,110 +77,536 @@ public class HashTable<dataType, keyType extends Comparable<keyType>>{
     /** Maximum number of elements storable (N/A for chaining collision resolution) */
     private int maxTableSize;
 
-    /** Collision resolution mode (linear/quadratic probing, chaining) */
+    /** Collision resolution mode (linear/quadratic probing, chaining, Robin Hood/cuckoo hashing) */
     private int collisionResolutionMode;
 
+    /** Indexing mode (prime/power of two table size) */
+    private int indexingMode;
+
+    /** Load factor above which the table automatically grows (0 disables automatic growth) */
+    private float maxLoadFactor;
+
+    /** Load factor below which the table automatically shrinks (0 disables automatic shrinking) */
+    private float minLoadFactor;
+
+    /** Table size the table will not automatically shrink below (the initial table size) */
+    private int minTableSize;
+
+    /** Marker node stored in deleted slots (linear/quadratic probing), so probe sequences passing through them are not broken */
+    private final HashTableNode<dataType, keyType> deletedNode;
+
+    /** Number of slots marked as deleted */
+    private int deletedCount;
+
+    /** Ratio of deleted slots above which the table is rehashed in place */
+    private float maxDeletedRatio;
+
+    /** Entries that could not be placed in either of their buckets (for cuckoo hashing collision resolution, only larger than cuckooStashSize if rehashing could not place every entry) */
+    private HashTableNode<dataType, keyType>[] cuckooStash;
+
+    /** Seed of the second hash function (for cuckoo hashing collision resolution, changed on every rehash) */
+    private int cuckooSeed;
+
+    /** Random number generator used to pick which entry to displace (for cuckoo hashing collision resolution) */
+    private Random cuckooRandom;
+
+    /** Statistics counters (null unless statistics are enabled) */
+    private HashTableStatistics.Counters counters;
+
+    /** Number of slots/chain nodes examined by the last probe sequence (for the statistics) */
+    private int lastProbeLength;
+
     /** Returns the smallest prime number greater than/equal to a given number<br>
      * 
      * @param num  The number to test/find the smallest prime greater than/equal to
      * @return The smallest prime greater than/equal to the given number
      */
     public static int nextPrime(int num){
-        if (num > 1){ // Test if number is greater than 1
-            if (num <= 3){ // If number is 2 or 3, then is prime, return num
+        if (num <= 2){ // Number <= 2, return the first prime (2)
+            return 2;
+        }
+        if (num%2 == 0){ // Only odd numbers (other than 2) can be prime
+            num++;
+        }
+        while (true){ // Test each odd number in turn
+            if (num == 3){ // 3 is prime
                 return num;
-            } else if (num%2 == 0) { // If the number is divisible by 2, test the next number
-                return nextPrime(num + 1);
-            } else if (num%3 == 0){ // If the number is divisible by 3, test the next odd number
-                return nextPrime(num + 2);
-            } else {
-                int div = 5; // Start with a divisor of 5
-                while (div*div < num){ // While the divisor is less than the square root of the number to test, test whether the number is divisible by the divisor or the divisor + 2
+            } else if (num%3 != 0){ // If the number is divisible by 3, test the next odd number
+                boolean prime = true;
+                for (int div = 5; (long)div*div <= num; div += 6){ // While the divisor is at most the square root of the number to test, test whether the number is divisible by the divisor or the divisor + 2
                     if ((num%div == 0) || (num%(div + 2) == 0)){
-                        return nextPrime(num + 2); // If the number is not prime, test the next odd number
+                        prime = false;
+                        break;
                     }
-                    div += 6; // Increment the divisor by 6
                 }
-                return num; // Number is prime, return it
+                if (prime){ // Number is prime, return it
+                    return num;
+                }
             }
-        } else { // Number < 1, return the first prime (2)
-            return 2;
+            num += 2; // Test the next odd number
         }
     }
 
-    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    /** Returns the smallest power of two greater than/equal to a given number<br>
+     * 
+     * @param num  The number to find the smallest power of two greater than/equal to
+     * @return The smallest power of two greater than/equal to the given number
+     */
+    public static int nextPowerOfTwo(int num){
+        if (num <= 1){
+            return 1;
+        }
+        return Integer.highestOneBit(num - 1) << 1;
+    }
+
+    /** Mixes the bits of a hash so every bit of the hash affects the low bits used by power of two indexing<br>
+     * (MurmurHash3 finalizer)<br>
+     * 
+     * @param hash  The hash to mix
+     * @return The mixed hash
+     */
+    public static int mixHash(int hash){
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
     /** Creates a new HashTable object with a specified size and collision resolution scheme<br>
      * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+     * The default maximum load factor for the collision resolution scheme is used, and automatic shrinking is disabled<br>
      * 
      * @param size  The size of the table (must be prime, or next prime will be used)
-     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing, chaining)
+     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing, chaining, Robin Hood/cuckoo hashing)
      */
     public HashTable(int size, int collisionResolution){
-        this.maxTableSize = nextPrime(size); // Set the maximum table size to the next prime number
-        if ((collisionResolution == 1) || (collisionResolution == 2) || (collisionResolution == 3)){ // Check that a valid collision resolution scheme is chosen
+        this(size, collisionResolution, primeIndexing, defaultMaxLoadFactor(collisionResolution), 0);
+    }
+
+    /** Creates a new HashTable object with a specified size, collision resolution scheme and indexing scheme<br>
+     * The default maximum load factor for the collision resolution scheme is used, and automatic shrinking is disabled<br>
+     * 
+     * @param size  The size of the table (increased to the next prime/power of two)
+     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing, chaining, Robin Hood/cuckoo hashing)
+     * @param indexing  The indexing scheme to use (prime/power of two table size)
+     */
+    public HashTable(int size, int collisionResolution, int indexing){
+        this(size, collisionResolution, indexing, defaultMaxLoadFactor(collisionResolution), 0);
+    }
+
+    /** Creates a new HashTable object with a specified size, collision resolution scheme and load factor thresholds<br>
+     * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+     * 
+     * @param size  The size of the table (must be prime, or next prime will be used)
+     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing, chaining, Robin Hood/cuckoo hashing)
+     * @param maxLoad  The load factor above which the table grows (0 to disable automatic growth)
+     * @param minLoad  The load factor below which the table shrinks (0 to disable automatic shrinking)
+     */
+    public HashTable(int size, int collisionResolution, float maxLoad, float minLoad){
+        this(size, collisionResolution, primeIndexing, maxLoad, minLoad);
+    }
+
+    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    /** Creates a new HashTable object with a specified size, collision resolution scheme, indexing scheme and load factor thresholds<br>
+     * 
+     * @param size  The size of the table (increased to the next prime/power of two)
+     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing, chaining, Robin Hood/cuckoo hashing)
+     * @param indexing  The indexing scheme to use (prime/power of two table size)
+     * @param maxLoad  The load factor above which the table grows (0 to disable automatic growth)
+     * @param minLoad  The load factor below which the table shrinks (0 to disable automatic shrinking)
+     */
+    public HashTable(int size, int collisionResolution, int indexing, float maxLoad, float minLoad){
+        if ((collisionResolution == 1) || (collisionResolution == 2) || (collisionResolution == 3) || (collisionResolution == 4) || (collisionResolution == 5)){ // Check that a valid collision resolution scheme is chosen
             this.collisionResolutionMode = collisionResolution;
         } else {
             throw new RuntimeException("Invalid collision resolution scheme selected");
         }
+        if ((indexing == primeIndexing) || (indexing == powerOfTwoIndexing)){ // Check that a valid indexing scheme is chosen
+            this.indexingMode = indexing;
+        } else {
+            throw new RuntimeException("Invalid indexing scheme selected");
+        }
+        this.maxTableSize = this.validTableSize(size); // Set the maximum table size to the next prime number/power of two
+        this.setLoadFactorThresholds(maxLoad, minLoad); // Set (and validate) the load factor thresholds
+        this.minTableSize = this.maxTableSize;
+        this.deletedNode = new HashTableNode<dataType, keyType>(null, null);
+        this.deletedCount = 0;
+        this.maxDeletedRatio = defaultMaxDeletedRatio;
+        if (this.collisionResolutionMode == cuckooHashing){ // Create the stash and second hash function
+            this.cuckooStash = (HashTableNode<dataType, keyType>[]) Array.newInstance(this.deletedNode.getClass(), cuckooStashSize);
+            this.cuckooRandom = new Random();
+            this.cuckooSeed = this.cuckooRandom.nextInt();
+        }
         
         this.table = (HashTableNode<dataType, keyType>[]) Array.newInstance(new HashTableNode<dataType, keyType>(null, null).getClass(), this.maxTableSize); // Create table array
         this.tableSize = 0; // Set table size to zero
     }
+
+    /** Gets the default maximum load factor for a collision resolution scheme<br>
+     * 
+     * @param collisionResolution  The collision resolution scheme (linear/quadratic probing, chaining, Robin Hood/cuckoo hashing)
+     * @return The default maximum load factor for the scheme
+     */
+    public static float defaultMaxLoadFactor(int collisionResolution){
+        if (collisionResolution == linearProbing){
+            return linearProbingMaxLoadFactor;
+        } else if (collisionResolution == quadraticProbing){
+            return quadraticProbingMaxLoadFactor;
+        } else if (collisionResolution == robinHoodHashing){
+            return robinHoodHashingMaxLoadFactor;
+        } else if (collisionResolution == cuckooHashing){
+            return cuckooHashingMaxLoadFactor;
+        } else {
+            return chainingMaxLoadFactor;
+        }
+    }
+
+    /** Sets the load factor thresholds used to automatically resize the table<br>
+     * The minimum load factor must be less than half the maximum load factor (so a shrunk table does not immediately grow again)<br>
+     * Above 0.5, quadratic probing may not reach a free slot, and the table then grows before reaching the maximum load factor<br>
+     * 
+     * @param maxLoad  The load factor above which the table grows (0 to disable automatic growth, at most 1 for linear/quadratic probing and Robin Hood/cuckoo hashing)
+     * @param minLoad  The load factor below which the table shrinks (0 to disable automatic shrinking)
+     */
+    public void setLoadFactorThresholds(float maxLoad, float minLoad){
+        if ((maxLoad < 0) || (minLoad < 0)){
+            throw new RuntimeException("Load factor thresholds must not be negative");
+        } else if ((maxLoad > 1) && (this.collisionResolutionMode != chaining)){
+            throw new RuntimeException("Maximum load factor must be at most 1 for probing collision resolution");
+        } else if ((maxLoad > 0) && (minLoad*2 >= maxLoad)){
+            throw new RuntimeException("Minimum load factor must be less than half the maximum load factor");
+        }
+        this.maxLoadFactor = maxLoad;
+        this.minLoadFactor = minLoad;
+    }
+
+    /** Gets the load factor above which the table automatically grows<br>
+     * 
+     * @return The maximum load factor (0 if automatic growth is disabled)
+     */
+    public float maxLoadFactor(){
+        return this.maxLoadFactor;
+    }
+
+    /** Gets the load factor below which the table automatically shrinks<br>
+     * 
+     * @return The minimum load factor (0 if automatic shrinking is disabled)
+     */
+    public float minLoadFactor(){
+        return this.minLoadFactor;
+    }
     
+    /** Rounds a table size up to a valid size for the indexing scheme<br>
+     * 
+     * @param size  The table size
+     * @return The next prime (prime indexing) or power of two (power of two indexing) greater than/equal to the size
+     */
+    private int validTableSize(int size){
+        if (this.indexingMode == powerOfTwoIndexing){
+            return nextPowerOfTwo(size);
+        } else {
+            return nextPrime(size);
+        }
+    }
+
+    /** Gets the size to grow the table to (double its current size)<br>
+     * 
+     * @return The next valid table size at least twice the current size
+     */
+    private int grownTableSize() throws java.lang.RuntimeException {
+        if (this.maxTableSize >= maxTableCapacity){
+            throw new RuntimeException("Hash Table cannot grow any larger");
+        }
+        return this.validTableSize(Math.min(this.maxTableSize*2, maxTableCapacity));
+    }
+
+    /** Computes the table index of a key<br>
+     * 
+     * @param key  The key
+     * @return The table index of the key (key hash mod max table size, or mixed key hash masked to the table size)
+     */
+    private int tableIndex(keyType key){
+        if (this.indexingMode == powerOfTwoIndexing){
+            return mixHash(key.hashCode()) & (this.maxTableSize - 1);
+        } else {
+            return (key.hashCode() & 0x7fffffff) % this.maxTableSize; // Clear the sign bit (Math.abs is negative for Integer.MIN_VALUE)
+        }
+    }
+
+    /** Computes the second table index of a key (for cuckoo hashing collision resolution)<br>
+     * 
+     * @param key  The key
+     * @return The second table index of the key (seeded mixed key hash mod max table size)
+     */
+    private int alternateTableIndex(keyType key){
+        int hash = mixHash(key.hashCode() ^ this.cuckooSeed);
+        if (this.indexingMode == powerOfTwoIndexing){
+            return hash & (this.maxTableSize - 1);
+        } else {
+            return (hash & 0x7fffffff) % this.maxTableSize;
+        }
+    }
+
     /** Inserts a new entry into the hash table<br>
+     * Grows the table first if the insert would take the load factor above the maximum load factor<br>
+     * If deleted slots would take the table's slot usage above the maximum load factor, the table is rehashed in place instead<br>
      * 
      * @param key  The key of the entry to insert
      * @param data  The data to insert
      */
     public void insert(keyType key, dataType data){
+        if ((this.maxLoadFactor > 0) && (this.tableSize + 1 > this.maxLoadFactor*this.maxTableSize)){ // Grow the table if the insert would exceed the maximum load factor
+            this.resizeTable(this.grownTableSize());
+        } else if ((this.maxLoadFactor > 0) && (this.tableSize + this.deletedCount + 1 > this.maxLoadFactor*this.maxTableSize)){ // Deleted slots are lengthening the probe sequences, clear them
+            this.resizeTable(this.maxTableSize);
+        }
+        while (!this.insertEntry(key, data)){ // No free slot found on the probe sequence
+            if (this.maxLoadFactor > 0){ // Grow the table and try again
+                this.resizeTable(this.grownTableSize());
+            } else {
+                throw new RuntimeException("Hash Table is full"); // Throw an error if the table is full
+            }
+        }
+        if (this.counters != null){
+            this.counters.recordInsert(this.lastProbeLength);
+        }
+    }
+
+    /** Inserts a new entry into the table without checking the load factor<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     * @return Whether the entry was inserted (false if no free slot was found)
+     */
+    private boolean insertEntry(keyType key, dataType data){
         if ((this.tableSize >= this.maxTableSize) && (this.collisionResolutionMode != chaining)){ // Verify that there is space to insert into the table
-            throw new RuntimeException("Hash Table is full"); // Throw an error if the table is full
+            return false;
         }
-        int tableIndex = Math.abs(key.hashCode()) % this.maxTableSize; // Compute the table index (hash mod table max size)
-        if (this.table[tableIndex] == null){ // Check for collisions
-            this.table[tableIndex] = new HashTableNode<dataType, keyType>(key, data); // If no collision, insert at relevant index
-            this.tableSize++; // Increment the table size (number of elements)
-        } else { // Resolve collision
-            if (this.collisionResolutionMode == linearProbing){ // Resolve by linear probing
-                int offset = 1;
-                while (offset < this.maxTableSize){
-                    if (this.table[(tableIndex + offset) % this.maxTableSize] == null){
-                        this.table[(tableIndex + offset) % this.maxTableSize] = new HashTableNode<dataType, keyType>(key, data); // If no collision, insert at relevant index
-                        this.tableSize++; // Increment the table size (number of elements)
-                        break;
-                    } else {
-                        if (this.table[(tableIndex + offset) % this.maxTableSize].key().equals(key)){
-                            throw new RuntimeException("Duplicate keys are not permitted");
-                        }
-                    }
-                    offset++; // Increment offset
-                }
-            } else if (this.collisionResolutionMode == quadraticProbing){ // Resolve by quadratic probing
-                int offset = 1;
-                while (offset < this.maxTableSize){
-                    if (this.table[(tableIndex + offset*offset) % this.maxTableSize] == null){
-                        this.table[(tableIndex + offset*offset) % this.maxTableSize] = new HashTableNode<dataType, keyType>(key, data); // If no collision, insert at relevant index
-                        this.tableSize++; // Increment the table size (number of elements)
-                        break;
-                    } else {
-                        if (this.table[(tableIndex + offset*offset) % this.maxTableSize].key().equals(key)){
-                            throw new RuntimeException("Duplicate keys are not permitted");
-                        }
-                    }
-                    offset++; // Increment offset
-                }
-            } else if (this.collisionResolutionMode == chaining){ // Resolve by chaining
+        int tableIndex = this.tableIndex(key); // Compute the table index
+        if (this.collisionResolutionMode == chaining){ // Resolve collisions by chaining
+            this.lastProbeLength = 1;
+            if (this.table[tableIndex] == null){ // Check for collisions
+                this.table[tableIndex] = new HashTableNode<dataType, keyType>(key, data); // If no collision, insert at relevant index
+            } else {
                 HashTableNode<dataType, keyType> currentChainNode = this.table[tableIndex];
                 while(currentChainNode.getChainedNode() != null){ // Traverse the chain until a null reference is found to insert at
                     if (currentChainNode.key().equals(key)){
                         throw new RuntimeException("Duplicate keys are not permitted");
                     }
                     currentChainNode = currentChainNode.getChainedNode();
+                    this.lastProbeLength++;
+                }
+                this.lastProbeLength++;
+                if (currentChainNode.key().equals(key)){ // Check the last node in the chain
+                    throw new RuntimeException("Duplicate keys are not permitted");
                 }
                 currentChainNode.setChainedNode(new HashTableNode<dataType, keyType>(key, data)); // Insert a node in the chain
-                this.tableSize++; // Increment the table size (number of elements)
             }
+            this.tableSize++; // Increment the table size (number of elements)
+            return true;
+        } else if (this.collisionResolutionMode == cuckooHashing){ // Resolve collisions by cuckoo hashing
+            if ((this.findCuckooIndex(key, tableIndex) != -1) || (this.findStashIndex(key) != -1)){ // Check for duplicates
+                throw new RuntimeException("Duplicate keys are not permitted");
+            }
+            this.tableSize++; // Increment the table size (number of elements)
+            HashTableNode<dataType, keyType> homelessNode = this.placeCuckooNode(new HashTableNode<dataType, keyType>(key, data));
+            int probeLength = this.lastProbeLength;
+            if ((homelessNode != null) && !this.stashCuckooNode(homelessNode)){ // An entry could not be placed and the stash is full, rehash the table with a new hash function
+                this.rehashCuckooTable(homelessNode);
+            }
+            this.lastProbeLength = probeLength; // Rehashing places every entry again
+            return true;
+        } else if (this.collisionResolutionMode == robinHoodHashing){ // Resolve collisions by Robin Hood hashing
+            if (this.findIndex(key, tableIndex) != -1){ // Check for duplicates first (the new entry may displace others)
+                throw new RuntimeException("Duplicate keys are not permitted");
+            }
+            HashTableNode<dataType, keyType> insertNode = new HashTableNode<dataType, keyType>(key, data); // Entry being placed (starts at probe distance 0)
+            int probeIndex = tableIndex;
+            this.lastProbeLength = 1;
+            while (this.table[probeIndex] != null){ // Traverse the probe sequence until an empty slot is found (there is always one, the table is not full)
+                if (this.table[probeIndex].getProbeDistance() < insertNode.getProbeDistance()){ // Existing entry is closer to its table index, take its slot and place it further along instead
+                    HashTableNode<dataType, keyType> displacedNode = this.table[probeIndex];
+                    this.table[probeIndex] = insertNode;
+                    insertNode = displacedNode;
+                }
+                insertNode.setProbeDistance(insertNode.getProbeDistance() + 1);
+                probeIndex = this.probeIndex(probeIndex, 1);
+                this.lastProbeLength++;
+            }
+            this.table[probeIndex] = insertNode;
+            this.tableSize++; // Increment the table size (number of elements)
+            return true;
+        } else { // Resolve collisions by linear/quadratic probing
+            int insertIndex = -1; // First free (empty or deleted) slot on the probe sequence
+            for (int offset = 0; offset < this.maxTableSize; offset++){ // Traverse the probe sequence until an empty slot is found (the key may be stored past deleted slots)
+                int probeIndex = this.probeIndex(tableIndex, offset);
+                this.lastProbeLength = offset + 1;
+                if (this.table[probeIndex] == null){ // Empty slot, end of the probe sequence
+                    if (insertIndex == -1){
+                        insertIndex = probeIndex;
+                    }
+                    break;
+                } else if (this.table[probeIndex] == this.deletedNode){ // Deleted slot, can be reused
+                    if (insertIndex == -1){
+                        insertIndex = probeIndex;
+                    }
+                } else if (this.table[probeIndex].key().equals(key)){
+                    throw new RuntimeException("Duplicate keys are not permitted");
+                }
+            }
+            if (insertIndex == -1){ // No free slot found
+                return false;
+            }
+            if (this.table[insertIndex] == this.deletedNode){ // Reusing a deleted slot
+                this.deletedCount--;
+            }
+            this.table[insertIndex] = new HashTableNode<dataType, keyType>(key, data); // Insert at the free slot
+            this.tableSize++; // Increment the table size (number of elements)
+            return true;
+        }
+    }
+
+    /** Places a node in one of its buckets, displacing other entries into their other buckets as needed (for cuckoo hashing collision resolution)<br>
+     * 
+     * @param node  The node to place
+     * @return The entry left without a slot after too many displacements (null if every entry was placed)
+     */
+    private HashTableNode<dataType, keyType> placeCuckooNode(HashTableNode<dataType, keyType> node){
+        for (int displacements = 0; displacements < cuckooMaxDisplacements; displacements++){
+            int firstIndex = this.tableIndex(node.key());
+            int secondIndex = this.alternateTableIndex(node.key());
+            this.lastProbeLength = displacements + 1; // Number of entries placed
+            for (int offset = 0; offset < cuckooBucketSize; offset++){ // Look for an empty slot in either bucket
+                if (this.table[this.probeIndex(firstIndex, offset)] == null){
+                    this.table[this.probeIndex(firstIndex, offset)] = node;
+                    return null;
+                }
+                if (this.table[this.probeIndex(secondIndex, offset)] == null){
+                    this.table[this.probeIndex(secondIndex, offset)] = node;
+                    return null;
+                }
+            }
+            // Both buckets are full, displace a random entry from one of them (it is placed in its other bucket on the next iteration)
+            int bucketIndex = firstIndex;
+            if (this.cuckooRandom.nextBoolean()){
+                bucketIndex = secondIndex;
+            }
+            int displacedIndex = this.probeIndex(bucketIndex, this.cuckooRandom.nextInt(cuckooBucketSize));
+            HashTableNode<dataType, keyType> displacedNode = this.table[displacedIndex];
+            this.table[displacedIndex] = node;
+            node = displacedNode;
         }
+        return node;
+    }
+
+    /** Adds a node to the stash (for cuckoo hashing collision resolution)<br>
+     * 
+     * @param node  The node to stash
+     * @return Whether the node was stashed (false if the stash is full)
+     */
+    private boolean stashCuckooNode(HashTableNode<dataType, keyType> node){
+        for (int i = 0; i < this.cuckooStash.length; i++){
+            if (this.cuckooStash[i] == null){
+                this.cuckooStash[i] = node;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    /** Rebuilds the table with a new second hash function, until every entry can be placed (for cuckoo hashing collision resolution)<br>
+     * The table is grown if several new hash functions in a row fail<br>
+     * If that still fails after cuckooMaxGrowths growths, too many keys share both buckets under every hash function (keys with equal hash codes), so the stash is doubled instead until every entry fits<br>
+     * Once the stash has grown, rehashes grow it straight away (gets of stashed keys then check the whole stash)<br>
+     * 
+     * @param homelessNode  An entry currently not stored in the table or stash
+     */
+    private void rehashCuckooTable(HashTableNode<dataType, keyType> homelessNode){
+        long startTime = 0;
+        if (this.counters != null){
+            startTime = System.nanoTime();
+        }
+        ArrayList<HashTableNode<dataType, keyType>> nodes = new ArrayList<HashTableNode<dataType, keyType>>(); // Every entry to place
+        for (int i = 0; i < this.maxTableSize; i++){
+            if (this.table[i] != null){
+                nodes.add(this.table[i]);
+            }
+        }
+        for (int i = 0; i < this.cuckooStash.length; i++){
+            if (this.cuckooStash[i] != null){
+                nodes.add(this.cuckooStash[i]);
+            }
+        }
+        nodes.add(homelessNode);
+
+        int attempts = 0;
+        int stashSize = this.cuckooStash.length;
+        boolean growStash = (stashSize > cuckooStashSize); // The stash has overflowed before, new hash functions and table growth will not help
+        boolean placed = false;
+        while (!placed){
+            attempts++;
+            if (growStash || (attempts > cuckooMaxRehashes*cuckooMaxGrowths)){ // Keys sharing buckets under every hash function, grow the stash (always terminates, the stash eventually holds every unplaced entry)
+                stashSize *= 2;
+            } else if (attempts%cuckooMaxRehashes == 0){ // New hash functions keep failing, grow the table
+                this.maxTableSize = this.grownTableSize();
+            }
+            this.cuckooSeed = this.cuckooRandom.nextInt(); // New second hash function
+            this.table = (HashTableNode<dataType, keyType>[]) Array.newInstance(this.deletedNode.getClass(), this.maxTableSize);
+            this.cuckooStash = (HashTableNode<dataType, keyType>[]) Array.newInstance(this.deletedNode.getClass(), stashSize);
+            placed = true;
+            for (int i = 0; i < nodes.size(); i++){ // Place every entry, failing if any cannot be placed or stashed
+                HashTableNode<dataType, keyType> unplacedNode = this.placeCuckooNode(nodes.get(i));
+                if ((unplacedNode != null) && !this.stashCuckooNode(unplacedNode)){
+                    placed = false;
+                    break;
+                }
+            }
+        }
+        if (this.counters != null){
+            this.counters.recordResize(System.nanoTime() - startTime);
+        }
+    }
+
+    /** Finds the slot holding a key in either of its buckets (for cuckoo hashing collision resolution)<br>
+     * Checks at most two buckets worth of slots<br>
+     * 
+     * @param key  The key to find
+     * @param tableIndex  The table index of the key (start of its first bucket)
+     * @return The slot holding the key (-1 if key not found in its buckets)
+     */
+    private int findCuckooIndex(keyType key, int tableIndex){
+        int secondIndex = this.alternateTableIndex(key);
+        for (int offset = 0; offset < cuckooBucketSize; offset++){
+            int probeIndex = this.probeIndex(tableIndex, offset);
+            if ((this.table[probeIndex] != null) && this.table[probeIndex].key().equals(key)){
+                this.lastProbeLength = offset*2 + 1;
+                return probeIndex;
+            }
+            probeIndex = this.probeIndex(secondIndex, offset);
+            if ((this.table[probeIndex] != null) && this.table[probeIndex].key().equals(key)){
+                this.lastProbeLength = offset*2 + 2;
+                return probeIndex;
+            }
+        }
+        this.lastProbeLength = cuckooBucketSize*2;
+        return -1;
+    }
+
+    /** Finds the stash slot holding a key (for cuckoo hashing collision resolution)<br>
+     * 
+     * @param key  The key to find
+     * @return The stash slot holding the key (-1 if key not stashed)
+     */
+    private int findStashIndex(keyType key){
+        for (int i = 0; i < this.cuckooStash.length; i++){
+            if ((this.cuckooStash[i] != null) && this.cuckooStash[i].key().equals(key)){
+                return i;
+            }
+        }
+        return -1;
     }
 
     /** Gets the data located at the specified key in the table<br>
@@ -149,85 +615,192 @@ public class HashTable<dataType, keyType extends Comparable<keyType>>{
      * @return Data at the specified key (null if key not found)
      */
     public dataType get(keyType key){
-        int tableIndex = Math.abs(key.hashCode()) % maxTableSize; // Compute table index (key hash mod max table size)
-        if (this.table[tableIndex] == null){ // Check if an element exists at the table index
-            return null; // Return null if no element found
-        } else if (this.table[tableIndex].key().equals(key)){ // Check if the found element key matches the key to get
-            return this.table[tableIndex].data(); // Return the data if the key matches
-        } else { // Traverse table using collision resolution method to find the correct key
-            if (this.collisionResolutionMode == linearProbing){ // Linear probing
-                int offset = 1;
-                while ((offset < this.maxTableSize) && (this.table[(tableIndex + offset) % this.maxTableSize] != null)){ // Traverse through the table until there are no more relevant elements to check
-                    if (this.table[(tableIndex + offset) % this.maxTableSize].key().equals(key)){ // Check if the key of the current element matches the requested key
-                        return this.table[(tableIndex + offset) % this.maxTableSize].data(); // Return the data if key matches
-                    }
-                    offset++; // Increment offset
-                }
-            } else if (this.collisionResolutionMode == quadraticProbing){ // Quadratic probing (use offset squared)
-                int offset = 1;
-                while ((offset < this.maxTableSize) && (this.table[(tableIndex + offset*offset) % this.maxTableSize] != null)){ // Traverse through the table until there are no more relevant elements to check
-                    if (this.table[(tableIndex + offset*offset) % this.maxTableSize].key().equals(key)){ // Check if the key of the current element matches the requested key
-                        return this.table[(tableIndex + offset*offset) % this.maxTableSize].data(); // Return the data if key matches
-                    }
-                    offset++; // Increment offset
+        HashTableNode<dataType, keyType> node = this.findNode(key);
+        if (this.counters != null){
+            this.counters.recordGet(this.lastProbeLength, node != null);
+        }
+        if (node != null){
+            return node.data(); // Return the data if key found
+        }
+        return null; // If key not found, return null
+    }
+
+    /** Finds the node holding a key<br>
+     * 
+     * @param key  The key of the entry to find
+     * @return The node holding the key (null if key not found)
+     */
+    private HashTableNode<dataType, keyType> findNode(keyType key){
+        int tableIndex = this.tableIndex(key); // Compute the table index
+        if (this.collisionResolutionMode == chaining){ // Chaining
+            HashTableNode<dataType, keyType> currentChainNode = this.table[tableIndex];
+            this.lastProbeLength = 1;
+            while (currentChainNode != null){ // Traverse the chain until either the required key is found or the chain ends
+                if (currentChainNode.key().equals(key)){ // Check the key of the current node in the chain
+                    return currentChainNode; // Return the node if the key matches
                 }
-            } else if (this.collisionResolutionMode == chaining){ // Chaining
-                HashTableNode<dataType, keyType> currentChainNode = this.table[tableIndex];
-                while (currentChainNode.getChainedNode() != null){ // Traverse the chain until either the required key is found or the chain ends
-                    if (currentChainNode.getChainedNode().key().equals(key)){ // Check the key of the next node in the chain
-                        return currentChainNode.getChainedNode().data(); // Return the data if the key matches
-                    }
-                    currentChainNode = currentChainNode.getChainedNode();
+                currentChainNode = currentChainNode.getChainedNode();
+                if (currentChainNode != null){
+                    this.lastProbeLength++;
                 }
             }
+        } else if (this.collisionResolutionMode == cuckooHashing){ // Cuckoo hashing (check both buckets, then the stash)
+            int probeIndex = this.findCuckooIndex(key, tableIndex);
+            if (probeIndex != -1){
+                return this.table[probeIndex]; // Return the node if key found
+            }
+            int stashIndex = this.findStashIndex(key);
+            if (stashIndex != -1){
+                this.lastProbeLength += stashIndex + 1;
+                return this.cuckooStash[stashIndex]; // Return the node if key found
+            }
+            this.lastProbeLength += this.cuckooStash.length;
+        } else { // Linear/quadratic probing
+            int probeIndex = this.findIndex(key, tableIndex);
+            if (probeIndex != -1){
+                return this.table[probeIndex]; // Return the node if key found
+            }
         }
         return null; // If key not found, return null
     }
 
     /** Removes the entry in the tree with the specified key<br>
+     * Shrinks the table afterwards if the load factor has dropped below the minimum load factor<br>
+     * For linear/quadratic probing the entry's slot is marked as deleted (so probe sequences passing through it are not broken), and the table is rehashed in place once too many slots are marked as deleted<br>
      * 
      * @param key  The key of the entry to remove
      */
     public void delete(keyType key){
-        int tableIndex = Math.abs(key.hashCode()) % maxTableSize; // Compute table index (key hash mod max table size)
-        if (this.table[tableIndex] == null){ // Check if an element exists at the table index
-            return; // Return if key does not exist in table
-        } else if (this.table[tableIndex].key().equals(key)){ // Check if the found element key matches the key to get
-            this.table[tableIndex] = null; // Delete the element if the key matches
-            this.tableSize--; // Decrement table size (number of items stored)
-        } else { // Traverse table using collision resolution method to find the correct key
-            if (this.collisionResolutionMode == linearProbing){ // Linear probing
-                int offset = 1;
-                while ((offset < this.maxTableSize) && (this.table[(tableIndex + offset) % this.maxTableSize] != null)){ // Traverse through the table until there are no more relevant elements to check
-                    if (this.table[(tableIndex + offset) % this.maxTableSize].key().equals(key)){ // Check if the key of the current element matches the requested key
-                        this.table[(tableIndex + offset) % this.maxTableSize] = null; // Delete the element if the key matches
-                        this.tableSize--; // Decrement table size (number of items stored)
-                        break;
-                    }
-                    offset++; // Increment offset
-                }
-            } else if (this.collisionResolutionMode == quadraticProbing){ // Quadratic probing (use offset squared)
-                int offset = 1;
-                while ((offset < this.maxTableSize) && (this.table[(tableIndex + offset*offset) % this.maxTableSize] != null)){ // Traverse through the table until there are no more relevant elements to check
-                    if (this.table[(tableIndex + offset*offset) % this.maxTableSize].key().equals(key)){ // Check if the key of the current element matches the requested key
-                        this.table[(tableIndex + offset*offset) % this.maxTableSize] = null; // Delete the element if the key matches
-                        this.tableSize--; // Decrement table size (number of items stored)
-                        break;
-                    }
-                    offset++; // Increment offset
+        int oldTableSize = this.tableSize;
+        this.deleteEntry(key);
+        if ((this.counters != null) && (this.tableSize < oldTableSize)){ // Only count deletes that removed an entry
+            this.counters.deletes.increment();
+        }
+        if ((this.minLoadFactor > 0) && (this.loadFactor() < this.minLoadFactor) && (this.maxTableSize > this.minTableSize)){ // Shrink the table (but not below its initial size)
+            this.resizeTable(Math.max(this.maxTableSize/2, this.minTableSize));
+        } else if (this.deletedCount > this.maxDeletedRatio*this.maxTableSize){ // Too many deleted slots, rehash in place to clear them
+            this.resizeTable(this.maxTableSize);
+        }
+    }
+
+    /** Removes the entry with the specified key from the table without checking the load factor<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    private void deleteEntry(keyType key){
+        int tableIndex = this.tableIndex(key); // Compute the table index
+        if (this.collisionResolutionMode == chaining){ // Chaining
+            HashTableNode<dataType, keyType> currentChainNode = this.table[tableIndex];
+            if (currentChainNode == null){ // Return if key does not exist in table
+                return;
+            } else if (currentChainNode.key().equals(key)){ // Check the key of the first node in the chain
+                this.table[tableIndex] = currentChainNode.getChainedNode(); // Replace the first node with the rest of the chain
+                this.tableSize--; // Decrement table size (number of items stored)
+                return;
+            }
+            while (currentChainNode.getChainedNode() != null){ // Traverse the chain until either the required key is found or the chain ends
+                if (currentChainNode.getChainedNode().key().equals(key)){ // Check the key of the next node in the chain
+                    currentChainNode.setChainedNode(currentChainNode.getChainedNode().getChainedNode()); // Set the chained node of the current node to the chained node of the chained node of the current node, effectively removing the chained node from the chain, deleting the required element
+                    this.tableSize--; // Decrement table size (number of items stored)
+                    break;
                 }
-            } else if (this.collisionResolutionMode == chaining){ // Chaining
-                HashTableNode<dataType, keyType> currentChainNode = this.table[tableIndex];
-                while (currentChainNode.getChainedNode() != null){ // Traverse the chain until either the required key is found or the chain ends
-                    if (currentChainNode.getChainedNode().key().equals(key)){ // Check the key of the next node in the chain
-                        currentChainNode.setChainedNode(currentChainNode.getChainedNode().getChainedNode()); // Set the chained node of the current node to the chained node of the chained node of the current node, effectively removing the chained node from the chain, deleting the required element
-                        this.tableSize--; // Decrement table size (number of items stored)
-                        break;
-                    }
-                    currentChainNode = currentChainNode.getChainedNode();
+                currentChainNode = currentChainNode.getChainedNode();
+            }
+        } else if (this.collisionResolutionMode == cuckooHashing){ // Cuckoo hashing
+            int probeIndex = this.findCuckooIndex(key, tableIndex);
+            if (probeIndex != -1){ // Buckets are not probe sequences, so the slot can simply be emptied
+                this.table[probeIndex] = null;
+                this.tableSize--; // Decrement table size (number of items stored)
+                return;
+            }
+            int stashIndex = this.findStashIndex(key);
+            if (stashIndex != -1){
+                this.cuckooStash[stashIndex] = null;
+                this.tableSize--; // Decrement table size (number of items stored)
+            }
+        } else if (this.collisionResolutionMode == robinHoodHashing){ // Robin Hood hashing
+            int probeIndex = this.findIndex(key, tableIndex);
+            if (probeIndex != -1){
+                int nextIndex = this.probeIndex(probeIndex, 1);
+                while ((this.table[nextIndex] != null) && (this.table[nextIndex].getProbeDistance() > 0)){ // Shift the following entries back one slot (until an entry in its own table index or an empty slot), so no deleted slot marker is needed
+                    this.table[probeIndex] = this.table[nextIndex];
+                    this.table[probeIndex].setProbeDistance(this.table[probeIndex].getProbeDistance() - 1);
+                    probeIndex = nextIndex;
+                    nextIndex = this.probeIndex(nextIndex, 1);
                 }
+                this.table[probeIndex] = null;
+                this.tableSize--; // Decrement table size (number of items stored)
+            }
+        } else { // Linear/quadratic probing
+            int probeIndex = this.findIndex(key, tableIndex);
+            if (probeIndex != -1){
+                this.table[probeIndex] = this.deletedNode; // Mark the slot as deleted
+                this.tableSize--; // Decrement table size (number of items stored)
+                this.deletedCount++;
+            }
+        }
+    }
+
+    /** Finds the slot holding a key (linear/quadratic probing, Robin Hood hashing)<br>
+     * Deleted slots are skipped over, the search ends at the first empty slot<br>
+     * For Robin Hood hashing the search also ends at the first entry closer to its table index than the key would be (the key would have displaced it)<br>
+     * 
+     * @param key  The key to find
+     * @param tableIndex  The table index of the key (key hash mod max table size)
+     * @return The slot holding the key (-1 if key not found)
+     */
+    private int findIndex(keyType key, int tableIndex){
+        for (int offset = 0; offset < this.maxTableSize; offset++){ // Traverse the probe sequence until there are no more relevant elements to check
+            int probeIndex = this.probeIndex(tableIndex, offset);
+            this.lastProbeLength = offset + 1;
+            if (this.table[probeIndex] == null){ // Empty slot, end of the probe sequence
+                return -1;
+            } else if ((this.collisionResolutionMode == robinHoodHashing) && (this.table[probeIndex].getProbeDistance() < offset)){ // Key is not in the table
+                return -1;
+            } else if ((this.table[probeIndex] != this.deletedNode) && this.table[probeIndex].key().equals(key)){ // Check if the key of the current element matches the requested key
+                return probeIndex;
+            }
+        }
+        return -1;
+    }
+
+    /** Gets the slot at a given offset along the probe sequence of a table index (linear/quadratic probing, Robin Hood hashing uses linear probing)<br>
+     * 
+     * @param tableIndex  The table index (start of the probe sequence)
+     * @param offset  The offset along the probe sequence
+     * @return The slot at the offset
+     */
+    private int probeIndex(int tableIndex, int offset){
+        if (this.indexingMode == powerOfTwoIndexing){ // Power of two table size (mask instead of mod)
+            if (this.collisionResolutionMode != quadraticProbing){ // Linear probing
+                return (tableIndex + offset) & (this.maxTableSize - 1);
+            } else { // Quadratic probing (use triangular numbers, which visit every slot of a power of two table)
+                return (int)((tableIndex + (long)offset*(offset + 1)/2) & (this.maxTableSize - 1));
             }
+        } else if (this.collisionResolutionMode != quadraticProbing){ // Linear probing
+            return (tableIndex + offset) % this.maxTableSize;
+        } else { // Quadratic probing (use offset squared)
+            return (int)((tableIndex + (long)offset*offset) % this.maxTableSize);
+        }
+    }
+
+    /** Sets the ratio of deleted slots (linear/quadratic probing) above which the table is rehashed in place<br>
+     * 
+     * @param ratio  The maximum ratio of deleted slots to table size
+     */
+    public void setMaxDeletedRatio(float ratio){
+        if ((ratio <= 0) || (ratio > 1)){
+            throw new RuntimeException("Deleted slot ratio must be greater than 0 and at most 1");
         }
+        this.maxDeletedRatio = ratio;
+    }
+
+    /** Gets the number of entries in the table<br>
+     * 
+     * @return The number of entries
+     */
+    public int size(){
+        return this.tableSize;
     }
 
     /** Gets the load factor of the table<br>
@@ -238,37 +811,135 @@ public class HashTable<dataType, keyType extends Comparable<keyType>>{
         return (float)this.tableSize/this.maxTableSize;
     }
 
-    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    /** Enables or disables recording statistics (enabling discards any statistics recorded before)<br>
+     * Recording adds a few counter increments to each operation, and is off by default<br>
+     * 
+     * @param enabled  Whether to record statistics
+     */
+    public void setStatisticsEnabled(boolean enabled){
+        if (enabled){
+            this.counters = new HashTableStatistics.Counters();
+        } else {
+            this.counters = null;
+        }
+    }
+
+    /** Gets a snapshot of the table's statistics<br>
+     * Counts every slot's contents, so takes time linear in the table size<br>
+     * 
+     * @return The statistics recorded since they were enabled, and the current table shape
+     */
+    public HashTableStatistics statistics() throws java.lang.RuntimeException {
+        if (this.counters == null){
+            throw new RuntimeException("Statistics are not enabled");
+        }
+        int emptySlots = 0;
+        long[] chainLengths = new long[0];
+        if (this.collisionResolutionMode == chaining){
+            chainLengths = new long[HashTableStatistics.maxChainLength + 1];
+        }
+        for (int i = 0; i < this.maxTableSize; i++){
+            if (this.table[i] == null){
+                emptySlots++;
+            }
+            if (this.collisionResolutionMode == chaining){ // Measure the chain
+                int chainLength = 0;
+                HashTableNode<dataType, keyType> currentChainNode = this.table[i];
+                while (currentChainNode != null){
+                    chainLength++;
+                    currentChainNode = currentChainNode.getChainedNode();
+                }
+                chainLengths[Math.min(chainLength, HashTableStatistics.maxChainLength)]++;
+            }
+        }
+        return new HashTableStatistics(this.collisionResolutionMode, this.maxTableSize, this.tableSize, emptySlots, this.deletedCount, chainLengths, this.counters);
+    }
+
     /** Expands the table and re-inserts all the data elements<br>
-     * The new table size must be prime, or the next prime number will be used instead<br>
+     * The new table size must be prime (or a power of two), or the next prime number (or power of two) will be used instead<br>
      * 
      * @param newSize  The new table size
      */
     public void expandTable(int newSize){
         if (newSize > this.maxTableSize){
-            newSize = nextPrime(newSize); // Ensure the new size is a prime number
-            HashTableNode<dataType, keyType>[] oldTable = this.table;
-            int oldTableSize = this.maxTableSize;
-
-            this.maxTableSize = newSize;
-            this.table = (HashTableNode<dataType, keyType>[]) Array.newInstance(new HashTableNode<dataType, keyType>(null, null).getClass(), this.maxTableSize); // Create new table array
-
-            for (int i = 0; i < oldTableSize; i++){ // Iterate through every element in the old table
-                if (oldTable[i] != null){ // If the element is not null, add it to the new table
-                    this.insert(oldTable[i].key(), oldTable[i].data());
-                    if (this.collisionResolutionMode == chaining){ // If chaining collision resolution is used, add any nodes in the chain to the new table
-                        HashTableNode<dataType, keyType> currentChainNode = oldTable[i];
-                        while (currentChainNode.getChainedNode() != null){
-                            this.insert(currentChainNode.getChainedNode().key(), currentChainNode.getChainedNode().data());
-                            currentChainNode = currentChainNode.getChainedNode();
-                        }
-                    }
+            this.resizeTable(newSize);
+        } else {
+            throw new RuntimeException("New table size must be larger than current table size");
+        }
+    }
+
+    /** Resizes the table and re-inserts all the data elements (clearing any deleted slots)<br>
+     * The new table size must be prime (or a power of two), or the next prime number (or power of two) will be used instead (the same size rehashes the table in place)<br>
+     * If an entry cannot be re-inserted (quadratic probing above a load factor of 0.5 may not reach a free slot), the old table is kept and a larger table is tried instead, so no entries are lost<br>
+     * 
+     * @param newSize  The new table size
+     */
+    private void resizeTable(int newSize){
+        long startTime = 0;
+        if (this.counters != null){
+            startTime = System.nanoTime();
+        }
+        newSize = this.validTableSize(newSize); // Ensure the new size is a prime number (or power of two)
+        HashTableNode<dataType, keyType>[] oldTable = this.table;
+        HashTableNode<dataType, keyType>[] oldStash = this.cuckooStash;
+        int oldTableSize = this.maxTableSize;
+        int oldEntryCount = this.tableSize;
+        int oldDeletedCount = this.deletedCount;
+
+        while (!this.rebuildTable(oldTable, oldStash, oldTableSize, newSize)){ // An entry did not fit, restore the old table and try a larger one
+            this.table = oldTable;
+            this.cuckooStash = oldStash;
+            this.maxTableSize = oldTableSize;
+            this.tableSize = oldEntryCount;
+            this.deletedCount = oldDeletedCount;
+            if (newSize >= maxTableCapacity){
+                throw new RuntimeException("Hash Table cannot grow any larger");
+            }
+            newSize = this.validTableSize((int)Math.min(2L*Math.max(newSize, oldTableSize), maxTableCapacity));
+        }
+        if (this.counters != null){
+            this.counters.recordResize(System.nanoTime() - startTime);
+        }
+    }
+
+    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    /** Replaces the table with a new table and inserts the entries of an old table into it (the old table is not changed)<br>
+     * 
+     * @param oldTable  The old table
+     * @param oldStash  The old stash (for cuckoo hashing collision resolution)
+     * @param oldTableSize  The size of the old table
+     * @param newSize  The size of the new table (a valid table size)
+     * @return Whether every entry was inserted (false if an entry found no free slot, leaving the new table incomplete)
+     */
+    private boolean rebuildTable(HashTableNode<dataType, keyType>[] oldTable, HashTableNode<dataType, keyType>[] oldStash, int oldTableSize, int newSize){
+        this.maxTableSize = newSize;
+        this.table = (HashTableNode<dataType, keyType>[]) Array.newInstance(new HashTableNode<dataType, keyType>(null, null).getClass(), this.maxTableSize); // Create new table array
+        this.tableSize = 0;
+        this.deletedCount = 0;
+        if (this.collisionResolutionMode == cuckooHashing){ // Empty the stash (keeping its size, a grown stash holds keys no hash function can separate)
+            this.cuckooStash = (HashTableNode<dataType, keyType>[]) Array.newInstance(this.deletedNode.getClass(), oldStash.length);
+            for (int i = 0; i < oldStash.length; i++){ // Re-insert the old stash entries first
+                if (oldStash[i] != null){
+                    this.insertEntry(oldStash[i].key(), oldStash[i].data()); // Cuckoo hashing always places an entry (rehashing if needed)
                 }
             }
+        }
 
-        } else {
-            throw new RuntimeException("New table size must be larger than current table size");
+        for (int i = 0; i < oldTableSize; i++){ // Iterate through every element in the old table
+            if ((oldTable[i] != null) && (oldTable[i] != this.deletedNode)){ // If the element is not null (or deleted), add it to the new table
+                if (!this.insertEntry(oldTable[i].key(), oldTable[i].data())){ // Only possible for quadratic probing above a load factor of 0.5
+                    return false;
+                }
+                if (this.collisionResolutionMode == chaining){ // If chaining collision resolution is used, add any nodes in the chain to the new table
+                    HashTableNode<dataType, keyType> currentChainNode = oldTable[i];
+                    while (currentChainNode.getChainedNode() != null){
+                        this.insertEntry(currentChainNode.getChainedNode().key(), currentChainNode.getChainedNode().data());
+                        currentChainNode = currentChainNode.getChainedNode();
+                    }
+                }
+            }
         }
+        return true;
     }
 
     /** Returns the contents of the table as a string, with each data element on a new line (the data elements must have toString methods)<br>
@@ -277,8 +948,15 @@ public class HashTable<dataType, keyType extends Comparable<keyType>>{
      */
     public String toString(){
         String str = "";
+        if (this.collisionResolutionMode == cuckooHashing){ // Add the stash entries to the string
+            for (int i = 0; i < this.cuckooStash.length; i++){
+                if (this.cuckooStash[i] != null){
+                    str = str + this.cuckooStash[i].data().toString() + "\n";
+                }
+            }
+        }
         for (int i = 0; i < this.maxTableSize; i++){ // Iterate through every element in the table
-            if (this.table[i] != null){ // If the element is not null, add it to the string
+            if ((this.table[i] != null) && (this.table[i] != this.deletedNode)){ // If the element is not null (or deleted), add it to the string
                 str = str + this.table[i].data().toString() + "\n";
                 if (this.collisionResolutionMode == chaining){ // If chaining collision resolution is used, add any nodes in the chain to the string
                     HashTableNode<dataType, keyType> currentChainNode = this.table[i];
@@ -312,6 +990,9 @@ class HashTableNode<dataType, keyType extends Comparable<keyType>>{
     /** Next node in chain (for chaining collision resolution) */
     private HashTableNode<dataType, keyType> chainedNode;
 
+    /** Distance of the node's slot from its table index (for Robin Hood hashing collision resolution) */
+    private int probeDistance;
+
     /** Creates a new HashTableNode object<br>
      * 
      * @param nodeKey  The node's key
@@ -354,4 +1035,20 @@ class HashTableNode<dataType, keyType extends Comparable<keyType>>{
         this.chainedNode = node;
     }
 
-}
\ No newline at end of file
+    /** Gets the distance of the node's slot from its table index (for Robin Hood hashing collision resolution)
+     * 
+     * @return The probe distance
+     */
+    public int getProbeDistance(){
+        return this.probeDistance;
+    }
+
+    /** Sets the distance of the node's slot from its table index (for Robin Hood hashing collision resolution)
+     * 
+     * @param distance  The probe distance
+     */
+    public void setProbeDistance(int distance){
+        this.probeDistance = distance;
+    }
+
+}
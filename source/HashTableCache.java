@@ -0,0 +1,731 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Hash Table Cache
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.lang.Math;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * <h2>HashTableCache</h2>
+ * A size bounded cache built on a HashTable, which evicts entries to stay within its maximum size<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used<br><br>
+ * The size is the number of entries, or the total weight of the entries if a weight function is given (e.g. the number of bytes an entry uses)<br>
+ * The entries are linked in doubly linked lists in recency order (through the entries themselves, so no list nodes are allocated), so finding and evicting an entry is O(1)<br>
+ * Two eviction policies are available:<br>
+ * - LRU: evicts the least recently used entry<br>
+ * - TinyLFU: new entries go into a small LRU window (1% of the size), and an entry leaving the window is only admitted to the main LRU area (split into probation and protected segments) if its key has been used more often than the entry it would evict, estimated with a count-min sketch that halves its counts periodically (so old popularity fades)<br>
+ * TinyLFU keeps frequently used entries through a scan or a burst of one-off keys, which flush an LRU cache<br>
+ * Entries can expire after a time to live, an expired entry is removed when it is next looked up (or by removeExpired)<br>
+ * Gets update the recency order, so the cache is not thread safe even for reads<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class HashTableCache<dataType, keyType extends Comparable<keyType>>{
+
+    /** Least recently used eviction */
+    public static final int lruEviction = 1;
+    /** TinyLFU admission (windowed LRU with frequency based admission to the main area) */
+    public static final int tinyLfuEviction = 2;
+
+    /** Percentage of the maximum size used by the window (TinyLFU) */
+    private static final int windowPercentage = 1;
+    /** Percentage of the main area used by the protected segment (TinyLFU) */
+    private static final int protectedPercentage = 80;
+
+    /** Entry lookup table */
+    private final HashTable<HashTableCacheEntry<dataType, keyType>, keyType> table;
+
+    /** Eviction policy */
+    private final int evictionPolicy;
+
+    /** Maximum total weight of the entries */
+    private final long maxWeight;
+    /** Maximum total weight of the window (the whole cache for LRU eviction) */
+    private final long windowMaxWeight;
+    /** Maximum total weight of the protected segment */
+    private final long protectedMaxWeight;
+
+    /** Entry weight function (null if every entry weighs 1) */
+    private final ToIntBiFunction<keyType, dataType> weigher;
+
+    /** Key use frequency estimates (TinyLFU) */
+    private final FrequencySketch sketch;
+
+    /** Window list head (sentinel, the least recently used entry follows it) */
+    private final HashTableCacheEntry<dataType, keyType> window;
+    /** Probation segment list head (sentinel) */
+    private final HashTableCacheEntry<dataType, keyType> probation;
+    /** Protected segment list head (sentinel) */
+    private final HashTableCacheEntry<dataType, keyType> protectedSegment;
+
+    /** Total weight of the window */
+    private long windowWeight;
+    /** Total weight of the probation segment */
+    private long probationWeight;
+    /** Total weight of the protected segment */
+    private long protectedWeight;
+
+    /** Time to live of entries inserted without one (nanoseconds, 0 if they do not expire) */
+    private long defaultTimeToLive;
+
+    /** Number of gets that found an entry */
+    private long hits;
+    /** Number of gets that did not find an entry (including expired entries) */
+    private long misses;
+    /** Number of entries evicted to stay within the maximum size */
+    private long evictions;
+    /** Number of expired entries removed */
+    private long expirations;
+
+    /** Creates a new HashTableCache object with a maximum number of entries and LRU eviction<br>
+     * 
+     * @param maxEntries  The maximum number of entries
+     */
+    public HashTableCache(int maxEntries){
+        this(maxEntries, lruEviction, null);
+    }
+
+    /** Creates a new HashTableCache object with a maximum number of entries and an eviction policy<br>
+     * 
+     * @param maxEntries  The maximum number of entries
+     * @param evictionPolicy  The eviction policy to use (LRU or TinyLFU)
+     */
+    public HashTableCache(int maxEntries, int evictionPolicy){
+        this(maxEntries, evictionPolicy, null);
+    }
+
+    /** Creates a new HashTableCache object with a maximum total weight, an eviction policy and a weight function<br>
+     * 
+     * @param maxWeight  The maximum total weight of the entries (the maximum number of entries if there is no weight function)
+     * @param evictionPolicy  The eviction policy to use (LRU or TinyLFU)
+     * @param weigher  The weight function, giving the (non-negative) weight of an entry from its key and data (null to give every entry a weight of 1, entries weighing 0 do not count towards the maximum weight, but are still evicted in order with the others)
+     */
+    public HashTableCache(long maxWeight, int evictionPolicy, ToIntBiFunction<keyType, dataType> weigher) throws java.lang.RuntimeException {
+        if ((evictionPolicy == lruEviction) || (evictionPolicy == tinyLfuEviction)){ // Check that a valid eviction policy is chosen
+            this.evictionPolicy = evictionPolicy;
+        } else {
+            throw new RuntimeException("Invalid eviction policy selected");
+        }
+        if (maxWeight < 1){
+            throw new RuntimeException("Maximum size must be at least 1");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        if (evictionPolicy == tinyLfuEviction){
+            this.windowMaxWeight = Math.max(maxWeight*windowPercentage/100, 1);
+            this.protectedMaxWeight = (maxWeight - this.windowMaxWeight)*protectedPercentage/100;
+            this.sketch = new FrequencySketch((int)Math.min(maxWeight, 1 << 22)); // Weights may be much larger than the entry count (e.g. bytes), so the sketch size is capped
+        } else {
+            this.windowMaxWeight = maxWeight;
+            this.protectedMaxWeight = 0;
+            this.sketch = null;
+        }
+        this.table = new HashTable<HashTableCacheEntry<dataType, keyType>, keyType>(16, HashTable.linearProbing, HashTable.powerOfTwoIndexing); // Grows as entries are inserted
+        this.window = new HashTableCacheEntry<dataType, keyType>(null, null);
+        this.probation = new HashTableCacheEntry<dataType, keyType>(null, null);
+        this.protectedSegment = new HashTableCacheEntry<dataType, keyType>(null, null);
+        this.window.setPrevious(this.window); // Empty lists link their head to itself
+        this.window.setNext(this.window);
+        this.probation.setPrevious(this.probation);
+        this.probation.setNext(this.probation);
+        this.protectedSegment.setPrevious(this.protectedSegment);
+        this.protectedSegment.setNext(this.protectedSegment);
+    }
+
+    /** Sets the time to live of entries inserted without one (does not change entries already in the cache)<br>
+     * 
+     * @param timeToLive  The time to live in milliseconds (0 for entries that do not expire, times over about 292 years are treated as 292 years)
+     */
+    public void setDefaultTimeToLive(long timeToLive){
+        this.defaultTimeToLive = toNanoseconds(timeToLive);
+    }
+
+    /** Converts a time to live to nanoseconds, saturating rather than overflowing<br>
+     * 
+     * @param timeToLive  The time to live in milliseconds
+     * @return The time to live in nanoseconds (at most Long.MAX_VALUE)
+     */
+    private static long toNanoseconds(long timeToLive) throws java.lang.RuntimeException {
+        if (timeToLive < 0){
+            throw new RuntimeException("Time to live must not be negative");
+        }
+        try {
+            return Math.multiplyExact(timeToLive, 1000000L);
+        } catch (ArithmeticException e){ // Longer than a nanosecond count can hold, which is longer than System.nanoTime can measure anyway
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /** Inserts an entry into the cache, or replaces the data of the entry with its key, with the default time to live<br>
+     * Evicts entries if the cache is then over its maximum size<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     */
+    public void insert(keyType key, dataType data){
+        this.insertEntry(key, data, this.defaultTimeToLive);
+    }
+
+    /** Inserts an entry into the cache, or replaces the data of the entry with its key, with a time to live<br>
+     * Evicts entries if the cache is then over its maximum size<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     * @param timeToLive  The time after which the entry expires, in milliseconds (0 for an entry that does not expire, times over about 292 years are treated as 292 years)
+     */
+    public void insert(keyType key, dataType data, long timeToLive){
+        this.insertEntry(key, data, toNanoseconds(timeToLive));
+    }
+
+    /** Inserts or replaces an entry<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     * @param timeToLive  The time to live in nanoseconds (0 if the entry does not expire)
+     */
+    private void insertEntry(keyType key, dataType data, long timeToLive){
+        int weight = 1;
+        if (this.weigher != null){
+            weight = this.weigher.applyAsInt(key, data);
+            if (weight < 0){
+                throw new RuntimeException("Entry weight must not be negative");
+            }
+        }
+        if (this.sketch != null){
+            this.sketch.increment(key.hashCode());
+        }
+
+        HashTableCacheEntry<dataType, keyType> entry = this.table.get(key);
+        if (weight > this.maxWeight){ // The entry could never fit, do not cache it (and drop any older data for the key)
+            if (entry != null){
+                this.removeEntry(entry);
+            }
+            this.evictions++;
+            return;
+        }
+        if (entry == null){ // New entry, goes in the window
+            entry = new HashTableCacheEntry<dataType, keyType>(key, data);
+            entry.setWeight(weight);
+            this.table.insert(key, entry);
+            this.linkLast(this.window, entry);
+        } else { // Replace the data, and count the use
+            this.unlink(entry);
+            entry.setData(data);
+            entry.setWeight(weight);
+            this.linkLast(entry.getSegment(), entry);
+            this.recordUse(entry);
+        }
+        if (timeToLive > 0){
+            entry.setExpiryTime(System.nanoTime() + timeToLive); // May wrap around, expiry compares the difference of the times (as System.nanoTime requires)
+        } else {
+            entry.setExpiryTime(0);
+        }
+        this.evict();
+    }
+
+    /** Gets the data located at the specified key in the cache, and marks the entry as used<br>
+     * 
+     * @param key  The key of the entry to find
+     * @return Data at the specified key (null if key not found or the entry has expired)
+     */
+    public dataType get(keyType key){
+        if (this.sketch != null){ // Misses count too, so a key that keeps being looked up is admitted once it is inserted
+            this.sketch.increment(key.hashCode());
+        }
+        HashTableCacheEntry<dataType, keyType> entry = this.table.get(key);
+        if ((entry != null) && entry.isExpired(System.nanoTime())){ // Remove the expired entry
+            this.removeEntry(entry);
+            this.expirations++;
+            entry = null;
+        }
+        if (entry == null){
+            this.misses++;
+            return null;
+        }
+        this.hits++;
+        this.recordUse(entry);
+        return entry.data();
+    }
+
+    /** Removes the entry in the cache with the specified key (if there is one)<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    public void delete(keyType key){
+        HashTableCacheEntry<dataType, keyType> entry = this.table.get(key);
+        if (entry != null){
+            this.removeEntry(entry);
+        }
+    }
+
+    /** Removes every expired entry (entries are otherwise only removed when they are looked up after expiring)<br>
+     * Checks every entry, so takes time linear in the number of entries<br>
+     * 
+     * @return The number of entries removed
+     */
+    public int removeExpired(){
+        long now = System.nanoTime();
+        int removed = this.removeExpired(this.window, now) + this.removeExpired(this.probation, now) + this.removeExpired(this.protectedSegment, now);
+        this.expirations += removed;
+        return removed;
+    }
+
+    /** Removes the expired entries of a list<br>
+     * 
+     * @param segment  The head (sentinel) of the list
+     * @param now  The current time (System.nanoTime)
+     * @return The number of entries removed
+     */
+    private int removeExpired(HashTableCacheEntry<dataType, keyType> segment, long now){
+        int removed = 0;
+        HashTableCacheEntry<dataType, keyType> entry = segment.getNext();
+        while (entry != segment){
+            HashTableCacheEntry<dataType, keyType> nextEntry = entry.getNext();
+            if (entry.isExpired(now)){
+                this.removeEntry(entry);
+                removed++;
+            }
+            entry = nextEntry;
+        }
+        return removed;
+    }
+
+    /** Moves an entry to the most recently used end of its list, promoting it from probation to protected (TinyLFU)<br>
+     * 
+     * @param entry  The entry that was used
+     */
+    private void recordUse(HashTableCacheEntry<dataType, keyType> entry){
+        this.unlink(entry);
+        if (entry.getSegment() == this.probation){ // Used again while on probation, protect it
+            this.linkLast(this.protectedSegment, entry);
+            while (this.protectedWeight > this.protectedMaxWeight){ // Demote the least recently used protected entries back to probation
+                HashTableCacheEntry<dataType, keyType> demoted = this.protectedSegment.getNext();
+                this.unlink(demoted);
+                this.linkLast(this.probation, demoted);
+            }
+        } else {
+            this.linkLast(entry.getSegment(), entry);
+        }
+    }
+
+    /** Evicts entries until the cache is within its maximum size<br>
+     * For TinyLFU, entries leaving the window compete with the probation segment's least recently used entry, and the less frequently used of the two is evicted<br>
+     */
+    private void evict(){
+        if (this.evictionPolicy == lruEviction){
+            while (this.windowWeight > this.windowMaxWeight){
+                this.evictEntry(this.window.getNext());
+            }
+            return;
+        }
+
+        long mainMaxWeight = this.maxWeight - this.windowMaxWeight;
+        while (this.windowWeight > this.windowMaxWeight){ // Move the window's least recently used entries towards the main area
+            HashTableCacheEntry<dataType, keyType> candidate = this.window.getNext();
+            this.unlink(candidate);
+            int candidateFrequency = this.sketch.frequency(candidate.key().hashCode());
+            if (candidate.getWeight() > mainMaxWeight){ // Could never fit, do not evict anything for it
+                this.evictEntry(candidate);
+                candidate = null;
+            }
+            while ((candidate != null) && (this.probationWeight + this.protectedWeight + candidate.getWeight() > mainMaxWeight)){ // Make room, or reject the candidate
+                HashTableCacheEntry<dataType, keyType> victim = this.probation.getNext();
+                if (victim == this.probation){ // Probation is empty, fall back to the protected segment
+                    victim = this.protectedSegment.getNext();
+                }
+                if ((victim == this.protectedSegment) || (candidateFrequency <= this.sketch.frequency(victim.key().hashCode()))){ // The candidate loses (or cannot fit at all)
+                    this.evictEntry(candidate);
+                    candidate = null;
+                } else {
+                    this.evictEntry(victim);
+                }
+            }
+            if (candidate != null){ // Admitted
+                this.linkLast(this.probation, candidate);
+            }
+        }
+        while (this.probationWeight + this.protectedWeight > mainMaxWeight){ // Replaced data may have made main area entries heavier
+            HashTableCacheEntry<dataType, keyType> victim = this.probation.getNext();
+            if (victim == this.probation){
+                victim = this.protectedSegment.getNext();
+            }
+            this.evictEntry(victim);
+        }
+    }
+
+    /** Evicts an entry (counting the eviction)<br>
+     * 
+     * @param entry  The entry to evict
+     */
+    private void evictEntry(HashTableCacheEntry<dataType, keyType> entry){
+        this.removeEntry(entry);
+        this.evictions++;
+    }
+
+    /** Removes an entry from the table and its list (if it is in one)<br>
+     * 
+     * @param entry  The entry to remove
+     */
+    private void removeEntry(HashTableCacheEntry<dataType, keyType> entry){
+        if (entry.getNext() != null){ // Not in a list while it is being admitted (TinyLFU)
+            this.unlink(entry);
+        }
+        this.table.delete(entry.key());
+    }
+
+    /** Adds an entry at the most recently used end of a list<br>
+     * 
+     * @param segment  The head (sentinel) of the list
+     * @param entry  The entry to add
+     */
+    private void linkLast(HashTableCacheEntry<dataType, keyType> segment, HashTableCacheEntry<dataType, keyType> entry){
+        HashTableCacheEntry<dataType, keyType> lastEntry = segment.getPrevious();
+        entry.setPrevious(lastEntry);
+        entry.setNext(segment);
+        lastEntry.setNext(entry);
+        segment.setPrevious(entry);
+        entry.setSegment(segment);
+        this.addWeight(segment, entry.getWeight());
+    }
+
+    /** Removes an entry from its list (it keeps its segment, so it can be relinked into the same list)<br>
+     * 
+     * @param entry  The entry to remove
+     */
+    private void unlink(HashTableCacheEntry<dataType, keyType> entry){
+        entry.getPrevious().setNext(entry.getNext());
+        entry.getNext().setPrevious(entry.getPrevious());
+        entry.setPrevious(null);
+        entry.setNext(null);
+        this.addWeight(entry.getSegment(), -entry.getWeight());
+    }
+
+    /** Adds to the total weight of a list<br>
+     * 
+     * @param segment  The head (sentinel) of the list
+     * @param weight  The weight to add (negative to subtract)
+     */
+    private void addWeight(HashTableCacheEntry<dataType, keyType> segment, long weight){
+        if (segment == this.window){
+            this.windowWeight += weight;
+        } else if (segment == this.probation){
+            this.probationWeight += weight;
+        } else {
+            this.protectedWeight += weight;
+        }
+    }
+
+    /** Gets the number of entries in the cache (including expired entries not yet removed)<br>
+     * 
+     * @return The number of entries
+     */
+    public int size(){
+        return this.table.size();
+    }
+
+    /** Gets the total weight of the entries in the cache (the number of entries if there is no weight function)<br>
+     * 
+     * @return The total weight
+     */
+    public long weight(){
+        return this.windowWeight + this.probationWeight + this.protectedWeight;
+    }
+
+    /** Gets the maximum total weight of the entries<br>
+     * 
+     * @return The maximum weight (the maximum number of entries if there is no weight function)
+     */
+    public long maxWeight(){
+        return this.maxWeight;
+    }
+
+    /** Gets the number of gets that found an entry<br>
+     * 
+     * @return The number of hits
+     */
+    public long hits(){
+        return this.hits;
+    }
+
+    /** Gets the number of gets that did not find an entry (including gets of expired entries)<br>
+     * 
+     * @return The number of misses
+     */
+    public long misses(){
+        return this.misses;
+    }
+
+    /** Gets the fraction of gets that found an entry<br>
+     * 
+     * @return The hit rate (0 if there were no gets)
+     */
+    public double hitRate(){
+        if (this.hits + this.misses == 0){
+            return 0;
+        }
+        return (double)this.hits/(this.hits + this.misses);
+    }
+
+    /** Gets the number of entries evicted to stay within the maximum size (including entries too heavy to cache)<br>
+     * 
+     * @return The number of evictions
+     */
+    public long evictions(){
+        return this.evictions;
+    }
+
+    /** Gets the number of expired entries removed<br>
+     * 
+     * @return The number of expirations
+     */
+    public long expirations(){
+        return this.expirations;
+    }
+
+    /** Resets the hit, miss, eviction and expiration counts to zero<br>
+     */
+    public void resetCounters(){
+        this.hits = 0;
+        this.misses = 0;
+        this.evictions = 0;
+        this.expirations = 0;
+    }
+
+    /**
+     * A count-min sketch of 4 bit counters, estimating how often each key has been used (for TinyLFU)<br>
+     * Each key has a counter in each of 4 rows, and its estimate is the smallest of them (so collisions can only overestimate)<br>
+     * Once the number of increments reaches 10 times the number of expected keys, every counter is halved, so the estimates favour recent use<br>
+     */
+    private static class FrequencySketch{
+
+        /** Seeds of the 4 row hashes */
+        private static final int[] seeds = {0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0x3c6ef372};
+        /** Mask keeping the low 3 bits of every 4 bit counter (halving a long of counters shifts bits between them otherwise) */
+        private static final long halvingMask = 0x7777777777777777L;
+
+        /** Counters (16 per long) */
+        private final long[] table;
+        /** Number of increments after which the counters are halved */
+        private final int sampleSize;
+        /** Number of increments since the counters were last halved */
+        private int increments;
+
+        /**
+         * Creates a new sketch with every count zero<br>
+         * 
+         * @param expectedKeys  The number of keys expected to be tracked (the cache size)
+         */
+        FrequencySketch(int expectedKeys){
+            this.table = new long[HashTable.nextPowerOfTwo(Math.max(expectedKeys/4, 8))]; // 4 counters per expected key
+            this.sampleSize = 10*Math.max(expectedKeys, 1);
+        }
+
+        /**
+         * Gets the index of a key's counter in a row<br>
+         * 
+         * @param hash  The key's hash code
+         * @param row  The row
+         * @return The counter index (long index * 16 + counter within the long)
+         */
+        private int counterIndex(int hash, int row){
+            return HashTable.mixHash(hash ^ seeds[row]) & ((this.table.length << 4) - 1);
+        }
+
+        /**
+         * Counts a use of a key<br>
+         * 
+         * @param hash  The key's hash code
+         */
+        void increment(int hash){
+            boolean incremented = false;
+            for (int row = 0; row < 4; row++){
+                int index = this.counterIndex(hash, row);
+                int shift = (index & 15) << 2;
+                if (((this.table[index >>> 4] >>> shift) & 15) < 15){ // Counters saturate at 15
+                    this.table[index >>> 4] += 1L << shift;
+                    incremented = true;
+                }
+            }
+            if (incremented){
+                this.increments++;
+                if (this.increments >= this.sampleSize){ // Age the counts
+                    for (int i = 0; i < this.table.length; i++){
+                        this.table[i] = (this.table[i] >>> 1) & halvingMask;
+                    }
+                    this.increments /= 2;
+                }
+            }
+        }
+
+        /**
+         * Estimates how often a key has been used<br>
+         * 
+         * @param hash  The key's hash code
+         * @return The estimated use count (at most 15)
+         */
+        int frequency(int hash){
+            int frequency = 15;
+            for (int row = 0; row < 4; row++){
+                int index = this.counterIndex(hash, row);
+                frequency = Math.min(frequency, (int)((this.table[index >>> 4] >>> ((index & 15) << 2)) & 15));
+            }
+            return frequency;
+        }
+
+    }
+
+}
+
+/**
+ * <h2>HashTableCacheEntry</h2>
+ * An entry of a HashTableCache, linked into one of the cache's recency lists<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+class HashTableCacheEntry<dataType, keyType>{
+
+    /** Entry key */
+    private keyType key;
+
+    /** Entry data */
+    private dataType data;
+
+    /** Entry weight */
+    private int weight;
+
+    /** Time the entry expires (System.nanoTime, 0 if it does not expire) */
+    private long expiryTime;
+
+    /** Previous (less recently used) entry in the list */
+    private HashTableCacheEntry<dataType, keyType> previous;
+
+    /** Next (more recently used) entry in the list */
+    private HashTableCacheEntry<dataType, keyType> next;
+
+    /** Head (sentinel) of the list the entry belongs to */
+    private HashTableCacheEntry<dataType, keyType> segment;
+
+    /** Creates a new HashTableCacheEntry object<br>
+     * 
+     * @param entryKey  The entry's key
+     * @param entryData  The entry's data
+     */
+    public HashTableCacheEntry(keyType entryKey, dataType entryData){
+        this.key = entryKey;
+        this.data = entryData;
+    }
+
+    /** Gets the key of the entry<br>
+     * 
+     * @return The key of the entry
+     */
+    public keyType key(){
+        return this.key;
+    }
+
+    /** Gets the data of the entry<br>
+     * 
+     * @return The data of the entry
+     */
+    public dataType data(){
+        return this.data;
+    }
+
+    /** Sets the data of the entry<br>
+     * 
+     * @param entryData  The data of the entry
+     */
+    public void setData(dataType entryData){
+        this.data = entryData;
+    }
+
+    /** Gets the weight of the entry<br>
+     * 
+     * @return The weight
+     */
+    public int getWeight(){
+        return this.weight;
+    }
+
+    /** Sets the weight of the entry (only while it is not in a list, so the list weights stay correct)<br>
+     * 
+     * @param weight  The weight
+     */
+    public void setWeight(int weight){
+        this.weight = weight;
+    }
+
+    /** Sets the time the entry expires<br>
+     * 
+     * @param time  The expiry time (System.nanoTime, 0 if it does not expire)
+     */
+    public void setExpiryTime(long time){
+        this.expiryTime = time;
+    }
+
+    /** Checks whether the entry has expired<br>
+     * 
+     * @param now  The current time (System.nanoTime)
+     * @return Whether the entry has expired
+     */
+    public boolean isExpired(long now){
+        return (this.expiryTime != 0) && (now - this.expiryTime >= 0);
+    }
+
+    /** Gets the previous (less recently used) entry in the list<br>
+     * 
+     * @return The previous entry
+     */
+    public HashTableCacheEntry<dataType, keyType> getPrevious(){
+        return this.previous;
+    }
+
+    /** Sets the previous (less recently used) entry in the list<br>
+     * 
+     * @param entry  The previous entry
+     */
+    public void setPrevious(HashTableCacheEntry<dataType, keyType> entry){
+        this.previous = entry;
+    }
+
+    /** Gets the next (more recently used) entry in the list<br>
+     * 
+     * @return The next entry
+     */
+    public HashTableCacheEntry<dataType, keyType> getNext(){
+        return this.next;
+    }
+
+    /** Sets the next (more recently used) entry in the list<br>
+     * 
+     * @param entry  The next entry
+     */
+    public void setNext(HashTableCacheEntry<dataType, keyType> entry){
+        this.next = entry;
+    }
+
+    /** Gets the head (sentinel) of the list the entry belongs to<br>
+     * 
+     * @return The list head
+     */
+    public HashTableCacheEntry<dataType, keyType> getSegment(){
+        return this.segment;
+    }
+
+    /** Sets the head (sentinel) of the list the entry belongs to<br>
+     * 
+     * @param segment  The list head
+     */
+    public void setSegment(HashTableCacheEntry<dataType, keyType> segment){
+        this.segment = segment;
+    }
+
+}
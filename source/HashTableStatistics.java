@@ -0,0 +1,411 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Hash Table Statistics
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>HashTableStatistics</h2>
+ * A snapshot of a HashTable's statistics (see HashTable.setStatisticsEnabled), which does not change after it is taken<br>
+ * Operation counts and probe lengths are counted from when statistics were enabled, the table shape (load, empty/deleted slots, chain lengths) is measured when the snapshot is taken<br>
+ * A probe length is the number of slots (or chain nodes, or cuckoo bucket/stash slots) examined by an operation<br>
+ * Probe lengths are kept as histograms with power of two buckets: bucket 0 counts probe length 0, bucket b counts probe lengths up to 2^(b-1) (above the previous bucket's limit), and the last bucket counts every longer probe length<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class HashTableStatistics{
+
+    /** Number of buckets in the probe length histograms */
+    public static final int histogramBuckets = 16;
+    /** Longest chain length counted separately in the chain length distribution (longer chains are counted with it) */
+    public static final int maxChainLength = 16;
+
+    /** Collision resolution mode of the table */
+    private final int collisionResolution;
+    /** Number of slots in the table */
+    private final int slots;
+    /** Number of entries in the table */
+    private final int entries;
+    /** Number of empty slots */
+    private final int emptySlots;
+    /** Number of slots marked as deleted */
+    private final int deletedSlots;
+    /** Number of chains of each length (chaining collision resolution only) */
+    private final long[] chainLengths;
+
+    /** Number of gets */
+    private final long gets;
+    /** Number of gets of keys not in the table */
+    private final long getMisses;
+    /** Total probe length of the gets */
+    private final long getProbeTotal;
+    /** Histogram of get probe lengths */
+    private final long[] getProbeLengths;
+    /** Number of inserts */
+    private final long inserts;
+    /** Number of inserts that could not use the key's own slot */
+    private final long collisions;
+    /** Total probe length of the inserts */
+    private final long insertProbeTotal;
+    /** Histogram of insert probe lengths */
+    private final long[] insertProbeLengths;
+    /** Number of deletes that removed an entry */
+    private final long deletes;
+    /** Number of times the table was resized or rehashed */
+    private final long resizes;
+    /** Total time spent resizing and rehashing (nanoseconds) */
+    private final long resizeTime;
+
+    /**
+     * Creates a statistics snapshot (used by HashTable.statistics)<br>
+     * 
+     * @param collisionResolution  The collision resolution mode of the table
+     * @param slots  The number of slots in the table
+     * @param entries  The number of entries in the table
+     * @param emptySlots  The number of empty slots
+     * @param deletedSlots  The number of slots marked as deleted
+     * @param chainLengths  The number of chains of each length (empty if chaining is not used)
+     * @param counters  The table's operation counters
+     */
+    HashTableStatistics(int collisionResolution, int slots, int entries, int emptySlots, int deletedSlots, long[] chainLengths, Counters counters){
+        this.collisionResolution = collisionResolution;
+        this.slots = slots;
+        this.entries = entries;
+        this.emptySlots = emptySlots;
+        this.deletedSlots = deletedSlots;
+        this.chainLengths = chainLengths;
+        this.gets = counters.gets.sum();
+        this.getMisses = counters.getMisses.sum();
+        this.getProbeTotal = counters.getProbeTotal.sum();
+        this.getProbeLengths = new long[histogramBuckets];
+        this.inserts = counters.inserts.sum();
+        this.collisions = counters.collisions.sum();
+        this.insertProbeTotal = counters.insertProbeTotal.sum();
+        this.insertProbeLengths = new long[histogramBuckets];
+        for (int i = 0; i < histogramBuckets; i++){
+            this.getProbeLengths[i] = counters.getProbeLengths[i].sum();
+            this.insertProbeLengths[i] = counters.insertProbeLengths[i].sum();
+        }
+        this.deletes = counters.deletes.sum();
+        this.resizes = counters.resizes.sum();
+        this.resizeTime = counters.resizeTime.sum();
+    }
+
+    /**
+     * Gets the histogram bucket a probe length is counted in<br>
+     * 
+     * @param probeLength  The probe length
+     * @return The bucket (0 to histogramBuckets - 1)
+     */
+    static int histogramBucket(int probeLength){
+        if (probeLength <= 0){
+            return 0;
+        }
+        return Math.min(histogramBuckets - 1, 33 - Integer.numberOfLeadingZeros(probeLength - 1));
+    }
+
+    /**
+     * Gets the longest probe length counted in a histogram bucket<br>
+     * 
+     * @param bucket  The bucket
+     * @return The longest probe length in the bucket (Integer.MAX_VALUE for the last bucket)
+     */
+    public static int histogramBucketLimit(int bucket) throws java.lang.RuntimeException {
+        if ((bucket < 0) || (bucket >= histogramBuckets)){
+            throw new RuntimeException("Histogram bucket out of range");
+        } else if (bucket == 0){
+            return 0;
+        } else if (bucket == histogramBuckets - 1){
+            return Integer.MAX_VALUE;
+        }
+        return 1 << (bucket - 1);
+    }
+
+    /**
+     * Gets a percentile of a probe length histogram (as the limit of the bucket it falls in)<br>
+     * 
+     * @param histogram  The histogram (getProbeLengths or insertProbeLengths)
+     * @param fraction  The fraction of probe lengths at or below the percentile (e.g. 0.99)
+     * @return The longest probe length in the bucket holding the percentile (0 if the histogram is empty)
+     */
+    public static int percentile(long[] histogram, double fraction){
+        long total = 0;
+        for (int i = 0; i < histogram.length; i++){
+            total += histogram[i];
+        }
+        long count = 0;
+        for (int i = 0; i < histogram.length; i++){
+            count += histogram[i];
+            if ((count > 0) && (count >= fraction*total)){
+                return histogramBucketLimit(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the collision resolution mode of the table<br>
+     * 
+     * @return The collision resolution mode (HashTable.linearProbing etc.)
+     */
+    public int collisionResolution(){
+        return this.collisionResolution;
+    }
+
+    /**
+     * Gets the number of slots in the table<br>
+     * 
+     * @return The number of slots
+     */
+    public int slots(){
+        return this.slots;
+    }
+
+    /**
+     * Gets the number of entries in the table<br>
+     * 
+     * @return The number of entries
+     */
+    public int entries(){
+        return this.entries;
+    }
+
+    /**
+     * Gets the load factor of the table<br>
+     * 
+     * @return The number of entries per slot
+     */
+    public float loadFactor(){
+        return (float)this.entries/this.slots;
+    }
+
+    /**
+     * Gets the fraction of slots that are empty (empty chains for chaining)<br>
+     * 
+     * @return The empty slot ratio
+     */
+    public float emptyRatio(){
+        return (float)this.emptySlots/this.slots;
+    }
+
+    /**
+     * Gets the fraction of slots marked as deleted (tombstones, linear/quadratic probing only)<br>
+     * 
+     * @return The deleted slot ratio
+     */
+    public float tombstoneRatio(){
+        return (float)this.deletedSlots/this.slots;
+    }
+
+    /**
+     * Gets the number of chains of each length (chaining collision resolution only)<br>
+     * 
+     * @return The number of chains of length i at index i (the last index counts every longer chain), empty if chaining is not used
+     */
+    public long[] chainLengths(){
+        return this.chainLengths.clone();
+    }
+
+    /**
+     * Gets the number of gets<br>
+     * 
+     * @return The number of gets
+     */
+    public long gets(){
+        return this.gets;
+    }
+
+    /**
+     * Gets the number of gets of keys not in the table<br>
+     * 
+     * @return The number of missed gets
+     */
+    public long getMisses(){
+        return this.getMisses;
+    }
+
+    /**
+     * Gets the histogram of get probe lengths<br>
+     * 
+     * @return The number of gets in each bucket
+     */
+    public long[] getProbeLengths(){
+        return this.getProbeLengths.clone();
+    }
+
+    /**
+     * Gets the mean get probe length<br>
+     * 
+     * @return The mean probe length (0 if there were no gets)
+     */
+    public double meanGetProbeLength(){
+        if (this.gets == 0){
+            return 0;
+        }
+        return (double)this.getProbeTotal/this.gets;
+    }
+
+    /**
+     * Gets the number of inserts<br>
+     * 
+     * @return The number of inserts
+     */
+    public long inserts(){
+        return this.inserts;
+    }
+
+    /**
+     * Gets the number of inserts that collided (could not use the key's own slot, or joined a non-empty chain)<br>
+     * 
+     * @return The number of collisions
+     */
+    public long collisions(){
+        return this.collisions;
+    }
+
+    /**
+     * Gets the histogram of insert probe lengths (cuckoo hashing counts the entries placed, including displaced entries)<br>
+     * 
+     * @return The number of inserts in each bucket
+     */
+    public long[] insertProbeLengths(){
+        return this.insertProbeLengths.clone();
+    }
+
+    /**
+     * Gets the mean insert probe length<br>
+     * 
+     * @return The mean probe length (0 if there were no inserts)
+     */
+    public double meanInsertProbeLength(){
+        if (this.inserts == 0){
+            return 0;
+        }
+        return (double)this.insertProbeTotal/this.inserts;
+    }
+
+    /**
+     * Gets the number of deletes that removed an entry (deletes of keys not in the table are not counted)<br>
+     * 
+     * @return The number of deletes
+     */
+    public long deletes(){
+        return this.deletes;
+    }
+
+    /**
+     * Gets the number of times the table was resized or rehashed (including rehashes in place and cuckoo hashing rehashes)<br>
+     * 
+     * @return The number of resizes
+     */
+    public long resizes(){
+        return this.resizes;
+    }
+
+    /**
+     * Gets the total time spent resizing and rehashing<br>
+     * 
+     * @return The resize time in nanoseconds
+     */
+    public long resizeTime(){
+        return this.resizeTime;
+    }
+
+    /**
+     * Returns the statistics as a string<br>
+     * 
+     * @return The statistics, one per line
+     */
+    public String toString(){
+        StringBuilder str = new StringBuilder();
+        str.append("slots=").append(this.slots).append(" entries=").append(this.entries).append(" loadFactor=").append(this.loadFactor()).append("\n");
+        str.append("emptyRatio=").append(this.emptyRatio()).append(" tombstoneRatio=").append(this.tombstoneRatio()).append("\n");
+        str.append("gets=").append(this.gets).append(" misses=").append(this.getMisses).append(" meanProbeLength=").append(this.meanGetProbeLength()).append(" p99ProbeLength=").append(percentile(this.getProbeLengths, 0.99)).append("\n");
+        str.append("inserts=").append(this.inserts).append(" collisions=").append(this.collisions).append(" meanProbeLength=").append(this.meanInsertProbeLength()).append(" p99ProbeLength=").append(percentile(this.insertProbeLengths, 0.99)).append("\n");
+        str.append("deletes=").append(this.deletes).append(" resizes=").append(this.resizes).append(" resizeTime=").append(this.resizeTime).append("ns\n");
+        return str.toString();
+    }
+
+    /**
+     * The statistics counters of a HashTable (LongAdders, so gets from several threads do not contend on them)<br>
+     */
+    static class Counters{
+
+        /** Number of gets */
+        final LongAdder gets = new LongAdder();
+        /** Number of gets of keys not in the table */
+        final LongAdder getMisses = new LongAdder();
+        /** Total probe length of the gets */
+        final LongAdder getProbeTotal = new LongAdder();
+        /** Histogram of get probe lengths */
+        final LongAdder[] getProbeLengths = newHistogram();
+        /** Number of inserts */
+        final LongAdder inserts = new LongAdder();
+        /** Number of inserts that could not use the key's own slot */
+        final LongAdder collisions = new LongAdder();
+        /** Total probe length of the inserts */
+        final LongAdder insertProbeTotal = new LongAdder();
+        /** Histogram of insert probe lengths */
+        final LongAdder[] insertProbeLengths = newHistogram();
+        /** Number of deletes that removed an entry */
+        final LongAdder deletes = new LongAdder();
+        /** Number of resizes/rehashes */
+        final LongAdder resizes = new LongAdder();
+        /** Total time spent resizing/rehashing (nanoseconds) */
+        final LongAdder resizeTime = new LongAdder();
+
+        /** Creates the counters of a probe length histogram<br>
+         * 
+         * @return The counters, one per bucket
+         */
+        private static LongAdder[] newHistogram(){
+            LongAdder[] histogram = new LongAdder[histogramBuckets];
+            for (int i = 0; i < histogram.length; i++){
+                histogram[i] = new LongAdder();
+            }
+            return histogram;
+        }
+
+        /** Records a get<br>
+         * 
+         * @param probeLength  The number of slots/chain nodes examined
+         * @param found  Whether the key was found
+         */
+        void recordGet(int probeLength, boolean found){
+            this.gets.increment();
+            if (!found){
+                this.getMisses.increment();
+            }
+            this.getProbeTotal.add(probeLength);
+            this.getProbeLengths[histogramBucket(probeLength)].increment();
+        }
+
+        /** Records an insert<br>
+         * 
+         * @param probeLength  The number of slots/chain nodes examined (more than one is a collision)
+         */
+        void recordInsert(int probeLength){
+            this.inserts.increment();
+            if (probeLength > 1){
+                this.collisions.increment();
+            }
+            this.insertProbeTotal.add(probeLength);
+            this.insertProbeLengths[histogramBucket(probeLength)].increment();
+        }
+
+        /** Records a resize/rehash<br>
+         * 
+         * @param time  The time taken in nanoseconds
+         */
+        void recordResize(long time){
+            this.resizes.increment();
+            this.resizeTime.add(time);
+        }
+
+    }
+
+}
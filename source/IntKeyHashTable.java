@@ -0,0 +1,513 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Int Key Hash Table
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.lang.Math;
+import java.util.Arrays;
+
+/**
+ * <h2>IntKeyHashTable</h2>
+ * A hash table data structure with primitive int keys<br>
+ * generic dataType is the (object) type of the data to be stored<br><br>
+ * Keys are stored in a flat int array alongside a parallel data array, so no key boxing or per-entry node objects are needed<br>
+ * (around 4 bytes of key and 4-8 bytes of data reference per slot, plus 1 byte of slot state for probing or 8 bytes of chain links for chaining,
+ * compared to a boxed key object and a HashTableNode object per entry for HashTable)<br>
+ * Supports the same collision resolution schemes and automatic resizing as HashTable<br>
+ * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class IntKeyHashTable<dataType>{
+
+    /** Slot state of an empty slot (linear/quadratic probing) */
+    private static final byte emptySlot = 0;
+    /** Slot state of a slot holding an entry (linear/quadratic probing) */
+    private static final byte usedSlot = 1;
+    /** Slot state of a deleted slot (linear/quadratic probing), so probe sequences passing through it are not broken */
+    private static final byte deletedSlot = 2;
+
+    /** Entry keys (indexed by slot for probing, or by entry for chaining) */
+    private int[] keys;
+
+    /** Entry data (parallel to keys) */
+    private dataType[] values;
+
+    /** Slot states (linear/quadratic probing) */
+    private byte[] slotStates;
+
+    /** First entry of each chain, plus one (chaining, 0 for an empty chain) */
+    private int[] chainHeads;
+
+    /** Next entry in the chain (or in the free entry list), plus one (chaining, 0 for the end of the chain) */
+    private int[] chainNext;
+
+    /** First free entry, plus one (chaining, 0 if there are no free entries below usedEntries) */
+    private int freeEntry;
+
+    /** Number of entries that have ever been used (chaining, entries past this have never been used) */
+    private int usedEntries;
+
+    /** Number of elements in the table */
+    private int tableSize;
+
+    /** Maximum number of elements storable (number of chains for chaining collision resolution) */
+    private int maxTableSize;
+
+    /** Collision resolution mode (linear/quadratic probing, chaining) */
+    private int collisionResolutionMode;
+
+    /** Load factor above which the table automatically grows (0 disables automatic growth) */
+    private float maxLoadFactor;
+
+    /** Load factor below which the table automatically shrinks (0 disables automatic shrinking) */
+    private float minLoadFactor;
+
+    /** Table size the table will not automatically shrink below (the initial table size) */
+    private int minTableSize;
+
+    /** Number of slots marked as deleted */
+    private int deletedCount;
+
+    /** Ratio of deleted slots above which the table is rehashed in place */
+    private float maxDeletedRatio;
+
+    /** Creates a new IntKeyHashTable object with a specified size and collision resolution scheme<br>
+     * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+     * The default maximum load factor for the collision resolution scheme is used, and automatic shrinking is disabled<br>
+     * 
+     * @param size  The size of the table (must be prime, or next prime will be used)
+     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing, chaining)
+     */
+    public IntKeyHashTable(int size, int collisionResolution){
+        this(size, collisionResolution, HashTable.defaultMaxLoadFactor(collisionResolution), 0);
+    }
+
+    /** Creates a new IntKeyHashTable object with a specified size, collision resolution scheme and load factor thresholds<br>
+     * The table size is prime (if a non-prime table size is provided, it will be increased until it is prime)<br>
+     * 
+     * @param size  The size of the table (must be prime, or next prime will be used)
+     * @param collisionResolution  The collision resolution scheme to use (linear/quadratic probing, chaining)
+     * @param maxLoad  The load factor above which the table grows (0 to disable automatic growth)
+     * @param minLoad  The load factor below which the table shrinks (0 to disable automatic shrinking)
+     */
+    public IntKeyHashTable(int size, int collisionResolution, float maxLoad, float minLoad){
+        if ((collisionResolution == HashTable.linearProbing) || (collisionResolution == HashTable.quadraticProbing) || (collisionResolution == HashTable.chaining)){ // Check that a valid collision resolution scheme is chosen
+            this.collisionResolutionMode = collisionResolution;
+        } else {
+            throw new RuntimeException("Invalid collision resolution scheme selected");
+        }
+        this.setLoadFactorThresholds(maxLoad, minLoad); // Set (and validate) the load factor thresholds
+        this.maxDeletedRatio = HashTable.defaultMaxDeletedRatio;
+        this.createTable(HashTable.nextPrime(size)); // Create the table arrays
+        this.minTableSize = this.maxTableSize;
+    }
+
+    /** Sets the load factor thresholds used to automatically resize the table<br>
+     * The minimum load factor must be less than half the maximum load factor (so a shrunk table does not immediately grow again)<br>
+     * Above 0.5, quadratic probing may not reach a free slot, and the table then grows before reaching the maximum load factor<br>
+     * 
+     * @param maxLoad  The load factor above which the table grows (0 to disable automatic growth, at most 1 for linear/quadratic probing)
+     * @param minLoad  The load factor below which the table shrinks (0 to disable automatic shrinking)
+     */
+    public void setLoadFactorThresholds(float maxLoad, float minLoad){
+        if ((maxLoad < 0) || (minLoad < 0)){
+            throw new RuntimeException("Load factor thresholds must not be negative");
+        } else if ((maxLoad > 1) && (this.collisionResolutionMode != HashTable.chaining)){
+            throw new RuntimeException("Maximum load factor must be at most 1 for probing collision resolution");
+        } else if ((maxLoad > 0) && (minLoad*2 >= maxLoad)){
+            throw new RuntimeException("Minimum load factor must be less than half the maximum load factor");
+        }
+        this.maxLoadFactor = maxLoad;
+        this.minLoadFactor = minLoad;
+    }
+
+    /** Gets the load factor above which the table automatically grows<br>
+     * 
+     * @return The maximum load factor (0 if automatic growth is disabled)
+     */
+    public float maxLoadFactor(){
+        return this.maxLoadFactor;
+    }
+
+    /** Gets the load factor below which the table automatically shrinks<br>
+     * 
+     * @return The minimum load factor (0 if automatic shrinking is disabled)
+     */
+    public float minLoadFactor(){
+        return this.minLoadFactor;
+    }
+
+    /** Sets the ratio of deleted slots (linear/quadratic probing) above which the table is rehashed in place<br>
+     * 
+     * @param ratio  The maximum ratio of deleted slots to table size
+     */
+    public void setMaxDeletedRatio(float ratio){
+        if ((ratio <= 0) || (ratio > 1)){
+            throw new RuntimeException("Deleted slot ratio must be greater than 0 and at most 1");
+        }
+        this.maxDeletedRatio = ratio;
+    }
+
+    @SuppressWarnings("unchecked") // Supress warnings about unchecked operations
+    /** Creates empty table arrays of a given size<br>
+     * 
+     * @param size  The table size (must be prime)
+     */
+    private void createTable(int size){
+        this.maxTableSize = size;
+        this.tableSize = 0;
+        this.deletedCount = 0;
+        if (this.collisionResolutionMode == HashTable.chaining){ // Chains of entries (entries are allocated separately as needed)
+            this.chainHeads = new int[size];
+            this.chainNext = new int[size];
+            this.keys = new int[size];
+            this.values = (dataType[]) new Object[size];
+            this.freeEntry = 0;
+            this.usedEntries = 0;
+        } else { // One entry per slot
+            this.slotStates = new byte[size];
+            this.keys = new int[size];
+            this.values = (dataType[]) new Object[size];
+        }
+    }
+
+    /** Gets the size to grow the table to (double its current size)<br>
+     * 
+     * @return The next prime at least twice the current size
+     */
+    private int grownTableSize() throws java.lang.RuntimeException {
+        if (this.maxTableSize >= HashTable.maxTableCapacity){
+            throw new RuntimeException("Hash Table cannot grow any larger");
+        }
+        return HashTable.nextPrime(Math.min(this.maxTableSize*2, HashTable.maxTableCapacity));
+    }
+
+    /** Computes the table index of a key (key hash mod max table size)<br>
+     * 
+     * @param key  The key
+     * @return The table index of the key
+     */
+    private int tableIndex(int key){
+        return (key & 0x7fffffff) % this.maxTableSize; // Clear the sign bit so negative keys give a valid index
+    }
+
+    /** Inserts a new entry into the hash table<br>
+     * Grows the table first if the insert would take the load factor above the maximum load factor<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     */
+    public void insert(int key, dataType data){
+        if ((this.maxLoadFactor > 0) && (this.tableSize + 1 > this.maxLoadFactor*this.maxTableSize)){ // Grow the table if the insert would exceed the maximum load factor
+            this.resizeTable(this.grownTableSize());
+        } else if ((this.maxLoadFactor > 0) && (this.tableSize + this.deletedCount + 1 > this.maxLoadFactor*this.maxTableSize)){ // Deleted slots are lengthening the probe sequences, clear them
+            this.resizeTable(this.maxTableSize);
+        }
+        while (!this.insertEntry(key, data)){ // No free slot found on the probe sequence
+            if (this.maxLoadFactor > 0){ // Grow the table and try again
+                this.resizeTable(this.grownTableSize());
+            } else {
+                throw new RuntimeException("Hash Table is full"); // Throw an error if the table is full
+            }
+        }
+    }
+
+    /** Inserts a new entry into the table without checking the load factor<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     * @return Whether the entry was inserted (false if no free slot was found)
+     */
+    private boolean insertEntry(int key, dataType data){
+        int tableIndex = this.tableIndex(key);
+        if (this.collisionResolutionMode == HashTable.chaining){ // Resolve collisions by chaining
+            int currentEntry = this.chainHeads[tableIndex];
+            while (currentEntry != 0){ // Traverse the chain checking for duplicates
+                if (this.keys[currentEntry - 1] == key){
+                    throw new RuntimeException("Duplicate keys are not permitted");
+                }
+                currentEntry = this.chainNext[currentEntry - 1];
+            }
+            int entry = this.allocateEntry();
+            this.keys[entry] = key;
+            this.values[entry] = data;
+            this.chainNext[entry] = this.chainHeads[tableIndex]; // Insert at the start of the chain
+            this.chainHeads[tableIndex] = entry + 1;
+            this.tableSize++; // Increment the table size (number of elements)
+            return true;
+        } else { // Resolve collisions by linear/quadratic probing
+            if (this.tableSize >= this.maxTableSize){ // Verify that there is space to insert into the table
+                return false;
+            }
+            int insertIndex = -1; // First free (empty or deleted) slot on the probe sequence
+            for (int offset = 0; offset < this.maxTableSize; offset++){ // Traverse the probe sequence until an empty slot is found (the key may be stored past deleted slots)
+                int probeIndex = this.probeIndex(tableIndex, offset);
+                if (this.slotStates[probeIndex] == emptySlot){ // Empty slot, end of the probe sequence
+                    if (insertIndex == -1){
+                        insertIndex = probeIndex;
+                    }
+                    break;
+                } else if (this.slotStates[probeIndex] == deletedSlot){ // Deleted slot, can be reused
+                    if (insertIndex == -1){
+                        insertIndex = probeIndex;
+                    }
+                } else if (this.keys[probeIndex] == key){
+                    throw new RuntimeException("Duplicate keys are not permitted");
+                }
+            }
+            if (insertIndex == -1){ // No free slot found
+                return false;
+            }
+            if (this.slotStates[insertIndex] == deletedSlot){ // Reusing a deleted slot
+                this.deletedCount--;
+            }
+            this.slotStates[insertIndex] = usedSlot;
+            this.keys[insertIndex] = key;
+            this.values[insertIndex] = data;
+            this.tableSize++; // Increment the table size (number of elements)
+            return true;
+        }
+    }
+
+    /** Allocates an entry for a chain (chaining), reusing free entries and growing the entry arrays if needed<br>
+     * 
+     * @return The allocated entry
+     */
+    private int allocateEntry(){
+        if (this.freeEntry != 0){ // Reuse a free entry
+            int entry = this.freeEntry - 1;
+            this.freeEntry = this.chainNext[entry];
+            return entry;
+        }
+        if (this.usedEntries == this.keys.length){ // Entry arrays are full, double them
+            int newLength = Math.max(this.keys.length*2, 1);
+            this.keys = Arrays.copyOf(this.keys, newLength);
+            this.values = Arrays.copyOf(this.values, newLength);
+            this.chainNext = Arrays.copyOf(this.chainNext, newLength);
+        }
+        return this.usedEntries++;
+    }
+
+    /** Gets the data located at the specified key in the table<br>
+     * 
+     * @param key  The key of the entry to find
+     * @return Data at the specified key (null if key not found)
+     */
+    public dataType get(int key){
+        int index = this.findIndex(key);
+        if (index != -1){
+            return this.values[index]; // Return the data if key found
+        }
+        return null; // If key not found, return null
+    }
+
+    /** Removes the entry in the table with the specified key<br>
+     * Shrinks the table afterwards if the load factor has dropped below the minimum load factor<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    public void delete(int key){
+        this.deleteEntry(key);
+        if ((this.minLoadFactor > 0) && (this.loadFactor() < this.minLoadFactor) && (this.maxTableSize > this.minTableSize)){ // Shrink the table (but not below its initial size)
+            this.resizeTable(Math.max(this.maxTableSize/2, this.minTableSize));
+        } else if (this.deletedCount > this.maxDeletedRatio*this.maxTableSize){ // Too many deleted slots, rehash in place to clear them
+            this.resizeTable(this.maxTableSize);
+        }
+    }
+
+    /** Removes the entry with the specified key from the table without checking the load factor<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    private void deleteEntry(int key){
+        if (this.collisionResolutionMode == HashTable.chaining){ // Chaining
+            int tableIndex = this.tableIndex(key);
+            int previousEntry = 0;
+            int currentEntry = this.chainHeads[tableIndex];
+            while (currentEntry != 0){ // Traverse the chain until either the required key is found or the chain ends
+                if (this.keys[currentEntry - 1] == key){
+                    if (previousEntry == 0){ // Entry is the first in the chain
+                        this.chainHeads[tableIndex] = this.chainNext[currentEntry - 1];
+                    } else { // Unlink the entry from the previous entry
+                        this.chainNext[previousEntry - 1] = this.chainNext[currentEntry - 1];
+                    }
+                    this.values[currentEntry - 1] = null; // Release the data
+                    this.chainNext[currentEntry - 1] = this.freeEntry; // Add the entry to the free entry list
+                    this.freeEntry = currentEntry;
+                    this.tableSize--; // Decrement table size (number of items stored)
+                    return;
+                }
+                previousEntry = currentEntry;
+                currentEntry = this.chainNext[currentEntry - 1];
+            }
+        } else { // Linear/quadratic probing
+            int probeIndex = this.findIndex(key);
+            if (probeIndex != -1){
+                this.slotStates[probeIndex] = deletedSlot; // Mark the slot as deleted
+                this.values[probeIndex] = null; // Release the data
+                this.tableSize--; // Decrement table size (number of items stored)
+                this.deletedCount++;
+            }
+        }
+    }
+
+    /** Finds the slot (probing) or entry (chaining) holding a key<br>
+     * 
+     * @param key  The key to find
+     * @return The slot/entry holding the key (-1 if key not found)
+     */
+    private int findIndex(int key){
+        int tableIndex = this.tableIndex(key);
+        if (this.collisionResolutionMode == HashTable.chaining){ // Chaining
+            int currentEntry = this.chainHeads[tableIndex];
+            while (currentEntry != 0){ // Traverse the chain until either the required key is found or the chain ends
+                if (this.keys[currentEntry - 1] == key){
+                    return currentEntry - 1;
+                }
+                currentEntry = this.chainNext[currentEntry - 1];
+            }
+        } else { // Linear/quadratic probing
+            for (int offset = 0; offset < this.maxTableSize; offset++){ // Traverse the probe sequence until there are no more relevant elements to check
+                int probeIndex = this.probeIndex(tableIndex, offset);
+                if (this.slotStates[probeIndex] == emptySlot){ // Empty slot, end of the probe sequence
+                    return -1;
+                } else if ((this.slotStates[probeIndex] == usedSlot) && (this.keys[probeIndex] == key)){ // Check if the key of the current slot matches the requested key
+                    return probeIndex;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /** Gets the slot at a given offset along the probe sequence of a table index (linear/quadratic probing)<br>
+     * 
+     * @param tableIndex  The table index (start of the probe sequence)
+     * @param offset  The offset along the probe sequence
+     * @return The slot at the offset
+     */
+    private int probeIndex(int tableIndex, int offset){
+        if (this.collisionResolutionMode == HashTable.linearProbing){ // Linear probing
+            return (tableIndex + offset) % this.maxTableSize;
+        } else { // Quadratic probing (use offset squared)
+            return (int)((tableIndex + (long)offset*offset) % this.maxTableSize);
+        }
+    }
+
+    /** Gets the number of entries in the table<br>
+     * 
+     * @return The number of entries
+     */
+    public int size(){
+        return this.tableSize;
+    }
+
+    /** Gets the load factor of the table<br>
+     * 
+     * @return Load factor of the table
+     */
+    public float loadFactor(){
+        return (float)this.tableSize/this.maxTableSize;
+    }
+
+    /** Expands the table and re-inserts all the data elements<br>
+     * The new table size must be prime, or the next prime number will be used instead<br>
+     * 
+     * @param newSize  The new table size
+     */
+    public void expandTable(int newSize){
+        if (newSize > this.maxTableSize){
+            this.resizeTable(newSize);
+        } else {
+            throw new RuntimeException("New table size must be larger than current table size");
+        }
+    }
+
+    /** Resizes the table and re-inserts all the data elements (clearing any deleted slots)<br>
+     * The new table size must be prime, or the next prime number will be used instead (the same size rehashes the table in place)<br>
+     * If an entry cannot be re-inserted (quadratic probing above a load factor of 0.5 may not reach a free slot), the old table is kept and a larger table is tried instead, so no entries are lost<br>
+     * 
+     * @param newSize  The new table size
+     */
+    private void resizeTable(int newSize){
+        newSize = HashTable.nextPrime(newSize); // Ensure the new size is a prime number
+        if (this.collisionResolutionMode == HashTable.chaining){ // Entries stay where they are, only the chains are rebuilt
+            int[] oldChainHeads = this.chainHeads;
+            this.chainHeads = new int[newSize];
+            this.maxTableSize = newSize;
+            for (int i = 0; i < oldChainHeads.length; i++){ // Move every entry in every old chain into its new chain
+                int currentEntry = oldChainHeads[i];
+                while (currentEntry != 0){
+                    int nextEntry = this.chainNext[currentEntry - 1];
+                    int tableIndex = this.tableIndex(this.keys[currentEntry - 1]);
+                    this.chainNext[currentEntry - 1] = this.chainHeads[tableIndex];
+                    this.chainHeads[tableIndex] = currentEntry;
+                    currentEntry = nextEntry;
+                }
+            }
+        } else {
+            byte[] oldSlotStates = this.slotStates;
+            int[] oldKeys = this.keys;
+            dataType[] oldValues = this.values;
+            int oldTableSize = this.maxTableSize;
+            int oldEntryCount = this.tableSize;
+            int oldDeletedCount = this.deletedCount;
+
+            while (!this.rebuildTable(oldSlotStates, oldKeys, oldValues, newSize)){ // An entry did not fit, restore the old table and try a larger one
+                this.slotStates = oldSlotStates;
+                this.keys = oldKeys;
+                this.values = oldValues;
+                this.maxTableSize = oldTableSize;
+                this.tableSize = oldEntryCount;
+                this.deletedCount = oldDeletedCount;
+                if (newSize >= HashTable.maxTableCapacity){
+                    throw new RuntimeException("Hash Table cannot grow any larger");
+                }
+                newSize = HashTable.nextPrime((int)Math.min(2L*Math.max(newSize, oldTableSize), HashTable.maxTableCapacity));
+            }
+        }
+    }
+
+    /** Replaces the table arrays with new (probing) table arrays and inserts the entries of the old arrays into them (the old arrays are not changed)<br>
+     * 
+     * @param oldSlotStates  The old slot states
+     * @param oldKeys  The old keys
+     * @param oldValues  The old data
+     * @param newSize  The size of the new table (must be prime)
+     * @return Whether every entry was inserted (false if an entry found no free slot, leaving the new table incomplete)
+     */
+    private boolean rebuildTable(byte[] oldSlotStates, int[] oldKeys, dataType[] oldValues, int newSize){
+        this.createTable(newSize);
+        for (int i = 0; i < oldSlotStates.length; i++){ // Iterate through every slot in the old table
+            if (oldSlotStates[i] == usedSlot){ // If the slot holds an entry, add it to the new table
+                if (!this.insertEntry(oldKeys[i], oldValues[i])){ // Only possible for quadratic probing above a load factor of 0.5
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Returns the contents of the table as a string, with each data element on a new line (the data elements must have toString methods)<br>
+     * 
+     * @return The contents of the table as a string, with each data element seperated by a newline
+     */
+    public String toString(){
+        StringBuilder str = new StringBuilder();
+        for (int i = 0; i < this.maxTableSize; i++){ // Iterate through every slot/chain in the table
+            if (this.collisionResolutionMode == HashTable.chaining){ // Add every entry in the chain to the string
+                int currentEntry = this.chainHeads[i];
+                while (currentEntry != 0){
+                    str.append(this.values[currentEntry - 1].toString()).append("\n");
+                    currentEntry = this.chainNext[currentEntry - 1];
+                }
+            } else if (this.slotStates[i] == usedSlot){ // If the slot holds an entry, add it to the string
+                str.append(this.values[i].toString()).append("\n");
+            }
+        }
+        return str.toString();
+    }
+}
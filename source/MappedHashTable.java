@@ -0,0 +1,443 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Mapped Hash Table
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <h2>MappedHashTable</h2>
+ * A persistent hash table data structure whose slots are stored in a memory-mapped file<br>
+ * generic dataType is the (object) type of the data to be stored<br>
+ * generic keyType is the (object) type of the key used<br><br>
+ * Keys and data are encoded to fixed widths by FixedWidthSerializers, so every slot has the same size and lives at a computable offset in the file<br>
+ * Opening an existing file only maps it (no entries are read or rehashed), so the table can be queried as soon as it is opened<br>
+ * Uses linear probing over a power of two number of slots, with backward-shift deletion (no deleted markers are left in the file)<br>
+ * Keys are hashed and compared by their encoded bytes (so the hash does not depend on hashCode, which may differ between runs)<br>
+ * Changes are written to the mapped file as they are made; force() flushes them to the storage device<br>
+ * The whole file is mapped as a single buffer, so the file is limited to 2GB<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class MappedHashTable<dataType, keyType> implements AutoCloseable{
+
+    /** File format identifier (stored at the start of the file) */
+    private static final int magicNumber = 0x4D485442; // "MHTB"
+    /** File format version */
+    private static final int formatVersion = 1;
+    /** Size of the file header in bytes */
+    private static final int headerSize = 64;
+
+    /** Header offsets */
+    private static final int magicOffset = 0;
+    private static final int versionOffset = 4;
+    private static final int keyWidthOffset = 8;
+    private static final int dataWidthOffset = 12;
+    private static final int slotCountOffset = 16;
+    private static final int entryCountOffset = 20;
+
+    /** Slot states */
+    private static final byte emptySlot = 0;
+    private static final byte fullSlot = 1;
+
+    /** Size of a slot's state and cached hash, before the encoded key */
+    private static final int slotHeaderSize = 5;
+
+    /** Maximum load factor before the table grows */
+    private static final float maxLoadFactor = HashTable.linearProbingMaxLoadFactor;
+
+    /** Path of the table's file */
+    private final Path file;
+
+    /** Key encoder */
+    private final FixedWidthSerializer<keyType> keySerializer;
+
+    /** Data encoder */
+    private final FixedWidthSerializer<dataType> dataSerializer;
+
+    /** Width of a slot in bytes (state, hash, key, data) */
+    private final int slotWidth;
+
+    /** Open channel to the file */
+    private FileChannel channel;
+
+    /** The mapped file */
+    private MappedByteBuffer buffer;
+
+    /** Number of slots (power of two) */
+    private int slotCount;
+
+    /** Number of entries in the table */
+    private int tableSize;
+
+    /** Scratch buffer holding the encoded key being looked up (reused to avoid allocating on every lookup) */
+    private final ByteBuffer keyBuffer;
+
+    /**
+     * Opens a MappedHashTable stored in a file, creating the file if it does not exist<br>
+     * An existing file is mapped as it is (its number of slots is kept), and must have been written with serializers of the same widths<br>
+     * An existing file's header is checked against its length (so a truncated file is rejected when it is opened, rather than failing on a later lookup)<br>
+     * 
+     * @param file  The file to store the table in
+     * @param size  The initial number of slots for a new file (rounded up to a power of two)
+     * @param keySerializer  The encoder for keys (equal keys must encode to equal bytes)
+     * @param dataSerializer  The encoder for data
+     */
+    public MappedHashTable(Path file, int size, FixedWidthSerializer<keyType> keySerializer, FixedWidthSerializer<dataType> dataSerializer) throws java.io.IOException, java.lang.RuntimeException {
+        this.file = file;
+        this.keySerializer = keySerializer;
+        this.dataSerializer = dataSerializer;
+        this.slotWidth = slotHeaderSize + keySerializer.width() + dataSerializer.width();
+        this.keyBuffer = ByteBuffer.allocate(keySerializer.width());
+
+        if (Files.exists(file) && Files.size(file) > 0){ // Map the existing table
+            this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if ((this.channel.size() < headerSize) || (this.channel.size() > Integer.MAX_VALUE)){
+                this.channel.close();
+                throw new RuntimeException("File is not a mapped hash table: " + file);
+            }
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, this.channel.size());
+            if (this.buffer.getInt(magicOffset) != magicNumber || this.buffer.getInt(versionOffset) != formatVersion){
+                this.channel.close();
+                throw new RuntimeException("File is not a mapped hash table: " + file);
+            }
+            if (this.buffer.getInt(keyWidthOffset) != keySerializer.width() || this.buffer.getInt(dataWidthOffset) != dataSerializer.width()){
+                this.channel.close();
+                throw new RuntimeException("Serializer widths do not match the table's file");
+            }
+            this.slotCount = this.buffer.getInt(slotCountOffset);
+            this.tableSize = this.buffer.getInt(entryCountOffset);
+            if ((this.slotCount < 2) || ((this.slotCount & (this.slotCount - 1)) != 0) || (this.channel.size() != headerSize + (long)this.slotCount*this.slotWidth)){ // Slot count must be a power of two, with every slot in the file
+                this.channel.close();
+                throw new RuntimeException("File is not a mapped hash table: " + file);
+            }
+            if ((this.tableSize < 0) || (this.tableSize >= this.slotCount)){ // A full table would have no empty slot to end a probe sequence
+                this.channel.close();
+                throw new RuntimeException("File is not a mapped hash table: " + file);
+            }
+        } else { // Create a new, empty table
+            this.slotCount = HashTable.nextPowerOfTwo(Math.max(size, 2));
+            this.channel = this.createFile(file, this.slotCount);
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, this.fileSize(this.slotCount));
+            this.tableSize = 0;
+        }
+    }
+
+    /**
+     * Inserts a new entry into the table<br>
+     * 
+     * @param key  The key of the entry to insert
+     * @param data  The data to insert
+     */
+    public void insert(keyType key, dataType data) throws java.lang.RuntimeException {
+        if (this.tableSize + 1 > maxLoadFactor*this.slotCount){ // Grow the table if the insert would exceed the maximum load factor
+            this.resizeTable(this.slotCount*2);
+        }
+        int hash = this.encodeKey(key);
+        int slot = this.findSlot(hash);
+        if (this.slotState(slot) == fullSlot){
+            throw new RuntimeException("Duplicate keys are not permitted");
+        }
+        int offset = this.slotOffset(slot);
+        this.buffer.putInt(offset + 1, hash);
+        this.keySerializer.write(this.buffer, offset + slotHeaderSize, key);
+        this.dataSerializer.write(this.buffer, offset + slotHeaderSize + this.keySerializer.width(), data);
+        this.buffer.put(offset, fullSlot); // Mark the slot full last
+        this.tableSize++;
+        this.buffer.putInt(entryCountOffset, this.tableSize);
+    }
+
+    /**
+     * Gets the data located at the specified key in the table<br>
+     * 
+     * @param key  The key of the entry to find
+     * @return The data at the specified key (null if key not found)
+     */
+    public dataType get(keyType key){
+        int slot = this.findSlot(this.encodeKey(key));
+        if (this.slotState(slot) == fullSlot){
+            return this.dataSerializer.read(this.buffer, this.slotOffset(slot) + slotHeaderSize + this.keySerializer.width());
+        }
+
+        return null; // Key not found, return null
+    }
+
+    /**
+     * Removes the entry in the table with the specified key<br>
+     * Later entries in the probe sequence are shifted back into the gap, so no deleted markers are needed<br>
+     * 
+     * @param key  The key of the entry to remove
+     */
+    public void delete(keyType key){
+        int slot = this.findSlot(this.encodeKey(key));
+        if (this.slotState(slot) == emptySlot){ // Key not found
+            return;
+        }
+        int mask = this.slotCount - 1;
+        int gapSlot = slot;
+        int currentSlot = (slot + 1) & mask;
+        while (this.slotState(currentSlot) == fullSlot){
+            int homeSlot = HashTable.mixHash(this.buffer.getInt(this.slotOffset(currentSlot) + 1)) & mask;
+            if (((currentSlot - homeSlot) & mask) >= ((currentSlot - gapSlot) & mask)){ // Entry's home is at or before the gap, so it can move back into it
+                this.copySlot(currentSlot, gapSlot);
+                gapSlot = currentSlot;
+            }
+            currentSlot = (currentSlot + 1) & mask;
+        }
+        this.clearSlot(gapSlot);
+        this.tableSize--;
+        this.buffer.putInt(entryCountOffset, this.tableSize);
+    }
+
+    /**
+     * Gets the number of entries in the table<br>
+     * 
+     * @return The number of entries in the table
+     */
+    public int size(){
+        return this.tableSize;
+    }
+
+    /**
+     * Gets the load factor of the table<br>
+     * 
+     * @return The load factor of the table (entries/slots)
+     */
+    public float loadFactor(){
+        return (float)this.tableSize/this.slotCount;
+    }
+
+    /**
+     * Expands the table to a new number of slots (rehashing every entry into a new file, which then replaces the table's file)<br>
+     * 
+     * @param newSize  The new number of slots (rounded up to a power of two, must hold every entry)
+     */
+    public void expandTable(int newSize) throws java.lang.RuntimeException {
+        this.resizeTable(HashTable.nextPowerOfTwo(newSize));
+    }
+
+    /**
+     * Flushes changes to the table to the storage device<br>
+     */
+    public void force(){
+        this.buffer.force();
+    }
+
+    /**
+     * Flushes changes to the storage device and closes the table's file<br>
+     */
+    public void close() throws java.io.IOException {
+        this.buffer.force();
+        this.channel.close();
+    }
+
+    /**
+     * Returns the contents of the table as a string, with each data element on a new line (the data elements must have toString methods)<br>
+     * 
+     * @return The contents of the table as a string, with each data element seperated by a newline
+     */
+    public String toString(){
+        StringBuilder string = new StringBuilder();
+        for (int slot = 0; slot < this.slotCount; slot++){
+            if (this.slotState(slot) == fullSlot){
+                string.append(this.dataSerializer.read(this.buffer, this.slotOffset(slot) + slotHeaderSize + this.keySerializer.width()).toString()).append('\n');
+            }
+        }
+        return string.toString();
+    }
+
+    /**
+     * Encodes a key into the scratch key buffer and hashes the encoded bytes<br>
+     * 
+     * @param key  The key to encode
+     * @return The hash of the encoded key
+     */
+    private int encodeKey(keyType key){
+        this.keySerializer.write(this.keyBuffer, 0, key);
+        int hash = 0;
+        int width = this.keyBuffer.capacity();
+        int i = 0;
+        for (; i + Long.BYTES <= width; i += Long.BYTES){ // Hash 8 bytes at a time
+            long word = this.keyBuffer.getLong(i);
+            hash = HashTable.mixHash(hash ^ (int)word ^ (int)(word >>> 32));
+        }
+        for (; i < width; i++){
+            hash = (hash * 31) + this.keyBuffer.get(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Finds the slot holding the encoded key in the scratch key buffer, or the empty slot ending its probe sequence<br>
+     * 
+     * @param hash  The hash of the encoded key
+     * @return The slot holding the key, or the empty slot where it would be inserted
+     */
+    private int findSlot(int hash){
+        int mask = this.slotCount - 1;
+        int slot = HashTable.mixHash(hash) & mask;
+        while (this.slotState(slot) == fullSlot){
+            int offset = this.slotOffset(slot);
+            if (this.buffer.getInt(offset + 1) == hash && this.keyEquals(offset + slotHeaderSize)){ // Compare cached hashes before the encoded keys
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Compares the encoded key in the scratch key buffer with an encoded key in the file<br>
+     * 
+     * @param offset  The offset of the encoded key in the file
+     * @return Whether the encoded keys are equal
+     */
+    private boolean keyEquals(int offset){
+        int width = this.keyBuffer.capacity();
+        int i = 0;
+        for (; i + Long.BYTES <= width; i += Long.BYTES){ // Compare 8 bytes at a time
+            if (this.buffer.getLong(offset + i) != this.keyBuffer.getLong(i)){
+                return false;
+            }
+        }
+        for (; i < width; i++){
+            if (this.buffer.get(offset + i) != this.keyBuffer.get(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the state of a slot<br>
+     * 
+     * @param slot  The slot
+     * @return The slot's state (emptySlot/fullSlot)
+     */
+    private byte slotState(int slot){
+        return this.buffer.get(this.slotOffset(slot));
+    }
+
+    /**
+     * Gets the offset of a slot in the file<br>
+     * 
+     * @param slot  The slot
+     * @return The offset of the slot's first byte
+     */
+    private int slotOffset(int slot){
+        return headerSize + slot*this.slotWidth;
+    }
+
+    /**
+     * Copies a slot's contents over another slot<br>
+     * 
+     * @param fromSlot  The slot to copy
+     * @param toSlot  The slot to overwrite
+     */
+    private void copySlot(int fromSlot, int toSlot){
+        int fromOffset = this.slotOffset(fromSlot);
+        int toOffset = this.slotOffset(toSlot);
+        for (int i = 0; i < this.slotWidth; i++){
+            this.buffer.put(toOffset + i, this.buffer.get(fromOffset + i));
+        }
+    }
+
+    /**
+     * Empties a slot (zeroing its contents)<br>
+     * 
+     * @param slot  The slot to empty
+     */
+    private void clearSlot(int slot){
+        int offset = this.slotOffset(slot);
+        for (int i = 0; i < this.slotWidth; i++){
+            this.buffer.put(offset + i, (byte) 0);
+        }
+    }
+
+    /**
+     * Gets the size of a table file<br>
+     * 
+     * @param slots  The number of slots
+     * @return The size of the file in bytes
+     */
+    private int fileSize(int slots) throws java.lang.RuntimeException {
+        long size = headerSize + (long)slots*this.slotWidth;
+        if (size > Integer.MAX_VALUE){
+            throw new RuntimeException("Mapped hash table can not be larger than 2GB");
+        }
+        return (int)size;
+    }
+
+    /**
+     * Creates an empty table file (all slots empty) with its header written<br>
+     * 
+     * @param path  The file to create (replaced if it exists)
+     * @param slots  The number of slots
+     * @return An open channel to the file
+     */
+    private FileChannel createFile(Path path, int slots) throws java.io.IOException {
+        int size = this.fileSize(slots);
+        FileChannel newChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        header.putInt(magicOffset, magicNumber);
+        header.putInt(versionOffset, formatVersion);
+        header.putInt(keyWidthOffset, this.keySerializer.width());
+        header.putInt(dataWidthOffset, this.dataSerializer.width());
+        header.putInt(slotCountOffset, slots);
+        header.putInt(entryCountOffset, 0);
+        newChannel.write(header, 0);
+        newChannel.write(ByteBuffer.allocate(1), size - 1); // Extend the file to its full size (the slots read as zero, which is empty)
+        return newChannel;
+    }
+
+    /**
+     * Resizes the table, rehashing every entry into a new file which then replaces the table's file<br>
+     * Entries are copied by their encoded bytes and cached hashes, so no keys or data are decoded<br>
+     * 
+     * @param newSize  The new number of slots (power of two)
+     */
+    private void resizeTable(int newSize) throws java.lang.RuntimeException {
+        if (this.tableSize > maxLoadFactor*newSize){
+            throw new RuntimeException("New table size is too small for the entries in the table");
+        }
+        Path resizeFile = this.file.resolveSibling(this.file.getFileName() + ".resize");
+        try {
+            FileChannel newChannel = this.createFile(resizeFile, newSize);
+            MappedByteBuffer newBuffer = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, this.fileSize(newSize));
+            int mask = newSize - 1;
+            for (int slot = 0; slot < this.slotCount; slot++){
+                if (this.slotState(slot) == fullSlot){
+                    int offset = this.slotOffset(slot);
+                    int newSlot = HashTable.mixHash(this.buffer.getInt(offset + 1)) & mask;
+                    while (newBuffer.get(headerSize + newSlot*this.slotWidth) == fullSlot){ // Entries are unique, so just find an empty slot
+                        newSlot = (newSlot + 1) & mask;
+                    }
+                    int newOffset = headerSize + newSlot*this.slotWidth;
+                    for (int i = 0; i < this.slotWidth; i++){
+                        newBuffer.put(newOffset + i, this.buffer.get(offset + i));
+                    }
+                }
+            }
+            newBuffer.putInt(entryCountOffset, this.tableSize);
+            newBuffer.force(); // New file is complete on the device before it replaces the old one
+            this.channel.close();
+            Files.move(resizeFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            this.channel = newChannel;
+            this.buffer = newBuffer;
+            this.slotCount = newSize;
+        } catch (IOException e){
+            throw new RuntimeException("Could not resize mapped hash table file", e);
+        }
+    }
+
+}
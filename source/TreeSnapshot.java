@@ -0,0 +1,348 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Tree Snapshot
+Author: Jonah Swain
+*/
+
+import java.lang.RuntimeException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * <h2>TreeSnapshot</h2>
+ * A binary snapshot file of the entries of an ordered tree (used by AVLTree/BinarySearchTree snapshot and restore)<br>
+ * generic dataType is the (object) type of the data stored<br>
+ * generic keyType is the (object) type of the keys (must implement the Comparable interface)<br><br>
+ * The file is a header (format, key/data widths and entry count), the entries in key order as fixed width key/data records, and a CRC32 checksum of everything before it<br>
+ * Keys and data are encoded by FixedWidthSerializers, and the file is read and written through a buffered FileChannel<br>
+ * A snapshot is either written (create, write each entry, close) or read as a cursor (open, next for each entry, close), so no entry objects are allocated<br>
+ * A snapshot is written to a temporary file next to the target, which only replaces the target (in one atomic move) once it is complete, so a failed write leaves the previous snapshot intact<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class TreeSnapshot<dataType, keyType extends Comparable<keyType>> implements AutoCloseable{
+
+    /** File format identifier (stored at the start of the file) */
+    private static final int magicNumber = 0x54534E50; // "TSNP"
+    /** File format version */
+    private static final int formatVersion = 1;
+    /** Size of the file header in bytes (magic, version, key width, data width, entry count) */
+    private static final int headerSize = 20;
+    /** Size of the checksum after the entries in bytes */
+    private static final int checksumSize = 4;
+    /** Minimum size of the I/O buffer */
+    private static final int bufferSize = 64*1024;
+
+    /** Open channel to the file */
+    private final FileChannel channel;
+
+    /** File the snapshot is written to (writing only, replaced by the temporary file once it is complete) */
+    private final Path file;
+
+    /** Temporary file the snapshot is written into (writing only) */
+    private final Path tempFile;
+
+    /** Key encoder */
+    private final FixedWidthSerializer<keyType> keySerializer;
+
+    /** Data encoder */
+    private final FixedWidthSerializer<dataType> dataSerializer;
+
+    /** Buffer between the entries and the channel */
+    private final ByteBuffer buffer;
+
+    /** Checksum of the bytes written/read so far */
+    private final CRC32 checksum;
+
+    /** Whether the snapshot is being written (rather than read) */
+    private final boolean writing;
+
+    /** Number of entries in the snapshot */
+    private final int entryCount;
+
+    /** Number of entries written/read so far */
+    private int entryIndex;
+
+    /** Key of the entry read last (reading only) */
+    private keyType currentKey;
+
+    /** Data of the entry read last (reading only) */
+    private dataType currentData;
+
+    /**
+     * Creates a snapshot object for an open file<br>
+     * 
+     * @param channel  The open channel to the file
+     * @param file  The file being written (null if reading)
+     * @param tempFile  The temporary file being written (null if reading)
+     * @param keySerializer  The encoder for keys
+     * @param dataSerializer  The encoder for data
+     * @param writing  Whether the snapshot is being written
+     * @param entryCount  The number of entries in the snapshot
+     */
+    private TreeSnapshot(FileChannel channel, Path file, Path tempFile, FixedWidthSerializer<keyType> keySerializer, FixedWidthSerializer<dataType> dataSerializer, boolean writing, int entryCount){
+        this.channel = channel;
+        this.file = file;
+        this.tempFile = tempFile;
+        this.keySerializer = keySerializer;
+        this.dataSerializer = dataSerializer;
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, keySerializer.width() + dataSerializer.width()));
+        this.checksum = new CRC32();
+        this.writing = writing;
+        this.entryCount = entryCount;
+        this.entryIndex = 0;
+    }
+
+    /**
+     * Creates a snapshot file to write entries to and writes its header<br>
+     * The entries are written to a temporary file (the file name with ".tmp" appended), which replaces the file when the snapshot is closed<br>
+     * 
+     * @param file  The file to write (replaced when the snapshot is closed, if it exists)
+     * @param entryCount  The number of entries that will be written
+     * @param keySerializer  The encoder for keys
+     * @param dataSerializer  The encoder for data
+     * @return The snapshot, ready for the entries to be written in key order
+     */
+    public static <dataType, keyType extends Comparable<keyType>> TreeSnapshot<dataType, keyType> create(Path file, int entryCount, FixedWidthSerializer<keyType> keySerializer, FixedWidthSerializer<dataType> dataSerializer) throws java.io.IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        TreeSnapshot<dataType, keyType> snapshot = new TreeSnapshot<dataType, keyType>(channel, file, tempFile, keySerializer, dataSerializer, true, entryCount);
+        snapshot.buffer.putInt(magicNumber);
+        snapshot.buffer.putInt(formatVersion);
+        snapshot.buffer.putInt(keySerializer.width());
+        snapshot.buffer.putInt(dataSerializer.width());
+        snapshot.buffer.putInt(entryCount);
+        return snapshot;
+    }
+
+    /**
+     * Opens a snapshot file to read entries from and checks its header<br>
+     * The file's length must match the header's entry count, and an empty snapshot's checksum is checked straight away (otherwise it is checked when the last entry is read)<br>
+     * 
+     * @param file  The file to read
+     * @param keySerializer  The encoder for keys (must have the width the snapshot was written with)
+     * @param dataSerializer  The encoder for data (must have the width the snapshot was written with)
+     * @return The snapshot, ready for the entries to be read in key order
+     */
+    public static <dataType, keyType extends Comparable<keyType>> TreeSnapshot<dataType, keyType> open(Path file, FixedWidthSerializer<keyType> keySerializer, FixedWidthSerializer<dataType> dataSerializer) throws java.io.IOException, java.lang.RuntimeException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(headerSize);
+        while (header.hasRemaining()){
+            if (channel.read(header) < 0){ // File ends inside the header
+                break;
+            }
+        }
+        header.flip();
+        if (header.remaining() < headerSize || header.getInt(0) != magicNumber || header.getInt(4) != formatVersion){
+            channel.close();
+            throw new RuntimeException("File is not a tree snapshot: " + file);
+        }
+        if (header.getInt(8) != keySerializer.width() || header.getInt(12) != dataSerializer.width()){
+            channel.close();
+            throw new RuntimeException("Serializer widths do not match the snapshot");
+        }
+        int entryCount = header.getInt(16);
+        if ((entryCount < 0) || (channel.size() != headerSize + (long)entryCount*(keySerializer.width() + dataSerializer.width()) + checksumSize)){ // Every entry must be present, with nothing after the checksum
+            channel.close();
+            throw new RuntimeException("Snapshot file length does not match its entry count (file is corrupt or truncated): " + file);
+        }
+        TreeSnapshot<dataType, keyType> snapshot = new TreeSnapshot<dataType, keyType>(channel, null, null, keySerializer, dataSerializer, false, entryCount);
+        snapshot.checksum.update(header);
+        snapshot.buffer.flip(); // Read buffer starts empty
+        if (entryCount == 0){ // No last entry to check the checksum after
+            try {
+                snapshot.checkChecksum();
+            } catch (Throwable e){
+                snapshot.abort(e);
+                throw e;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Gets the number of entries in the snapshot<br>
+     * 
+     * @return The number of entries
+     */
+    public int size(){
+        return this.entryCount;
+    }
+
+    /**
+     * Writes the next entry (entries must be written in strictly increasing key order)<br>
+     * 
+     * @param key  The key of the entry
+     * @param data  The data of the entry
+     */
+    public void write(keyType key, dataType data) throws java.io.IOException, java.lang.RuntimeException {
+        if (this.entryIndex == this.entryCount){
+            throw new RuntimeException("More entries written than the snapshot's entry count");
+        }
+        if (this.buffer.remaining() < this.keySerializer.width() + this.dataSerializer.width()){
+            this.flush();
+        }
+        int position = this.buffer.position();
+        this.keySerializer.write(this.buffer, position, key);
+        this.dataSerializer.write(this.buffer, position + this.keySerializer.width(), data);
+        this.buffer.position(position + this.keySerializer.width() + this.dataSerializer.width());
+        this.entryIndex++;
+    }
+
+    /**
+     * Reads the next entry, which is then available from key() and data()<br>
+     * Reading the last entry also checks the snapshot's checksum (an empty snapshot's checksum is checked by open)<br>
+     * 
+     * @return Whether an entry was read (false once every entry has been read)
+     */
+    public boolean next() throws java.io.IOException, java.lang.RuntimeException {
+        if (this.entryIndex == this.entryCount){
+            return false;
+        }
+        int recordWidth = this.keySerializer.width() + this.dataSerializer.width();
+        this.fill(recordWidth);
+        int position = this.buffer.position();
+        keyType key = this.keySerializer.read(this.buffer, position);
+        if ((this.currentKey != null) && (this.currentKey.compareTo(key) >= 0)){
+            throw new RuntimeException("Snapshot keys are not in sorted order");
+        }
+        this.currentKey = key;
+        this.currentData = this.dataSerializer.read(this.buffer, position + this.keySerializer.width());
+        this.consume(recordWidth);
+        this.entryIndex++;
+
+        if (this.entryIndex == this.entryCount){ // Last entry, check the checksum
+            this.checkChecksum();
+        }
+        return true;
+    }
+
+    /**
+     * Reads the checksum after the entries and checks it against the checksum of everything read<br>
+     */
+    private void checkChecksum() throws java.io.IOException, java.lang.RuntimeException {
+        int expectedChecksum = (int)this.checksum.getValue();
+        this.fill(checksumSize);
+        if (this.buffer.getInt() != expectedChecksum){
+            throw new RuntimeException("Snapshot checksum does not match (file is corrupt or truncated)");
+        }
+    }
+
+    /**
+     * Gets the key of the entry read last<br>
+     * 
+     * @return The key of the current entry
+     */
+    public keyType key(){
+        return this.currentKey;
+    }
+
+    /**
+     * Gets the data of the entry read last<br>
+     * 
+     * @return The data of the current entry
+     */
+    public dataType data(){
+        return this.currentData;
+    }
+
+    /**
+     * Closes the snapshot file<br>
+     * When writing, first writes any buffered entries and the checksum, then replaces the file with the complete snapshot<br>
+     * If the snapshot cannot be completed (e.g. too few entries were written) the temporary file is deleted and the file is left unchanged<br>
+     */
+    public void close() throws java.io.IOException, java.lang.RuntimeException {
+        if (!this.writing){
+            this.channel.close();
+            return;
+        }
+        try {
+            if (this.entryIndex != this.entryCount){
+                throw new RuntimeException("Fewer entries written than the snapshot's entry count");
+            }
+            this.flush();
+            this.buffer.putInt((int)this.checksum.getValue());
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()){
+                this.channel.write(this.buffer);
+            }
+            this.channel.force(false); // Snapshot is complete on the device before it replaces the old one
+            this.channel.close();
+            Files.move(this.tempFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Throwable e){
+            this.abort(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Abandons a snapshot being written after a failure, closing and deleting the temporary file (the file is left unchanged)<br>
+     * Failures to close or delete are added to the original failure as suppressed exceptions, so they do not hide it<br>
+     * 
+     * @param cause  The failure that stopped the snapshot being written
+     */
+    public void abort(Throwable cause){
+        try {
+            this.channel.close();
+        } catch (java.io.IOException e){
+            cause.addSuppressed(e);
+        }
+        if (this.writing){
+            try {
+                Files.deleteIfExists(this.tempFile);
+            } catch (java.io.IOException e){
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered bytes to the channel (adding them to the checksum)<br>
+     */
+    private void flush() throws java.io.IOException {
+        this.buffer.flip();
+        this.checksum.update(this.buffer);
+        this.buffer.rewind();
+        while (this.buffer.hasRemaining()){
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Reads from the channel until at least a number of bytes are buffered<br>
+     * 
+     * @param bytes  The number of bytes needed
+     */
+    private void fill(int bytes) throws java.io.IOException, java.lang.RuntimeException {
+        if (this.buffer.remaining() >= bytes){
+            return;
+        }
+        this.buffer.compact();
+        while (this.buffer.position() < bytes){
+            if (this.channel.read(this.buffer) < 0){
+                throw new RuntimeException("Snapshot file is truncated");
+            }
+        }
+        this.buffer.flip();
+    }
+
+    /**
+     * Moves past a number of buffered bytes, adding them to the checksum<br>
+     * 
+     * @param bytes  The number of bytes read
+     */
+    private void consume(int bytes){
+        int limit = this.buffer.limit();
+        this.buffer.limit(this.buffer.position() + bytes);
+        this.checksum.update(this.buffer); // Advances the position past the bytes
+        this.buffer.limit(limit);
+    }
+
+}
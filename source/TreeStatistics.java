@@ -0,0 +1,296 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Tree Statistics
+Author: Jonah Swain
+*/
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>TreeStatistics</h2>
+ * A snapshot of an AVLTree's or BinarySearchTree's statistics (see setStatisticsEnabled on the trees), which does not change after it is taken<br>
+ * Operation counts are counted from when statistics were enabled, the size and height are the tree's when the snapshot is taken<br>
+ * A path length is the number of nodes visited by the search of a get/insert/delete, kept as a histogram with the same power of two buckets as HashTableStatistics<br>
+ * A height well above the optimal height (or long paths in the histogram) shows the tree degenerating, e.g. a BinarySearchTree fed sorted keys<br>
+ * 
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class TreeStatistics{
+
+    /** Number of entries in the tree */
+    private final int size;
+    /** Height of the tree */
+    private final int height;
+
+    /** Number of gets */
+    private final long gets;
+    /** Number of gets of keys not in the tree */
+    private final long getMisses;
+    /** Total key comparisons of the gets */
+    private final long getComparisons;
+    /** Number of searches (gets, inserts and deletes) */
+    private final long searches;
+    /** Total path length of the searches */
+    private final long pathTotal;
+    /** Histogram of search path lengths */
+    private final long[] pathLengths;
+    /** Number of inserts */
+    private final long inserts;
+    /** Total rotations of the inserts */
+    private final long insertRotations;
+    /** Number of deletes that removed an entry */
+    private final long deletes;
+    /** Total rotations of the deletes */
+    private final long deleteRotations;
+
+    /**
+     * Creates a statistics snapshot (used by the trees' statistics methods)<br>
+     * 
+     * @param size  The number of entries in the tree
+     * @param height  The height of the tree
+     * @param counters  The tree's operation counters
+     */
+    TreeStatistics(int size, int height, Counters counters){
+        this.size = size;
+        this.height = height;
+        this.gets = counters.gets.sum();
+        this.getMisses = counters.getMisses.sum();
+        this.getComparisons = counters.getComparisons.sum();
+        this.searches = counters.searches.sum();
+        this.pathTotal = counters.pathTotal.sum();
+        this.pathLengths = new long[HashTableStatistics.histogramBuckets];
+        for (int i = 0; i < this.pathLengths.length; i++){
+            this.pathLengths[i] = counters.pathLengths[i].sum();
+        }
+        this.inserts = counters.inserts.sum();
+        this.insertRotations = counters.insertRotations.sum();
+        this.deletes = counters.deletes.sum();
+        this.deleteRotations = counters.deleteRotations.sum();
+    }
+
+    /**
+     * Gets the number of entries in the tree<br>
+     * 
+     * @return The number of entries
+     */
+    public int size(){
+        return this.size;
+    }
+
+    /**
+     * Gets the height of the tree (number of nodes on the longest path from the head node, 0 if empty)<br>
+     * 
+     * @return The height
+     */
+    public int height(){
+        return this.height;
+    }
+
+    /**
+     * Gets the height of a perfectly balanced tree of the same size<br>
+     * 
+     * @return The optimal height (ceil(log2(size + 1)))
+     */
+    public int optimalHeight(){
+        return 32 - Integer.numberOfLeadingZeros(this.size);
+    }
+
+    /**
+     * Gets the number of gets<br>
+     * 
+     * @return The number of gets
+     */
+    public long gets(){
+        return this.gets;
+    }
+
+    /**
+     * Gets the number of gets of keys not in the tree<br>
+     * 
+     * @return The number of missed gets
+     */
+    public long getMisses(){
+        return this.getMisses;
+    }
+
+    /**
+     * Gets the mean number of key comparisons per get (compareTo calls)<br>
+     * 
+     * @return The mean comparisons (0 if there were no gets)
+     */
+    public double meanGetComparisons(){
+        if (this.gets == 0){
+            return 0;
+        }
+        return (double)this.getComparisons/this.gets;
+    }
+
+    /**
+     * Gets the histogram of search path lengths (gets, inserts and deletes)<br>
+     * 
+     * @return The number of searches in each bucket (see HashTableStatistics.histogramBucketLimit)
+     */
+    public long[] pathLengths(){
+        return this.pathLengths.clone();
+    }
+
+    /**
+     * Gets the mean search path length<br>
+     * 
+     * @return The mean path length (0 if there were no searches)
+     */
+    public double meanPathLength(){
+        if (this.searches == 0){
+            return 0;
+        }
+        return (double)this.pathTotal/this.searches;
+    }
+
+    /**
+     * Gets the number of inserts<br>
+     * 
+     * @return The number of inserts
+     */
+    public long inserts(){
+        return this.inserts;
+    }
+
+    /**
+     * Gets the mean number of rotations per insert (always 0 for an unbalanced BinarySearchTree)<br>
+     * 
+     * @return The mean rotations (0 if there were no inserts)
+     */
+    public double meanInsertRotations(){
+        if (this.inserts == 0){
+            return 0;
+        }
+        return (double)this.insertRotations/this.inserts;
+    }
+
+    /**
+     * Gets the number of deletes that removed an entry (deletes of keys not in the tree are not counted)<br>
+     * 
+     * @return The number of deletes
+     */
+    public long deletes(){
+        return this.deletes;
+    }
+
+    /**
+     * Gets the mean number of rotations per delete (always 0 for an unbalanced BinarySearchTree)<br>
+     * 
+     * @return The mean rotations (0 if there were no deletes)
+     */
+    public double meanDeleteRotations(){
+        if (this.deletes == 0){
+            return 0;
+        }
+        return (double)this.deleteRotations/this.deletes;
+    }
+
+    /**
+     * Returns the statistics as a string<br>
+     * 
+     * @return The statistics, one per line
+     */
+    public String toString(){
+        StringBuilder str = new StringBuilder();
+        str.append("size=").append(this.size).append(" height=").append(this.height).append(" optimalHeight=").append(this.optimalHeight()).append("\n");
+        str.append("gets=").append(this.gets).append(" misses=").append(this.getMisses).append(" meanComparisons=").append(this.meanGetComparisons()).append("\n");
+        str.append("meanPathLength=").append(this.meanPathLength()).append(" p99PathLength=").append(HashTableStatistics.percentile(this.pathLengths, 0.99)).append("\n");
+        str.append("inserts=").append(this.inserts).append(" meanRotations=").append(this.meanInsertRotations()).append("\n");
+        str.append("deletes=").append(this.deletes).append(" meanRotations=").append(this.meanDeleteRotations()).append("\n");
+        return str.toString();
+    }
+
+    /**
+     * The statistics counters of a tree (LongAdders, so gets from several threads do not contend on them)<br>
+     */
+    static class Counters{
+
+        /** Number of gets */
+        final LongAdder gets = new LongAdder();
+        /** Number of gets of keys not in the tree */
+        final LongAdder getMisses = new LongAdder();
+        /** Total key comparisons of the gets */
+        final LongAdder getComparisons = new LongAdder();
+        /** Number of searches */
+        final LongAdder searches = new LongAdder();
+        /** Total path length of the searches */
+        final LongAdder pathTotal = new LongAdder();
+        /** Histogram of search path lengths */
+        final LongAdder[] pathLengths = new LongAdder[HashTableStatistics.histogramBuckets];
+        /** Number of inserts */
+        final LongAdder inserts = new LongAdder();
+        /** Total rotations of the inserts */
+        final LongAdder insertRotations = new LongAdder();
+        /** Number of deletes that removed an entry */
+        final LongAdder deletes = new LongAdder();
+        /** Total rotations of the deletes */
+        final LongAdder deleteRotations = new LongAdder();
+
+        /** Creates a new set of counters (all zero) */
+        Counters(){
+            for (int i = 0; i < this.pathLengths.length; i++){
+                this.pathLengths[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records a get<br>
+         * 
+         * @param comparisons  The number of key comparisons
+         * @param pathLength  The number of nodes visited
+         * @param found  Whether the key was found
+         */
+        void recordGet(int comparisons, int pathLength, boolean found){
+            this.gets.increment();
+            if (!found){
+                this.getMisses.increment();
+            }
+            this.getComparisons.add(comparisons);
+            this.recordPath(pathLength);
+        }
+
+        /**
+         * Records an insert<br>
+         * 
+         * @param pathLength  The number of nodes visited
+         * @param rotations  The number of rotations
+         */
+        void recordInsert(int pathLength, long rotations){
+            this.inserts.increment();
+            this.insertRotations.add(rotations);
+            this.recordPath(pathLength);
+        }
+
+        /**
+         * Records a delete (only counted as a delete if it removed an entry, its search is always counted)<br>
+         * 
+         * @param pathLength  The number of nodes visited
+         * @param rotations  The number of rotations
+         * @param removed  Whether the key was found and its entry removed
+         */
+        void recordDelete(int pathLength, long rotations, boolean removed){
+            if (removed){
+                this.deletes.increment();
+                this.deleteRotations.add(rotations);
+            }
+            this.recordPath(pathLength);
+        }
+
+        /**
+         * Records the path length of a search<br>
+         * 
+         * @param pathLength  The number of nodes visited
+         */
+        private void recordPath(int pathLength){
+            this.searches.increment();
+            this.pathTotal.add(pathLength);
+            this.pathLengths[HashTableStatistics.histogramBucket(pathLength)].increment();
+        }
+
+    }
+
+}
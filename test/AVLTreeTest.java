@@ -0,0 +1,155 @@
+/*
+DataStructures (Java implementation of certain data structures)
+AVL Tree Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>AVLTreeTest</h2>
+ * Tests of AVLTree, against TreeMap and the AVL invariants<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class AVLTreeTest{
+
+    /**
+     * Gets the head node of a tree (not exposed by AVLTree)<br>
+     *
+     * @param tree  The tree
+     * @return The head node (null if the tree is empty)
+     */
+    @SuppressWarnings("unchecked") // The field holds nodes of the tree's own types
+    static AVLTreeNode<String, Integer> headNode(AVLTree<String, Integer> tree) throws Exception {
+        Field field = AVLTree.class.getDeclaredField("headNode");
+        field.setAccessible(true);
+        return (AVLTreeNode<String, Integer>) field.get(tree);
+    }
+
+    /**
+     * Checks the key order, parent links, sub-tree sizes, cached heights and balance of a sub-tree<br>
+     *
+     * @param node  The head of the sub-tree
+     * @param lowerKey  Every key must be greater than this (null for no bound)
+     * @param upperKey  Every key must be less than this (null for no bound)
+     * @return The number of nodes in the sub-tree
+     */
+    static int checkNodes(AVLTreeNode<String, Integer> node, Integer lowerKey, Integer upperKey){
+        if (node == null){
+            return 0;
+        }
+        assertTrue((lowerKey == null) || (node.key() > lowerKey));
+        assertTrue((upperKey == null) || (node.key() < upperKey));
+        int leftHeight = 0;
+        int rightHeight = 0;
+        if (node.getLeftChild() != null){
+            assertSame(node, node.getLeftChild().getParent());
+            leftHeight = node.getLeftChild().getHeight();
+        }
+        if (node.getRightChild() != null){
+            assertSame(node, node.getRightChild().getParent());
+            rightHeight = node.getRightChild().getHeight();
+        }
+        assertTrue(Math.abs(leftHeight - rightHeight) <= 1);
+        int size = 1 + checkNodes(node.getLeftChild(), lowerKey, node.key()) + checkNodes(node.getRightChild(), node.key(), upperKey);
+        assertEquals(1 + Math.max(leftHeight, rightHeight), node.getHeight()); // Children's heights were checked by the recursion
+        assertEquals(size, node.getSize());
+        return size;
+    }
+
+    /**
+     * Checks a tree (with order statistics enabled) against its reference map and the AVL invariants<br>
+     *
+     * @param tree  The tree
+     * @param reference  The entries the tree should hold
+     */
+    static void checkTree(AVLTree<String, Integer> tree, TreeMap<Integer, String> reference) throws Exception {
+        AVLTreeNode<String, Integer> head = headNode(tree);
+        assertTrue((head == null) || (head.getParent() == null));
+        assertEquals(reference.size(), checkNodes(head, null, null));
+        assertEquals(reference.size(), tree.size());
+        ArrayList<String> data = new ArrayList<String>();
+        for (String entry : tree){
+            data.add(entry);
+        }
+        assertEquals(new ArrayList<String>(reference.values()), data);
+    }
+
+    /**
+     * Wraps an AVLTree (with order statistics enabled) for BinarySearchTreeTest.compareWithTreeMap<br>
+     *
+     * @param tree  The tree
+     * @return The wrapped tree
+     */
+    static BinarySearchTreeTest.OrderedTree wrap(AVLTree<String, Integer> tree){
+        return new BinarySearchTreeTest.OrderedTree(){
+            public void insert(Integer key, String data){ tree.insert(key, data); }
+            public String get(Integer key){ return tree.get(key); }
+            public void delete(Integer key){ tree.delete(key); }
+            public int size(){ return tree.size(); }
+            public void check(TreeMap<Integer, String> reference) throws Exception { checkTree(tree, reference); }
+            public String floor(Integer key){ return tree.floor(key); }
+            public String ceiling(Integer key){ return tree.ceiling(key); }
+            public String lower(Integer key){ return tree.lower(key); }
+            public String higher(Integer key){ return tree.higher(key); }
+            public int rank(Integer key){ return tree.rank(key); }
+            public String select(int index){ return tree.select(index); }
+        };
+    }
+
+    /** Random inserts, gets, deletes and ordered queries (including ascending runs of keys) match a TreeMap, and the tree stays balanced with correct cached heights throughout */
+    @Test
+    public void randomOperationsMatchTreeMap() throws Exception {
+        BinarySearchTreeTest.compareWithTreeMap(wrap(new AVLTree<String, Integer>(true)), 1, 3000);
+    }
+
+    /** Only deletes that remove an entry are counted (so missed deletes do not dilute the mean rotations), and inserts minus deletes is the tree's size */
+    @Test
+    public void statisticsCountOnlyRemovingDeletes(){
+        AVLTree<Integer, Integer> tree = new AVLTree<Integer, Integer>();
+        tree.setStatisticsEnabled(true);
+        for (int i = 0; i < 100; i++){
+            tree.insert(i, i);
+        }
+        for (int i = 50; i < 150; i++){ // Half of these keys are not in the tree
+            tree.delete(i);
+        }
+        TreeStatistics statistics = tree.statistics();
+        assertEquals(50, statistics.deletes());
+        assertEquals(tree.size(), statistics.inserts() - statistics.deletes());
+        assertTrue(statistics.meanDeleteRotations() > 0); // Deleting the upper half of a balanced tree needs rotations
+    }
+
+    /** Sorted inserts and deletes keep the tree within the AVL depth bound (about 1.44 log2(n + 2)) */
+    @Test
+    public void sortedInsertsStayBalanced() throws Exception {
+        int size = 100000;
+        AVLTree<String, Integer> tree = new AVLTree<String, Integer>(true);
+        TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+        for (int i = 0; i < size; i++){
+            tree.insert(i, "data" + i);
+            reference.put(i, "data" + i);
+        }
+        checkTree(tree, reference);
+        assertTrue(tree.depth() <= 1.45*Math.log(size + 2)/Math.log(2));
+        for (int i = 0; i < size; i += 3){
+            tree.delete(i);
+            reference.remove(i);
+        }
+        checkTree(tree, reference);
+        for (Map.Entry<Integer, String> entry : reference.entrySet()){
+            assertEquals(entry.getValue(), tree.get(entry.getKey()));
+        }
+    }
+
+}
@@ -0,0 +1,249 @@
+/*
+DataStructures (Java implementation of certain data structures)
+B+ Tree Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>BPlusTreeTest</h2>
+ * Tests of BPlusTree, against TreeMap and the B+ tree invariants, at orders small enough that splits, borrows, merges and the head node collapsing happen often<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class BPlusTreeTest{
+
+    /** Orders to test (3 is the smallest allowed, 64 is the default) */
+    static final int[] orders = {3, 4, 5, 8, 64};
+
+    /**
+     * Gets the head node of a tree (not exposed by BPlusTree)<br>
+     *
+     * @param tree  The tree
+     * @return The head node (an empty leaf if the tree is empty)
+     */
+    @SuppressWarnings("unchecked") // The field holds nodes of the tree's own types
+    static BPlusTreeNode<String, Integer> headNode(BPlusTree<String, Integer> tree) throws Exception {
+        Field field = BPlusTree.class.getDeclaredField("headNode");
+        field.setAccessible(true);
+        return (BPlusTreeNode<String, Integer>) field.get(tree);
+    }
+
+    /**
+     * Gets a key of a node (the key array is created as a Comparable array, so it cannot be used as an Integer array)<br>
+     *
+     * @param node  The node
+     * @param index  The position of the key
+     * @return The key
+     */
+    static Integer key(BPlusTreeNode<String, Integer> node, int index){
+        Object[] keys = node.keys();
+        return (Integer) keys[index];
+    }
+
+    /**
+     * Checks the key order and key counts of a sub-tree, and that its leaves are all at the same depth<br>
+     *
+     * @param node  The head of the sub-tree
+     * @param order  The tree's order
+     * @param head  Whether the node is the head node (which may hold fewer keys)
+     * @param lowerKey  Every key must be at least this (null for no bound)
+     * @param upperKey  Every key must be less than this (null for no bound)
+     * @param depth  The number of levels from the node down to the leaves
+     * @param leaves  The leaves found so far, in key order (the sub-tree's leaves are added)
+     * @return The number of entries in the sub-tree
+     */
+    static int checkNodes(BPlusTreeNode<String, Integer> node, int order, boolean head, Integer lowerKey, Integer upperKey, int depth, ArrayList<BPlusTreeNode<String, Integer>> leaves){
+        int keyCount = node.getKeyCount();
+        assertTrue(keyCount <= order - 1);
+        if (!head){
+            assertTrue(keyCount >= (order - 1)/2);
+        }
+        for (int i = 0; i < keyCount; i++){
+            Integer key = key(node, i);
+            assertTrue((lowerKey == null) || (key >= lowerKey));
+            assertTrue((upperKey == null) || (key < upperKey));
+            assertTrue((i == 0) || (key(node, i - 1) < key));
+        }
+        if (node.isLeaf()){
+            assertEquals(1, depth);
+            leaves.add(node);
+            return keyCount;
+        }
+        assertTrue(keyCount >= 1);
+        int size = 0;
+        for (int i = 0; i <= keyCount; i++){
+            Integer childLowerKey = lowerKey;
+            Integer childUpperKey = upperKey;
+            if (i > 0){
+                childLowerKey = key(node, i - 1);
+            }
+            if (i < keyCount){
+                childUpperKey = key(node, i);
+            }
+            size += checkNodes(node.children()[i], order, false, childLowerKey, childUpperKey, depth - 1, leaves);
+        }
+        return size;
+    }
+
+    /**
+     * Checks a tree against its reference map and the B+ tree invariants, including the leaf links, toArray and range<br>
+     *
+     * @param tree  The tree
+     * @param order  The tree's order
+     * @param reference  The entries the tree should hold
+     */
+    static void checkTree(BPlusTree<String, Integer> tree, int order, TreeMap<Integer, String> reference) throws Exception {
+        ArrayList<BPlusTreeNode<String, Integer>> leaves = new ArrayList<BPlusTreeNode<String, Integer>>();
+        assertEquals(reference.size(), checkNodes(headNode(tree), order, true, null, null, Math.max(tree.depth(), 1), leaves));
+        assertEquals(reference.size(), tree.size());
+        for (int i = 0; i < leaves.size(); i++){
+            if (i + 1 < leaves.size()){
+                assertSame(leaves.get(i + 1), leaves.get(i).getNextLeaf());
+            } else {
+                assertNull(leaves.get(i).getNextLeaf());
+            }
+        }
+        if (reference.isEmpty()){
+            assertEquals(0, tree.depth());
+            assertTrue(headNode(tree).isLeaf());
+        }
+        assertArrayEquals(array(reference.values()), tree.toArray());
+        if (!reference.isEmpty()){
+            for (int fromKey = reference.firstKey() - 5; fromKey <= reference.lastKey() + 5; fromKey += 37){ // Windows starting on, between and outside the stored keys
+                assertArrayEquals(array(reference.subMap(fromKey, true, fromKey + 40, true).values()), tree.range(fromKey, fromKey + 40));
+            }
+        }
+    }
+
+    /**
+     * Converts data to an array in the form BPlusTree returns it<br>
+     *
+     * @param data  The data
+     * @return The data as an array (null if there is no data)
+     */
+    static String[] array(Collection<String> data){
+        if (data.isEmpty()){
+            return null;
+        }
+        return data.toArray(new String[0]);
+    }
+
+    /**
+     * Wraps a BPlusTree for BinarySearchTreeTest.compareWithTreeMap<br>
+     *
+     * @param tree  The tree
+     * @param order  The tree's order
+     * @return The wrapped tree
+     */
+    static BinarySearchTreeTest.Tree wrap(BPlusTree<String, Integer> tree, int order){
+        return new BinarySearchTreeTest.Tree(){
+            public void insert(Integer key, String data){ tree.insert(key, data); }
+            public String get(Integer key){ return tree.get(key); }
+            public void delete(Integer key){ tree.delete(key); }
+            public int size(){ return tree.size(); }
+            public void check(TreeMap<Integer, String> reference) throws Exception { checkTree(tree, order, reference); }
+        };
+    }
+
+    /** Random inserts, gets and deletes (including ascending runs of keys) match a TreeMap at every order, and the tree keeps its key counts, leaf depth, leaf links, toArray and range correct throughout */
+    @Test
+    public void randomOperationsMatchTreeMap() throws Exception {
+        for (int order : orders){
+            BinarySearchTreeTest.compareWithTreeMap(wrap(new BPlusTree<String, Integer>(order), order), order, 3000);
+        }
+    }
+
+    /** Deleting every entry (in random order) merges the tree back down to an empty leaf with depth 0, and the empty tree can be filled again */
+    @Test
+    public void deletingEverythingEmptiesTree() throws Exception {
+        for (int order : orders){
+            BPlusTree<String, Integer> tree = new BPlusTree<String, Integer>(order);
+            TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+            ArrayList<Integer> keys = new ArrayList<Integer>();
+            for (int i = 0; i < 2000; i++){
+                keys.add(i);
+            }
+            Random random = new Random(order);
+            for (int round = 0; round < 2; round++){
+                Collections.shuffle(keys, random);
+                for (Integer key : keys){
+                    tree.insert(key, "data" + key);
+                    reference.put(key, "data" + key);
+                }
+                checkTree(tree, order, reference);
+                assertTrue(tree.depth() > 1);
+                Collections.shuffle(keys, random);
+                for (int i = 0; i < keys.size(); i++){
+                    tree.delete(keys.get(i));
+                    reference.remove(keys.get(i));
+                    if (i%250 == 0){
+                        checkTree(tree, order, reference);
+                    }
+                }
+                checkTree(tree, order, reference);
+                assertEquals(0, tree.size());
+                assertEquals(0, tree.depth());
+                assertNull(tree.toArray());
+                assertNull(tree.range(0, 2000));
+                tree.delete(0); // Deleting from an empty tree does nothing
+                assertEquals(0, tree.depth());
+            }
+        }
+    }
+
+    /** Ranges follow TreeMap.subMap (inclusive of both keys) at the ends of the key space, across leaf boundaries, and return null when empty or reversed */
+    @Test
+    public void rangeMatchesSubMap() throws Exception {
+        for (int order : orders){
+            BPlusTree<String, Integer> tree = new BPlusTree<String, Integer>(order);
+            TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+            for (int i = 0; i < 500; i += 2){ // Even keys only, so range bounds can fall between keys
+                tree.insert(i, "data" + i);
+                reference.put(i, "data" + i);
+            }
+            Random random = new Random(order);
+            for (int i = 0; i < 2000; i++){
+                int fromKey = random.nextInt(520) - 10;
+                int toKey = fromKey + random.nextInt(60);
+                assertArrayEquals(array(reference.subMap(fromKey, true, toKey, true).values()), tree.range(fromKey, toKey));
+            }
+            assertArrayEquals(array(reference.values()), tree.range(Integer.MIN_VALUE, Integer.MAX_VALUE));
+            assertArrayEquals(new String[]{"data0"}, tree.range(-1, 0));
+            assertArrayEquals(new String[]{"data498"}, tree.range(498, 1000));
+            assertNull(tree.range(1, 1));
+            assertNull(tree.range(10, 5));
+            assertNull(tree.range(499, 1000));
+        }
+    }
+
+    /** Orders below 3 are rejected, and duplicate keys are rejected without changing the tree */
+    @Test
+    public void invalidOrdersAndDuplicates() throws Exception {
+        assertThrows(RuntimeException.class, () -> new BPlusTree<String, Integer>(2));
+        BPlusTree<String, Integer> tree = new BPlusTree<String, Integer>(3);
+        TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+        for (int i = 0; i < 50; i++){
+            tree.insert(i, "data" + i);
+            reference.put(i, "data" + i);
+        }
+        assertThrows(RuntimeException.class, () -> tree.insert(25, "duplicate"));
+        checkTree(tree, 3, reference);
+    }
+
+}
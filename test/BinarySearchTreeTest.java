@@ -0,0 +1,403 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Binary Search Tree Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>BinarySearchTreeTest</h2>
+ * Tests of BinarySearchTree's balancing schemes, against TreeMap and the invariants of each scheme<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class BinarySearchTreeTest{
+
+    /**
+     * Gets the head node of a tree (not exposed by BinarySearchTree)<br>
+     *
+     * @param tree  The tree
+     * @return The head node (null if the tree is empty)
+     */
+    @SuppressWarnings("unchecked") // The field holds nodes of the tree's own types
+    static BinarySearchTreeNode<String, Integer> headNode(BinarySearchTree<String, Integer> tree) throws Exception {
+        Field field = BinarySearchTree.class.getDeclaredField("headNode");
+        field.setAccessible(true);
+        return (BinarySearchTreeNode<String, Integer>) field.get(tree);
+    }
+
+    /**
+     * Checks the key order, parent links and sub-tree sizes of a sub-tree, and the heap order of treap priorities<br>
+     *
+     * @param node  The head of the sub-tree
+     * @param balancing  The tree's balancing scheme
+     * @param lowerKey  Every key must be greater than this (null for no bound)
+     * @param upperKey  Every key must be less than this (null for no bound)
+     * @return The number of nodes in the sub-tree
+     */
+    static int checkNodes(BinarySearchTreeNode<String, Integer> node, int balancing, Integer lowerKey, Integer upperKey){
+        if (node == null){
+            return 0;
+        }
+        assertTrue((lowerKey == null) || (node.key() > lowerKey));
+        assertTrue((upperKey == null) || (node.key() < upperKey));
+        checkChild(node, node.getLeftChild(), balancing);
+        checkChild(node, node.getRightChild(), balancing);
+        int size = 1 + checkNodes(node.getLeftChild(), balancing, lowerKey, node.key()) + checkNodes(node.getRightChild(), balancing, node.key(), upperKey);
+        assertEquals(size, node.getSize());
+        return size;
+    }
+
+    /**
+     * Checks a child's parent link, and that its treap priority is no higher than its parent's<br>
+     *
+     * @param node  The parent node
+     * @param child  The child (may be null)
+     * @param balancing  The tree's balancing scheme
+     */
+    static void checkChild(BinarySearchTreeNode<String, Integer> node, BinarySearchTreeNode<String, Integer> child, int balancing){
+        if (child != null){
+            assertSame(node, child.getParent());
+            if (balancing == BinarySearchTree.treapBalancing){
+                assertTrue(child.getPriority() <= node.getPriority());
+            }
+        }
+    }
+
+    /**
+     * Checks that no red node has a red child and that every path has the same number of black nodes<br>
+     *
+     * @param node  The head of the sub-tree
+     * @return The number of black nodes on each path from the node down (counting the empty leaves)
+     */
+    static int blackHeight(BinarySearchTreeNode<String, Integer> node){
+        if (node == null){
+            return 1;
+        }
+        if (node.isRed()){
+            assertFalse((node.getLeftChild() != null) && node.getLeftChild().isRed());
+            assertFalse((node.getRightChild() != null) && node.getRightChild().isRed());
+        }
+        int leftHeight = blackHeight(node.getLeftChild());
+        assertEquals(leftHeight, blackHeight(node.getRightChild()));
+        if (node.isRed()){
+            return leftHeight;
+        } else {
+            return leftHeight + 1;
+        }
+    }
+
+    /**
+     * Checks a tree (with order statistics and statistics enabled) against its reference map and the invariants of its balancing scheme<br>
+     *
+     * @param tree  The tree
+     * @param balancing  The tree's balancing scheme
+     * @param reference  The entries the tree should hold
+     */
+    static void checkTree(BinarySearchTree<String, Integer> tree, int balancing, TreeMap<Integer, String> reference) throws Exception {
+        BinarySearchTreeNode<String, Integer> head = headNode(tree);
+        assertEquals(reference.size(), checkNodes(head, balancing, null, null));
+        assertEquals(reference.size(), tree.size());
+        assertTrue((head == null) || (head.getParent() == null));
+        if (balancing == BinarySearchTree.redBlackBalancing){
+            assertTrue((head == null) || !head.isRed());
+            blackHeight(head);
+        }
+        int cachedDepth = tree.depth(); // Cached node heights
+        tree.setStatisticsEnabled(false);
+        assertEquals(tree.depth(), cachedDepth); // Heights counted node by node
+        tree.setStatisticsEnabled(true);
+        ArrayList<String> data = new ArrayList<String>();
+        for (String entry : tree){
+            data.add(entry);
+        }
+        assertEquals(new ArrayList<String>(reference.values()), data);
+    }
+
+    /**
+     * <h2>Tree</h2>
+     * A tree under test, with Integer keys and String data, so one random-operation driver (compareWithTreeMap) checks every tree class<br>
+     */
+    interface Tree{
+
+        void insert(Integer key, String data);
+
+        String get(Integer key);
+
+        void delete(Integer key);
+
+        int size();
+
+        /**
+         * Checks the tree against its reference map and the invariants of its structure<br>
+         *
+         * @param reference  The entries the tree should hold
+         */
+        void check(TreeMap<Integer, String> reference) throws Exception;
+
+    }
+
+    /**
+     * <h2>OrderedTree</h2>
+     * A tree under test that also answers ordered queries (checked by compareWithTreeMap alongside the other operations)<br>
+     */
+    interface OrderedTree extends Tree{
+
+        String floor(Integer key);
+
+        String ceiling(Integer key);
+
+        String lower(Integer key);
+
+        String higher(Integer key);
+
+        int rank(Integer key);
+
+        String select(int index);
+
+    }
+
+    /**
+     * Wraps a BinarySearchTree (with order statistics and statistics enabled) for compareWithTreeMap<br>
+     *
+     * @param tree  The tree
+     * @param balancing  The tree's balancing scheme
+     * @return The wrapped tree
+     */
+    static OrderedTree wrap(BinarySearchTree<String, Integer> tree, int balancing){
+        return new OrderedTree(){
+            public void insert(Integer key, String data){ tree.insert(key, data); }
+            public String get(Integer key){ return tree.get(key); }
+            public void delete(Integer key){ tree.delete(key); }
+            public int size(){ return tree.size(); }
+            public void check(TreeMap<Integer, String> reference) throws Exception { checkTree(tree, balancing, reference); }
+            public String floor(Integer key){ return tree.floor(key); }
+            public String ceiling(Integer key){ return tree.ceiling(key); }
+            public String lower(Integer key){ return tree.lower(key); }
+            public String higher(Integer key){ return tree.higher(key); }
+            public int rank(Integer key){ return tree.rank(key); }
+            public String select(int index){ return tree.select(index); }
+        };
+    }
+
+    /**
+     * Runs random inserts, gets, deletes and ordered queries (if the tree supports them) on a tree and a TreeMap, checking that they agree throughout and that the tree keeps its invariants<br>
+     * Phases alternate between mostly inserting and mostly deleting, and keys are sometimes inserted in ascending runs (the worst case for an unbalanced tree)<br>
+     *
+     * @param tree  The tree to test (empty)
+     * @param seed  The random seed
+     * @param keyRange  The number of distinct keys
+     */
+    static void compareWithTreeMap(Tree tree, long seed, int keyRange) throws Exception {
+        Random random = new Random(seed);
+        TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+        for (int phase = 0; phase < 6; phase++){
+            int deletePercent = 15;
+            if (phase%2 == 1){
+                deletePercent = 60;
+            }
+            int runKey = random.nextInt(keyRange);
+            for (int i = 0; i < 10000; i++){
+                int nextKey = random.nextInt(keyRange);
+                if (random.nextInt(4) == 0){ // Continue an ascending run
+                    runKey = (runKey + 1)%keyRange;
+                    nextKey = runKey;
+                }
+                Integer key = nextKey;
+                int operation = random.nextInt(100);
+                if (operation < deletePercent){
+                    tree.delete(key);
+                    reference.remove(key);
+                } else if (operation < 70){
+                    if (reference.containsKey(key)){
+                        assertThrows(RuntimeException.class, () -> tree.insert(key, "duplicate"));
+                    } else {
+                        tree.insert(key, "data" + key);
+                        reference.put(key, "data" + key);
+                    }
+                } else if ((operation < 85) || !(tree instanceof OrderedTree)){
+                    assertEquals(reference.get(key), tree.get(key));
+                } else {
+                    OrderedTree orderedTree = (OrderedTree) tree;
+                    assertEquals(value(reference.floorEntry(key)), orderedTree.floor(key));
+                    assertEquals(value(reference.ceilingEntry(key)), orderedTree.ceiling(key));
+                    assertEquals(value(reference.lowerEntry(key)), orderedTree.lower(key));
+                    assertEquals(value(reference.higherEntry(key)), orderedTree.higher(key));
+                    assertEquals(reference.headMap(key).size(), orderedTree.rank(key));
+                    if (!reference.isEmpty()){
+                        int index = random.nextInt(reference.size());
+                        assertEquals(reference.get(nthKey(reference, index)), orderedTree.select(index));
+                    }
+                }
+                assertEquals(reference.size(), tree.size());
+                if (i%2500 == 0){
+                    tree.check(reference);
+                }
+            }
+            tree.check(reference);
+        }
+    }
+
+    /** Every operation of the unbalanced, red-black and treap trees matches a TreeMap, and each keeps its invariants (red-black colouring, treap heap order) */
+    @Test
+    public void balancedTreesMatchTreeMap() throws Exception {
+        for (int balancing : new int[]{BinarySearchTree.noBalancing, BinarySearchTree.redBlackBalancing, BinarySearchTree.treapBalancing}){
+            BinarySearchTree<String, Integer> tree = new BinarySearchTree<String, Integer>(balancing, true);
+            tree.setStatisticsEnabled(true);
+            compareWithTreeMap(wrap(tree, balancing), balancing, 3000);
+        }
+    }
+
+    /** Sorted inserts, which make an unbalanced tree a list, leave red-black trees within 2 log2(n + 1) deep and treaps within a small multiple of log2(n) */
+    @Test
+    public void sortedInsertsStayBalanced() throws Exception {
+        int size = 100000;
+        for (int balancing : new int[]{BinarySearchTree.redBlackBalancing, BinarySearchTree.treapBalancing}){
+            BinarySearchTree<String, Integer> tree = new BinarySearchTree<String, Integer>(balancing, true);
+            TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+            for (int i = 0; i < size; i++){
+                tree.insert(i, "data" + i);
+                reference.put(i, "data" + i);
+            }
+            tree.setStatisticsEnabled(true);
+            checkTree(tree, balancing, reference);
+            double log2Size = Math.log(size + 1)/Math.log(2);
+            if (balancing == BinarySearchTree.redBlackBalancing){
+                assertTrue(tree.depth() <= 2*log2Size);
+            } else {
+                assertTrue(tree.depth() <= 4*log2Size); // Expected height is about 3 log2(n) (4.3 ln(n)), far more is vanishingly unlikely
+            }
+            for (int i = 0; i < size; i += 2){
+                tree.delete(i);
+                reference.remove(i);
+            }
+            checkTree(tree, balancing, reference);
+        }
+    }
+
+    /** Every operation of the splay and semi-splay trees (whose gets also restructure the tree) matches a TreeMap, and the trees stay valid */
+    @Test
+    public void splayTreesMatchTreeMap() throws Exception {
+        for (int balancing : new int[]{BinarySearchTree.splayBalancing, BinarySearchTree.semiSplayBalancing}){
+            BinarySearchTree<String, Integer> tree = new BinarySearchTree<String, Integer>(balancing, true);
+            tree.setStatisticsEnabled(true);
+            compareWithTreeMap(wrap(tree, balancing), balancing, 3000);
+        }
+    }
+
+    /** A splay tree moves the key it finds (or the last key searched past on a miss) to the head, and both splay modes keep a small set of frequently accessed keys near the head, even after sorted inserts made the tree a list */
+    @Test
+    public void splayingMovesAccessedKeysUp() throws Exception {
+        BinarySearchTree<String, Integer> splayTree = new BinarySearchTree<String, Integer>(BinarySearchTree.splayBalancing);
+        for (int i = 0; i < 1000; i += 2){
+            splayTree.insert(i, "data" + i);
+        }
+        Random random = new Random(24);
+        for (int i = 0; i < 1000; i++){
+            int key = random.nextInt(1000);
+            splayTree.get(key);
+            int headKey = headNode(splayTree).key();
+            if (key%2 == 0){
+                assertEquals(key, headKey);
+            } else {
+                assertTrue((headKey == key - 1) || (headKey == key + 1));
+            }
+        }
+
+        int hotKeys = 8;
+        for (int balancing : new int[]{BinarySearchTree.splayBalancing, BinarySearchTree.semiSplayBalancing}){
+            BinarySearchTree<String, Integer> tree = new BinarySearchTree<String, Integer>(balancing);
+            for (int i = 0; i < 10000; i++){
+                tree.insert(i, "data" + i);
+            }
+            for (int round = 0; round < 100; round++){
+                for (int hotKey = 0; hotKey < hotKeys; hotKey++){
+                    assertEquals("data" + (hotKey*1000 + 7), tree.get(hotKey*1000 + 7));
+                }
+            }
+            for (int hotKey = 0; hotKey < hotKeys; hotKey++){
+                assertTrue(nodeDepth(headNode(tree), hotKey*1000 + 7) < 2*hotKeys);
+            }
+        }
+    }
+
+    /**
+     * Gets the depth of a key's node, without splaying<br>
+     *
+     * @param node  The head of the tree
+     * @param key  The key (must be in the tree)
+     * @return The number of nodes above the key's node
+     */
+    static int nodeDepth(BinarySearchTreeNode<String, Integer> node, int key){
+        int depth = 0;
+        while (node.key() != key){
+            if (node.key() > key){
+                node = node.getLeftChild();
+            } else {
+                node = node.getRightChild();
+            }
+            depth++;
+        }
+        return depth;
+    }
+
+    /** Only deletes that remove an entry are counted, so inserts minus deletes is the tree's size, for every balancing scheme */
+    @Test
+    public void statisticsCountOnlyRemovingDeletes(){
+        for (int balancing : new int[]{BinarySearchTree.noBalancing, BinarySearchTree.redBlackBalancing, BinarySearchTree.treapBalancing, BinarySearchTree.splayBalancing, BinarySearchTree.semiSplayBalancing}){
+            BinarySearchTree<Integer, Integer> tree = new BinarySearchTree<Integer, Integer>(balancing);
+            tree.setStatisticsEnabled(true);
+            for (int i = 0; i < 100; i++){
+                tree.insert(i, i);
+            }
+            for (int i = 50; i < 150; i++){ // Half of these keys are not in the tree
+                tree.delete(i);
+            }
+            TreeStatistics statistics = tree.statistics();
+            assertEquals(50, statistics.deletes());
+            assertEquals(tree.size(), statistics.inserts() - statistics.deletes());
+        }
+    }
+
+    /**
+     * Gets the value of a TreeMap entry<br>
+     *
+     * @param entry  The entry (may be null)
+     * @return The entry's value (null if there is no entry)
+     */
+    static String value(Map.Entry<Integer, String> entry){
+        if (entry == null){
+            return null;
+        }
+        return entry.getValue();
+    }
+
+    /**
+     * Gets the key at a position in a TreeMap's key order<br>
+     *
+     * @param reference  The map
+     * @param index  The position
+     * @return The key
+     */
+    static Integer nthKey(TreeMap<Integer, String> reference, int index){
+        Integer key = reference.firstKey();
+        for (int i = 0; i < index; i++){
+            key = reference.higherKey(key);
+        }
+        return key;
+    }
+
+}
@@ -0,0 +1,269 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Concurrent AVL Tree Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>ConcurrentAVLTreeTest</h2>
+ * Tests of ConcurrentAVLTree, against TreeMap and the AVL invariants (single threaded and once concurrent writers have finished), with lock-free readers running while writers rotate the tree<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class ConcurrentAVLTreeTest{
+
+    /** Number of writer threads */
+    static final int writers = 4;
+
+    /** Number of keys each writer owns */
+    static final int keysPerWriter = 5000;
+
+    /**
+     * Gets the holder of a tree's head node (not exposed by ConcurrentAVLTree)<br>
+     *
+     * @param tree  The tree
+     * @return The holder (the head node is its right child)
+     */
+    @SuppressWarnings("unchecked") // The field holds nodes of the tree's key type
+    static ConcurrentAVLTreeNode<Integer> rootHolder(ConcurrentAVLTree<String, Integer> tree) throws Exception {
+        Field field = ConcurrentAVLTree.class.getDeclaredField("rootHolder");
+        field.setAccessible(true);
+        return (ConcurrentAVLTreeNode<Integer>) field.get(tree);
+    }
+
+    /**
+     * Checks the key order, parent links, cached heights, balance, routing nodes and versions of a sub-tree<br>
+     *
+     * @param node  The head of the sub-tree (null for an empty sub-tree)
+     * @param parent  The node's parent
+     * @param lowerKey  Every key must be greater than this (null for no bound)
+     * @param upperKey  Every key must be less than this (null for no bound)
+     * @param counts  The number of nodes and of entries found so far (the sub-tree's are added)
+     * @return The height of the sub-tree
+     */
+    static int checkNodes(ConcurrentAVLTreeNode<Integer> node, ConcurrentAVLTreeNode<Integer> parent, Integer lowerKey, Integer upperKey, int[] counts){
+        if (node == null){
+            return 0;
+        }
+        assertTrue(node.getParent() == parent);
+        assertTrue((lowerKey == null) || (node.key() > lowerKey));
+        assertTrue((upperKey == null) || (node.key() < upperKey));
+        assertEquals(0, node.getVersion() & (ConcurrentAVLTree.unlinked | ConcurrentAVLTree.shrinking));
+        counts[0]++;
+        if (node.getData() == null){ // Routing nodes with at most one child are unlinked
+            assertTrue((node.getLeftChild() != null) && (node.getRightChild() != null));
+        } else {
+            counts[1]++;
+        }
+        int leftHeight = checkNodes(node.getLeftChild(), node, lowerKey, node.key(), counts);
+        int rightHeight = checkNodes(node.getRightChild(), node, node.key(), upperKey, counts);
+        assertTrue(Math.abs(leftHeight - rightHeight) <= 1);
+        assertEquals(1 + Math.max(leftHeight, rightHeight), node.getHeight());
+        return node.getHeight();
+    }
+
+    /**
+     * Checks a tree (with no writer running) against its reference map and the AVL invariants<br>
+     *
+     * @param tree  The tree
+     * @param reference  The entries the tree should hold
+     */
+    static void checkTree(ConcurrentAVLTree<String, Integer> tree, TreeMap<Integer, String> reference) throws Exception {
+        ConcurrentAVLTreeNode<Integer> holder = rootHolder(tree);
+        assertNull(holder.getLeftChild());
+        assertEquals(0, holder.getVersion());
+        int[] counts = new int[2];
+        assertEquals(tree.depth(), checkNodes(holder.getRightChild(), holder, null, null, counts));
+        assertEquals(reference.size(), counts[1]);
+        assertEquals(reference.size(), tree.size());
+        assertTrue(tree.depth() <= 1.45*Math.log(counts[0] + 2)/Math.log(2)); // Routing nodes count towards the depth
+        assertArrayEquals(BPlusTreeTest.array(reference.values()), tree.toArray());
+        assertEquals(reference.size(), tree.toString().split("\n", -1).length - 1);
+    }
+
+    /**
+     * Wraps a ConcurrentAVLTree for BinarySearchTreeTest.compareWithTreeMap<br>
+     *
+     * @param tree  The tree
+     * @return The wrapped tree
+     */
+    static BinarySearchTreeTest.Tree wrap(ConcurrentAVLTree<String, Integer> tree){
+        return new BinarySearchTreeTest.Tree(){
+            public void insert(Integer key, String data){ tree.insert(key, data); }
+            public String get(Integer key){ return tree.get(key); }
+            public void delete(Integer key){ tree.delete(key); }
+            public int size(){ return tree.size(); }
+            public void check(TreeMap<Integer, String> reference) throws Exception { checkTree(tree, reference); }
+        };
+    }
+
+    /**
+     * Creates a writer that runs random inserts, gets and deletes on its own keys (key%(writers + 1) == writer), checking each against a HashMap<br>
+     * A quarter of the random keys start an ascending run of 50 keys, so the tree rotates often, and phases alternate between mostly inserting and mostly deleting, so routing nodes are made and unlinked<br>
+     *
+     * @param tree  The shared tree
+     * @param writer  The writer's number
+     * @param reference  The writer's HashMap (holds the writer's entries once it finishes)
+     * @return The writer
+     */
+    static Callable<Void> writer(ConcurrentAVLTree<String, Integer> tree, int writer, HashMap<Integer, String> reference){
+        return () -> {
+            Random random = new Random(writer);
+            for (int phase = 0; phase < 6; phase++){
+                int deletePercent = 15;
+                if (phase%2 == 1){
+                    deletePercent = 70;
+                }
+                int runKey = 0;
+                int runLength = 0;
+                for (int i = 0; i < 20000; i++){
+                    int keyIndex;
+                    if (runLength > 0){
+                        keyIndex = runKey++%keysPerWriter;
+                        runLength--;
+                    } else {
+                        keyIndex = random.nextInt(keysPerWriter);
+                        if (random.nextInt(4) == 0){ // Start an ascending run from here
+                            runKey = keyIndex + 1;
+                            runLength = 50;
+                        }
+                    }
+                    Integer key = keyIndex*(writers + 1) + writer;
+                    int operation = random.nextInt(100);
+                    if (operation < deletePercent){
+                        tree.delete(key);
+                        reference.remove(key);
+                    } else if (operation < 85){
+                        if (reference.containsKey(key)){
+                            assertThrows(RuntimeException.class, () -> tree.insert(key, "duplicate"));
+                        } else {
+                            tree.insert(key, "data" + key);
+                            reference.put(key, "data" + key);
+                        }
+                    } else {
+                        assertEquals(reference.get(key), tree.get(key));
+                    }
+                }
+                for (int i = 0; i < keysPerWriter; i++){ // Other writers' operations must not have touched this writer's keys
+                    Integer key = i*(writers + 1) + writer;
+                    assertEquals(reference.get(key), tree.get(key));
+                }
+            }
+            return null;
+        };
+    }
+
+    /** Random inserts, gets and deletes (including ascending runs of keys) on one thread match a TreeMap, and the tree is a strict AVL tree with correct heights and no unneeded routing nodes after each operation */
+    @Test
+    public void randomOperationsMatchTreeMap() throws Exception {
+        BinarySearchTreeTest.compareWithTreeMap(wrap(new ConcurrentAVLTree<String, Integer>()), 1, 3000);
+    }
+
+    /** Null data is stored and found, and an entry whose node was left as a routing node can be inserted again */
+    @Test
+    public void nullDataAndRoutingNodes() throws Exception {
+        ConcurrentAVLTree<String, Integer> tree = new ConcurrentAVLTree<String, Integer>();
+        TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+        for (int i = 0; i < 15; i++){ // A perfect tree, so the head node (7) has two children
+            tree.insert(i, "data" + i);
+            reference.put(i, "data" + i);
+        }
+        tree.delete(7);
+        reference.remove(7);
+        checkTree(tree, reference);
+        assertEquals(7, (int) rootHolder(tree).getRightChild().key()); // 7 was left as a routing node
+        assertNull(rootHolder(tree).getRightChild().getData());
+        assertNull(tree.get(7));
+        tree.insert(7, null);
+        assertNull(tree.get(7));
+        assertThrows(RuntimeException.class, () -> tree.insert(7, "duplicate"));
+        assertEquals(15, tree.size());
+        tree.delete(7);
+        tree.insert(7, "data7");
+        reference.put(7, "data7");
+        checkTree(tree, reference);
+    }
+
+    /** Writers on disjoint keys each match their own HashMap, and once they finish the tree holds exactly the union of their entries as a strict AVL tree */
+    @Test
+    public void disjointWritersMatchHashMaps() throws Throwable {
+        ConcurrentAVLTree<String, Integer> tree = new ConcurrentAVLTree<String, Integer>();
+        ArrayList<HashMap<Integer, String>> references = new ArrayList<HashMap<Integer, String>>();
+        ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int writer = 0; writer < writers; writer++){
+            references.add(new HashMap<Integer, String>());
+            tasks.add(writer(tree, writer, references.get(writer)));
+        }
+        ConcurrentHashTableTest.runTogether(tasks);
+
+        TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+        for (HashMap<Integer, String> writerReference : references){
+            reference.putAll(writerReference);
+        }
+        checkTree(tree, reference);
+    }
+
+    /** Lock-free readers always find the entries that are never deleted, and only ever see a writer's key absent or with its own data, while writers rotate the tree around them */
+    @Test
+    public void readersDuringRotations() throws Throwable {
+        ConcurrentAVLTree<String, Integer> tree = new ConcurrentAVLTree<String, Integer>();
+        TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+        int stableKeys = 2000;
+        for (int i = 0; i < stableKeys; i++){ // Stable keys (key%(writers + 1) == writers) are spread between the writers' keys, and never written to again
+            Integer key = i*2*(writers + 1) + writers;
+            tree.insert(key, "data" + key);
+            reference.put(key, "data" + key);
+        }
+        CountDownLatch writing = new CountDownLatch(writers); // Counts down as each writer finishes
+        ArrayList<HashMap<Integer, String>> references = new ArrayList<HashMap<Integer, String>>();
+        ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int writer = 0; writer < writers; writer++){
+            references.add(new HashMap<Integer, String>());
+            Callable<Void> task = writer(tree, writer, references.get(writer));
+            tasks.add(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    writing.countDown();
+                }
+            });
+        }
+        for (int reader = 0; reader < 2; reader++){
+            long seed = 100 + reader;
+            tasks.add(() -> {
+                Random random = new Random(seed);
+                do {
+                    Integer stableKey = random.nextInt(stableKeys)*2*(writers + 1) + writers;
+                    assertEquals("data" + stableKey, tree.get(stableKey));
+                    Integer key = random.nextInt(keysPerWriter)*(writers + 1) + random.nextInt(writers);
+                    String data = tree.get(key);
+                    assertTrue((data == null) || data.equals("data" + key));
+                } while (writing.getCount() > 0);
+                return null;
+            });
+        }
+        ConcurrentHashTableTest.runTogether(tasks);
+
+        for (HashMap<Integer, String> writerReference : references){
+            reference.putAll(writerReference);
+        }
+        checkTree(tree, reference);
+    }
+
+}
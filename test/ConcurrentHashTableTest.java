@@ -0,0 +1,199 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Concurrent Hash Table Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>ConcurrentHashTableTest</h2>
+ * Tests of ConcurrentHashTable, with several writer threads (each checked against its own HashMap) and lock-free readers running while segments resize<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class ConcurrentHashTableTest{
+
+    /** Number of writer threads */
+    static final int writers = 4;
+
+    /** Number of keys each writer owns */
+    static final int keysPerWriter = 5000;
+
+    /**
+     * Runs tasks on their own threads, all starting at once, and waits for every one to finish<br>
+     *
+     * @param tasks  The tasks
+     */
+    static void runTogether(ArrayList<Callable<Void>> tasks) throws Throwable {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            ArrayList<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (Callable<Void> task : tasks){
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures){
+                try {
+                    future.get();
+                } catch (ExecutionException e){
+                    throw e.getCause(); // Report the thread's assertion failure
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Creates a writer that runs random inserts, gets and deletes on its own keys (key%writers == writer), checking each against a HashMap<br>
+     * Phases alternate between mostly inserting and mostly deleting, so segments both grow and empty out<br>
+     *
+     * @param table  The shared table
+     * @param writer  The writer's number
+     * @param reference  The writer's HashMap (holds the writer's entries once it finishes)
+     * @return The writer
+     */
+    static Callable<Void> writer(ConcurrentHashTable<String, Integer> table, int writer, HashMap<Integer, String> reference){
+        return () -> {
+            Random random = new Random(writer);
+            for (int phase = 0; phase < 6; phase++){
+                int deletePercent = 15;
+                if (phase%2 == 1){
+                    deletePercent = 70;
+                }
+                for (int i = 0; i < 20000; i++){
+                    Integer key = random.nextInt(keysPerWriter)*writers + writer;
+                    int operation = random.nextInt(100);
+                    if (operation < deletePercent){
+                        table.delete(key);
+                        reference.remove(key);
+                    } else if (operation < 85){
+                        if (reference.containsKey(key)){
+                            assertThrows(RuntimeException.class, () -> table.insert(key, "duplicate"));
+                        } else {
+                            table.insert(key, "data" + key);
+                            reference.put(key, "data" + key);
+                        }
+                    } else {
+                        assertEquals(reference.get(key), table.get(key));
+                    }
+                }
+                for (int i = 0; i < keysPerWriter; i++){ // Other writers' operations must not have touched this writer's keys
+                    Integer key = i*writers + writer;
+                    assertEquals(reference.get(key), table.get(key));
+                }
+            }
+            return null;
+        };
+    }
+
+    /** Writers on disjoint keys (sharing segments) each match their own HashMap, and the table holds exactly the union of their entries */
+    @Test
+    public void disjointWritersMatchHashMaps() throws Throwable {
+        for (int concurrencyLevel : new int[]{1, 2, 16}){
+            ConcurrentHashTable<String, Integer> table = new ConcurrentHashTable<String, Integer>(4, concurrencyLevel);
+            ArrayList<HashMap<Integer, String>> references = new ArrayList<HashMap<Integer, String>>();
+            ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+            for (int writer = 0; writer < writers; writer++){
+                references.add(new HashMap<Integer, String>());
+                tasks.add(writer(table, writer, references.get(writer)));
+            }
+            runTogether(tasks);
+
+            int size = 0;
+            for (int writer = 0; writer < writers; writer++){
+                for (int i = 0; i < keysPerWriter; i++){
+                    Integer key = i*writers + writer;
+                    assertEquals(references.get(writer).get(key), table.get(key));
+                }
+                size += references.get(writer).size();
+            }
+            assertEquals(size, table.size());
+            assertEquals(size, table.toString().split("\n", -1).length - 1);
+        }
+    }
+
+    /** Lock-free readers always find the entries that are never deleted, and only ever see a writer's key absent or with its own data, while writers insert, delete (copying chains) and resize segments, and the table is expanded */
+    @Test
+    public void readersDuringResizes() throws Throwable {
+        ConcurrentHashTable<String, Integer> table = new ConcurrentHashTable<String, Integer>(4, 4); // Segments start with one slot, so they resize many times
+        int stableKeys = 2000;
+        for (int i = 1; i <= stableKeys; i++){ // Negative keys are never written to again
+            table.insert(-i, "data" + (-i));
+        }
+        CountDownLatch writing = new CountDownLatch(writers + 1); // Counts down as each writer (and the expanding thread) finishes
+        ArrayList<HashMap<Integer, String>> references = new ArrayList<HashMap<Integer, String>>();
+        ArrayList<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+        for (int writer = 0; writer < writers; writer++){
+            references.add(new HashMap<Integer, String>());
+            Callable<Void> task = writer(table, writer, references.get(writer));
+            tasks.add(() -> {
+                try {
+                    return task.call();
+                } finally {
+                    writing.countDown();
+                }
+            });
+        }
+        tasks.add(() -> { // Forces resizes of every segment, on top of those caused by inserts
+            try {
+                for (int size = 64; size <= (1 << 18); size *= 2){
+                    table.expandTable(size);
+                    Thread.sleep(5);
+                }
+                return null;
+            } finally {
+                writing.countDown();
+            }
+        });
+        for (int reader = 0; reader < 2; reader++){
+            long seed = 100 + reader;
+            tasks.add(() -> {
+                Random random = new Random(seed);
+                do {
+                    Integer stableKey = -1 - random.nextInt(stableKeys);
+                    assertEquals("data" + stableKey, table.get(stableKey));
+                    Integer key = random.nextInt(keysPerWriter*writers);
+                    String data = table.get(key);
+                    assertTrue((data == null) || data.equals("data" + key));
+                } while (writing.getCount() > 0);
+                return null;
+            });
+        }
+        runTogether(tasks);
+
+        for (int i = 1; i <= stableKeys; i++){
+            assertEquals("data" + (-i), table.get(-i));
+        }
+        int size = stableKeys;
+        for (Map<Integer, String> reference : references){
+            for (Map.Entry<Integer, String> entry : reference.entrySet()){
+                assertEquals(entry.getValue(), table.get(entry.getKey()));
+            }
+            size += reference.size();
+        }
+        assertEquals(size, table.size());
+        assertTrue(table.loadFactor() <= ConcurrentHashTable.defaultMaxLoadFactor);
+    }
+
+}
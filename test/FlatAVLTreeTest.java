@@ -0,0 +1,202 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Flat AVL Tree Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>FlatAVLTreeTest</h2>
+ * Tests of FlatAVLTree, against TreeMap, the AVL invariants and the free list of node slots<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class FlatAVLTreeTest{
+
+    /**
+     * Gets a private field of a tree<br>
+     *
+     * @param tree  The tree
+     * @param name  The field's name
+     * @return The field's value
+     */
+    static Object field(FlatAVLTree<String, Integer> tree, String name) throws Exception {
+        Field field = FlatAVLTree.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(tree);
+    }
+
+    /**
+     * Checks the key order, parent links, cached heights and balance of a sub-tree<br>
+     *
+     * @param tree  The tree
+     * @param node  The head of the sub-tree (0 for an empty sub-tree)
+     * @param lowerKey  Every key must be greater than this (null for no bound)
+     * @param upperKey  Every key must be less than this (null for no bound)
+     * @param treeSlots  The slots found in the tree so far (the sub-tree's slots are added)
+     * @return The height of the sub-tree
+     */
+    static int checkNodes(FlatAVLTree<String, Integer> tree, int node, Integer lowerKey, Integer upperKey, HashSet<Integer> treeSlots) throws Exception {
+        if (node == 0){
+            return 0;
+        }
+        int[] leftChildren = (int[]) field(tree, "leftChildren");
+        int[] rightChildren = (int[]) field(tree, "rightChildren");
+        int[] parents = (int[]) field(tree, "parents");
+        int[] heights = (int[]) field(tree, "heights");
+        Object[] keys = (Object[]) field(tree, "keys");
+        assertTrue(treeSlots.add(node));
+        Integer key = (Integer) keys[node];
+        assertTrue((lowerKey == null) || (key > lowerKey));
+        assertTrue((upperKey == null) || (key < upperKey));
+        if (leftChildren[node] != 0){
+            assertEquals(node, parents[leftChildren[node]]);
+        }
+        if (rightChildren[node] != 0){
+            assertEquals(node, parents[rightChildren[node]]);
+        }
+        int leftHeight = checkNodes(tree, leftChildren[node], lowerKey, key, treeSlots);
+        int rightHeight = checkNodes(tree, rightChildren[node], key, upperKey, treeSlots);
+        assertTrue(Math.abs(leftHeight - rightHeight) <= 1);
+        assertEquals(1 + Math.max(leftHeight, rightHeight), heights[node]);
+        return heights[node];
+    }
+
+    /**
+     * Checks a tree against its reference map, the AVL invariants and the free list (every slot ever used is either in the tree or on the free list, and free slots hold no key or data)<br>
+     *
+     * @param tree  The tree
+     * @param reference  The entries the tree should hold
+     */
+    static void checkTree(FlatAVLTree<String, Integer> tree, TreeMap<Integer, String> reference) throws Exception {
+        int headNode = (Integer) field(tree, "headNode");
+        int[] parents = (int[]) field(tree, "parents");
+        int[] rightChildren = (int[]) field(tree, "rightChildren");
+        Object[] keys = (Object[]) field(tree, "keys");
+        Object[] values = (Object[]) field(tree, "values");
+        int usedSlots = (Integer) field(tree, "usedSlots");
+        HashSet<Integer> treeSlots = new HashSet<Integer>();
+        assertEquals(tree.depth(), checkNodes(tree, headNode, null, null, treeSlots));
+        assertTrue((headNode == 0) || (parents[headNode] == 0));
+        assertEquals(reference.size(), treeSlots.size());
+        assertEquals(reference.size(), tree.size());
+        int freeSlots = 0;
+        for (int slot = (Integer) field(tree, "freeSlot"); slot != 0; slot = rightChildren[slot]){
+            assertTrue((slot > 0) && (slot < usedSlots));
+            assertFalse(treeSlots.contains(slot));
+            assertNull(keys[slot]);
+            assertNull(values[slot]);
+            freeSlots++;
+            assertTrue(freeSlots < usedSlots); // The free list has no cycle
+        }
+        assertEquals(usedSlots - 1, reference.size() + freeSlots);
+        for (int slot = usedSlots; slot < keys.length; slot++){ // Slots never used hold nothing
+            assertNull(keys[slot]);
+        }
+        assertTrue(tree.depth() <= 1.45*Math.log(reference.size() + 2)/Math.log(2));
+        assertArrayEquals(BPlusTreeTest.array(reference.values()), tree.toArray());
+    }
+
+    /**
+     * Wraps a FlatAVLTree for BinarySearchTreeTest.compareWithTreeMap<br>
+     *
+     * @param tree  The tree
+     * @return The wrapped tree
+     */
+    static BinarySearchTreeTest.Tree wrap(FlatAVLTree<String, Integer> tree){
+        return new BinarySearchTreeTest.Tree(){
+            public void insert(Integer key, String data){ tree.insert(key, data); }
+            public String get(Integer key){ return tree.get(key); }
+            public void delete(Integer key){ tree.delete(key); }
+            public int size(){ return tree.size(); }
+            public void check(TreeMap<Integer, String> reference) throws Exception { checkTree(tree, reference); }
+        };
+    }
+
+    /** Random inserts, gets and deletes (including ascending runs of keys) match a TreeMap, the tree stays within the AVL depth bound with correct cached heights, and every freed slot is on the free list */
+    @Test
+    public void randomOperationsMatchTreeMap() throws Exception {
+        for (int capacity : new int[]{1, FlatAVLTree.defaultCapacity, 5000}){
+            BinarySearchTreeTest.compareWithTreeMap(wrap(new FlatAVLTree<String, Integer>(capacity)), capacity, 3000);
+        }
+    }
+
+    /** Once a tree has grown to its working size, cycles of deletes and inserts reuse the freed slots, so the arrays never grow again */
+    @Test
+    public void steadyStateKeepsCapacity() throws Exception {
+        int size = 10000;
+        FlatAVLTree<String, Integer> tree = new FlatAVLTree<String, Integer>();
+        TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+        ArrayList<Integer> keys = new ArrayList<Integer>();
+        for (int i = 0; i < size; i++){
+            keys.add(i);
+            tree.insert(i, "data" + i);
+            reference.put(i, "data" + i);
+        }
+        int capacity = tree.capacity();
+        int usedSlots = (Integer) field(tree, "usedSlots");
+        Random random = new Random(17);
+        for (int cycle = 0; cycle < 20; cycle++){
+            Collections.shuffle(keys, random);
+            for (int i = 0; i < size/2; i++){ // Delete half of the entries, at random
+                Integer key = keys.remove(keys.size() - 1);
+                tree.delete(key);
+                reference.remove(key);
+            }
+            checkTree(tree, reference);
+            for (int i = 0; i < size/2; i++){ // Insert as many new keys, spread between the remaining keys
+                Integer key;
+                do {
+                    key = random.nextInt(4*size);
+                } while (reference.containsKey(key));
+                keys.add(key);
+                tree.insert(key, "data" + key);
+                reference.put(key, "data" + key);
+            }
+            checkTree(tree, reference);
+            assertEquals(capacity, tree.capacity());
+            assertEquals(usedSlots, (Integer) field(tree, "usedSlots")); // Every insert took a freed slot
+            assertEquals(0, (Integer) field(tree, "freeSlot"));
+        }
+    }
+
+    /** Sorted inserts and deletes keep the tree within the AVL depth bound (about 1.44 log2(n + 2)), and deleting every entry frees every slot */
+    @Test
+    public void sortedInsertsStayBalanced() throws Exception {
+        int size = 100000;
+        FlatAVLTree<String, Integer> tree = new FlatAVLTree<String, Integer>();
+        TreeMap<Integer, String> reference = new TreeMap<Integer, String>();
+        for (int i = 0; i < size; i++){
+            tree.insert(i, "data" + i);
+            reference.put(i, "data" + i);
+        }
+        checkTree(tree, reference);
+        for (int i = 0; i < size; i += 3){
+            tree.delete(i);
+            reference.remove(i);
+        }
+        checkTree(tree, reference);
+        for (int i = size - 1; i >= 0; i--){
+            tree.delete(i);
+            reference.remove(i);
+        }
+        checkTree(tree, reference);
+        assertEquals(0, tree.depth());
+        assertNull(tree.toArray());
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Flat Hash Table Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>FlatHashTableTest</h2>
+ * Tests of FlatHashTable<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class FlatHashTableTest{
+
+    /**
+     * Wraps a FlatHashTable as a HashTableTest.Table<br>
+     *
+     * @param table  The table
+     * @return The wrapped table
+     */
+    static HashTableTest.Table wrap(FlatHashTable<Integer, Integer> table){
+        return new HashTableTest.Table(){
+            public void insert(long key, Integer data){ table.insert((int)key, data); }
+            public Integer get(long key){ return table.get((int)key); }
+            public void delete(long key){ table.delete((int)key); }
+            public int size(){ return table.size(); }
+        };
+    }
+
+    /** Random inserts, gets and deletes match a HashMap for both collision resolution schemes, as the table grows, fills with deleted slots and shrinks, including negative keys and keys that differ only in their high bits */
+    @Test
+    public void randomOperationsMatchHashMap(){
+        for (int collisionResolution : new int[]{HashTable.linearProbing, HashTable.quadraticProbing}){
+            for (int keyShift : new int[]{0, 16}){
+                float maxLoad = HashTable.defaultMaxLoadFactor(collisionResolution);
+                FlatHashTable<Integer, Integer> table = new FlatHashTable<Integer, Integer>(11, collisionResolution, maxLoad, maxLoad/4);
+                HashTableTest.compareWithHashMap(wrap(table), collisionResolution + keyShift, 3000, keyShift);
+            }
+        }
+    }
+
+    /** Quadratic probing above a load factor of 0.5 grows instead of losing entries when a resize cannot re-insert one */
+    @Test
+    public void quadraticProbingResizesKeepEveryEntry(){
+        HashTableTest.compareSmallTablesWithHashMap(() -> wrap(new FlatHashTable<Integer, Integer>(7, HashTable.quadraticProbing, 0.95f, 0.4f)));
+    }
+
+    /** Keys whose hashes equal the empty and deleted slot markers (moved out of the way by 2) are kept apart from the keys they are moved onto */
+    @Test
+    public void markerHashes(){
+        for (int collisionResolution : new int[]{HashTable.linearProbing, HashTable.quadraticProbing}){
+            FlatHashTable<Integer, Integer> table = new FlatHashTable<Integer, Integer>(7, collisionResolution);
+            for (int key = 0; key < 4; key++){
+                table.insert(key, key*10);
+            }
+            for (int key = 0; key < 4; key++){
+                assertEquals(key*10, table.get(key));
+            }
+            table.delete(2);
+            assertNull(table.get(2));
+            assertEquals(0, table.get(0));
+            assertEquals(3, table.size());
+            FlatHashTable<String, String> stringTable = new FlatHashTable<String, String>(7, collisionResolution);
+            stringTable.insert("", "empty"); // The empty string hashes to 0
+            assertEquals("empty", stringTable.get(""));
+        }
+    }
+
+}
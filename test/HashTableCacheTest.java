@@ -0,0 +1,115 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Hash Table Cache Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>HashTableCacheTest</h2>
+ * Tests of HashTableCache<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class HashTableCacheTest{
+
+    /** LRU eviction matches an access ordered LinkedHashMap bounded to the same size */
+    @Test
+    public void lruMatchesLinkedHashMap(){
+        Random random = new Random(25);
+        HashTableCache<Integer, Integer> cache = new HashTableCache<Integer, Integer>(100);
+        LinkedHashMap<Integer, Integer> reference = new LinkedHashMap<Integer, Integer>(16, 0.75f, true){
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest){
+                return this.size() > 100;
+            }
+        };
+        for (int i = 0; i < 100000; i++){
+            int key = random.nextInt(300);
+            int operation = random.nextInt(10);
+            if (operation < 5){
+                assertEquals(reference.get(key), cache.get(key));
+            } else if (operation < 9){
+                cache.insert(key, i);
+                reference.put(key, i);
+            } else {
+                cache.delete(key);
+                reference.remove(key);
+            }
+            assertEquals(reference.size(), cache.size());
+            assertEquals(reference.size(), cache.weight());
+        }
+    }
+
+    /** The total weight never exceeds the maximum, for both policies */
+    @Test
+    public void weightStaysBounded(){
+        for (int policy : new int[]{HashTableCache.lruEviction, HashTableCache.tinyLfuEviction}){
+            Random random = new Random(policy);
+            HashTableCache<String, Integer> cache = new HashTableCache<String, Integer>(1000, policy, (key, data) -> data.length());
+            for (int i = 0; i < 100000; i++){
+                int key = random.nextInt(500);
+                if (random.nextBoolean()){
+                    cache.insert(key, "x".repeat(random.nextInt(60)));
+                } else {
+                    cache.get(key);
+                }
+                assertTrue(cache.weight() <= 1000);
+            }
+            cache.insert(-1, "x".repeat(1001)); // Heavier than the whole cache, not stored
+            assertNull(cache.get(-1));
+        }
+    }
+
+    /** Entries expire after their time to live, and very long times to live saturate instead of overflowing into the past */
+    @Test
+    public void timeToLive() throws Exception {
+        for (int policy : new int[]{HashTableCache.lruEviction, HashTableCache.tinyLfuEviction}){
+            HashTableCache<Integer, Integer> cache = new HashTableCache<Integer, Integer>(10, policy);
+            cache.insert(1, 1, 50);
+            cache.insert(2, 2);
+            cache.insert(3, 3, Long.MAX_VALUE/1000);
+            cache.insert(4, 4, Long.MAX_VALUE);
+            cache.setDefaultTimeToLive(Long.MAX_VALUE/1000);
+            cache.insert(5, 5);
+            cache.setDefaultTimeToLive(50);
+            cache.insert(6, 6);
+            assertEquals(1, cache.get(1));
+            Thread.sleep(100);
+            assertNull(cache.get(1));
+            assertEquals(2, cache.get(2));
+            assertEquals(3, cache.get(3));
+            assertEquals(4, cache.get(4));
+            assertEquals(5, cache.get(5));
+            assertEquals(1, cache.removeExpired()); // Entry 6
+            assertEquals(4, cache.size());
+            assertEquals(2, cache.expirations());
+        }
+    }
+
+    /** Entries weighing 0 do not count towards the maximum weight, but are evicted in LRU order like any other entry */
+    @Test
+    public void zeroWeightEntriesAreEvicted(){
+        HashTableCache<String, Integer> cache = new HashTableCache<String, Integer>(10, HashTableCache.lruEviction, (key, data) -> data.length());
+        cache.insert(0, "");
+        for (int i = 1; i <= 10; i++){
+            cache.insert(i, "x");
+        }
+        assertEquals(11, cache.size());
+        assertEquals(10, cache.weight());
+        cache.insert(11, "x"); // Over the maximum, the least recently used entry (weighing 0) goes first
+        assertNull(cache.get(0));
+        assertNull(cache.get(1));
+        assertEquals("x", cache.get(2));
+        assertEquals(10, cache.weight());
+    }
+
+}
@@ -0,0 +1,268 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Hash Table Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * <h2>HashTableTest</h2>
+ * Tests of HashTable<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class HashTableTest{
+
+    /** Every collision resolution scheme */
+    static final int[] collisionResolutions = {HashTable.linearProbing, HashTable.quadraticProbing, HashTable.chaining, HashTable.robinHoodHashing, HashTable.cuckooHashing};
+
+    /**
+     * <h2>Table</h2>
+     * A hash table under test, with long keys (narrowed by tables with smaller keys)<br>
+     */
+    interface Table{
+        void insert(long key, Integer data);
+        Integer get(long key);
+        void delete(long key);
+        int size();
+    }
+
+    /**
+     * Runs random inserts, gets and deletes on a table and a HashMap, checking that they agree throughout<br>
+     * Phases alternate between mostly inserting and mostly deleting, so the table grows, fills with deleted slots and shrinks again<br>
+     * Inserting a key that is already stored must fail and leave the table unchanged<br>
+     *
+     * @param table  The (empty) table to test
+     * @param seed  The random seed
+     * @param keyRange  The number of distinct keys (centred on 0, so half are negative)
+     * @param keyShift  The number of bits keys are shifted left by (so they differ only in their high bits)
+     */
+    static void compareWithHashMap(Table table, long seed, int keyRange, int keyShift){
+        Random random = new Random(seed);
+        HashMap<Long, Integer> reference = new HashMap<Long, Integer>();
+        for (int phase = 0; phase < 6; phase++){
+            int deletePercent = 15;
+            if (phase%2 == 1){
+                deletePercent = 70;
+            }
+            for (int i = 0; i < 20000; i++){
+                long key = (long)(random.nextInt(keyRange) - keyRange/2) << keyShift;
+                int operation = random.nextInt(100);
+                if (operation < deletePercent){
+                    table.delete(key);
+                    reference.remove(key);
+                } else if (operation < 85){
+                    if (reference.containsKey(key)){
+                        assertThrows(RuntimeException.class, () -> table.insert(key, -1));
+                    } else {
+                        table.insert(key, i);
+                        reference.put(key, i);
+                    }
+                } else {
+                    assertEquals(reference.get(key), table.get(key));
+                }
+                assertEquals(reference.size(), table.size());
+            }
+            for (long key = -keyRange/2; key < keyRange - keyRange/2; key++){
+                assertEquals(reference.get(key << keyShift), table.get(key << keyShift));
+            }
+        }
+    }
+
+    /** Linear/quadratic probing marks deleted slots instead of emptying them, probe sequences still find every entry past them, deleted slots are cleared before they exceed the maximum ratio, and a minimum load factor shrinks the table again */
+    @Test
+    public void probingDeletesMatchHashMap(){
+        for (int collisionResolution : new int[]{HashTable.linearProbing, HashTable.quadraticProbing}){
+            for (float maxDeletedRatio : new float[]{0.05f, HashTable.defaultMaxDeletedRatio, 1}){
+                float maxLoad = HashTable.defaultMaxLoadFactor(collisionResolution);
+                HashTable<Integer, Integer> growing = new HashTable<Integer, Integer>(11, collisionResolution);
+                HashTable<Integer, Integer> shrinking = new HashTable<Integer, Integer>(11, collisionResolution, maxLoad, maxLoad/4);
+                for (HashTable<Integer, Integer> table : List.of(growing, shrinking)){
+                    table.setMaxDeletedRatio(maxDeletedRatio);
+                    table.setStatisticsEnabled(true);
+                    compareWithHashMap(wrap(table), collisionResolution, 3000, 0);
+                    assertTrue(table.statistics().tombstoneRatio() <= maxDeletedRatio);
+                    assertTrue(table.loadFactor() <= maxLoad);
+                }
+                assertTrue(shrinking.statistics().slots() < growing.statistics().slots()); // The last phase deleted most entries
+            }
+        }
+    }
+
+    /** Quadratic probing above a load factor of 0.5 may not reach a free slot when the table is resized, the table then grows instead of losing the entries not yet re-inserted */
+    @Test
+    public void quadraticProbingResizesKeepEveryEntry(){
+        compareSmallTablesWithHashMap(() -> wrap(new HashTable<Integer, Integer>(7, HashTable.quadraticProbing, 0.95f, 0.4f)));
+    }
+
+    /**
+     * Wraps a HashTable as a Table<br>
+     *
+     * @param table  The table
+     * @return The wrapped table
+     */
+    static Table wrap(HashTable<Integer, Integer> table){
+        return new Table(){
+            public void insert(long key, Integer data){ table.insert((int)key, data); }
+            public Integer get(long key){ return table.get((int)key); }
+            public void delete(long key){ table.delete((int)key); }
+            public int size(){ return table.size(); }
+        };
+    }
+
+    /**
+     * Runs short random sequences of inserts and deletes on many small tables (which resize often), checking every table against a HashMap afterwards<br>
+     *
+     * @param tables  Creates the (empty) tables to test
+     */
+    static void compareSmallTablesWithHashMap(Supplier<Table> tables){
+        for (int seed = 0; seed < 2000; seed++){
+            Random random = new Random(seed);
+            Table table = tables.get();
+            HashMap<Long, Integer> reference = new HashMap<Long, Integer>();
+            for (int i = 0; i < 300; i++){
+                long key = random.nextInt(60);
+                if (random.nextInt(3) == 0){
+                    table.delete(key);
+                    reference.remove(key);
+                } else if (!reference.containsKey(key)){
+                    table.insert(key, i);
+                    reference.put(key, i);
+                }
+            }
+            assertEquals(reference.size(), table.size());
+            for (Long key : reference.keySet()){
+                assertEquals(reference.get(key), table.get(key));
+            }
+        }
+    }
+
+    /** Power of two tables work with every collision resolution scheme and stay powers of two as they resize, including for negative keys and keys that differ only in their high bits (which a plain mask would send to one slot) */
+    @Test
+    public void powerOfTwoIndexingMatchesHashMap(){
+        for (int collisionResolution : collisionResolutions){
+            for (int keyShift : new int[]{0, 16}){
+                float maxLoad = HashTable.defaultMaxLoadFactor(collisionResolution);
+                HashTable<Integer, Integer> table = new HashTable<Integer, Integer>(10, collisionResolution, HashTable.powerOfTwoIndexing, maxLoad, maxLoad/4);
+                table.setStatisticsEnabled(true);
+                compareWithHashMap(wrap(table), collisionResolution + keyShift, 3000, keyShift);
+                int slots = table.statistics().slots();
+                assertEquals(HashTable.nextPowerOfTwo(slots), slots);
+            }
+        }
+    }
+
+    /** Robin Hood hashing (entries displacing each other on insert, and shifting back on delete) matches a HashMap, up to almost full tables */
+    @Test
+    public void robinHoodHashingMatchesHashMap(){
+        for (float maxLoad : new float[]{0.5f, HashTable.robinHoodHashingMaxLoadFactor, 0.99f}){
+            for (int indexing : new int[]{HashTable.primeIndexing, HashTable.powerOfTwoIndexing}){
+                HashTable<Integer, Integer> table = new HashTable<Integer, Integer>(11, HashTable.robinHoodHashing, indexing, maxLoad, 0);
+                compareWithHashMap(wrap(table), indexing, 3000, 0);
+                assertTrue(table.loadFactor() <= maxLoad);
+            }
+        }
+    }
+
+    /** Only deletes that remove an entry are counted, so inserts minus deletes is the table's size */
+    @Test
+    public void statisticsCountOnlyRemovingDeletes(){
+        for (int collisionResolution : collisionResolutions){
+            HashTable<Integer, Integer> table = new HashTable<Integer, Integer>(16, collisionResolution);
+            table.setStatisticsEnabled(true);
+            for (int i = 0; i < 100; i++){
+                table.insert(i, i);
+            }
+            for (int i = 50; i < 150; i++){ // Half of these keys are not in the table
+                table.delete(i);
+            }
+            HashTableStatistics statistics = table.statistics();
+            assertEquals(50, statistics.deletes());
+            assertEquals(table.size(), statistics.inserts() - statistics.deletes());
+        }
+    }
+
+    /** Cuckoo hashing (entries displaced between their two buckets, the stash and rehashes with a new hash function) matches a HashMap, and every get checks at most both buckets and the stash */
+    @Test
+    public void cuckooHashingMatchesHashMap(){
+        for (int indexing : new int[]{HashTable.primeIndexing, HashTable.powerOfTwoIndexing}){
+            for (int keyShift : new int[]{0, 16}){
+                HashTable<Integer, Integer> table = new HashTable<Integer, Integer>(11, HashTable.cuckooHashing, indexing, HashTable.cuckooHashingMaxLoadFactor, HashTable.cuckooHashingMaxLoadFactor/4);
+                table.setStatisticsEnabled(true);
+                compareWithHashMap(wrap(table), indexing + keyShift, 3000, keyShift);
+                int longestGet = HashTableStatistics.percentile(table.statistics().getProbeLengths(), 1.0);
+                assertTrue(longestGet <= HashTableStatistics.histogramBucketLimit(HashTableStatistics.histogramBucket(2*HashTable.cuckooBucketSize + HashTable.cuckooStashSize)));
+            }
+        }
+    }
+
+    /**
+     * Builds distinct strings that all have the same hash code ("Aa" and "BB" hash equally, so any concatenation of them does too)<br>
+     *
+     * @param pairs  The number of two character blocks in each string
+     * @return The 2^pairs strings
+     */
+    static ArrayList<String> equalHashKeys(int pairs){
+        ArrayList<String> keys = new ArrayList<String>();
+        for (int i = 0; i < (1 << pairs); i++){
+            StringBuilder key = new StringBuilder();
+            for (int bit = 0; bit < pairs; bit++){
+                if (((i >>> bit) & 1) == 0){
+                    key.append("Aa");
+                } else {
+                    key.append("BB");
+                }
+            }
+            keys.add(key.toString());
+        }
+        return keys;
+    }
+
+    /** Keys with equal hash codes share both cuckoo buckets under every hash function, so past the buckets and stash only a larger stash can hold them */
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    public void cuckooHashingEqualHashCodes(){
+        for (int indexing : new int[]{HashTable.primeIndexing, HashTable.powerOfTwoIndexing}){
+            ArrayList<String> keys = equalHashKeys(8); // 256 keys, far more than two buckets and the stash hold
+            HashTable<Integer, String> table = new HashTable<Integer, String>(64, HashTable.cuckooHashing, indexing);
+            for (int i = 0; i < keys.size(); i++){
+                table.insert(keys.get(i), i);
+                table.insert("other" + i, -i); // Ordinary keys still go in their buckets
+            }
+            for (int i = 0; i < keys.size(); i++){
+                assertEquals(i, table.get(keys.get(i)));
+                assertEquals(-i, table.get("other" + i));
+            }
+            assertEquals(keys.size()*2, table.size());
+            for (int i = 0; i < keys.size(); i += 2){
+                table.delete(keys.get(i));
+            }
+            for (int i = 0; i < keys.size(); i++){
+                if (i%2 == 0){
+                    assertNull(table.get(keys.get(i)));
+                } else {
+                    assertEquals(i, table.get(keys.get(i)));
+                }
+            }
+            table.expandTable(table.size()*8); // Resizing keeps the grown stash
+            for (int i = 1; i < keys.size(); i += 2){
+                assertEquals(i, table.get(keys.get(i)));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Int Key Hash Table Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>IntKeyHashTableTest</h2>
+ * Tests of IntKeyHashTable<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class IntKeyHashTableTest{
+
+    /** Collision resolution schemes supported by IntKeyHashTable */
+    static final int[] collisionResolutions = {HashTable.linearProbing, HashTable.quadraticProbing, HashTable.chaining};
+
+    /**
+     * Wraps an IntKeyHashTable as a HashTableTest.Table<br>
+     *
+     * @param table  The table
+     * @return The wrapped table
+     */
+    static HashTableTest.Table wrap(IntKeyHashTable<Integer> table){
+        return new HashTableTest.Table(){
+            public void insert(long key, Integer data){ table.insert((int)key, data); }
+            public Integer get(long key){ return table.get((int)key); }
+            public void delete(long key){ table.delete((int)key); }
+            public int size(){ return table.size(); }
+        };
+    }
+
+    /** Random inserts, gets and deletes match a HashMap for every collision resolution scheme, as the table grows and shrinks, including negative keys and keys that differ only in their high bits */
+    @Test
+    public void randomOperationsMatchHashMap(){
+        for (int collisionResolution : collisionResolutions){
+            for (int keyShift : new int[]{0, 16}){
+                float maxLoad = HashTable.defaultMaxLoadFactor(collisionResolution);
+                IntKeyHashTable<Integer> table = new IntKeyHashTable<Integer>(11, collisionResolution, maxLoad, maxLoad/4);
+                HashTableTest.compareWithHashMap(wrap(table), collisionResolution + keyShift, 3000, keyShift);
+            }
+        }
+    }
+
+    /** Quadratic probing above a load factor of 0.5 grows instead of losing entries when a resize cannot re-insert one */
+    @Test
+    public void quadraticProbingResizesKeepEveryEntry(){
+        HashTableTest.compareSmallTablesWithHashMap(() -> wrap(new IntKeyHashTable<Integer>(7, HashTable.quadraticProbing, 0.95f, 0.4f)));
+    }
+
+    /** The extreme int keys (whose sign bit is cleared to index the table) are stored and found like any other */
+    @Test
+    public void extremeKeys(){
+        int[] keys = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -1, 0, 1, Integer.MAX_VALUE};
+        for (int collisionResolution : collisionResolutions){
+            IntKeyHashTable<Integer> table = new IntKeyHashTable<Integer>(7, collisionResolution);
+            for (int i = 0; i < keys.length; i++){
+                table.insert(keys[i], i);
+            }
+            for (int i = 0; i < keys.length; i++){
+                assertEquals(i, table.get(keys[i]));
+            }
+            table.delete(Integer.MIN_VALUE);
+            assertNull(table.get(Integer.MIN_VALUE));
+            assertEquals(3, table.get(0)); // Same table index as Integer.MIN_VALUE
+            assertEquals(keys.length - 1, table.size());
+        }
+    }
+
+}
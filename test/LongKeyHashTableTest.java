@@ -0,0 +1,76 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Long Key Hash Table Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * <h2>LongKeyHashTableTest</h2>
+ * Tests of LongKeyHashTable<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class LongKeyHashTableTest{
+
+    /** Collision resolution schemes supported by LongKeyHashTable */
+    static final int[] collisionResolutions = {HashTable.linearProbing, HashTable.quadraticProbing, HashTable.chaining};
+
+    /**
+     * Wraps an LongKeyHashTable as a HashTableTest.Table<br>
+     *
+     * @param table  The table
+     * @return The wrapped table
+     */
+    static HashTableTest.Table wrap(LongKeyHashTable<Integer> table){
+        return new HashTableTest.Table(){
+            public void insert(long key, Integer data){ table.insert(key, data); }
+            public Integer get(long key){ return table.get(key); }
+            public void delete(long key){ table.delete(key); }
+            public int size(){ return table.size(); }
+        };
+    }
+
+    /** Random inserts, gets and deletes match a HashMap for every collision resolution scheme, as the table grows and shrinks, including negative keys and keys that differ only in their upper 32 bits (folded into the hash) */
+    @Test
+    public void randomOperationsMatchHashMap(){
+        for (int collisionResolution : collisionResolutions){
+            for (int keyShift : new int[]{0, 16, 32, 40}){
+                float maxLoad = HashTable.defaultMaxLoadFactor(collisionResolution);
+                LongKeyHashTable<Integer> table = new LongKeyHashTable<Integer>(11, collisionResolution, maxLoad, maxLoad/4);
+                HashTableTest.compareWithHashMap(wrap(table), collisionResolution + keyShift, 3000, keyShift);
+            }
+        }
+    }
+
+    /** Quadratic probing above a load factor of 0.5 grows instead of losing entries when a resize cannot re-insert one */
+    @Test
+    public void quadraticProbingResizesKeepEveryEntry(){
+        HashTableTest.compareSmallTablesWithHashMap(() -> wrap(new LongKeyHashTable<Integer>(7, HashTable.quadraticProbing, 0.95f, 0.4f)));
+    }
+
+    /** The extreme long keys, and keys whose halves cancel out when the upper half is folded into the lower (all hashing to 0), are stored and found like any other */
+    @Test
+    public void extremeKeys(){
+        long[] keys = {Long.MIN_VALUE, Long.MIN_VALUE + 1, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE, 1L << 32, Long.MAX_VALUE, 0x0000000100000001L, 0x1234567812345678L};
+        for (int collisionResolution : collisionResolutions){
+            LongKeyHashTable<Integer> table = new LongKeyHashTable<Integer>(7, collisionResolution);
+            for (int i = 0; i < keys.length; i++){
+                table.insert(keys[i], i);
+            }
+            for (int i = 0; i < keys.length; i++){
+                assertEquals(i, table.get(keys[i]));
+            }
+            table.delete(Long.MIN_VALUE);
+            assertNull(table.get(Long.MIN_VALUE));
+            assertEquals(4, table.get(0)); // Same table index as Long.MIN_VALUE
+            assertEquals(keys.length - 1, table.size());
+        }
+    }
+
+}
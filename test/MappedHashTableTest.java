@@ -0,0 +1,111 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Mapped Hash Table Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * <h2>MappedHashTableTest</h2>
+ * Tests of MappedHashTable<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class MappedHashTableTest{
+
+    /** Directory for the table files */
+    @TempDir
+    Path directory;
+
+    /** Random inserts, gets and deletes match a HashMap, including after the table is closed and reopened */
+    @Test
+    public void randomOperationsAndReopen() throws Exception {
+        Path file = this.directory.resolve("table.mht");
+        Random random = new Random(18);
+        HashMap<Integer, Long> reference = new HashMap<Integer, Long>();
+        for (int round = 0; round < 3; round++){
+            MappedHashTable<Long, Integer> table = new MappedHashTable<Long, Integer>(file, 4, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.longSerializer());
+            assertEquals(reference.size(), table.size());
+            for (Integer key : reference.keySet()){
+                assertEquals(reference.get(key), table.get(key));
+            }
+            for (int i = 0; i < 20000; i++){
+                int key = random.nextInt(5000);
+                int operation = random.nextInt(3);
+                if (operation == 0){
+                    assertEquals(reference.get(key), table.get(key));
+                } else if ((operation == 1) && !reference.containsKey(key)){
+                    table.insert(key, (long)i);
+                    reference.put(key, (long)i);
+                } else {
+                    table.delete(key);
+                    reference.remove(key);
+                }
+                assertEquals(reference.size(), table.size());
+            }
+            table.close();
+        }
+    }
+
+    /** Files whose header does not match their length or describes an impossible table are rejected when opened */
+    @Test
+    public void invalidFilesAreRejected() throws Exception {
+        Path file = this.directory.resolve("table.mht");
+        MappedHashTable<Long, Integer> table = new MappedHashTable<Long, Integer>(file, 64, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.longSerializer());
+        for (int i = 0; i < 40; i++){
+            table.insert(i, (long)i);
+        }
+        table.close();
+        byte[] valid = Files.readAllBytes(file);
+
+        byte[][] invalidFiles = {
+            Arrays.copyOf(valid, valid.length - 1), // Truncated inside the last slot
+            Arrays.copyOf(valid, valid.length/2), // Truncated half way
+            Arrays.copyOf(valid, 10), // Truncated inside the header
+            Arrays.copyOf(valid, valid.length + 17), // Trailing bytes
+            withInt(valid, 16, 63), // Slot count not a power of two
+            withInt(valid, 16, 128), // Slot count larger than the file
+            withInt(valid, 20, -1), // Negative entry count
+            withInt(valid, 20, 64), // Entry count leaving no empty slot
+            withInt(valid, 0, 0) // Bad magic number
+        };
+        for (byte[] invalidFile : invalidFiles){
+            Files.write(file, invalidFile);
+            RuntimeException failure = assertThrows(RuntimeException.class, () -> new MappedHashTable<Long, Integer>(file, 64, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.longSerializer()));
+            assertEquals("File is not a mapped hash table: " + file, failure.getMessage());
+        }
+
+        Files.write(file, valid);
+        MappedHashTable<Long, Integer> reopened = new MappedHashTable<Long, Integer>(file, 64, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.longSerializer());
+        assertEquals(40, reopened.size());
+        assertEquals(7L, reopened.get(7));
+        reopened.close();
+    }
+
+    /**
+     * Copies a file's bytes with an int in the header replaced<br>
+     *
+     * @param bytes  The file's bytes
+     * @param offset  The offset of the int
+     * @param value  The new value
+     * @return The changed copy
+     */
+    static byte[] withInt(byte[] bytes, int offset, int value){
+        byte[] copy = bytes.clone();
+        ByteBuffer.wrap(copy).putInt(offset, value);
+        return copy;
+    }
+
+}
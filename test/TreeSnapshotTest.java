@@ -0,0 +1,172 @@
+/*
+DataStructures (Java implementation of certain data structures)
+Tree Snapshot Tests
+Author: Jonah Swain
+*/
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * <h2>TreeSnapshotTest</h2>
+ * Tests of TreeSnapshot, through AVLTree/BinarySearchTree snapshot and restore<br>
+ *
+ * @author Jonah Swain (https://github.com/jonahswain/)
+ * @since 17/10/2026
+ */
+public class TreeSnapshotTest{
+
+    /** Directory for the snapshot files */
+    @TempDir
+    Path directory;
+
+    /**
+     * Builds a random map of keys to data<br>
+     *
+     * @param size  The number of entries
+     * @param seed  The random seed
+     * @return The entries
+     */
+    static TreeMap<Integer, String> randomEntries(int size, long seed){
+        Random random = new Random(seed);
+        TreeMap<Integer, String> entries = new TreeMap<Integer, String>();
+        while (entries.size() < size){
+            int key = random.nextInt();
+            entries.put(key, "data" + key);
+        }
+        return entries;
+    }
+
+    /** Every entry survives a snapshot and restore, in order, for both trees and every size of tree up to a few levels */
+    @Test
+    public void roundTrip() throws Exception {
+        Path file = this.directory.resolve("tree.snapshot");
+        for (int size : new int[]{0, 1, 2, 3, 7, 8, 100, 10000}){
+            TreeMap<Integer, String> entries = randomEntries(size, size);
+            AVLTree<String, Integer> avlTree = new AVLTree<String, Integer>();
+            BinarySearchTree<String, Integer> bsTree = new BinarySearchTree<String, Integer>(BinarySearchTree.redBlackBalancing);
+            for (Integer key : entries.keySet()){
+                avlTree.insert(key, entries.get(key));
+                bsTree.insert(key, entries.get(key));
+            }
+
+            avlTree.snapshot(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16));
+            AVLTree<String, Integer> restoredAvlTree = new AVLTree<String, Integer>();
+            restoredAvlTree.insert(-1, "replaced");
+            restoredAvlTree.restore(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16));
+            assertEquals(new ArrayList<String>(entries.values()), toList(restoredAvlTree));
+            assertEquals(size, restoredAvlTree.size());
+
+            bsTree.snapshot(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16));
+            BinarySearchTree<String, Integer> restoredBsTree = new BinarySearchTree<String, Integer>(BinarySearchTree.redBlackBalancing);
+            restoredBsTree.restore(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16));
+            assertEquals(new ArrayList<String>(entries.values()), toList(restoredBsTree));
+            for (Integer key : entries.keySet()){
+                assertEquals(entries.get(key), restoredBsTree.get(key));
+            }
+        }
+    }
+
+    /** A write that fails part way (data wider than the serializer allows) reports its own failure and leaves the previous snapshot intact */
+    @Test
+    public void failedWriteKeepsPreviousSnapshot() throws Exception {
+        Path file = this.directory.resolve("tree.snapshot");
+        AVLTree<String, Integer> tree = new AVLTree<String, Integer>();
+        for (int i = 0; i < 1000; i++){
+            tree.insert(i, "data" + i);
+        }
+        tree.snapshot(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16));
+        byte[] goodSnapshot = Files.readAllBytes(file);
+
+        tree.insert(500000, "data that is far too wide for the serializer");
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> tree.snapshot(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16)));
+        assertEquals("String is longer than 16 bytes", failure.getMessage());
+        assertArrayEquals(goodSnapshot, Files.readAllBytes(file));
+        assertFalse(Files.exists(this.directory.resolve("tree.snapshot.tmp")));
+
+        AVLTree<String, Integer> restoredTree = new AVLTree<String, Integer>();
+        restoredTree.restore(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16));
+        assertEquals(1000, restoredTree.size());
+    }
+
+    /** Closing a snapshot with entries missing deletes the temporary file and leaves the file unchanged */
+    @Test
+    public void incompleteSnapshotIsDiscarded() throws Exception {
+        Path file = this.directory.resolve("tree.snapshot");
+        Files.write(file, new byte[]{1, 2, 3});
+        TreeSnapshot<Integer, Integer> snapshot = TreeSnapshot.create(file, 2, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.integerSerializer());
+        snapshot.write(1, 1);
+        assertThrows(RuntimeException.class, () -> snapshot.close());
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(file));
+        assertFalse(Files.exists(this.directory.resolve("tree.snapshot.tmp")));
+    }
+
+    /** Corrupt, truncated or extended snapshots are rejected (including empty snapshots, which have no last entry to check the checksum after), and the tree is left unchanged */
+    @Test
+    public void corruptSnapshotsAreRejected() throws Exception {
+        Path file = this.directory.resolve("tree.snapshot");
+        AVLTree<String, Integer> emptyTree = new AVLTree<String, Integer>();
+        emptyTree.snapshot(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16));
+        byte[] emptySnapshot = Files.readAllBytes(file);
+        AVLTree<String, Integer> tree = new AVLTree<String, Integer>();
+        for (int i = 0; i < 100; i++){
+            tree.insert(i, "data" + i);
+        }
+        tree.snapshot(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16));
+        byte[] snapshot = Files.readAllBytes(file);
+
+        ArrayList<byte[]> corruptSnapshots = new ArrayList<byte[]>();
+        byte[] corrupt = emptySnapshot.clone(); // Empty snapshot with a damaged checksum
+        corrupt[corrupt.length - 1] ^= 1;
+        corruptSnapshots.add(corrupt);
+        corrupt = snapshot.clone(); // Entry count damaged to 0
+        corrupt[16] = 0;
+        corrupt[17] = 0;
+        corrupt[18] = 0;
+        corrupt[19] = 0;
+        corruptSnapshots.add(corrupt);
+        corrupt = snapshot.clone(); // Damaged entry
+        corrupt[100] ^= 1;
+        corruptSnapshots.add(corrupt);
+        corruptSnapshots.add(Arrays.copyOf(snapshot, snapshot.length - 1)); // Truncated
+        corruptSnapshots.add(Arrays.copyOf(snapshot, snapshot.length + 1)); // Trailing byte
+        corruptSnapshots.add(Arrays.copyOf(emptySnapshot, emptySnapshot.length + 4)); // Trailing bytes after an empty snapshot
+
+        for (byte[] corruptSnapshot : corruptSnapshots){
+            Files.write(file, corruptSnapshot);
+            AVLTree<String, Integer> restoredTree = new AVLTree<String, Integer>();
+            restoredTree.insert(1, "kept");
+            assertThrows(RuntimeException.class, () -> restoredTree.restore(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16)));
+            assertEquals(1, restoredTree.size());
+            assertEquals("kept", restoredTree.get(1));
+            BinarySearchTree<String, Integer> restoredBsTree = new BinarySearchTree<String, Integer>();
+            assertThrows(RuntimeException.class, () -> restoredBsTree.restore(file, FixedWidthSerializer.integerSerializer(), FixedWidthSerializer.stringSerializer(16)));
+        }
+    }
+
+    /**
+     * Collects the data of a tree in iteration (key) order<br>
+     *
+     * @param tree  The tree
+     * @return The data in key order
+     */
+    static ArrayList<String> toList(Iterable<String> tree){
+        ArrayList<String> list = new ArrayList<String>();
+        for (String data : tree){
+            list.add(data);
+        }
+        return list;
+    }
+
+}